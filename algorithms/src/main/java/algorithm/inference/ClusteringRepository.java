@@ -0,0 +1,69 @@
+package algorithm.inference;
+
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Clustering;
+import algorithm.utils.Repository;
+import algorithm.utils.type.*;
+import org.neo4j.graphdb.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class that contains the implementation of the {@link Repository} for clusterings
+ * <p>
+ * Each cluster is stored as a node identified by the inference id, the threshold, and the index of the cluster, to which the profiles of the cluster are
+ * related by a relationship with the inference id. A clustering can only be stored once for each inference id.
+ */
+public class ClusteringRepository extends Repository<Clustering, AlleleTable> {
+
+	public ClusteringRepository(GraphDatabaseService database) {
+		super(database);
+	}
+
+	@Override
+	public AlleleTable read(Transaction tx, String... params) {
+		return new InferenceRepository(database).read(tx, params);
+	}
+
+	@Override
+	public void write(Transaction tx, Clustering clustering) {
+		String[] ids = clustering.getProfileIds();
+		long[] thresholds = clustering.getThresholds();
+		Node project = node(Project.LABEL, clustering.getProjectId(), tx);
+		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, clustering.getDatasetId());
+		Map<String, Node> profiles = profiles(dataset);
+		for (String id : ids)
+			if (clustered(profiles.get(id), clustering.getId()))
+				throw new IllegalArgumentException("clustering - inference " + clustering.getId() + " already exists");
+		for (int t = 0; t < thresholds.length; t++) {
+			int[] clusters = clustering.getClusters()[t];
+			Map<Integer, Node> nodes = new HashMap<>();
+			for (int i = 0; i < ids.length; i++) {
+				int cluster = clusters[i];
+				long threshold = thresholds[t];
+				Node c = nodes.computeIfAbsent(cluster, k -> {
+					Node n = tx.createNode(label(Cluster.LABEL));
+					n.setProperty(Cluster.INFERENCE_ID, clustering.getId());
+					n.setProperty(Cluster.ID, (long) k);
+					n.setProperty(Cluster.THRESHOLD, threshold);
+					return n;
+				});
+				Map<String, Object> properties = new HashMap<>();
+				properties.put(Has.INFERENCE_ID, clustering.getId());
+				properties.put(Has.ALGORITHM, clustering.getAlgorithm());
+				properties.put(Has.DEPRECATED, false);
+				createRelationship(profiles.get(ids[i]), c, Relation.HAS, properties);
+			}
+		}
+	}
+
+	private static boolean clustered(Node profile, String inferenceId) {
+		Label label = label(Cluster.LABEL);
+		for (Relationship has : profile.getRelationships(Direction.OUTGOING, Relation.HAS.type()))
+			if (has.getEndNode().hasLabel(label) && inferenceId.equals(has.getProperty(Has.INFERENCE_ID, null)))
+				return true;
+		return false;
+	}
+
+}
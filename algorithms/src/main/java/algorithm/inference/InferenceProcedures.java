@@ -1,23 +1,284 @@
 package algorithm.inference;
 
+import algorithm.inference.model.Branch;
+import algorithm.inference.model.Clustering;
+import algorithm.inference.model.Inference;
+import algorithm.inference.model.Phylogeny;
 import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 public class InferenceProcedures extends algorithm.utils.Procedure {
 
 	/**
 	 * Executes the goeBURST algorithm, for a given dataset within a project with the parameter lvs. The result is stored using the inference id
 	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param lvs         number of lvs
+	 * @param inference   inference id
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix
+	 */
+	@Procedure(value = "algorithms.inference.goeburst", mode = Mode.WRITE)
+	public void goeBURST(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs, @Name("inference") String inference,
+						 @Name(value = "parallelism", defaultValue = "0") long parallelism, @Name(value = "sparse", defaultValue = "false") boolean sparse) {
+		InferenceService service = new InferenceService(database, log);
+		service.goeBURST(project, dataset, inference, lvs, Math.toIntExact(parallelism), sparse);
+	}
+
+	/**
+	 * Executes the goeBURST algorithm, for a given dataset within a project with the parameter lvs, updating a previous goeBURST inference with the
+	 * profiles added since then. The result is stored using the inference id, and is the same as the one computed from scratch, which is done if a
+	 * profile of the previous inference was deprecated, updated, if its number of isolates changed, or if the previous inference used other lvs
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param lvs         number of lvs
+	 * @param previous    previous inference id
+	 * @param inference   inference id
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix
+	 */
+	@Procedure(value = "algorithms.inference.goeburst.incremental", mode = Mode.WRITE)
+	public void goeBURSTIncremental(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs, @Name("previous") String previous,
+									@Name("inference") String inference, @Name(value = "parallelism", defaultValue = "0") long parallelism,
+									@Name(value = "sparse", defaultValue = "false") boolean sparse) {
+		InferenceService service = new InferenceService(database, log);
+		service.goeBURST(project, dataset, previous, inference, lvs, Math.toIntExact(parallelism), sparse);
+	}
+
+	/**
+	 * Executes the goeBURST algorithm, for a given dataset within a project with the parameter lvs. The result is not stored, and instead each edge
+	 * is returned as it would be stored
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param lvs         number of lvs
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix
+	 * @return edges of the inference
+	 */
+	@Procedure(value = "algorithms.inference.goeburst.stream", mode = Mode.READ)
+	public Stream<EdgeRecord> goeBURSTStream(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs,
+											 @Name(value = "parallelism", defaultValue = "0") long parallelism, @Name(value = "sparse", defaultValue = "false") boolean sparse) {
+		InferenceService service = new InferenceService(database, log);
+		return EdgeRecord.stream(service.goeBURST(project, dataset, lvs, Math.toIntExact(parallelism), sparse));
+	}
+
+	/**
+	 * Executes the goeBURST algorithm, for several datasets with the parameter lvs. Each result is stored using its inference id, and the number
+	 * of edges of each inference is returned
+	 * <p>
+	 * The next dataset is read while the previous ones are computed by the workers, so each inference is stored in its own transactions.
+	 *
+	 * @param inferences  maps with the project, dataset, and inference ids of each inference
+	 * @param lvs         number of lvs
+	 * @param workers     number of datasets computed at the same time, or {@code 0} to use all the available processors
+	 * @param parallelism number of threads used to compute each distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix
+	 * @return inferences computed
+	 */
+	@Procedure(value = "algorithms.inference.goeburst.batch", mode = Mode.WRITE)
+	public Stream<InferenceRecord> goeBURSTBatch(@Name("inferences") List<Map<String, Object>> inferences, @Name("lvs") long lvs,
+												 @Name(value = "workers", defaultValue = "0") long workers, @Name(value = "parallelism", defaultValue = "1") long parallelism,
+												 @Name(value = "sparse", defaultValue = "false") boolean sparse) {
+		List<String[]> ids = new ArrayList<>(inferences.size());
+		for (Map<String, Object> inference : inferences) {
+			Object project = inference.get("project"), dataset = inference.get("dataset"), id = inference.get("inference");
+			if (project == null || dataset == null || id == null)
+				throw new IllegalArgumentException("goeBURSTBatch - project, dataset and inference are required:" + inference);
+			ids.add(new String[]{project.toString(), dataset.toString(), id.toString()});
+		}
+		InferenceService service = new InferenceService(database, log);
+		return service.goeBURST(ids, lvs, Math.toIntExact(workers), Math.toIntExact(parallelism), sparse).stream()
+				.map(i -> new InferenceRecord(i.getProjectId(), i.getDatasetId(), i.getId(), i.getEdges().size()));
+	}
+
+	/**
+	 * Executes the Prim algorithm, for a given dataset within a project with the parameter lvs. The result is stored using the inference id
+	 *
 	 * @param project   project id
 	 * @param dataset   dataset id
-	 * @param lvs       number of lvs
+	 * @param lvs       maximum distance of an edge
 	 * @param inference inference id
 	 */
-	@Procedure(value = "algorithms.inference.goeburst", mode = Mode.WRITE)
-	public void goeBURST(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs, @Name("inference") String inference) {
+	@Procedure(value = "algorithms.inference.prim", mode = Mode.WRITE)
+	public void prim(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs, @Name("inference") String inference) {
+		InferenceService service = new InferenceService(database, log);
+		service.prim(project, dataset, inference, lvs);
+	}
+
+	/**
+	 * Executes the Prim algorithm, for a given dataset within a project with the parameter lvs. The result is not stored, and instead each edge
+	 * is returned as it would be stored
+	 *
+	 * @param project project id
+	 * @param dataset dataset id
+	 * @param lvs     maximum distance of an edge
+	 * @return edges of the inference
+	 */
+	@Procedure(value = "algorithms.inference.prim.stream", mode = Mode.READ)
+	public Stream<EdgeRecord> primStream(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs) {
+		InferenceService service = new InferenceService(database, log);
+		return EdgeRecord.stream(service.prim(project, dataset, lvs));
+	}
+
+	/**
+	 * Executes the Edmonds algorithm, for a given dataset within a project with the parameter lvs. The result is stored using the inference id
+	 *
+	 * @param project   project id
+	 * @param dataset   dataset id
+	 * @param lvs       maximum distance of an edge
+	 * @param inference inference id
+	 */
+	@Procedure(value = "algorithms.inference.edmonds", mode = Mode.WRITE)
+	public void edmonds(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs, @Name("inference") String inference) {
 		InferenceService service = new InferenceService(database, log);
-		service.goeBURST(project, dataset, inference, lvs);
+		service.edmonds(project, dataset, inference, lvs);
+	}
+
+	/**
+	 * Executes the Edmonds algorithm, for a given dataset within a project with the parameter lvs. The result is not stored, and instead each edge
+	 * is returned as it would be stored
+	 *
+	 * @param project project id
+	 * @param dataset dataset id
+	 * @param lvs     maximum distance of an edge
+	 * @return edges of the inference
+	 */
+	@Procedure(value = "algorithms.inference.edmonds.stream", mode = Mode.READ)
+	public Stream<EdgeRecord> edmondsStream(@Name("project") String project, @Name("dataset") String dataset, @Name("lvs") long lvs) {
+		InferenceService service = new InferenceService(database, log);
+		return EdgeRecord.stream(service.edmonds(project, dataset, lvs));
+	}
+
+	/**
+	 * Executes the Neighbor-Joining algorithm, for a given dataset within a project. The result is not stored, since the ancestors are not profiles,
+	 * and instead each branch of the tree is returned, where the ancestors are identified by their node index and have no profile id
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @return branches of the tree
+	 */
+	@Procedure(value = "algorithms.inference.nj", mode = Mode.READ)
+	public Stream<BranchRecord> neighborJoining(@Name("project") String project, @Name("dataset") String dataset,
+												@Name(value = "parallelism", defaultValue = "0") long parallelism) {
+		InferenceService service = new InferenceService(database, log);
+		Phylogeny phylogeny = service.neighborJoining(project, dataset, Math.toIntExact(parallelism));
+		return phylogeny.getBranches().stream().map(b -> new BranchRecord(phylogeny, b));
+	}
+
+	/**
+	 * Executes a hierarchical clustering, for a given dataset within a project, and cuts it at each threshold. The result is stored using the inference id,
+	 * and the cluster of each profile at each threshold is returned
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param linkage     linkage between clusters, which is either single or average
+	 * @param thresholds  distances at which the clusters are cut
+	 * @param inference   inference id
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @return clusters of the profiles
+	 */
+	@Procedure(value = "algorithms.inference.clustering", mode = Mode.WRITE)
+	public Stream<ClusterRecord> clustering(@Name("project") String project, @Name("dataset") String dataset, @Name("linkage") String linkage,
+											@Name("thresholds") List<Long> thresholds, @Name("inference") String inference,
+											@Name(value = "parallelism", defaultValue = "0") long parallelism) {
+		InferenceService service = new InferenceService(database, log);
+		Clustering clustering = service.clustering(project, dataset, inference, linkage,
+				thresholds.stream().mapToLong(Long::longValue).toArray(), Math.toIntExact(parallelism));
+		String[] ids = clustering.getProfileIds();
+		return IntStream.range(0, clustering.getThresholds().length)
+				.boxed()
+				.flatMap(t -> IntStream.range(0, ids.length)
+						.mapToObj(i -> new ClusterRecord(ids[i], clustering.getThresholds()[t], clustering.getClusters()[t][i])));
+	}
+
+	/**
+	 * Record of an edge of an inference, which is returned by the procedures
+	 */
+	public static class EdgeRecord {
+
+		public final String from;
+		public final String to;
+		public final long distance;
+
+		public EdgeRecord(String from, String to, long distance) {
+			this.from = from;
+			this.to = to;
+			this.distance = distance;
+		}
+
+		private static Stream<EdgeRecord> stream(Inference inference) {
+			String[] ids = inference.getProfileIds();
+			return inference.edges().map(e -> new EdgeRecord(ids[e.from()], ids[e.to()], e.distance()));
+		}
+
+	}
+
+	/**
+	 * Record of an inference stored by the procedures
+	 */
+	public static class InferenceRecord {
+
+		public final String project;
+		public final String dataset;
+		public final String inference;
+		public final long edges;
+
+		public InferenceRecord(String project, String dataset, String inference, long edges) {
+			this.project = project;
+			this.dataset = dataset;
+			this.inference = inference;
+			this.edges = edges;
+		}
+
+	}
+
+	/**
+	 * Record of a branch of a phylogeny, which is returned by the procedures
+	 */
+	public static class BranchRecord {
+
+		public final long from;
+		public final String fromProfile;
+		public final long to;
+		public final String toProfile;
+		public final double length;
+
+		public BranchRecord(Phylogeny phylogeny, Branch branch) {
+			this.from = branch.from();
+			this.fromProfile = phylogeny.profileId(branch.from());
+			this.to = branch.to();
+			this.toProfile = phylogeny.profileId(branch.to());
+			this.length = branch.length();
+		}
+
+	}
+
+	/**
+	 * Record of the cluster of a profile at a threshold, which is returned by the procedures
+	 */
+	public static class ClusterRecord {
+
+		public final String profile;
+		public final long threshold;
+		public final long cluster;
+
+		public ClusterRecord(String profile, long threshold, long cluster) {
+			this.profile = profile;
+			this.threshold = threshold;
+			this.cluster = cluster;
+		}
+
 	}
 
 }
@@ -1,104 +1,336 @@
 package algorithm.inference;
 
+import algorithm.inference.model.AlleleTable;
 import algorithm.inference.model.Edge;
 import algorithm.inference.model.Inference;
-import algorithm.inference.model.Matrix;
 import algorithm.utils.Repository;
 import algorithm.utils.type.*;
 import org.neo4j.graphdb.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Class that contains the implementation of the {@link Repository} for inferences
  */
-public class InferenceRepository extends Repository<Inference, Matrix> {
+public class InferenceRepository extends Repository<Inference, AlleleTable> {
+
+	public static final String CHUNK = "algorithms.inference.chunk";
+	private static final int DEFAULT_CHUNK = 10000;
 
 	public InferenceRepository(GraphDatabaseService database) {
 		super(database);
 	}
 
+	/**
+	 * Reads the allele table of the current profiles of a dataset, ordered by their ids, so the profiles have the same relative order in every read
+	 * and the goeBURST tiebreak on their indexes doesn't depend on the order in which the database returns them
+	 *
+	 * @param tx     transaction
+	 * @param params project id and dataset id
+	 * @return allele table of the dataset
+	 */
 	@Override
-	public Matrix read(Transaction tx, String... params) {
+	public AlleleTable read(Transaction tx, String... params) {
 		String projectId = params[0], datasetId = params[1];
 		Node project = node(Project.LABEL, projectId, tx);
 		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, datasetId);
-		List<Node> profiles = related(dataset, Relation.CONTAINS, Direction.OUTGOING, Profile.LABEL)
-				.filter(n -> !((boolean) n.getProperty("deprecated")))
-				.collect(Collectors.toList());
-		Node detail = detail(profiles.get(0));
-		int loci = Math.toIntExact((long) relationships(detail, Relation.HAS, Direction.OUTGOING)
-				.findFirst()
-				.orElseThrow(() -> new RuntimeException("loci - profiles size:" + profiles.size()))
-				.getProperty(Allele.TOTAL));
+		Label label = label(Profile.LABEL);
+		List<Node> profiles = new ArrayList<>();
+		for (Relationship contains : dataset.getRelationships(Direction.OUTGOING, Relation.CONTAINS.type())) {
+			Node profile = contains.getEndNode();
+			if (profile.hasLabel(label) && !((boolean) profile.getProperty("deprecated")))
+				profiles.add(profile);
+		}
+		profiles.sort(Comparator.comparing(profile -> (String) profile.getProperty(Profile.ID), InferenceRepository::compare));
+		List<Node> details = new ArrayList<>(profiles.size());
+		for (Node profile : profiles)
+			details.add(detail(profile));
+		if (profiles.isEmpty())
+			throw new RuntimeException("profiles - dataset without profiles:" + datasetId);
+		int loci;
+		try (ResourceIterator<Relationship> has = details.get(0).getRelationships(Direction.OUTGOING, Relation.HAS.type()).iterator()) {
+			if (!has.hasNext())
+				throw new RuntimeException("loci - profiles size:" + profiles.size());
+			loci = Math.toIntExact((long) has.next().getProperty(Allele.TOTAL));
+		}
 		int lines = profiles.size();
 		String[] ids = new String[lines];
 		int[] isolates = new int[lines];
-		String[][] alleles = new String[lines][loci];
-		IntStream.range(0, lines)
-				.peek(i -> ids[i] = (String) profiles.get(i).getProperty(Profile.ID))
-				.peek(i -> isolates[i] = Math.toIntExact(relationships(profiles.get(i), Relation.HAS, Direction.INCOMING)
-						.map(r -> r.getStartNode().getSingleRelationship(RelationshipType.withName(Relation.CONTAINS_DETAILS.name()), Direction.INCOMING))
-						.filter(r -> r.getProperty("to", null) == null && !((boolean) r.getStartNode().getProperty("deprecated"))).count()))
-				.forEach(i -> relationships(detail(profiles.get(i)), Relation.HAS, Direction.OUTGOING)
-						.map(r -> new Object[]{Math.toIntExact((long) r.getProperty(Allele.PART)), r.getEndNode().getProperty(Allele.ID)})
-						.forEach(p -> alleles[i][((int) p[0]) - 1] = (String) p[1]));
-		return new Matrix(ids, isolates, alleles);
+		AlleleTable alleles = new AlleleTable(ids, isolates, loci);
+		for (int i = 0; i < lines; i++) {
+			Node profile = profiles.get(i);
+			ids[i] = (String) profile.getProperty(Profile.ID);
+			isolates[i] = isolates(profile);
+			for (Relationship has : details.get(i).getRelationships(Direction.OUTGOING, Relation.HAS.type()))
+				alleles.set(i, Math.toIntExact((long) has.getProperty(Allele.PART)) - 1, (String) has.getEndNode().getProperty(Allele.ID));
+		}
+		return alleles;
+	}
+
+	private static int compare(String s1, String s2) {
+		return s1.length() == s2.length() ? s1.compareTo(s2) : (s1.length() - s2.length());
+	}
+
+	/**
+	 * Computes a key that identifies the current state of the profiles of a dataset, which changes whenever a profile is added, updated, or deprecated,
+	 * or whenever the number of isolates of a profile changes
+	 * <p>
+	 * The key is a digest of the element ids of each profile and of its current details, and of the version and isolates of each profile, so it is cheaper
+	 * to compute than reading the alleles, and it also differs between databases.
+	 *
+	 * @param tx        transaction
+	 * @param projectId project id
+	 * @param datasetId dataset id
+	 * @return key of the profiles of the dataset
+	 */
+	public String key(Transaction tx, String projectId, String datasetId) {
+		Node project = node(Project.LABEL, projectId, tx);
+		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, datasetId);
+		Label label = label(Profile.LABEL);
+		List<String> lines = new ArrayList<>();
+		for (Relationship contains : dataset.getRelationships(Direction.OUTGOING, Relation.CONTAINS.type())) {
+			Node profile = contains.getEndNode();
+			if (profile.hasLabel(label) && !((boolean) profile.getProperty("deprecated")))
+				lines.add(profile.getElementId() + ' ' + detail(profile).getElementId() + ' ' + version(profile) + ' ' + isolates(profile));
+		}
+		Collections.sort(lines);
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("key - digest unavailable", e);
+		}
+		for (String line : lines) {
+			digest.update(line.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) '\n');
+		}
+		return projectId + '/' + datasetId + '/' + HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Reads the edges of an inference, referencing the profiles of an allele table of the same dataset, and marks the profiles of the edges that
+	 * changed since the inference
+	 * <p>
+	 * A profile changed if its current version or its current number of isolates differ from the ones stored in its edges, or if its edges don't
+	 * store its number of isolates.
+	 *
+	 * @param tx          transaction
+	 * @param projectId   project id
+	 * @param datasetId   dataset id
+	 * @param inferenceId inference id
+	 * @param algorithm   algorithm that must have computed the inference
+	 * @param lvs         lvs that the inference must have been computed with
+	 * @param table       allele table with the current profiles of the dataset
+	 * @param changed     profiles of the allele table, which are marked if they changed since the inference
+	 * @return edges of the inference, or no edges if a profile of an edge is no longer in the allele table, or if an edge doesn't store the given lvs
+	 */
+	public List<Edge> edges(Transaction tx, String projectId, String datasetId, String inferenceId, String algorithm, int lvs, AlleleTable table, boolean[] changed) {
+		Node project = node(Project.LABEL, projectId, tx);
+		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, datasetId);
+		Label label = label(Profile.LABEL);
+		String[] ids = table.getIds();
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < ids.length; i++)
+			indexes.put(ids[i], i);
+		List<Edge> edges = new ArrayList<>();
+		boolean missing = false;
+		for (Relationship contains : dataset.getRelationships(Direction.OUTGOING, Relation.CONTAINS.type())) {
+			Node profile = contains.getEndNode();
+			if (!profile.hasLabel(label))
+				continue;
+			for (Relationship distance : profile.getRelationships(Direction.OUTGOING, Relation.DISTANCES.type())) {
+				if (!distance.getProperty(Distance.ID).equals(inferenceId) || (boolean) distance.getProperty(Distance.DEPRECATED, false))
+					continue;
+				if (!distance.getProperty(Distance.ALGORITHM).equals(algorithm))
+					throw new IllegalArgumentException("edges - inference " + inferenceId + " was not computed by " + algorithm);
+				Node end = distance.getEndNode();
+				Integer from = indexes.get((String) profile.getProperty(Profile.ID)), to = indexes.get((String) end.getProperty(Profile.ID));
+				Object previous = distance.getProperty(Distance.LVS, null);
+				if (previous == null || ((Number) previous).intValue() != lvs || from == null || to == null || ((boolean) profile.getProperty("deprecated")) ||
+						((boolean) end.getProperty("deprecated"))) {
+					missing = true;
+					continue;
+				}
+				edges.add(new Edge(from, to, Math.toIntExact(Long.parseLong(String.valueOf(distance.getProperty(Distance.DISTANCE))))));
+				if (changed(profile, distance.getProperty(Distance.FROM_VERSION, null), distance.getProperty(Distance.FROM_ISOLATES, null)))
+					changed[from] = true;
+				if (changed(end, distance.getProperty(Distance.TO_VERSION, null), distance.getProperty(Distance.TO_ISOLATES, null)))
+					changed[to] = true;
+			}
+		}
+		return missing ? Collections.emptyList() : edges;
+	}
+
+	private boolean changed(Node profile, Object version, Object isolates) {
+		return version == null || isolates == null || ((Number) version).intValue() != version(profile) || ((Number) isolates).intValue() != isolates(profile);
 	}
 
 	@Override
 	public void write(Transaction tx, Inference inference) {
-		String inferenceId = inference.getId();
-		String algorithm = inference.getAlgorithm();
-		List<Edge> edges = direct(inference.getEdges());
+		List<Edge> edges = direct(inference.getEdges(), inference.getProfileIds().length);
+		Node[] profiles = profiles(tx, inference);
+		int[] versions = versions(profiles, edges), isolates = isolates(profiles, edges);
+		for (Edge edge : edges)
+			write(profiles[edge.from()], profiles[edge.to()], versions, isolates, inference, edge);
+	}
+
+	/**
+	 * Retrieves the number of edges created by each transaction of the procedures, which is configured by the {@value CHUNK} system property
+	 *
+	 * @return number of edges of each chunk
+	 */
+	public static int chunk() {
+		int chunk = Integer.getInteger(CHUNK, DEFAULT_CHUNK);
+		if (chunk <= 0)
+			throw new IllegalArgumentException("chunk - not positive:" + chunk);
+		return chunk;
+	}
+
+	/**
+	 * Stores the inference in the database, committing a transaction after each chunk of edges
+	 *
+	 * @param inference inference to store
+	 * @param chunk     number of edges created by each transaction
+	 */
+	public void write(Inference inference, int chunk) {
+		List<Edge> edges = direct(inference.getEdges(), inference.getProfileIds().length);
+		String[] elements = new String[inference.getProfileIds().length];
+		int[] versions, isolates;
+		try (Transaction tx = database.beginTx()) {
+			Node[] profiles = profiles(tx, inference);
+			versions = versions(profiles, edges);
+			isolates = isolates(profiles, edges);
+			for (int i = 0; i < profiles.length; i++)
+				elements[i] = profiles[i].getElementId();
+			tx.commit();
+		}
+		for (int start = 0; start < edges.size(); start += chunk) {
+			try (Transaction tx = database.beginTx()) {
+				for (Edge edge : edges.subList(start, Math.min(start + chunk, edges.size())))
+					write(tx.getNodeByElementId(elements[edge.from()]), tx.getNodeByElementId(elements[edge.to()]), versions, isolates, inference, edge);
+				tx.commit();
+			}
+		}
+	}
+
+	private Node[] profiles(Transaction tx, Inference inference) {
 		String[] ids = inference.getProfileIds();
 		Node project = node(Project.LABEL, inference.getProjectId(), tx);
 		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, inference.getDatasetId());
+		Map<String, Node> profiles = profiles(dataset);
+		Node[] nodes = new Node[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			nodes[i] = profiles.get(ids[i]);
+			if (nodes[i] == null)
+				throw new RuntimeException("related " + inference.getDatasetId() + " " + Relation.CONTAINS.name() + " " + Profile.LABEL + " " + ids[i]);
+		}
+		return nodes;
+	}
+
+	private int[] versions(Node[] profiles, List<Edge> edges) {
+		int[] versions = new int[profiles.length];
+		Arrays.fill(versions, -1);
 		for (Edge edge : edges) {
-			Node from = related(dataset, Relation.CONTAINS, Direction.OUTGOING, Profile.LABEL, ids[edge.from()]);
-			int fromVersion = version(from);
-			Node to = related(dataset, Relation.CONTAINS, Direction.OUTGOING, Profile.LABEL, ids[edge.to()]);
-			int toVersion = version(to);
-			Map<String, Object> properties = new HashMap<>();
-			properties.put(Distance.ID, inferenceId);
-			properties.put(Distance.ALGORITHM, algorithm);
-			properties.put(Distance.DISTANCE, edge.distance());
-			properties.put(Distance.FROM_VERSION, fromVersion);
-			properties.put(Distance.TO_VERSION, toVersion);
-			properties.put(Distance.DEPRECATED, false);
-			createRelationship(from, to, Relation.DISTANCES, properties);
+			if (versions[edge.from()] == -1)
+				versions[edge.from()] = version(profiles[edge.from()]);
+			if (versions[edge.to()] == -1)
+				versions[edge.to()] = version(profiles[edge.to()]);
 		}
+		return versions;
 	}
 
-	private List<Edge> direct(List<Edge> edges) {
-		List<Edge> directed = new ArrayList<>();
-		List<Edge> toDirect = new ArrayList<>(edges);
-		while (!toDirect.isEmpty()) {
-			Integer root = toDirect.stream()
-					.map(Edge::from)
-					.filter(i -> edges.stream().noneMatch(edge -> edge.to() == i))
-					.findFirst()
-					.orElseThrow(RuntimeException::new);
-			directed.addAll(directEdges(toDirect, root));
+	private int[] isolates(Node[] profiles, List<Edge> edges) {
+		int[] isolates = new int[profiles.length];
+		Arrays.fill(isolates, -1);
+		for (Edge edge : edges) {
+			if (isolates[edge.from()] == -1)
+				isolates[edge.from()] = isolates(profiles[edge.from()]);
+			if (isolates[edge.to()] == -1)
+				isolates[edge.to()] = isolates(profiles[edge.to()]);
 		}
-		return directed;
+		return isolates;
+	}
+
+	private void write(Node from, Node to, int[] versions, int[] isolates, Inference inference, Edge edge) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(Distance.ID, inference.getId());
+		properties.put(Distance.ALGORITHM, inference.getAlgorithm());
+		properties.put(Distance.DISTANCE, edge.distance());
+		properties.put(Distance.LVS, inference.getLvs());
+		properties.put(Distance.FROM_VERSION, versions[edge.from()]);
+		properties.put(Distance.TO_VERSION, versions[edge.to()]);
+		properties.put(Distance.FROM_ISOLATES, isolates[edge.from()]);
+		properties.put(Distance.TO_ISOLATES, isolates[edge.to()]);
+		properties.put(Distance.DEPRECATED, false);
+		createRelationship(from, to, Relation.DISTANCES, properties);
 	}
 
-	private List<Edge> directEdges(List<Edge> tree, int root) {
-		List<Edge> edges = tree.stream().filter(e -> e.from() == root || e.to() == root).collect(Collectors.toList());
-		tree.removeAll(edges);
-		List<Edge> directed = new ArrayList<>();
+	private static int isolates(Node profile) {
+		int count = 0;
+		for (Relationship has : profile.getRelationships(Direction.INCOMING, Relation.HAS.type())) {
+			Relationship current = has.getStartNode().getSingleRelationship(Relation.CONTAINS_DETAILS.type(), Direction.INCOMING);
+			if (current.getProperty("to", null) == null && !((boolean) current.getStartNode().getProperty("deprecated")))
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Orients the edges of each tree away from its root, which is the first profile that is the origin of an edge and the destination of none
+	 *
+	 * @param edges edges of the inference
+	 * @param size  number of profiles
+	 * @return directed edges
+	 */
+	static List<Edge> direct(List<Edge> edges, int size) {
+		int[] offsets = new int[size + 1];
+		boolean[] incoming = new boolean[size];
 		for (Edge edge : edges) {
-			if (edge.to() == root)
-				edge = new Edge(edge.to(), edge.from(), edge.distance());
-			directed.add(edge);
-			directed.addAll(directEdges(tree, edge.to()));
+			offsets[edge.from() + 1]++;
+			offsets[edge.to() + 1]++;
+			incoming[edge.to()] = true;
+		}
+		for (int i = 0; i < size; i++)
+			offsets[i + 1] += offsets[i];
+		int[] adjacency = new int[2 * edges.size()], positions = Arrays.copyOf(offsets, size);
+		for (int e = 0; e < edges.size(); e++) {
+			adjacency[positions[edges.get(e).from()]++] = e;
+			adjacency[positions[edges.get(e).to()]++] = e;
+		}
+		List<Edge> directed = new ArrayList<>(edges.size());
+		boolean[] visited = new boolean[size];
+		int[] queue = new int[size];
+		for (Edge root : edges) {
+			if (incoming[root.from()] || visited[root.from()])
+				continue;
+			int head = 0, tail = 0;
+			visited[root.from()] = true;
+			queue[tail++] = root.from();
+			while (head < tail) {
+				int node = queue[head++];
+				for (int a = offsets[node]; a < offsets[node + 1]; a++) {
+					Edge edge = edges.get(adjacency[a]);
+					int next = edge.from() == node ? edge.to() : edge.from();
+					if (visited[next])
+						continue;
+					visited[next] = true;
+					queue[tail++] = next;
+					directed.add(edge.from() == node ? edge : new Edge(node, next, edge.distance()));
+				}
+			}
 		}
+		if (directed.size() != edges.size())
+			throw new RuntimeException("direct - edges are not a forest:" + edges.size());
 		return directed;
 	}
 
@@ -1,13 +1,31 @@
 package algorithm.inference;
 
 import algorithm.utils.Service;
+import algorithm.inference.implementation.Edmonds;
 import algorithm.inference.implementation.GoeBURST;
+import algorithm.inference.implementation.HierarchicalClustering;
+import algorithm.inference.implementation.NeighborJoining;
+import algorithm.inference.implementation.Prim;
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Clustering;
+import algorithm.inference.model.Edge;
 import algorithm.inference.model.Inference;
 import algorithm.inference.model.Matrix;
+import algorithm.inference.model.MatrixCache;
+import algorithm.inference.model.Phylogeny;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.logging.Log;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
 /**
  * Class that contains operations to execute inference algorithms
  * <p>
@@ -22,25 +40,270 @@ public class InferenceService extends Service {
 	/**
 	 * Executes the goeBURST algorithm, with the data resulting from the inference identified in the parameters, and stores the result
 	 *
-	 * @param project  project id
-	 * @param dataset  dataset id
-	 * @param analysis inference id
-	 * @param lvs      number of lvs
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param analysis    inference id
+	 * @param lvs         number of lvs
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix, which is also done if the matrix is too big
 	 */
-	public void goeBURST(String project, String dataset, String analysis, long lvs) {
+	public void goeBURST(String project, String dataset, String analysis, long lvs, int parallelism, boolean sparse) {
+		GoeBURST algorithm = new GoeBURST();
+		algorithm.init(project, dataset, analysis, lvs);
+		infer(project, dataset, goeBURST(algorithm, parallelism, sparse));
+	}
+
+	/**
+	 * Executes the goeBURST algorithm, updating a previous goeBURST inference of the dataset with the profiles added since then, and stores the result
+	 * with a new inference id
+	 * <p>
+	 * The result is the same as the one computed from scratch, which is done if a profile of the previous inference was deprecated, updated, if its
+	 * number of isolates changed, or if the previous inference was computed with other lvs.
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param previous    id of the previous inference
+	 * @param analysis    inference id
+	 * @param lvs         number of lvs
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix, which is also done if the matrix is too big
+	 */
+	public void goeBURST(String project, String dataset, String previous, String analysis, long lvs, int parallelism, boolean sparse) {
 		InferenceRepository repository = new InferenceRepository(database);
 		GoeBURST algorithm = new GoeBURST();
 		algorithm.init(project, dataset, analysis, lvs);
-		Matrix matrix;
-		try (Transaction tx1 = database.beginTx()) {
-			matrix = repository.read(tx1, project, dataset);
-			tx1.commit();
+		AlleleTable table = read(project, dataset);
+		List<Edge> edges;
+		boolean[] changed = new boolean[table.size()];
+		try (Transaction tx = database.beginTx()) {
+			edges = repository.edges(tx, project, dataset, previous, GoeBURST.NAME, Math.toIntExact(lvs), table, changed);
+			tx.commit();
+		}
+		if (edges.isEmpty())
+			log.info("incremental - no edges of %s/%s/%s to update, computing from scratch", project, dataset, previous);
+		write(repository, sparse || !Matrix.fits(table.size()) ?
+				algorithm.compute(table, edges, changed) :
+				algorithm.compute(MatrixCache.instance().matrix(table, parallelism), edges, changed));
+	}
+
+	/**
+	 * Executes the goeBURST algorithm, with the data of the dataset identified in the parameters, and returns the result without storing it
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param lvs         number of lvs
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix, which is also done if the matrix is too big
+	 * @return inference with the edges directed as they would be stored
+	 */
+	public Inference goeBURST(String project, String dataset, long lvs, int parallelism, boolean sparse) {
+		GoeBURST algorithm = new GoeBURST();
+		algorithm.init(project, dataset, null, lvs);
+		return compute(project, dataset, goeBURST(algorithm, parallelism, sparse));
+	}
+
+	/**
+	 * Executes the goeBURST algorithm for several datasets, and stores each result as soon as it is computed
+	 * <p>
+	 * The datasets are read one at a time by the calling thread while the previous ones are computed and stored by a pool of workers. At most one
+	 * dataset more than the number of workers is held in memory, so the reader waits for a worker to finish before reading the next one.
+	 *
+	 * @param inferences  project id, dataset id, and inference id of each inference
+	 * @param lvs         number of lvs
+	 * @param workers     number of datasets computed at the same time, or {@code 0} to use all the available processors
+	 * @param parallelism number of threads used to compute each distance matrix, or {@code 0} to use all the available processors
+	 * @param sparse      {@code true} to find the edges without computing the distance matrix, which is also done if the matrix is too big
+	 * @return inferences in the given order
+	 */
+	public List<Inference> goeBURST(List<String[]> inferences, long lvs, int workers, int parallelism, boolean sparse) {
+		InferenceRepository repository = new InferenceRepository(database);
+		int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		Semaphore pending = new Semaphore(threads + 1);
+		List<Future<Inference>> futures = new ArrayList<>(inferences.size());
+		long start = System.nanoTime();
+		try {
+			for (String[] ids : inferences) {
+				pending.acquire();
+				AlleleTable table;
+				try {
+					table = read(ids[0], ids[1]);
+				} catch (RuntimeException e) {
+					pending.release();
+					throw e;
+				}
+				GoeBURST algorithm = new GoeBURST();
+				algorithm.init(ids[0], ids[1], ids[2], lvs);
+				Function<AlleleTable, Inference> compute = goeBURST(algorithm, parallelism, sparse);
+				futures.add(pool.submit(() -> {
+					try {
+						Inference inference = compute.apply(table);
+						write(repository, inference);
+						return inference;
+					} finally {
+						pending.release();
+					}
+				}));
+			}
+			List<Inference> results = new ArrayList<>(futures.size());
+			for (Future<Inference> future : futures)
+				results.add(future.get());
+			log.info("batch - %d inferences in %d ms", results.size(), (System.nanoTime() - start) / 1_000_000);
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("batch - interrupted", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("batch - " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			pool.shutdownNow();
 		}
-		Inference inference = algorithm.compute(matrix);
+	}
+
+	/**
+	 * Executes the Prim algorithm, with the data resulting from the inference identified in the parameters, and stores the result
+	 *
+	 * @param project  project id
+	 * @param dataset  dataset id
+	 * @param analysis inference id
+	 * @param lvs      maximum distance of an edge
+	 */
+	public void prim(String project, String dataset, String analysis, long lvs) {
+		Prim algorithm = new Prim();
+		algorithm.init(project, dataset, analysis, lvs);
+		infer(project, dataset, algorithm::compute);
+	}
+
+	/**
+	 * Executes the Prim algorithm, with the data of the dataset identified in the parameters, and returns the result without storing it
+	 *
+	 * @param project project id
+	 * @param dataset dataset id
+	 * @param lvs     maximum distance of an edge
+	 * @return inference with the edges directed as they would be stored
+	 */
+	public Inference prim(String project, String dataset, long lvs) {
+		Prim algorithm = new Prim();
+		algorithm.init(project, dataset, null, lvs);
+		return compute(project, dataset, algorithm::compute);
+	}
+
+	/**
+	 * Executes the Edmonds algorithm, with the data resulting from the inference identified in the parameters, and stores the result
+	 *
+	 * @param project  project id
+	 * @param dataset  dataset id
+	 * @param analysis inference id
+	 * @param lvs      maximum distance of an edge
+	 */
+	public void edmonds(String project, String dataset, String analysis, long lvs) {
+		Edmonds algorithm = new Edmonds();
+		algorithm.init(project, dataset, analysis, lvs);
+		infer(project, dataset, algorithm::compute);
+	}
+
+	/**
+	 * Executes the Edmonds algorithm, with the data of the dataset identified in the parameters, and returns the result without storing it
+	 *
+	 * @param project project id
+	 * @param dataset dataset id
+	 * @param lvs     maximum distance of an edge
+	 * @return inference with the edges directed as they would be stored
+	 */
+	public Inference edmonds(String project, String dataset, long lvs) {
+		Edmonds algorithm = new Edmonds();
+		algorithm.init(project, dataset, null, lvs);
+		return compute(project, dataset, algorithm::compute);
+	}
+
+	/**
+	 * Executes the Neighbor-Joining algorithm, with the data of the dataset identified in the parameters, and returns the result
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @return phylogeny with the profiles and the ancestors
+	 */
+	public Phylogeny neighborJoining(String project, String dataset, int parallelism) {
+		NeighborJoining algorithm = new NeighborJoining();
+		algorithm.init(project, dataset);
+		AlleleTable table = read(project, dataset);
+		if (!Matrix.fits(table.size()))
+			throw new IllegalArgumentException("neighborJoining - too many profiles:" + table.size());
+		return algorithm.compute(MatrixCache.instance().matrix(table, parallelism));
+	}
+
+	/**
+	 * Executes the hierarchical clustering algorithm, with the data of the dataset identified in the parameters, and stores the result
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param analysis    inference id
+	 * @param linkage     {@link HierarchicalClustering#SINGLE single} or {@link HierarchicalClustering#AVERAGE average} linkage
+	 * @param thresholds  distances at which the clusters are cut
+	 * @param parallelism number of threads used to compute the distance matrix, or {@code 0} to use all the available processors
+	 * @return cluster of each profile at each threshold
+	 */
+	public Clustering clustering(String project, String dataset, String analysis, String linkage, long[] thresholds, int parallelism) {
+		ClusteringRepository repository = new ClusteringRepository(database);
+		HierarchicalClustering algorithm = new HierarchicalClustering();
+		algorithm.init(project, dataset, analysis, linkage, thresholds);
+		AlleleTable table = read(project, dataset);
+		if (!Matrix.fits(table.size()))
+			throw new IllegalArgumentException("clustering - too many profiles:" + table.size());
+		Clustering clustering = algorithm.compute(MatrixCache.instance().matrix(table, parallelism));
 		try (Transaction tx2 = database.beginTx()) {
-			repository.write(tx2, inference);
+			repository.write(tx2, clustering);
 			tx2.commit();
 		}
+		return clustering;
+	}
+
+	private static Function<AlleleTable, Inference> goeBURST(GoeBURST algorithm, int parallelism, boolean sparse) {
+		return table -> sparse || !Matrix.fits(table.size()) ?
+				algorithm.compute(table) :
+				algorithm.compute(MatrixCache.instance().matrix(table, parallelism));
+	}
+
+	private void infer(String project, String dataset, Function<AlleleTable, Inference> algorithm) {
+		InferenceRepository repository = new InferenceRepository(database);
+		AlleleTable table = read(project, dataset);
+		write(repository, algorithm.apply(table));
+	}
+
+	private void write(InferenceRepository repository, Inference inference) {
+		long start = System.nanoTime();
+		repository.write(inference, InferenceRepository.chunk());
+		log.info("write - %d edges of %s/%s in %d ms", inference.getEdges().size(), inference.getProjectId(), inference.getDatasetId(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private Inference compute(String project, String dataset, Function<AlleleTable, Inference> algorithm) {
+		AlleleTable table = read(project, dataset);
+		Inference computed = algorithm.apply(table);
+		Inference inference = new Inference(project, dataset, null, computed.getProfileIds(), computed.getAlgorithm(), computed.getLvs());
+		InferenceRepository.direct(computed.getEdges(), computed.getProfileIds().length).forEach(inference::add);
+		return inference;
+	}
+
+	private AlleleTable read(String project, String dataset) {
+		InferenceRepository repository = new InferenceRepository(database);
+		MatrixCache cache = MatrixCache.instance();
+		long start = System.nanoTime();
+		AlleleTable table;
+		boolean cached;
+		try (Transaction tx = database.beginTx()) {
+			String key = repository.key(tx, project, dataset);
+			table = cache.table(key);
+			cached = table != null;
+			if (!cached) {
+				table = repository.read(tx, project, dataset);
+				cache.put(project + '/' + dataset, key, table);
+			}
+			tx.commit();
+		}
+		log.info("read - %d profiles with %d loci of %s/%s in %d ms%s", table.size(), table.loci(), project, dataset, (System.nanoTime() - start) / 1_000_000,
+				cached ? " from the cache" : "");
+		return table;
 	}
 
 }
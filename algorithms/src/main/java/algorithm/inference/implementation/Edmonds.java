@@ -0,0 +1,256 @@
+package algorithm.inference.implementation;
+
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Edge;
+import algorithm.inference.model.Inference;
+import algorithm.inference.model.Matrix;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Edmonds is an InferenceAlgorithm which implements the Edmonds algorithm to obtain a minimum spanning arborescence
+ * <p>
+ * The distance from a profile to another is given by {@link AlleleTable#directedDifferences}, which does not count the loci missing in the descendant,
+ * so the distances are not symmetric and the direction of the edges is meaningful. Only the arcs with a distance up to the lvs are considered, and every
+ * profile can also be a root at a cost greater than any tree, so the result is the minimum spanning forest with the fewest roots.
+ * The contractions are implemented with leftist heaps of arcs with lazy weight updates and a union-find with rollback, running in O(E log V) time.
+ */
+public class Edmonds extends InferenceAlgorithm {
+
+	public static final String NAME = "edmonds";
+	private static final int INITIAL_CAPACITY = 16;
+	private int lvs;
+
+	private int arcs;
+	private int[] sources;
+	private int[] targets;
+	private long[] weights;
+	private long[] deltas;
+	private int[] lefts;
+	private int[] rights;
+	private int[] ranks;
+
+	@Override
+	public void init(Object... params) {
+		this.projectId = (String) params[0];
+		this.datasetId = (String) params[1];
+		this.id = (String) params[2];
+		this.lvs = Math.toIntExact((long) params[3]);
+	}
+
+	@Override
+	public Inference compute(Matrix matrix) {
+		return compute(matrix.getTable());
+	}
+
+	/**
+	 * Executes the algorithm computing the directed distances from the allele table
+	 *
+	 * @param table allele table
+	 * @return algorithm result
+	 */
+	public Inference compute(AlleleTable table) {
+		Inference inference = new Inference(projectId, datasetId, id, table.getIds(), NAME, lvs);
+		int size = table.size();
+		int root = size;
+		arcs = 0;
+		sources = new int[INITIAL_CAPACITY];
+		targets = new int[INITIAL_CAPACITY];
+		weights = new long[INITIAL_CAPACITY];
+		for (int to = 0; to < size; to++) {
+			arc(root, to, (long) size * (lvs + 1));
+			for (int from = 0; from < size; from++) {
+				if (from == to)
+					continue;
+				int distance = table.directedDifferences(from, to, lvs);
+				if (distance <= lvs)
+					arc(from, to, distance);
+			}
+		}
+		int[] parents = arborescence(size + 1, root);
+		for (int to = 0; to < size; to++)
+			if (parents[to] != root)
+				inference.add(new Edge(parents[to], to, table.directedDifferences(parents[to], to, lvs)));
+		sources = targets = lefts = rights = ranks = null;
+		weights = deltas = null;
+		return inference;
+	}
+
+	private void arc(int from, int to, long weight) {
+		if (arcs == sources.length) {
+			sources = Arrays.copyOf(sources, arcs * 2);
+			targets = Arrays.copyOf(targets, arcs * 2);
+			weights = Arrays.copyOf(weights, arcs * 2);
+		}
+		sources[arcs] = from;
+		targets[arcs] = to;
+		weights[arcs++] = weight;
+	}
+
+	private int[] arborescence(int size, int root) {
+		deltas = new long[arcs];
+		lefts = new int[arcs];
+		rights = new int[arcs];
+		ranks = new int[arcs];
+		int[] heaps = new int[size];
+		Arrays.fill(heaps, -1);
+		for (int arc = 0; arc < arcs; arc++) {
+			lefts[arc] = rights[arc] = -1;
+			ranks[arc] = 1;
+			heaps[targets[arc]] = merge(heaps[targets[arc]], arc);
+		}
+		RollbackSet set = new RollbackSet(size);
+		int[] seen = new int[size], path = new int[size], queue = new int[size], in = new int[size];
+		Arrays.fill(seen, -1);
+		Arrays.fill(in, -1);
+		seen[root] = root;
+		Deque<int[]> cycles = new ArrayDeque<>();
+		for (int s = 0; s < size; s++) {
+			int u = s, qi = 0;
+			while (seen[u] < 0) {
+				if (heaps[u] == -1)
+					throw new RuntimeException("arborescence - unreachable profile:" + u);
+				int arc = top(heaps[u]);
+				deltas[arc] -= weights[arc];
+				heaps[u] = pop(arc);
+				queue[qi] = arc;
+				path[qi++] = u;
+				seen[u] = s;
+				u = set.find(sources[arc]);
+				if (seen[u] == s) {
+					int cycle = -1, end = qi, time = set.time(), w;
+					do {
+						w = path[--qi];
+						cycle = merge(cycle, heaps[w]);
+					} while (set.union(u, w));
+					u = set.find(u);
+					heaps[u] = cycle;
+					seen[u] = -1;
+					int[] contracted = new int[2 + end - qi];
+					contracted[0] = u;
+					contracted[1] = time;
+					System.arraycopy(queue, qi, contracted, 2, end - qi);
+					cycles.push(contracted);
+				}
+			}
+			for (int i = 0; i < qi; i++)
+				in[set.find(targets[queue[i]])] = queue[i];
+		}
+		for (int[] cycle : cycles) {
+			set.rollback(cycle[1]);
+			int arc = in[cycle[0]];
+			for (int i = 2; i < cycle.length; i++)
+				in[set.find(targets[cycle[i]])] = cycle[i];
+			in[set.find(targets[arc])] = arc;
+		}
+		int[] parents = new int[size];
+		for (int i = 0; i < size; i++)
+			parents[i] = in[i] == -1 ? -1 : sources[in[i]];
+		return parents;
+	}
+
+	private int top(int arc) {
+		propagate(arc);
+		return arc;
+	}
+
+	private int pop(int arc) {
+		propagate(arc);
+		return merge(lefts[arc], rights[arc]);
+	}
+
+	private void propagate(int arc) {
+		long delta = deltas[arc];
+		if (delta == 0)
+			return;
+		weights[arc] += delta;
+		if (lefts[arc] != -1)
+			deltas[lefts[arc]] += delta;
+		if (rights[arc] != -1)
+			deltas[rights[arc]] += delta;
+		deltas[arc] = 0;
+	}
+
+	private int merge(int a, int b) {
+		if (a == -1)
+			return b;
+		if (b == -1)
+			return a;
+		propagate(a);
+		propagate(b);
+		if (weights[a] > weights[b] || weights[a] == weights[b] && a > b) {
+			int tmp = a;
+			a = b;
+			b = tmp;
+		}
+		rights[a] = merge(rights[a], b);
+		if (rank(lefts[a]) < rank(rights[a])) {
+			int tmp = lefts[a];
+			lefts[a] = rights[a];
+			rights[a] = tmp;
+		}
+		ranks[a] = rank(rights[a]) + 1;
+		return a;
+	}
+
+	private int rank(int arc) {
+		return arc == -1 ? 0 : ranks[arc];
+	}
+
+	/**
+	 * Union-find by size without path compression, which allows undoing the unions made after a given time
+	 */
+	private static class RollbackSet {
+
+		private final int[] parents;
+		private final int[] history;
+		private int time;
+
+		private RollbackSet(int size) {
+			this.parents = new int[size];
+			this.history = new int[4 * size];
+			Arrays.fill(parents, -1);
+		}
+
+		private int find(int i) {
+			while (parents[i] >= 0)
+				i = parents[i];
+			return i;
+		}
+
+		private boolean union(int i, int j) {
+			i = find(i);
+			j = find(j);
+			if (i == j)
+				return false;
+			if (parents[i] > parents[j]) {
+				int tmp = i;
+				i = j;
+				j = tmp;
+			}
+			history[time++] = i;
+			history[time++] = parents[i];
+			history[time++] = j;
+			history[time++] = parents[j];
+			parents[i] += parents[j];
+			parents[j] = i;
+			return true;
+		}
+
+		private int time() {
+			return time;
+		}
+
+		private void rollback(int time) {
+			while (this.time > time) {
+				int value = history[--this.time];
+				int i = history[--this.time];
+				parents[i] = value;
+			}
+		}
+
+	}
+
+}
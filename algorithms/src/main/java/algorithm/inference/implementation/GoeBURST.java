@@ -1,15 +1,16 @@
 package algorithm.inference.implementation;
 
-import algorithm.inference.model.Edge;
-import algorithm.inference.model.Inference;
-import algorithm.inference.model.Matrix;
+import algorithm.inference.model.*;
 
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.stream.IntStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * GoeBURST is an InferenceAlgorithm which implements the goeBURST algorithm
+ * <p>
+ * The candidate edges are bucketed by distance in an {@link EdgeQueue}, so only the edges with the same distance are ordered by the goeBURST tiebreak rules,
+ * and the clusters are merged with a {@link DisjointSet}.
  */
 public class GoeBURST extends InferenceAlgorithm {
 
@@ -26,43 +27,155 @@ public class GoeBURST extends InferenceAlgorithm {
 
 	@Override
 	public Inference compute(Matrix matrix) {
-		Inference inference = new Inference(projectId, datasetId, id, matrix.getIds(), NAME);
 		int size = matrix.size();
-		int[][] lv = new int[size][lvs];
-		int[] clusters = new int[size];
-		Iterator<Edge> it = IntStream.range(0, size)
-				.peek(i -> clusters[i] = i)
-				.mapToObj(i -> IntStream.range(0, i)
-						.mapToObj(j -> new Edge(j, i, matrix.distance(i, j)))
-						.filter(edge -> edge.distance() > 0 && edge.distance() <= lvs)
-						.peek(e -> {
-							lv[e.to()][e.distance() - 1]++;
-							lv[e.from()][e.distance() - 1]++;
-						}))
-				.flatMap(i -> i)
-				.sorted(Comparator.comparingInt(Edge::distance).thenComparing((i, j) -> tiebreak(lv, matrix.getIsolates(), matrix.getIds(), i.from(), i.to(), j.from(), j.to())))
-				.iterator();
-		while (it.hasNext() && inference.edges().count() < size - 1) {
-			Edge edge = it.next();
-			if (clusters[edge.from()] != clusters[edge.to()]) {
-				int i = clusters[edge.from()];
-				int j = clusters[edge.to()];
-				for (int index = 0; index < clusters.length; index++)
-					if (clusters[index] == j)
-						clusters[index] = i;
-				inference.add(edge);
+		int[] lv = new int[size * lvs];
+		EdgeQueue queue = new EdgeQueue(lvs);
+		for (int i = 0; i < size; i++)
+			for (int j = 0; j < i; j++)
+				candidate(queue, lv, j, i, matrix.distance(i, j));
+		return compute(matrix.getIds(), matrix.getIsolates(), queue, lv);
+	}
+
+	/**
+	 * Executes the algorithm in sparse mode, where the candidate edges are found through a {@link LocusIndex}, so the memory depends on
+	 * the number of pairs of profiles within the lvs instead of the number of profiles squared
+	 *
+	 * @param table allele table
+	 * @return algorithm result
+	 */
+	public Inference compute(AlleleTable table) {
+		LocusIndex index = new LocusIndex(table, lvs);
+		return compute(table.getIds(), table.getIsolates(), index::neighbors);
+	}
+
+	/**
+	 * Executes the algorithm updating a previous inference with the profiles added since then, where the distances are read from the matrix
+	 *
+	 * @param matrix   distance matrix
+	 * @param previous edges of the previous inference, referencing the profiles of the matrix
+	 * @param changed  profiles of the matrix whose alleles or isolates changed since the previous inference
+	 * @return algorithm result, which is the same as the one computed from scratch
+	 * @see #compute(AlleleTable, List, boolean[])
+	 */
+	public Inference compute(Matrix matrix, List<Edge> previous, boolean[] changed) {
+		return compute(matrix.getIds(), matrix.getIsolates(), previous, changed, (i, j, limit) -> matrix.distance(i, j), (i, neighbors, distances) -> {
+			for (int j = 0; j < i; j++) {
+				neighbors[j] = j;
+				distances[j] = matrix.distance(i, j);
+			}
+			return i;
+		});
+	}
+
+	/**
+	 * Executes the algorithm updating a previous inference with the profiles added since then, where the distances are computed from the allele table
+	 * <p>
+	 * The new profiles are the ones without edges in the previous inference, and the old profiles within the lvs of a new profile are affected, since
+	 * their lv counts increase. The tiebreak only moves the edges of the affected profiles ahead, so an edge between unaffected profiles that is not
+	 * in the previous inference is still the last of a cycle of the previous edges, and only the previous edges and the edges of the new and affected
+	 * profiles are queued and sorted. The lv counts still take every pair within the lvs, and the affected profiles are marked in the same pass that
+	 * finds the candidate edges, so each distance is computed once and the other edges between old profiles are only queued once that pass ends.
+	 * This requires the old profiles to keep their relative order, their alleles, and their isolates, so if a profile of a previous edge changed, or
+	 * the distance of a previous edge changed, every edge is queued instead. The previous inference must also have been computed with the same lvs,
+	 * which is checked by {@link algorithm.inference.InferenceRepository#edges}.
+	 *
+	 * @param table    allele table
+	 * @param previous edges of the previous inference, referencing the profiles of the allele table
+	 * @param changed  profiles of the allele table whose alleles or isolates changed since the previous inference
+	 * @return algorithm result, which is the same as the one computed from scratch
+	 */
+	public Inference compute(AlleleTable table, List<Edge> previous, boolean[] changed) {
+		LocusIndex index = new LocusIndex(table, lvs);
+		return compute(table.getIds(), table.getIsolates(), previous, changed, table::differences, index::neighbors);
+	}
+
+	private Inference compute(String[] ids, int[] isolates, List<Edge> previous, boolean[] changed, Metric metric, Neighbors neighbors) {
+		int size = ids.length;
+		boolean[] old = new boolean[size], affected = new boolean[size];
+		Set<Long> edges = new HashSet<>();
+		for (Edge edge : previous) {
+			if (changed[edge.from()] || changed[edge.to()] || metric.distance(edge.from(), edge.to(), lvs) != edge.distance())
+				return compute(ids, isolates, neighbors);
+			old[edge.from()] = old[edge.to()] = true;
+			edges.add(pair(edge.from(), edge.to()));
+		}
+		int[] lv = new int[size * lvs];
+		EdgeQueue queue = new EdgeQueue(lvs), deferred = new EdgeQueue(lvs);
+		int[] found = new int[size];
+		int[] distances = new int[size];
+		for (int i = 0; i < size; i++) {
+			int count = neighbors.neighbors(i, found, distances);
+			for (int n = 0; n < count; n++) {
+				int j = found[n];
+				if (!candidate(lv, j, i, distances[n]))
+					continue;
+				if (old[i] != old[j])
+					affected[old[i] ? i : j] = true;
+				if (!old[i] || !old[j] || edges.contains(pair(j, i)))
+					queue.add(j, i, distances[n]);
+				else
+					deferred.add(j, i, distances[n]);
+			}
+		}
+		while (deferred.next())
+			if (affected[deferred.from()] || affected[deferred.to()])
+				queue.add(deferred.from(), deferred.to(), deferred.distance());
+		return compute(ids, isolates, queue, lv);
+	}
+
+	private Inference compute(String[] ids, int[] isolates, Neighbors neighbors) {
+		int size = ids.length;
+		int[] lv = new int[size * lvs];
+		EdgeQueue queue = new EdgeQueue(lvs);
+		int[] found = new int[size];
+		int[] distances = new int[size];
+		for (int i = 0; i < size; i++) {
+			int count = neighbors.neighbors(i, found, distances);
+			for (int n = 0; n < count; n++)
+				candidate(queue, lv, found[n], i, distances[n]);
+		}
+		return compute(ids, isolates, queue, lv);
+	}
+
+	private void candidate(EdgeQueue queue, int[] lv, int from, int to, int distance) {
+		if (candidate(lv, from, to, distance))
+			queue.add(from, to, distance);
+	}
+
+	private boolean candidate(int[] lv, int from, int to, int distance) {
+		if (distance <= 0 || distance > lvs)
+			return false;
+		lv[to * lvs + distance - 1]++;
+		lv[from * lvs + distance - 1]++;
+		return true;
+	}
+
+	private static long pair(int i, int j) {
+		return ((long) Math.min(i, j) << 32) | Math.max(i, j);
+	}
+
+	private Inference compute(String[] ids, int[] isolates, EdgeQueue queue, int[] lv) {
+		Inference inference = new Inference(projectId, datasetId, id, ids, NAME, lvs);
+		queue.sort((ifrom, ito, jfrom, jto) -> tiebreak(lv, isolates, ids, ifrom, ito, jfrom, jto));
+		DisjointSet clusters = new DisjointSet(ids.length);
+		int accepted = 0;
+		while (accepted < ids.length - 1 && queue.next()) {
+			if (clusters.union(queue.from(), queue.to())) {
+				inference.add(new Edge(queue.from(), queue.to(), queue.distance()));
+				accepted++;
 			}
 		}
 		return inference;
 	}
 
-	private int tiebreak(int[][] lv, int[] isolates, String[] ids, int ifrom, int ito, int jfrom, int jto) {
+	private int tiebreak(int[] lv, int[] isolates, String[] ids, int ifrom, int ito, int jfrom, int jto) {
 		int diff;
 		for (int index = 0; index < lvs; index++) {
-			diff = Integer.compare(Math.max(lv[jfrom][index], lv[jto][index]), Math.max(lv[ifrom][index], lv[ito][index]));
+			int lvifrom = lv[ifrom * lvs + index], lvito = lv[ito * lvs + index], lvjfrom = lv[jfrom * lvs + index], lvjto = lv[jto * lvs + index];
+			diff = Integer.compare(Math.max(lvjfrom, lvjto), Math.max(lvifrom, lvito));
 			if (diff != 0)
 				return diff;
-			diff = Integer.compare(Math.min(lv[jfrom][index], lv[jto][index]), Math.min(lv[ifrom][index], lv[ito][index]));
+			diff = Integer.compare(Math.min(lvjfrom, lvjto), Math.min(lvifrom, lvito));
 			if (diff != 0)
 				return diff;
 		}
@@ -80,4 +193,24 @@ public class GoeBURST extends InferenceAlgorithm {
 		return s1.length() == s2.length() ? s1.compareTo(s2) : (s1.length() - s2.length());
 	}
 
+	/**
+	 * Distance between two profiles, which only needs to be exact up to a limit
+	 */
+	@FunctionalInterface
+	private interface Metric {
+
+		int distance(int i, int j, int limit);
+
+	}
+
+	/**
+	 * Finder of the profiles with a lower index that may be within the lvs of a given profile, as in {@link LocusIndex#neighbors}
+	 */
+	@FunctionalInterface
+	private interface Neighbors {
+
+		int neighbors(int i, int[] neighbors, int[] distances);
+
+	}
+
 }
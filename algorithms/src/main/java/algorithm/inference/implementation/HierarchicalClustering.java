@@ -0,0 +1,142 @@
+package algorithm.inference.implementation;
+
+import algorithm.inference.model.Clustering;
+import algorithm.inference.model.DisjointSet;
+import algorithm.inference.model.Matrix;
+import algorithm.utils.Algorithm;
+
+import java.util.Arrays;
+
+/**
+ * HierarchicalClustering is an algorithm which implements the single linkage and the average linkage (UPGMA) agglomerative clustering
+ * <p>
+ * The dendrogram is built with the nearest-neighbor chain, which follows nearest neighbors until two clusters are the nearest neighbors of each other,
+ * and merges them. Both linkages are reducible, so merging them does not change the chain, and the dendrogram is built in O(n²) time with the
+ * distances kept in a float matrix updated by the Lance-Williams formula. The merges are then sorted by height and replayed once with a
+ * {@link DisjointSet}, cutting the dendrogram at each threshold in increasing order.
+ */
+public class HierarchicalClustering implements Algorithm<Matrix, Clustering> {
+
+	public static final String SINGLE = "single", AVERAGE = "average";
+	private static final int DEAD = -1;
+
+	private String projectId;
+	private String datasetId;
+	private String id;
+	private String linkage;
+	private long[] thresholds;
+
+	private float[] distances;
+	private float[] heights;
+	private int[] froms;
+	private int[] tos;
+
+	@Override
+	public void init(Object... params) {
+		this.projectId = (String) params[0];
+		this.datasetId = (String) params[1];
+		this.id = (String) params[2];
+		this.linkage = (String) params[3];
+		this.thresholds = (long[]) params[4];
+		if (!linkage.equals(SINGLE) && !linkage.equals(AVERAGE))
+			throw new IllegalArgumentException("linkage - unknown linkage:" + linkage);
+	}
+
+	@Override
+	public Clustering compute(Matrix matrix) {
+		int size = matrix.size();
+		long[] sorted = thresholds.clone();
+		Arrays.sort(sorted);
+		Clustering clustering = new Clustering(projectId, datasetId, id, matrix.getIds(), linkage, sorted);
+		distances = new float[(int) ((long) size * (size - 1) / 2)];
+		for (int i = 1; i < size; i++)
+			for (int j = 0; j < i; j++)
+				distances[index(i, j)] = matrix.distance(i, j);
+		int merges = Math.max(size - 1, 0);
+		froms = new int[merges];
+		tos = new int[merges];
+		heights = new float[merges];
+		dendrogram(size);
+		long[] order = new long[merges];
+		for (int m = 0; m < merges; m++)
+			order[m] = (long) Float.floatToIntBits(heights[m]) << 32 | m;
+		Arrays.sort(order);
+		DisjointSet set = new DisjointSet(size);
+		for (int t = 0, m = 0; t < sorted.length; t++) {
+			for (; m < merges && heights[(int) order[m]] <= sorted[t]; m++)
+				set.union(froms[(int) order[m]], tos[(int) order[m]]);
+			clustering.set(t, clusters(set, size));
+		}
+		distances = heights = null;
+		froms = tos = null;
+		return clustering;
+	}
+
+	private void dendrogram(int size) {
+		int[] sizes = new int[size], chain = new int[size];
+		Arrays.fill(sizes, 1);
+		int top = 0, first = 0;
+		for (int merge = 0; merge < size - 1; merge++) {
+			while (true) {
+				if (top == 0) {
+					while (sizes[first] == DEAD)
+						first++;
+					chain[top++] = first;
+				}
+				int a = chain[top - 1], previous = top > 1 ? chain[top - 2] : DEAD, b = previous;
+				float nearest = previous == DEAD ? Float.POSITIVE_INFINITY : distance(a, previous);
+				for (int k = 0; k < size; k++) {
+					if (k == a || sizes[k] == DEAD)
+						continue;
+					float value = distance(a, k);
+					if (value < nearest) {
+						nearest = value;
+						b = k;
+					}
+				}
+				if (b != previous) {
+					chain[top++] = b;
+					continue;
+				}
+				top -= 2;
+				int kept = Math.min(a, b), removed = Math.max(a, b);
+				froms[merge] = kept;
+				tos[merge] = removed;
+				heights[merge] = nearest;
+				for (int k = 0; k < size; k++) {
+					if (k == a || k == b || sizes[k] == DEAD)
+						continue;
+					float ak = distance(a, k), bk = distance(b, k);
+					distances[index(kept, k)] = linkage.equals(SINGLE) ?
+							Math.min(ak, bk) :
+							(float) (((double) sizes[a] * ak + (double) sizes[b] * bk) / (sizes[a] + sizes[b]));
+				}
+				sizes[kept] += sizes[removed];
+				sizes[removed] = DEAD;
+				break;
+			}
+		}
+	}
+
+	private static int[] clusters(DisjointSet set, int size) {
+		int[] labels = new int[size], clusters = new int[size];
+		Arrays.fill(labels, DEAD);
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			int root = set.find(i);
+			if (labels[root] == DEAD)
+				labels[root] = count++;
+			clusters[i] = labels[root];
+		}
+		return clusters;
+	}
+
+	private float distance(int i, int j) {
+		return distances[index(i, j)];
+	}
+
+	private static int index(int i, int j) {
+		return i > j ? (int) ((long) i * (i - 1) / 2 + j) : (int) ((long) j * (j - 1) / 2 + i);
+	}
+
+}
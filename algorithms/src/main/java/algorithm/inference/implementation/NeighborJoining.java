@@ -0,0 +1,153 @@
+package algorithm.inference.implementation;
+
+import algorithm.inference.model.Branch;
+import algorithm.inference.model.Matrix;
+import algorithm.inference.model.Phylogeny;
+import algorithm.utils.Algorithm;
+
+import java.util.Arrays;
+
+/**
+ * NeighborJoining is an algorithm which implements the Neighbor-Joining method to obtain an unrooted tree whose inner nodes are ancestors
+ * <p>
+ * The pair to join is searched as in RapidNJ, where each row keeps its columns sorted by distance. Since no row sum is greater than the maximum one,
+ * the search in a row stops as soon as the distance of a column, corrected with that maximum, can not produce a better pair than the one found.
+ * The joined node takes the row of one of the joined nodes, and only its row is sorted again, so the columns of the other rows that refer to a node
+ * created after the row are skipped. Besides the input it uses O(n²) memory, for a float matrix of distances and the sorted columns of each row.
+ */
+public class NeighborJoining implements Algorithm<Matrix, Phylogeny> {
+
+	public static final String NAME = "nj";
+	private static final int DEAD = -1;
+
+	private String projectId;
+	private String datasetId;
+
+	private float[] distances;
+	private double[] sums;
+	private int[] nodes;
+	private int[] created;
+	private int[][] columns;
+
+	@Override
+	public void init(Object... params) {
+		this.projectId = (String) params[0];
+		this.datasetId = (String) params[1];
+	}
+
+	@Override
+	public Phylogeny compute(Matrix matrix) {
+		Phylogeny phylogeny = new Phylogeny(projectId, datasetId, matrix.getIds(), NAME);
+		int size = matrix.size();
+		if (size < 2)
+			return phylogeny;
+		if (size == 2) {
+			phylogeny.add(new Branch(0, 1, matrix.distance(1, 0)));
+			return phylogeny;
+		}
+		distances = new float[(int) ((long) size * (size - 1) / 2)];
+		for (int i = 1; i < size; i++)
+			for (int j = 0; j < i; j++)
+				distances[index(i, j)] = matrix.distance(i, j);
+		sums = new double[size];
+		nodes = new int[size];
+		created = new int[size];
+		columns = new int[size][];
+		for (int i = 0; i < size; i++) {
+			nodes[i] = i;
+			for (int j = 0; j < size; j++)
+				if (i != j)
+					sums[i] += distance(i, j);
+		}
+		for (int i = 0; i < size; i++)
+			columns[i] = sort(i, size);
+		int node = size;
+		for (int remaining = size; remaining > 3; remaining--)
+			join(phylogeny, size, remaining, node++);
+		int[] last = new int[3];
+		for (int i = 0, l = 0; i < size; i++)
+			if (nodes[i] != DEAD)
+				last[l++] = i;
+		double ab = distance(last[0], last[1]), ac = distance(last[0], last[2]), bc = distance(last[1], last[2]);
+		phylogeny.add(new Branch(node, nodes[last[0]], (ab + ac - bc) / 2));
+		phylogeny.add(new Branch(node, nodes[last[1]], (ab + bc - ac) / 2));
+		phylogeny.add(new Branch(node, nodes[last[2]], (ac + bc - ab) / 2));
+		distances = null;
+		sums = null;
+		nodes = created = null;
+		columns = null;
+		return phylogeny;
+	}
+
+	private void join(Phylogeny phylogeny, int size, int remaining, int node) {
+		double max = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < size; i++)
+			if (nodes[i] != DEAD && sums[i] > max)
+				max = sums[i];
+		int divisor = remaining - 2, a = -1, b = -1;
+		double best = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < size; i++) {
+			if (nodes[i] == DEAD)
+				continue;
+			double bound = (sums[i] + max) / divisor;
+			for (int j : columns[i]) {
+				if (nodes[j] == DEAD || created[j] > created[i])
+					continue;
+				double value = distance(i, j);
+				if (value - bound >= best)
+					break;
+				double q = value - (sums[i] + sums[j]) / divisor;
+				if (q < best) {
+					best = q;
+					a = i;
+					b = j;
+				}
+			}
+		}
+		double ab = distance(a, b);
+		double length = ab / 2 + (sums[a] - sums[b]) / (2.0 * divisor);
+		phylogeny.add(new Branch(node, nodes[a], length));
+		phylogeny.add(new Branch(node, nodes[b], ab - length));
+		double sum = 0;
+		for (int k = 0; k < size; k++) {
+			if (nodes[k] == DEAD || k == a || k == b)
+				continue;
+			float ak = distance(a, k), bk = distance(b, k);
+			float value = (float) ((ak + bk - ab) / 2);
+			sums[k] += value - ak - bk;
+			distances[index(a, k)] = value;
+			sum += value;
+		}
+		sums[a] = sum;
+		nodes[a] = node;
+		created[a] = node;
+		nodes[b] = DEAD;
+		columns[b] = null;
+		columns[a] = sort(a, size);
+	}
+
+	private int[] sort(int i, int size) {
+		long[] keys = new long[size];
+		int count = 0;
+		for (int j = 0; j < size; j++) {
+			if (j == i || nodes[j] == DEAD)
+				continue;
+			int bits = Float.floatToIntBits(distance(i, j));
+			keys[count++] = (long) (bits ^ ((bits >> 31) & Integer.MAX_VALUE)) << 32 | j;
+		}
+		Arrays.sort(keys, 0, count);
+		int[] sorted = new int[count];
+		for (int k = 0; k < count; k++)
+			sorted[k] = (int) keys[k];
+		return sorted;
+	}
+
+	private float distance(int i, int j) {
+		return distances[index(i, j)];
+	}
+
+	private static int index(int i, int j) {
+		return i > j ? (int) ((long) i * (i - 1) / 2 + j) : (int) ((long) j * (j - 1) / 2 + i);
+	}
+
+}
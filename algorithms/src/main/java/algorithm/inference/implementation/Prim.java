@@ -0,0 +1,80 @@
+package algorithm.inference.implementation;
+
+import algorithm.inference.model.*;
+
+import java.util.Arrays;
+
+/**
+ * Prim is an InferenceAlgorithm which implements the Prim algorithm to obtain a minimum spanning tree
+ * <p>
+ * The distances are computed on demand, so besides the input it only uses a {@link BinaryHeap} and the parent of each profile.
+ * Edges with a distance greater than the lvs are not considered, so the result is a minimum spanning forest when the profiles are not all within the lvs.
+ */
+public class Prim extends InferenceAlgorithm {
+
+	public static final String NAME = "prim";
+	private static final int UNREACHED = Integer.MAX_VALUE;
+	private int lvs;
+
+	@Override
+	public void init(Object... params) {
+		this.projectId = (String) params[0];
+		this.datasetId = (String) params[1];
+		this.id = (String) params[2];
+		this.lvs = Math.toIntExact((long) params[3]);
+	}
+
+	@Override
+	public Inference compute(Matrix matrix) {
+		return compute(matrix.getIds(), (i, j, limit) -> matrix.distance(i, j));
+	}
+
+	/**
+	 * Executes the algorithm computing the distances from the allele table, without a distance matrix
+	 *
+	 * @param table allele table
+	 * @return algorithm result
+	 */
+	public Inference compute(AlleleTable table) {
+		return compute(table.getIds(), table::differences);
+	}
+
+	private Inference compute(String[] ids, Metric metric) {
+		Inference inference = new Inference(projectId, datasetId, id, ids, NAME, lvs);
+		int size = ids.length;
+		int[] parents = new int[size];
+		Arrays.fill(parents, -1);
+		BinaryHeap heap = new BinaryHeap(size);
+		for (int i = 0; i < size; i++)
+			heap.push(i, UNREACHED);
+		while (!heap.isEmpty()) {
+			int from = heap.poll();
+			if (parents[from] != -1)
+				inference.add(new Edge(parents[from], from, heap.key(from)));
+			for (int to = 0; to < size; to++) {
+				if (!heap.contains(to))
+					continue;
+				int limit = Math.min(heap.key(to) - 1, lvs);
+				if (limit < 0)
+					continue;
+				int distance = metric.distance(from, to, limit);
+				if (distance <= limit) {
+					heap.decrease(to, distance);
+					parents[to] = from;
+				}
+			}
+		}
+		return inference;
+	}
+
+	/**
+	 * Distance between two profiles, which only needs to be exact up to a limit
+	 */
+	@FunctionalInterface
+	private interface Metric {
+
+		int distance(int i, int j, int limit);
+
+	}
+
+}
@@ -0,0 +1,210 @@
+package algorithm.inference.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An allele table contains the alleles of the profiles of a dataset, interned into dense codes for each locus
+ * <p>
+ * An allele table is constituted by the {@link #ids} of the profiles, the {@link #isolates} count of each profile, and by the {@link #codes}
+ * of each profile, stored row by row. Each locus has its own dictionary, which maps every allele id to a code starting at 1, and the list of allele ids by code,
+ * while the code 0 is reserved for missing alleles. The codes are stored as shorts, and are widened to ints if any locus exceeds that range.
+ */
+public class AlleleTable {
+
+	public static final int MISSING = 0;
+	private static final int ENTRY_BYTES = 64;
+
+	private final String[] ids;
+	private final int[] isolates;
+	private final int loci;
+	private final Map<String, Integer>[] dictionaries;
+	private final List<String>[] alleles;
+	private short[] codes;
+	private int[] wideCodes;
+
+	@SuppressWarnings("unchecked")
+	public AlleleTable(String[] ids, int[] isolates, int loci) {
+		this.ids = ids;
+		this.isolates = isolates;
+		this.loci = loci;
+		this.dictionaries = new Map[loci];
+		this.alleles = new List[loci];
+		for (int l = 0; l < loci; l++) {
+			this.dictionaries[l] = new HashMap<>();
+			this.alleles[l] = new ArrayList<>();
+		}
+		this.codes = new short[Math.multiplyExact(ids.length, loci)];
+	}
+
+	public AlleleTable(String[] ids, int[] isolates, String[][] allelesIds) {
+		this(ids, isolates, allelesIds.length == 0 ? 0 : allelesIds[0].length);
+		for (int i = 0; i < ids.length; i++)
+			for (int l = 0; l < loci; l++)
+				set(i, l, allelesIds[i][l]);
+	}
+
+	public String[] getIds() {
+		return ids;
+	}
+
+	public int[] getIsolates() {
+		return isolates;
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	public int loci() {
+		return loci;
+	}
+
+	/**
+	 * Interns the allele id and stores its code for the given profile and locus
+	 *
+	 * @param profile  profile index
+	 * @param locus    locus index, starting at 0
+	 * @param alleleId allele id, or {@code null} if the allele is missing
+	 */
+	public void set(int profile, int locus, String alleleId) {
+		int code = alleleId == null ? MISSING : dictionaries[locus].computeIfAbsent(alleleId, k -> {
+			alleles[locus].add(k);
+			return alleles[locus].size();
+		});
+		int index = profile * loci + locus;
+		if (wideCodes != null)
+			wideCodes[index] = code;
+		else if (code <= Short.MAX_VALUE)
+			codes[index] = (short) code;
+		else {
+			widen();
+			wideCodes[index] = code;
+		}
+	}
+
+	public int code(int profile, int locus) {
+		int index = profile * loci + locus;
+		return wideCodes != null ? wideCodes[index] : codes[index];
+	}
+
+	/**
+	 * Retrieves the allele id of a profile at a locus
+	 *
+	 * @param profile profile index
+	 * @param locus   locus index, starting at 0
+	 * @return allele id, or {@code null} if the allele is missing
+	 */
+	public String allele(int profile, int locus) {
+		int code = code(profile, locus);
+		return code == MISSING ? null : alleles[locus].get(code - 1);
+	}
+
+	/**
+	 * Verifies if a profile has the same alleles as a profile of another allele table, whose codes may differ
+	 *
+	 * @param i     profile index
+	 * @param other other allele table
+	 * @param j     profile index in the other allele table
+	 * @return {@code true} if both profiles have the same allele id, or miss the allele, in every locus
+	 */
+	public boolean same(int i, AlleleTable other, int j) {
+		if (loci != other.loci)
+			return false;
+		for (int l = 0; l < loci; l++)
+			if (!Objects.equals(allele(i, l), other.allele(j, l)))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Counts the loci in which the alleles of two profiles differ. A missing allele always counts as a difference
+	 *
+	 * @param i profile index
+	 * @param j profile index
+	 * @return number of differences
+	 */
+	public int differences(int i, int j) {
+		return differences(i, j, loci);
+	}
+
+	/**
+	 * Counts the loci in which the alleles of two profiles differ, stopping as soon as the count exceeds the limit
+	 *
+	 * @param i     profile index
+	 * @param j     profile index
+	 * @param limit maximum number of differences of interest
+	 * @return number of differences, or a number greater than the limit if the profiles differ in more loci than the limit
+	 */
+	public int differences(int i, int j, int limit) {
+		int differences = 0;
+		int ri = i * loci, rj = j * loci;
+		if (wideCodes != null) {
+			for (int l = 0; l < loci && differences <= limit; l++) {
+				int c = wideCodes[ri + l];
+				if (c == MISSING || c != wideCodes[rj + l])
+					differences++;
+			}
+		} else {
+			for (int l = 0; l < loci && differences <= limit; l++) {
+				short c = codes[ri + l];
+				if (c == MISSING || c != codes[rj + l])
+					differences++;
+			}
+		}
+		return differences;
+	}
+
+	/**
+	 * Counts the loci in which the allele of a profile differs from the allele of the profile it descends from, stopping as soon as the count exceeds the limit.
+	 * A missing allele in the descendant is not counted as a difference, since it may have been inherited, so the count is not symmetric
+	 *
+	 * @param from  index of the ancestor profile
+	 * @param to    index of the descendant profile
+	 * @param limit maximum number of differences of interest
+	 * @return number of differences, or a number greater than the limit if the profiles differ in more loci than the limit
+	 */
+	public int directedDifferences(int from, int to, int limit) {
+		int differences = 0;
+		int rf = from * loci, rt = to * loci;
+		for (int l = 0; l < loci && differences <= limit; l++) {
+			int c = wideCodes != null ? wideCodes[rt + l] : codes[rt + l];
+			if (c != MISSING && c != (wideCodes != null ? wideCodes[rf + l] : codes[rf + l]))
+				differences++;
+		}
+		return differences;
+	}
+
+	/**
+	 * Retrieves the number of distinct alleles of a locus
+	 *
+	 * @param locus locus index, starting at 0
+	 * @return number of distinct alleles
+	 */
+	public int alleles(int locus) {
+		return dictionaries[locus].size();
+	}
+
+	/**
+	 * Estimates the memory used by the table, counting a fixed overhead for each profile id and each interned allele id
+	 *
+	 * @return approximate number of bytes
+	 */
+	public long bytes() {
+		long entries = ids.length;
+		for (Map<String, Integer> dictionary : dictionaries)
+			entries += dictionary.size();
+		return (wideCodes != null ? 4L * wideCodes.length : 2L * codes.length) + 4L * isolates.length + entries * ENTRY_BYTES;
+	}
+
+	private void widen() {
+		wideCodes = new int[codes.length];
+		for (int index = 0; index < codes.length; index++)
+			wideCodes[index] = codes[index];
+		codes = null;
+	}
+
+}
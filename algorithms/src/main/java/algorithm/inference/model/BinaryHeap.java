@@ -0,0 +1,113 @@
+package algorithm.inference.model;
+
+import java.util.Arrays;
+
+/**
+ * A binary heap is a min priority queue of profile indexes, ordered by an int key, which supports decreasing the key of a profile
+ * <p>
+ * A binary heap is constituted by the {@link #heap} array with the profiles in heap order, the {@link #positions} of each profile in that array,
+ * and by the {@link #keys} of each profile. Profiles with the same key are ordered by their index.
+ */
+public class BinaryHeap {
+
+	private final int[] heap;
+	private final int[] positions;
+	private final int[] keys;
+	private int size;
+
+	public BinaryHeap(int capacity) {
+		this.heap = new int[capacity];
+		this.positions = new int[capacity];
+		this.keys = new int[capacity];
+		Arrays.fill(positions, -1);
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int profile) {
+		return positions[profile] != -1;
+	}
+
+	public int key(int profile) {
+		return keys[profile];
+	}
+
+	/**
+	 * Adds a profile to the heap
+	 *
+	 * @param profile profile index
+	 * @param key     key of the profile
+	 */
+	public void push(int profile, int key) {
+		keys[profile] = key;
+		heap[size] = profile;
+		positions[profile] = size;
+		up(size++);
+	}
+
+	/**
+	 * Decreases the key of a profile that is in the heap
+	 *
+	 * @param profile profile index
+	 * @param key     new key of the profile, which must not be greater than the current one
+	 */
+	public void decrease(int profile, int key) {
+		keys[profile] = key;
+		up(positions[profile]);
+	}
+
+	/**
+	 * Removes the profile with the lowest key from the heap
+	 *
+	 * @return profile index
+	 */
+	public int poll() {
+		int profile = heap[0];
+		positions[profile] = -1;
+		if (--size > 0) {
+			heap[0] = heap[size];
+			positions[heap[0]] = 0;
+			down(0);
+		}
+		return profile;
+	}
+
+	private void up(int position) {
+		int profile = heap[position];
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (!less(profile, heap[parent]))
+				break;
+			move(heap[parent], position);
+			position = parent;
+		}
+		move(profile, position);
+	}
+
+	private void down(int position) {
+		int profile = heap[position];
+		int half = size >>> 1;
+		while (position < half) {
+			int child = 2 * position + 1;
+			if (child + 1 < size && less(heap[child + 1], heap[child]))
+				child++;
+			if (!less(heap[child], profile))
+				break;
+			move(heap[child], position);
+			position = child;
+		}
+		move(profile, position);
+	}
+
+	private void move(int profile, int position) {
+		heap[position] = profile;
+		positions[profile] = position;
+	}
+
+	private boolean less(int i, int j) {
+		return keys[i] < keys[j] || keys[i] == keys[j] && i < j;
+	}
+
+}
@@ -0,0 +1,42 @@
+package algorithm.inference.model;
+
+/**
+ * A branch connects 2 nodes of a {@link Phylogeny phylogeny}, which are either profiles or ancestors
+ * <p>
+ * A branch is constituted by the {@link #from} and {@link #to} nodes references, and by the {@link #length} of the branch.
+ */
+public class Branch {
+
+	private final int from;
+	private final int to;
+	private final double length;
+
+	public Branch(int from, int to, double length) {
+		this.from = from;
+		this.to = to;
+		this.length = length;
+	}
+
+	public int from() {
+		return from;
+	}
+
+	public int to() {
+		return to;
+	}
+
+	public double length() {
+		return length;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		Branch branch = (Branch) o;
+		return from == branch.from &&
+				to == branch.to &&
+				Double.compare(branch.length, length) == 0;
+	}
+
+}
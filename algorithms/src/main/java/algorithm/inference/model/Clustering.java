@@ -0,0 +1,63 @@
+package algorithm.inference.model;
+
+/**
+ * A clustering is the result of a hierarchical clustering executed on a dataset. It contains the cluster of each profile at each threshold
+ * <p>
+ * A clustering is constituted by the {@link #projectId}, {@link #datasetId}, and {@link #id} fields to identify the inference,
+ * the {@link #profileIds} that contains the real profile ids, the {@link #algorithm} field that is the linkage used to produce the clustering,
+ * the {@link #thresholds} at which the dendrogram was cut, and by the {@link #clusters} field which has, for each threshold, the cluster of each profile.
+ * The clusters of a threshold are numbered from {@code 0} in the order of their first profile.
+ */
+public class Clustering {
+
+	private final String projectId;
+	private final String datasetId;
+	private final String id;
+	private final String[] profileIds;
+	private final String algorithm;
+	private final long[] thresholds;
+	private final int[][] clusters;
+
+	public Clustering(String projectId, String datasetId, String id, String[] profileIds, String algorithm, long[] thresholds) {
+		this.projectId = projectId;
+		this.datasetId = datasetId;
+		this.id = id;
+		this.profileIds = profileIds;
+		this.algorithm = algorithm;
+		this.thresholds = thresholds;
+		this.clusters = new int[thresholds.length][];
+	}
+
+	public String getProjectId() {
+		return projectId;
+	}
+
+	public String getDatasetId() {
+		return datasetId;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String[] getProfileIds() {
+		return profileIds;
+	}
+
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	public long[] getThresholds() {
+		return thresholds;
+	}
+
+	public int[][] getClusters() {
+		return clusters;
+	}
+
+	public void set(int threshold, int[] clusters) {
+		this.clusters[threshold] = clusters;
+	}
+
+}
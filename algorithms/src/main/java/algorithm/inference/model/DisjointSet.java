@@ -0,0 +1,61 @@
+package algorithm.inference.model;
+
+/**
+ * A disjoint set keeps track of the clusters of profiles that are already connected by the {@link Edge edges} of an {@link Inference inference}
+ * <p>
+ * A disjoint set is constituted by the {@link #parents} of each profile and by the {@link #ranks} of each cluster root. It uses union by rank
+ * and path compression, so both operations run in nearly constant amortized time.
+ */
+public class DisjointSet {
+
+	private final int[] parents;
+	private final byte[] ranks;
+
+	public DisjointSet(int size) {
+		this.parents = new int[size];
+		this.ranks = new byte[size];
+		for (int i = 0; i < size; i++)
+			parents[i] = i;
+	}
+
+	/**
+	 * Finds the root of the cluster of a profile
+	 *
+	 * @param i profile index
+	 * @return index of the cluster root
+	 */
+	public int find(int i) {
+		int root = i;
+		while (parents[root] != root)
+			root = parents[root];
+		while (parents[i] != root) {
+			int next = parents[i];
+			parents[i] = root;
+			i = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Merges the clusters of two profiles
+	 *
+	 * @param i profile index
+	 * @param j profile index
+	 * @return {@code true} if the profiles belonged to different clusters
+	 */
+	public boolean union(int i, int j) {
+		int ri = find(i), rj = find(j);
+		if (ri == rj)
+			return false;
+		if (ranks[ri] < ranks[rj]) {
+			int tmp = ri;
+			ri = rj;
+			rj = tmp;
+		}
+		parents[rj] = ri;
+		if (ranks[ri] == ranks[rj])
+			ranks[ri]++;
+		return true;
+	}
+
+}
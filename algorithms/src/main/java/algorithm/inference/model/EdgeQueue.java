@@ -0,0 +1,127 @@
+package algorithm.inference.model;
+
+import java.util.Arrays;
+
+/**
+ * An edge queue contains the candidate {@link Edge edges} of an inference, ordered by distance, without allocating an object per edge
+ * <p>
+ * An edge queue is constituted by one bucket per distance, from 1 to the maximum distance, where each edge is packed into a long with the
+ * {@code from} profile in the upper bits and the {@code to} profile in the lower bits. Since the edges are bucketed by distance, only the edges
+ * within the same bucket need to be sorted, and the sort is stable so edges that are tied keep the order in which they were added.
+ */
+public class EdgeQueue {
+
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int INSERTION_THRESHOLD = 32;
+
+	private final long[][] buckets;
+	private final int[] sizes;
+	private int bucket;
+	private int index;
+	private long current;
+
+	public EdgeQueue(int distances) {
+		this.buckets = new long[distances][INITIAL_CAPACITY];
+		this.sizes = new int[distances];
+		this.index = -1;
+	}
+
+	/**
+	 * Adds an edge to the bucket of its distance
+	 *
+	 * @param from     profile index
+	 * @param to       profile index
+	 * @param distance distance between the profiles, from 1 to the number of buckets
+	 */
+	public void add(int from, int to, int distance) {
+		int b = distance - 1;
+		if (sizes[b] == buckets[b].length)
+			buckets[b] = Arrays.copyOf(buckets[b], buckets[b].length * 2);
+		buckets[b][sizes[b]++] = ((long) from << 32) | (to & 0xFFFFFFFFL);
+	}
+
+	public long size() {
+		long size = 0;
+		for (int s : sizes)
+			size += s;
+		return size;
+	}
+
+	/**
+	 * Sorts each bucket with a stable merge sort, using the comparator to order edges with the same distance
+	 *
+	 * @param comparator comparator used to order edges with the same distance
+	 */
+	public void sort(Comparator comparator) {
+		for (int b = 0; b < buckets.length; b++) {
+			long[] edges = buckets[b];
+			sort(edges, Arrays.copyOf(edges, sizes[b]), 0, sizes[b], comparator);
+		}
+	}
+
+	/**
+	 * Advances to the next edge, following the increasing order of distances
+	 *
+	 * @return {@code true} if there is a next edge
+	 */
+	public boolean next() {
+		while (bucket < buckets.length) {
+			if (++index < sizes[bucket]) {
+				current = buckets[bucket][index];
+				return true;
+			}
+			bucket++;
+			index = -1;
+		}
+		return false;
+	}
+
+	public int from() {
+		return (int) (current >>> 32);
+	}
+
+	public int to() {
+		return (int) current;
+	}
+
+	public int distance() {
+		return bucket + 1;
+	}
+
+	private static void sort(long[] edges, long[] buffer, int low, int high, Comparator comparator) {
+		if (high - low <= INSERTION_THRESHOLD) {
+			for (int i = low + 1; i < high; i++) {
+				long edge = edges[i];
+				int j = i - 1;
+				for (; j >= low && compare(comparator, edges[j], edge) > 0; j--)
+					edges[j + 1] = edges[j];
+				edges[j + 1] = edge;
+			}
+			return;
+		}
+		int middle = (low + high) >>> 1;
+		sort(buffer, edges, low, middle, comparator);
+		sort(buffer, edges, middle, high, comparator);
+		if (compare(comparator, buffer[middle - 1], buffer[middle]) <= 0) {
+			System.arraycopy(buffer, low, edges, low, high - low);
+			return;
+		}
+		for (int i = low, p = low, q = middle; i < high; i++)
+			edges[i] = q >= high || p < middle && compare(comparator, buffer[p], buffer[q]) <= 0 ? buffer[p++] : buffer[q++];
+	}
+
+	private static int compare(Comparator comparator, long i, long j) {
+		return comparator.compare((int) (i >>> 32), (int) i, (int) (j >>> 32), (int) j);
+	}
+
+	/**
+	 * Comparator of two edges with the same distance, identified by their profiles
+	 */
+	@FunctionalInterface
+	public interface Comparator {
+
+		int compare(int ifrom, int ito, int jfrom, int jto);
+
+	}
+
+}
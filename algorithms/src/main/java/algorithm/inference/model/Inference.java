@@ -8,7 +8,8 @@ import java.util.stream.Stream;
  * An inference is the result of an inference study executed on a dataset. It contains a list of {@link Edge edges} that represent the result of the inference
  * <p>
  * An inference is constituted by the {@link #projectId}, {@link #datasetId}, and {@link #id} fields to identify the inference,
- * the {@link #profileIds} that contains the real profile ids, the {@link #algorithm} field that is the algorithm used to produce the inference, and by the {@link #edges} field which are the edges that compose this inference.
+ * the {@link #profileIds} that contains the real profile ids, the {@link #algorithm} field that is the algorithm used to produce the inference, the {@link #lvs} field
+ * that is the maximum distance of an edge given to the algorithm, and by the {@link #edges} field which are the edges that compose this inference.
  * An inference results of an inference algorithm execution.
  */
 public class Inference {
@@ -18,14 +19,16 @@ public class Inference {
 	private final String id;
 	private final String[] profileIds;
 	private final String algorithm;
+	private final int lvs;
 	private final List<Edge> edges;
 
-	public Inference(String projectId, String datasetId, String id, String[] profileIds, String algorithm) {
+	public Inference(String projectId, String datasetId, String id, String[] profileIds, String algorithm, int lvs) {
 		this.projectId = projectId;
 		this.datasetId = datasetId;
 		this.id = id;
 		this.profileIds = profileIds;
 		this.algorithm = algorithm;
+		this.lvs = lvs;
 		this.edges = new ArrayList<>();
 	}
 
@@ -49,6 +52,10 @@ public class Inference {
 		return algorithm;
 	}
 
+	public int getLvs() {
+		return lvs;
+	}
+
 	public List<Edge> getEdges() {
 		return edges;
 	}
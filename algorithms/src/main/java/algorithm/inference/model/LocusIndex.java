@@ -0,0 +1,97 @@
+package algorithm.inference.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A locus index contains, for some loci of an {@link AlleleTable allele table}, the profiles that have each allele, and is used to find the
+ * profiles that differ in at most {@link #lvs} loci without computing the distances between every pair of profiles
+ * <p>
+ * Two profiles that differ in at most {@link #lvs} loci must share an allele in at least one of any {@code lvs + 1} loci, so only the
+ * {@code lvs + 1} loci with the most distinct alleles are indexed. The profiles sharing an allele with a given profile in one of those loci
+ * are the candidates, which are then verified against the allele table. If there are no more loci than {@link #lvs}, every pair is a candidate.
+ */
+public class LocusIndex {
+
+	private final AlleleTable table;
+	private final int lvs;
+	private final int[] loci;
+	private final int[][][] postings;
+	private final int[] marks;
+
+	public LocusIndex(AlleleTable table, int lvs) {
+		this.table = table;
+		this.lvs = lvs;
+		this.marks = new int[table.size()];
+		Arrays.fill(marks, -1);
+		if (table.loci() <= lvs) {
+			this.loci = new int[0];
+			this.postings = null;
+			return;
+		}
+		this.loci = IntStream.range(0, table.loci())
+				.boxed()
+				.sorted((i, j) -> Integer.compare(table.alleles(j), table.alleles(i)))
+				.limit(lvs + 1)
+				.mapToInt(Integer::intValue)
+				.toArray();
+		this.postings = new int[loci.length][][];
+		for (int l = 0; l < loci.length; l++) {
+			int locus = loci[l];
+			int[] counts = new int[table.alleles(locus) + 1];
+			for (int i = 0; i < table.size(); i++)
+				counts[table.code(i, locus)]++;
+			postings[l] = new int[counts.length][];
+			for (int code = 1; code < counts.length; code++)
+				postings[l][code] = new int[counts[code]];
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < table.size(); i++) {
+				int code = table.code(i, locus);
+				if (code != AlleleTable.MISSING)
+					postings[l][code][counts[code]++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Finds the profiles with a lower index that differ from the given profile in at most {@link #lvs} loci
+	 *
+	 * @param i          profile index
+	 * @param neighbors  array where the neighbors are stored in increasing order, with at least the size of the allele table
+	 * @param distances  array where the distance to each neighbor is stored, with at least the size of the allele table
+	 * @return number of neighbors found
+	 */
+	public int neighbors(int i, int[] neighbors, int[] distances) {
+		int count = 0;
+		if (postings == null) {
+			for (int j = 0; j < i; j++)
+				neighbors[count++] = j;
+		} else {
+			for (int l = 0; l < loci.length; l++) {
+				int code = table.code(i, loci[l]);
+				if (code == AlleleTable.MISSING)
+					continue;
+				for (int j : postings[l][code]) {
+					if (j >= i)
+						break;
+					if (marks[j] != i) {
+						marks[j] = i;
+						neighbors[count++] = j;
+					}
+				}
+			}
+			Arrays.sort(neighbors, 0, count);
+		}
+		int found = 0;
+		for (int n = 0; n < count; n++) {
+			int j = neighbors[n];
+			int distance = table.differences(i, j, lvs);
+			if (distance <= lvs) {
+				neighbors[found] = j;
+				distances[found++] = distance;
+			}
+		}
+		return found;
+	}
+
+}
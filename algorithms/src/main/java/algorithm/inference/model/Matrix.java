@@ -1,51 +1,268 @@
 package algorithm.inference.model;
 
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * A matrix represents the differences between the profiles of an dataset
+ * <p>
+ * The distances are computed from an {@link AlleleTable allele table}, and only the lower triangle is stored, row by row, in a flat array.
+ * Since a distance can never exceed the number of loci, the array uses the narrowest type able to hold it, which is a byte for up to 255 loci,
+ * a short for up to 65535 loci, and an int otherwise. Since every row is independent, the rows can be computed in parallel.
  */
 public class Matrix {
 
-	private final String[] ids;
-	private final int[] isolates;
-	private final int[][] distances;
+	private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+	private static final long SEQUENTIAL_THRESHOLD = 1 << 20;
+
+	private final AlleleTable table;
+	private final int size;
+	private final byte[] bytes;
+	private final short[] shorts;
+	private final int[] ints;
+	private Matrix previous;
+	private int[] olds;
+	private int reused;
 
 	public Matrix(String[] ids, int[] isolates, String[][] allelesIds) {
-		this.ids = ids;
-		this.isolates = isolates;
-		this.distances = new int[ids.length][];
-		for (int i = 0; i < ids.length; i++) {
-			this.distances[i] = new int[i];
-			for (int j = 0; j < i; j++) {
-				int differences = 0;
-				for (int l = 0; l < allelesIds[0].length; l++) {
-					String il = allelesIds[i][l];
-					String jl = allelesIds[j][l];
-					if (il == null || !il.equals(jl))
-						differences++;
-				}
-				this.distances[i][j] = differences;
+		this(new AlleleTable(ids, isolates, allelesIds));
+	}
+
+	public Matrix(AlleleTable table) {
+		this(table, 1);
+	}
+
+	/**
+	 * Computes the matrix of the allele table, splitting the rows into blocks with a balanced number of distances when running in parallel
+	 *
+	 * @param table       allele table
+	 * @param parallelism number of threads used to compute the distances, or {@code 0} to use all the available processors
+	 */
+	public Matrix(AlleleTable table, int parallelism) {
+		this(table, null, parallelism, true);
+	}
+
+	/**
+	 * Computes the matrix of the allele table from the matrix of a previous allele table of the same dataset
+	 * <p>
+	 * The distance between two profiles that are in the previous allele table with the same alleles is copied from the previous matrix,
+	 * so only the rows and columns of the profiles that were added or changed are computed, and the profiles that were removed are dropped.
+	 *
+	 * @param table       allele table
+	 * @param previous    matrix of the previous allele table
+	 * @param parallelism number of threads used to compute the distances, or {@code 0} to use all the available processors
+	 */
+	public Matrix(AlleleTable table, Matrix previous, int parallelism) {
+		this(table, previous, parallelism, true);
+	}
+
+	private Matrix(AlleleTable table, Matrix previous, int parallelism, boolean fill) {
+		this.table = table;
+		this.size = table.size();
+		long length = (long) size * (size - 1) / 2;
+		if (!fits(size))
+			throw new IllegalArgumentException("matrix - profiles size:" + size);
+		int loci = table.loci();
+		this.bytes = loci <= 0xFF ? new byte[(int) length] : null;
+		this.shorts = loci > 0xFF && loci <= 0xFFFF ? new short[(int) length] : null;
+		this.ints = loci > 0xFFFF ? new int[(int) length] : null;
+		if (!fill)
+			return;
+		if (previous != null) {
+			AlleleTable old = previous.getTable();
+			Map<String, Integer> indexes = new HashMap<>();
+			for (int i = 0; i < old.size(); i++)
+				indexes.put(old.getIds()[i], i);
+			this.previous = previous;
+			this.olds = new int[size];
+			for (int i = 0; i < size; i++) {
+				Integer o = indexes.get(table.getIds()[i]);
+				olds[i] = o != null && table.same(i, old, o) ? o : -1;
+				if (olds[i] != -1)
+					reused++;
 			}
 		}
+		if (parallelism <= 0)
+			parallelism = Runtime.getRuntime().availableProcessors();
+		if (parallelism == 1 || size < 2) {
+			fill(0, size);
+		} else {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				pool.invoke(new Rows(0, size));
+			} finally {
+				pool.shutdown();
+			}
+		}
+		this.previous = null;
+		this.olds = null;
+	}
+
+	/**
+	 * Verifies if the lower triangle of a matrix with the given number of profiles can be stored in an array
+	 *
+	 * @param size number of profiles
+	 * @return {@code true} if the matrix can be created
+	 */
+	public static boolean fits(int size) {
+		return (long) size * (size - 1) / 2 <= MAX_LENGTH;
+	}
+
+	/**
+	 * Creates the matrix of the allele table without computing the distances, which are then {@link #load(ByteBuffer, int, int) loaded}
+	 *
+	 * @param table allele table
+	 * @return matrix with every distance set to zero
+	 */
+	static Matrix empty(AlleleTable table) {
+		return new Matrix(table, null, 1, false);
+	}
+
+	public AlleleTable getTable() {
+		return table;
 	}
 
 	public String[] getIds() {
-		return ids;
+		return table.getIds();
 	}
 
 	public int[] getIsolates() {
-		return isolates;
+		return table.getIsolates();
 	}
 
 	public int[][] getDistances() {
+		int[][] distances = new int[size][];
+		for (int i = 0; i < size; i++) {
+			distances[i] = new int[i];
+			for (int j = 0; j < i; j++)
+				distances[i][j] = get(index(i, j));
+		}
 		return distances;
 	}
 
 	public int size() {
-		return distances.length;
+		return size;
+	}
+
+	/**
+	 * Retrieves the number of rows that were copied from a previous matrix
+	 *
+	 * @return number of profiles whose distances to each other were not computed
+	 */
+	public int reused() {
+		return reused;
 	}
 
 	public int distance(int i, int j) {
-		return i == j ? 0 : distances[Math.max(i, j)][Math.min(i, j)];
+		return i == j ? 0 : get(i > j ? index(i, j) : index(j, i));
+	}
+
+	/**
+	 * Counts the memory used by the distances
+	 *
+	 * @return number of bytes of the lower triangle
+	 */
+	public long bytes() {
+		return (long) length() * width();
+	}
+
+	int length() {
+		return bytes != null ? bytes.length : shorts != null ? shorts.length : ints.length;
+	}
+
+	int width() {
+		return bytes != null ? Byte.BYTES : shorts != null ? Short.BYTES : Integer.BYTES;
+	}
+
+	/**
+	 * Copies a range of the lower triangle into a buffer
+	 *
+	 * @param buffer buffer with at least {@code (to - from) * width()} bytes remaining
+	 * @param from   first index of the triangle
+	 * @param to     index of the triangle after the last one
+	 */
+	void store(ByteBuffer buffer, int from, int to) {
+		if (bytes != null)
+			buffer.put(bytes, from, to - from);
+		else if (shorts != null)
+			buffer.asShortBuffer().put(shorts, from, to - from);
+		else
+			buffer.asIntBuffer().put(ints, from, to - from);
+	}
+
+	/**
+	 * Copies a range of the lower triangle from a buffer
+	 *
+	 * @param buffer buffer with at least {@code (to - from) * width()} bytes remaining
+	 * @param from   first index of the triangle
+	 * @param to     index of the triangle after the last one
+	 */
+	void load(ByteBuffer buffer, int from, int to) {
+		if (bytes != null)
+			buffer.get(bytes, from, to - from);
+		else if (shorts != null)
+			buffer.asShortBuffer().get(shorts, from, to - from);
+		else
+			buffer.asIntBuffer().get(ints, from, to - from);
+	}
+
+	private void fill(int from, int to) {
+		for (int i = Math.max(from, 1); i < to; i++) {
+			int oi = olds == null ? -1 : olds[i];
+			for (int j = 0; j < i; j++)
+				set(index(i, j), oi != -1 && olds[j] != -1 ? previous.distance(oi, olds[j]) : table.differences(i, j));
+		}
+	}
+
+	private static int index(int i, int j) {
+		return (int) ((long) i * (i - 1) / 2 + j);
+	}
+
+	private int get(int index) {
+		if (bytes != null)
+			return bytes[index] & 0xFF;
+		if (shorts != null)
+			return shorts[index] & 0xFFFF;
+		return ints[index];
+	}
+
+	private void set(int index, int distance) {
+		if (bytes != null)
+			bytes[index] = (byte) distance;
+		else if (shorts != null)
+			shorts[index] = (short) distance;
+		else
+			ints[index] = distance;
+	}
+
+	/**
+	 * Task that computes a block of rows, which is split in two blocks with the same number of distances while it is too big
+	 */
+	private class Rows extends RecursiveAction {
+
+		private final int from;
+		private final int to;
+
+		private Rows(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			long distances = ((long) to * to - (long) from * from) / 2;
+			if (to - from < 2 || distances * Math.max(table.loci(), 1) <= SEQUENTIAL_THRESHOLD) {
+				fill(from, to);
+				return;
+			}
+			int middle = (int) Math.sqrt(((double) from * from + (double) to * to) / 2);
+			middle = Math.min(Math.max(middle, from + 1), to - 1);
+			invokeAll(new Rows(from, middle), new Rows(middle, to));
+		}
+
 	}
 
 }
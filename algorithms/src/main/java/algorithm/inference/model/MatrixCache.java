@@ -0,0 +1,278 @@
+package algorithm.inference.model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A matrix cache keeps the {@link AlleleTable allele tables} and the {@link Matrix matrices} of the datasets used recently, so the reruns on the same
+ * profiles skip reading the alleles and computing the distances
+ * <p>
+ * Each entry is identified by a key which must change whenever the profiles of the dataset change, and only the most recent entry of each dataset is kept,
+ * along with the previous matrix of the dataset until the new one is computed from it. The entries are evicted in least recently used order
+ * while the estimated memory exceeds the {@link #memory} capacity. If there is a {@link #spill} directory, the matrix of an evicted entry is written to a
+ * memory-mapped file instead, and its table stays in memory, while the spilled files do not exceed the {@link #disk} capacity.
+ */
+public class MatrixCache {
+
+	public static final String MEMORY = "algorithms.cache.memory";
+	public static final String SPILL = "algorithms.cache.spill";
+	public static final String DISK = "algorithms.cache.disk";
+	private static final long DEFAULT_MEMORY = 256L << 20;
+	private static final long DEFAULT_DISK = 4L << 30;
+	private static final int CHUNK = 1 << 30;
+	private static final MatrixCache INSTANCE = new MatrixCache(Long.getLong(MEMORY, DEFAULT_MEMORY),
+			System.getProperty(SPILL) == null ? null : Path.of(System.getProperty(SPILL)), Long.getLong(DISK, DEFAULT_DISK));
+
+	private final long memory;
+	private final Path spill;
+	private final long disk;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<AlleleTable, String> keys = new IdentityHashMap<>();
+	private long used;
+	private long spilled;
+
+	/**
+	 * Creates a cache with the given capacities
+	 *
+	 * @param memory maximum number of bytes kept in memory, or {@code 0} to keep nothing
+	 * @param spill  directory of the spilled matrices, or {@code null} to discard them
+	 * @param disk   maximum number of bytes of the spilled matrices
+	 */
+	public MatrixCache(long memory, Path spill, long disk) {
+		this.memory = memory;
+		this.spill = spill;
+		this.disk = disk;
+	}
+
+	/**
+	 * Retrieves the cache shared by the procedures, which is configured by the {@value MEMORY}, {@value SPILL}, and {@value DISK} system properties
+	 *
+	 * @return shared cache
+	 */
+	public static MatrixCache instance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Retrieves the allele table of a key
+	 *
+	 * @param key key of the profiles
+	 * @return allele table, or {@code null} if it is not cached
+	 */
+	public synchronized AlleleTable table(String key) {
+		Entry entry = entries.get(key);
+		return entry == null ? null : entry.table;
+	}
+
+	/**
+	 * Caches the allele table of a key, replacing the previous entries of the dataset
+	 * <p>
+	 * The most recent matrix of the dataset, if any, is kept until the matrix of the new allele table is computed, so it is {@link Matrix#Matrix(AlleleTable, Matrix, int) updated}
+	 * instead of being computed from scratch.
+	 *
+	 * @param dataset identifier of the dataset, which is shared by the keys of its successive profiles
+	 * @param key     key of the profiles
+	 * @param table   allele table
+	 */
+	public synchronized void put(String dataset, String key, AlleleTable table) {
+		Entry entry = new Entry(dataset, table);
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			Entry previous = iterator.next();
+			if (!previous.dataset.equals(dataset))
+				continue;
+			iterator.remove();
+			used -= previous.bytes();
+			keys.remove(previous.table);
+			Entry base = previous.matrix != null || previous.file != null ? previous : previous.base;
+			if (base != previous.base && previous.base != null)
+				drop(previous.base);
+			previous.base = null;
+			if (base == null)
+				continue;
+			if (entry.base != null)
+				drop(entry.base);
+			entry.base = base;
+		}
+		entries.put(key, entry);
+		keys.put(table, key);
+		used += entry.bytes();
+		evict();
+	}
+
+	/**
+	 * Retrieves the matrix of an allele table, which is computed and cached if the table is cached without it
+	 *
+	 * @param table       allele table
+	 * @param parallelism number of threads used to compute the distances, or {@code 0} to use all the available processors
+	 * @return matrix of the allele table
+	 */
+	public Matrix matrix(AlleleTable table, int parallelism) {
+		Entry base;
+		Matrix previous;
+		synchronized (this) {
+			String key = keys.get(table);
+			Entry entry = key == null ? null : entries.get(key);
+			Matrix matrix = entry == null ? null : entry.matrix != null ? entry.matrix : entry.file != null ? load(entry) : null;
+			if (matrix != null)
+				return matrix;
+			base = entry == null ? null : entry.base;
+			previous = base == null ? null : base.matrix != null ? base.matrix : read(base);
+		}
+		Matrix matrix = previous == null ? new Matrix(table, parallelism) : new Matrix(table, previous, parallelism);
+		synchronized (this) {
+			String key = keys.get(table);
+			Entry entry = key == null ? null : entries.get(key);
+			if (entry != null && entry.matrix == null) {
+				drop(entry);
+				if (entry.base != null && entry.base == base) {
+					used -= base.bytes();
+					drop(base);
+					entry.base = null;
+				}
+				entry.matrix = matrix;
+				used += matrix.bytes();
+				evict();
+			}
+		}
+		return matrix;
+	}
+
+	public synchronized void clear() {
+		entries.values().forEach(this::remove);
+		entries.clear();
+	}
+
+	private void evict() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (used > memory && iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.matrix == null || !spill(entry)) {
+				iterator.remove();
+				remove(entry);
+			}
+		}
+		iterator = entries.values().iterator();
+		while (used > memory && iterator.hasNext()) {
+			remove(iterator.next());
+			iterator.remove();
+		}
+	}
+
+	private void remove(Entry entry) {
+		used -= entry.bytes();
+		drop(entry);
+		if (entry.base != null)
+			drop(entry.base);
+		keys.remove(entry.table);
+	}
+
+	private boolean spill(Entry entry) {
+		Matrix matrix = entry.matrix;
+		long bytes = matrix.bytes();
+		if (spill == null || bytes > disk)
+			return false;
+		for (Entry other : entries.values()) {
+			if (spilled + bytes <= disk)
+				break;
+			drop(other);
+		}
+		Path file = null;
+		try {
+			Files.createDirectories(spill);
+			file = Files.createTempFile(spill, "matrix", ".bin");
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				int step = CHUNK / matrix.width();
+				for (int from = 0; from < matrix.length(); from += step) {
+					int to = (int) Math.min((long) from + step, matrix.length());
+					matrix.store(channel.map(FileChannel.MapMode.READ_WRITE, (long) from * matrix.width(), (long) (to - from) * matrix.width()), from, to);
+				}
+			}
+		} catch (IOException e) {
+			delete(file);
+			return false;
+		}
+		entry.matrix = null;
+		entry.file = file;
+		entry.spilled = bytes;
+		used -= bytes;
+		spilled += bytes;
+		return true;
+	}
+
+	private Matrix load(Entry entry) {
+		Matrix matrix = read(entry);
+		if (matrix == null)
+			return null;
+		drop(entry);
+		entry.matrix = matrix;
+		used += matrix.bytes();
+		evict();
+		return matrix;
+	}
+
+	private Matrix read(Entry entry) {
+		Matrix matrix = Matrix.empty(entry.table);
+		try (FileChannel channel = FileChannel.open(entry.file, StandardOpenOption.READ)) {
+			int step = CHUNK / matrix.width();
+			for (int from = 0; from < matrix.length(); from += step) {
+				int to = (int) Math.min((long) from + step, matrix.length());
+				matrix.load(channel.map(FileChannel.MapMode.READ_ONLY, (long) from * matrix.width(), (long) (to - from) * matrix.width()), from, to);
+			}
+		} catch (IOException e) {
+			drop(entry);
+			return null;
+		}
+		return matrix;
+	}
+
+	private void drop(Entry entry) {
+		if (entry.file == null)
+			return;
+		spilled -= entry.spilled;
+		delete(entry.file);
+		entry.file = null;
+		entry.spilled = 0;
+	}
+
+	private static void delete(Path file) {
+		if (file == null)
+			return;
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ignored) {
+		}
+	}
+
+	/**
+	 * Entry of the cache, whose matrix is either in memory, in a spilled file, or not computed yet, in which case it may keep the previous entry of
+	 * the dataset as its base
+	 */
+	private static class Entry {
+
+		private final String dataset;
+		private final AlleleTable table;
+		private Matrix matrix;
+		private Path file;
+		private long spilled;
+		private Entry base;
+
+		private Entry(String dataset, AlleleTable table) {
+			this.dataset = dataset;
+			this.table = table;
+		}
+
+		private long bytes() {
+			return table.bytes() + (matrix == null ? 0 : matrix.bytes()) + (base == null ? 0 : base.bytes());
+		}
+
+	}
+
+}
@@ -0,0 +1,64 @@
+package algorithm.inference.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A phylogeny is the result of a tree inference executed on a dataset, whose inner nodes are ancestors that do not correspond to any profile.
+ * It contains a list of {@link Branch branches} that represent the result of the inference
+ * <p>
+ * A phylogeny is constituted by the {@link #projectId} and {@link #datasetId} fields to identify the dataset, the {@link #profileIds} that contains
+ * the real profile ids of the nodes {@code 0} to {@code profileIds.length - 1}, while the following nodes are the ancestors, the {@link #algorithm}
+ * field that is the algorithm used to produce the phylogeny, and by the {@link #branches} field which are the branches that compose this phylogeny.
+ */
+public class Phylogeny {
+
+	private final String projectId;
+	private final String datasetId;
+	private final String[] profileIds;
+	private final String algorithm;
+	private final List<Branch> branches;
+
+	public Phylogeny(String projectId, String datasetId, String[] profileIds, String algorithm) {
+		this.projectId = projectId;
+		this.datasetId = datasetId;
+		this.profileIds = profileIds;
+		this.algorithm = algorithm;
+		this.branches = new ArrayList<>();
+	}
+
+	public String getProjectId() {
+		return projectId;
+	}
+
+	public String getDatasetId() {
+		return datasetId;
+	}
+
+	public String[] getProfileIds() {
+		return profileIds;
+	}
+
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	public List<Branch> getBranches() {
+		return branches;
+	}
+
+	/**
+	 * Retrieves the profile id of a node
+	 *
+	 * @param node node index
+	 * @return profile id, or {@code null} if the node is an ancestor
+	 */
+	public String profileId(int node) {
+		return node < profileIds.length ? profileIds[node] : null;
+	}
+
+	public void add(Branch branch) {
+		branches.add(branch);
+	}
+
+}
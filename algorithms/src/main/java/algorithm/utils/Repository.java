@@ -1,9 +1,12 @@
 package algorithm.utils;
 
+import algorithm.utils.type.Profile;
 import algorithm.utils.type.Relation;
 import org.neo4j.graphdb.*;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -15,6 +18,8 @@ import java.util.stream.StreamSupport;
  */
 public abstract class Repository<T, R> {
 
+	private static final Map<String, Label> LABELS = new ConcurrentHashMap<>();
+
 	protected GraphDatabaseService database;
 
 	public Repository(GraphDatabaseService database) {
@@ -37,36 +42,60 @@ public abstract class Repository<T, R> {
 	 */
 	public abstract void write(Transaction tx, T param);
 
-	protected void createRelationship(Node from, Node to, Relation type, Map<String, Object> params) {
-		Relationship relationship = from.createRelationshipTo(to, RelationshipType.withName(type.name()));
+	protected static Label label(String name) {
+		return LABELS.computeIfAbsent(name, Label::label);
+	}
+
+	protected Relationship createRelationship(Node from, Node to, Relation type, Map<String, Object> params) {
+		Relationship relationship = from.createRelationshipTo(to, type.type());
 		params.forEach(relationship::setProperty);
+		return relationship;
 	}
 
 	protected Node node(String label, String id, Transaction tx) {
-		return tx.findNode(Label.label(label), "id", id);
+		return tx.findNode(label(label), "id", id);
 	}
 
 	protected Node related(Node node, Relation relationship, Direction direction, String label, String id) {
+		Label type = label(label);
 		return relationships(node, relationship, direction)
 				.map(Relationship::getEndNode)
-				.filter(n -> n.hasLabel(Label.label(label)) && n.getProperty("id").equals(id))
+				.filter(n -> n.hasLabel(type) && n.getProperty("id").equals(id))
 				.findFirst()
 				.orElseThrow(() -> new RuntimeException("related " + node.getProperty("id") + " " + relationship.name() + " " + label + " " + id));
 	}
 
 	protected Stream<Node> related(Node node, Relation relationship, Direction direction, String label) {
+		Label type = label(label);
 		return relationships(node, relationship, direction)
 				.map(Relationship::getEndNode)
-				.filter(n -> n.hasLabel(Label.label(label)));
+				.filter(n -> n.hasLabel(type));
 	}
 
 	protected Stream<Relationship> relationships(Node node, Relation relationship, Direction direction) {
 
-		ResourceIterable<Relationship> relationships = node.getRelationships(direction, RelationshipType.withName(relationship.name()));
+		ResourceIterable<Relationship> relationships = node.getRelationships(direction, relationship.type());
 
 		return StreamSupport.stream(relationships.spliterator(), false);
 	}
 
+	/**
+	 * Indexes the profiles of a dataset by their id, preferring the profiles that are not deprecated
+	 *
+	 * @param dataset dataset node
+	 * @return profile nodes by id
+	 */
+	protected Map<String, Node> profiles(Node dataset) {
+		Label label = label(Profile.LABEL);
+		Map<String, Node> profiles = new HashMap<>();
+		for (Relationship contains : dataset.getRelationships(Direction.OUTGOING, Relation.CONTAINS.type())) {
+			Node profile = contains.getEndNode();
+			if (profile.hasLabel(label))
+				profiles.merge((String) profile.getProperty(Profile.ID), profile, (a, b) -> (boolean) a.getProperty("deprecated") ? b : a);
+		}
+		return profiles;
+	}
+
 	protected int version(Node node) {
 		return relationships(node, Relation.CONTAINS_DETAILS, Direction.OUTGOING)
 				.filter(r -> r.getProperty("to", null) == null)
@@ -0,0 +1,10 @@
+package algorithm.utils.type;
+
+public class Cluster {
+
+	public static final String LABEL = "Cluster";
+	public static final String ID = "id";
+	public static final String THRESHOLD = "threshold";
+	public static final String INFERENCE_ID = "inferenceId";
+
+}
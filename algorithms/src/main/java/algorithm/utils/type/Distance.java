@@ -5,8 +5,11 @@ public class Distance {
 	public static final String ID = "id";
 	public static final String ALGORITHM = "algorithm";
 	public static final String DISTANCE = "distance";
+	public static final String LVS = "lvs";
 	public static final String FROM_VERSION = "fromVersion";
 	public static final String TO_VERSION = "toVersion";
+	public static final String FROM_ISOLATES = "fromIsolates";
+	public static final String TO_ISOLATES = "toIsolates";
 	public static final String DEPRECATED = "deprecated";
 
 }
@@ -1,5 +1,14 @@
 package algorithm.utils.type;
 
+import org.neo4j.graphdb.RelationshipType;
+
 public enum Relation {
-	CONTAINS, CONTAINS_DETAILS, HAS, DISTANCES
+	CONTAINS, CONTAINS_DETAILS, HAS, DISTANCES;
+
+	private final RelationshipType type = RelationshipType.withName(name());
+
+	public RelationshipType type() {
+		return type;
+	}
+
 }
@@ -1,9 +1,13 @@
 package algorithm.visualization;
 
+import algorithm.visualization.model.Visualization;
 import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+
 /**
  * VisualizationProcedures contains the inference algorithms procedures
  */
@@ -23,4 +27,95 @@ public class VisualizationProcedures extends algorithm.utils.Procedure {
 		service.radial(project, dataset, inference, visualization);
 	}
 
+	/**
+	 * Executes the radial algorithm, for a given inference of a dataset within a project. The result is not stored, and instead the coordinate of
+	 * each profile is returned
+	 *
+	 * @param project   project id
+	 * @param dataset   dataset id
+	 * @param inference inference id
+	 * @return coordinates of the visualization
+	 */
+	@Procedure(value = "algorithms.visualization.radial.stream", mode = Mode.READ)
+	public Stream<CoordinateRecord> radialStream(@Name("project") String project, @Name("dataset") String dataset, @Name("inference") String inference) {
+		VisualizationService service = new VisualizationService(database, log);
+		return CoordinateRecord.stream(service.radial(project, dataset, inference));
+	}
+
+	/**
+	 * Executes the radial algorithm incrementally, for a given inference of a dataset within a project, keeping the coordinates of the subtrees that
+	 * did not change since a previous visualization. The result is stored using the visualization id
+	 *
+	 * @param project           project id
+	 * @param dataset           dataset id
+	 * @param inference         inference id
+	 * @param visualization     visualization id
+	 * @param previousInference inference id of the previous visualization
+	 * @param previous          previous visualization id
+	 */
+	@Procedure(value = "algorithms.visualization.radial.incremental", mode = Mode.WRITE)
+	public void radialIncremental(@Name("project") String project, @Name("dataset") String dataset, @Name("inference") String inference, @Name("visualization") String visualization,
+								  @Name("previousInference") String previousInference, @Name("previous") String previous) {
+		VisualizationService service = new VisualizationService(database, log);
+		service.radial(project, dataset, inference, visualization, previousInference, previous);
+	}
+
+	/**
+	 * Executes the force-directed algorithm, for a given inference of a dataset within a project. The result is stored using the visualization id
+	 *
+	 * @param project       project id
+	 * @param dataset       dataset id
+	 * @param inference     inference id
+	 * @param visualization visualization id
+	 * @param iterations    number of iterations
+	 * @param parallelism   number of threads used to compute the forces, or {@code 0} to use all the available processors
+	 */
+	@Procedure(value = "algorithms.visualization.force", mode = Mode.WRITE)
+	public void force(@Name("project") String project, @Name("dataset") String dataset, @Name("inference") String inference, @Name("visualization") String visualization,
+					  @Name(value = "iterations", defaultValue = "100") long iterations, @Name(value = "parallelism", defaultValue = "0") long parallelism) {
+		VisualizationService service = new VisualizationService(database, log);
+		service.force(project, dataset, inference, visualization, Math.toIntExact(iterations), Math.toIntExact(parallelism));
+	}
+
+	/**
+	 * Executes the force-directed algorithm, for a given inference of a dataset within a project. The result is not stored, and instead the coordinate
+	 * of each profile is returned
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param inference   inference id
+	 * @param iterations  number of iterations
+	 * @param parallelism number of threads used to compute the forces, or {@code 0} to use all the available processors
+	 * @return coordinates of the visualization
+	 */
+	@Procedure(value = "algorithms.visualization.force.stream", mode = Mode.READ)
+	public Stream<CoordinateRecord> forceStream(@Name("project") String project, @Name("dataset") String dataset, @Name("inference") String inference,
+												@Name(value = "iterations", defaultValue = "100") long iterations, @Name(value = "parallelism", defaultValue = "0") long parallelism) {
+		VisualizationService service = new VisualizationService(database, log);
+		return CoordinateRecord.stream(service.force(project, dataset, inference, Math.toIntExact(iterations), Math.toIntExact(parallelism)));
+	}
+
+	/**
+	 * Record of the coordinate of a profile in a visualization, which is returned by the procedures
+	 */
+	public static class CoordinateRecord {
+
+		public final String profile;
+		public final long component;
+		public final double x;
+		public final double y;
+
+		public CoordinateRecord(String profile, long component, double x, double y) {
+			this.profile = profile;
+			this.component = component;
+			this.x = x;
+			this.y = y;
+		}
+
+		private static Stream<CoordinateRecord> stream(Visualization visualization) {
+			return Arrays.stream(visualization.getCoordinates()).map(c -> new CoordinateRecord(c.getProfileId(), c.getComponent(), c.getX(), c.getY()));
+		}
+
+	}
+
 }
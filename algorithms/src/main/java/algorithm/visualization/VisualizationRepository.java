@@ -7,17 +7,21 @@ import algorithm.visualization.model.Vertex;
 import algorithm.visualization.model.Visualization;
 import org.neo4j.graphdb.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Class that contains the implementation of the {@link Repository} for visualizations
  */
 public class VisualizationRepository extends Repository<Visualization, Tree> {
 
+	public static final String CHUNK = "algorithms.visualization.chunk";
+	private static final int DEFAULT_CHUNK = 10000;
+	private static final int INITIAL_CAPACITY = 16;
+
 	public VisualizationRepository(GraphDatabaseService database) {
 		super(database);
 	}
@@ -27,51 +31,220 @@ public class VisualizationRepository extends Repository<Visualization, Tree> {
 		String projectId = params[0], datasetId = params[1], inferenceId = params[2];
 		Node project = node(Project.LABEL, projectId, tx);
 		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, datasetId);
-		List<Relationship> distances = related(dataset, Relation.CONTAINS, Direction.OUTGOING, Profile.LABEL)
-				.flatMap(n -> relationships(n, Relation.DISTANCES, Direction.OUTGOING)
-						.filter(r -> r.getProperty(Distance.ID).equals(inferenceId)))
-				.collect(Collectors.toList());
-		Vertex[] roots = distances.stream()
-				.map(Relationship::getStartNode)
-				.filter(r -> distances.stream().noneMatch(r2 -> r2.getEndNode().equals(r)))
-				.distinct()
-				.map(n -> tree(n, 0, inferenceId))
-				.toArray(Vertex[]::new);
-		return new Tree(roots);
+		Label label = label(Profile.LABEL);
+		Map<String, Integer> indexes = new HashMap<>();
+		List<String> ids = new ArrayList<>();
+		int[] froms = new int[INITIAL_CAPACITY], tos = new int[INITIAL_CAPACITY];
+		long[] distances = new long[INITIAL_CAPACITY];
+		int edges = 0;
+		for (Relationship contains : dataset.getRelationships(Direction.OUTGOING, Relation.CONTAINS.type())) {
+			Node profile = contains.getEndNode();
+			if (!profile.hasLabel(label))
+				continue;
+			for (Relationship distance : profile.getRelationships(Direction.OUTGOING, Relation.DISTANCES.type())) {
+				if (!distance.getProperty(Distance.ID).equals(inferenceId))
+					continue;
+				if (edges == froms.length) {
+					froms = Arrays.copyOf(froms, edges * 2);
+					tos = Arrays.copyOf(tos, edges * 2);
+					distances = Arrays.copyOf(distances, edges * 2);
+				}
+				froms[edges] = index(indexes, ids, profile);
+				tos[edges] = index(indexes, ids, distance.getEndNode());
+				distances[edges++] = Long.parseLong(String.valueOf(distance.getProperty(Distance.DISTANCE)));
+			}
+		}
+		int size = ids.size();
+		int[] degrees = new int[size], offsets = new int[size + 1];
+		for (int e = 0; e < edges; e++) {
+			degrees[tos[e]]++;
+			offsets[froms[e] + 1]++;
+		}
+		for (int i = 0; i < size; i++)
+			offsets[i + 1] += offsets[i];
+		int[] children = new int[edges], positions = Arrays.copyOf(offsets, size);
+		for (int e = 0; e < edges; e++)
+			children[positions[froms[e]]++] = e;
+		List<Vertex> roots = new ArrayList<>();
+		boolean[] seen = new boolean[size];
+		int[] order = new int[size], parents = new int[size];
+		long[] lengths = new long[size];
+		Vertex[] vertices = new Vertex[size];
+		for (int e = 0; e < edges; e++) {
+			int root = froms[e];
+			if (degrees[root] != 0 || seen[root])
+				continue;
+			seen[root] = true;
+			int count = 0;
+			order[count++] = root;
+			for (int head = 0; head < count; head++) {
+				int node = order[head];
+				for (int c = offsets[node]; c < offsets[node + 1]; c++) {
+					int child = tos[children[c]];
+					if (seen[child])
+						continue;
+					seen[child] = true;
+					parents[child] = node;
+					lengths[child] = distances[children[c]];
+					order[count++] = child;
+				}
+			}
+			for (int k = count - 1; k >= 0; k--) {
+				int node = order[k];
+				List<Vertex> subtrees = new ArrayList<>(offsets[node + 1] - offsets[node]);
+				for (int c = offsets[node]; c < offsets[node + 1]; c++)
+					if (vertices[tos[children[c]]] != null && parents[tos[children[c]]] == node)
+						subtrees.add(vertices[tos[children[c]]]);
+				vertices[node] = new Vertex(ids.get(node), node == root ? 0 : lengths[node], subtrees.toArray(new Vertex[0]));
+			}
+			roots.add(vertices[root]);
+		}
+		return new Tree(roots.toArray(new Vertex[0]));
 	}
 
 	@Override
 	public void write(Transaction tx, Visualization visualization) {
-		String inferenceId = visualization.getInferenceId();
-		String id = visualization.getId();
-		String algorithm = visualization.getAlgorithm();
+		write(tx, visualization, null, null);
+	}
+
+	/**
+	 * Stores a visualization, reusing the coordinate nodes of a previous visualization for the profiles whose position did not change
+	 *
+	 * @param tx            transaction
+	 * @param visualization visualization to store
+	 * @param inferenceId   inference id of the previous visualization, or {@code null} to create every coordinate node
+	 * @param id            previous visualization id, or {@code null} to create every coordinate node
+	 * @return number of coordinate nodes reused
+	 */
+	public int write(Transaction tx, Visualization visualization, String inferenceId, String id) {
+		algorithm.visualization.model.Coordinate[] coordinates = visualization.getCoordinates();
+		Node[] profiles = profiles(tx, visualization);
+		Map<String, Object> template = template(visualization);
+		int reused = 0;
+		for (int i = 0; i < coordinates.length; i++)
+			if (write(tx, profiles[i], coordinates[i], template, inferenceId, id))
+				reused++;
+		return reused;
+	}
+
+	/**
+	 * Retrieves the maximum number of coordinates written by each transaction of the procedures, which is configured by the {@value CHUNK} system property
+	 *
+	 * @return number of coordinates of each chunk
+	 */
+	public static int chunk() {
+		int chunk = Integer.getInteger(CHUNK, DEFAULT_CHUNK);
+		if (chunk <= 0)
+			throw new IllegalArgumentException("chunk - not positive:" + chunk);
+		return chunk;
+	}
+
+	/**
+	 * Stores a visualization in transactions of at most a given number of coordinates, reusing the coordinate nodes of a previous visualization for
+	 * the profiles whose position did not change
+	 * <p>
+	 * The profiles are resolved once, and each chunk finds them by their element id, so the memory used by each transaction does not grow with the dataset.
+	 *
+	 * @param visualization visualization to store
+	 * @param inferenceId   inference id of the previous visualization, or {@code null} to create every coordinate node
+	 * @param id            previous visualization id, or {@code null} to create every coordinate node
+	 * @param chunk         maximum number of coordinates written by each transaction
+	 * @return number of coordinate nodes reused
+	 */
+	public int write(Visualization visualization, String inferenceId, String id, int chunk) {
+		algorithm.visualization.model.Coordinate[] coordinates = visualization.getCoordinates();
+		String[] elements = new String[coordinates.length];
+		try (Transaction tx = database.beginTx()) {
+			Node[] profiles = profiles(tx, visualization);
+			for (int i = 0; i < profiles.length; i++)
+				elements[i] = profiles[i].getElementId();
+			tx.commit();
+		}
+		Map<String, Object> template = template(visualization);
+		int reused = 0;
+		for (int start = 0; start < coordinates.length; start += chunk) {
+			try (Transaction tx = database.beginTx()) {
+				for (int i = start; i < Math.min(start + chunk, coordinates.length); i++)
+					if (write(tx, tx.getNodeByElementId(elements[i]), coordinates[i], template, inferenceId, id))
+						reused++;
+				tx.commit();
+			}
+		}
+		return reused;
+	}
+
+	/**
+	 * Reads the coordinates of a visualization that is not deprecated
+	 *
+	 * @param tx          transaction
+	 * @param projectId   project id
+	 * @param datasetId   dataset id
+	 * @param inferenceId inference id
+	 * @param id          visualization id
+	 * @return coordinates by profile id
+	 */
+	public Map<String, algorithm.visualization.model.Coordinate> coordinates(Transaction tx, String projectId, String datasetId, String inferenceId, String id) {
+		Node project = node(Project.LABEL, projectId, tx);
+		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, datasetId);
+		Map<String, algorithm.visualization.model.Coordinate> coordinates = new HashMap<>();
+		related(dataset, Relation.CONTAINS, Direction.OUTGOING, Profile.LABEL).forEach(profile -> {
+			Node c = coordinate(profile, inferenceId, id);
+			if (c == null)
+				return;
+			String profileId = (String) profile.getProperty(Profile.ID);
+			coordinates.put(profileId, new algorithm.visualization.model.Coordinate(profileId, 0, (double) c.getProperty(Coordinate.X), (double) c.getProperty(Coordinate.Y)));
+		});
+		return coordinates;
+	}
+
+	private Node[] profiles(Transaction tx, Visualization visualization) {
 		algorithm.visualization.model.Coordinate[] coordinates = visualization.getCoordinates();
 		Node project = node(Project.LABEL, visualization.getProjectId(), tx);
 		Node dataset = related(project, Relation.CONTAINS, Direction.OUTGOING, Dataset.LABEL, visualization.getDatasetId());
-		for (algorithm.visualization.model.Coordinate coordinate : coordinates) {
-			Node profile = related(dataset, Relation.CONTAINS, Direction.OUTGOING, Profile.LABEL, coordinate.getProfileId());
-			Node c = tx.createNode(Label.label(Coordinate.LABEL));
+		Map<String, Node> profiles = profiles(dataset);
+		Node[] nodes = new Node[coordinates.length];
+		for (int i = 0; i < coordinates.length; i++) {
+			nodes[i] = profiles.get(coordinates[i].getProfileId());
+			if (nodes[i] == null)
+				throw new RuntimeException("related " + visualization.getDatasetId() + " " + Relation.CONTAINS.name() + " " + Profile.LABEL + " " + coordinates[i].getProfileId());
+		}
+		return nodes;
+	}
+
+	private static Map<String, Object> template(Visualization visualization) {
+		Map<String, Object> template = new HashMap<>();
+		template.put(Has.INFERENCE_ID, visualization.getInferenceId());
+		template.put(Has.ID, visualization.getId());
+		template.put(Has.ALGORITHM, visualization.getAlgorithm());
+		template.put(Has.DEPRECATED, false);
+		return template;
+	}
+
+	private boolean write(Transaction tx, Node profile, algorithm.visualization.model.Coordinate coordinate, Map<String, Object> template, String inferenceId, String id) {
+		Node c = id == null ? null : coordinate(profile, inferenceId, id);
+		boolean reused = c != null && c.getProperty(Coordinate.X).equals(coordinate.getX()) && c.getProperty(Coordinate.Y).equals(coordinate.getY());
+		if (!reused) {
+			c = tx.createNode(label(Coordinate.LABEL));
 			c.setProperty(Coordinate.X, coordinate.getX());
 			c.setProperty(Coordinate.Y, coordinate.getY());
-			Map<String, Object> properties = new HashMap<>();
-			properties.put(Has.INFERENCE_ID, inferenceId);
-			properties.put(Has.ID, id);
-			properties.put(Has.COMPONENT, coordinate.getComponent());
-			properties.put(Has.ALGORITHM, algorithm);
-			properties.put(Has.DEPRECATED, false);
-			createRelationship(profile, c, Relation.HAS, properties);
 		}
+		createRelationship(profile, c, Relation.HAS, template).setProperty(Has.COMPONENT, coordinate.getComponent());
+		return reused;
 	}
 
-	private Vertex tree(Node current, long distance, String inferenceId) {
-		Vertex[] children = distances(current, Relation.DISTANCES, Direction.OUTGOING, inferenceId)
-				.map(r -> tree(r.getEndNode(), Long.parseLong(String.valueOf(r.getProperty(Distance.DISTANCE))), inferenceId))
-				.toArray(Vertex[]::new);
-		return new Vertex((String) current.getProperty(Profile.ID), distance, children);
+	private static Node coordinate(Node profile, String inferenceId, String id) {
+		for (Relationship has : profile.getRelationships(Direction.OUTGOING, Relation.HAS.type()))
+			if (inferenceId.equals(has.getProperty(Has.INFERENCE_ID, null)) && id.equals(has.getProperty(Has.ID, null)) &&
+					Boolean.FALSE.equals(has.getProperty(Has.DEPRECATED, null)))
+				return has.getEndNode();
+		return null;
 	}
 
-	private Stream<Relationship> distances(Node node, Relation relationship, Direction direction, String id) {
-		return relationships(node, relationship, direction).filter(r -> r.getProperty(Distance.ID).equals(id));
+	private static int index(Map<String, Integer> indexes, List<String> ids, Node profile) {
+		return indexes.computeIfAbsent(profile.getElementId(), k -> {
+			ids.add((String) profile.getProperty(Profile.ID));
+			return ids.size() - 1;
+		});
 	}
 
 }
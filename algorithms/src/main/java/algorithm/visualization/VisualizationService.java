@@ -1,13 +1,18 @@
 package algorithm.visualization;
 
 import algorithm.utils.Service;
+import algorithm.visualization.implementation.ForceDirected;
 import algorithm.visualization.implementation.Radial;
+import algorithm.visualization.implementation.VisualizationAlgorithm;
+import algorithm.visualization.model.Coordinate;
 import algorithm.visualization.model.Tree;
 import algorithm.visualization.model.Visualization;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.logging.Log;
 
+import java.util.Map;
+
 /**
  * Class that contains operations to execute visualization algorithms
  * <p>
@@ -28,19 +33,104 @@ public class VisualizationService extends Service {
 	 * @param id        visualization id
 	 */
 	public void radial(String project, String dataset, String inference, String id) {
+		Radial algorithm = new Radial();
+		algorithm.init(project, dataset, inference, id);
+		visualize(project, dataset, inference, algorithm);
+	}
+
+	/**
+	 * Executes the radial algorithm, with the data resulting from the inference identified in the parameters, and returns the result without storing it
+	 *
+	 * @param project   project id
+	 * @param dataset   dataset id
+	 * @param inference inference id
+	 * @return visualization
+	 */
+	public Visualization radial(String project, String dataset, String inference) {
+		Radial algorithm = new Radial();
+		algorithm.init(project, dataset, inference, null);
+		return compute(project, dataset, inference, algorithm);
+	}
+
+	/**
+	 * Executes the radial algorithm incrementally from a previous visualization, and stores the result reusing the coordinates that did not change
+	 *
+	 * @param project           project id
+	 * @param dataset           dataset id
+	 * @param inference         inference id
+	 * @param id                visualization id
+	 * @param previousInference inference id of the previous visualization
+	 * @param previous          previous visualization id
+	 */
+	public void radial(String project, String dataset, String inference, String id, String previousInference, String previous) {
 		VisualizationRepository repository = new VisualizationRepository(database);
 		Radial algorithm = new Radial();
 		algorithm.init(project, dataset, inference, id);
-		Tree tree;
+		Tree tree, old;
+		Map<String, Coordinate> coordinates;
 		try (Transaction tx1 = database.beginTx()) {
 			tree = repository.read(tx1, project, dataset, inference);
+			old = repository.read(tx1, project, dataset, previousInference);
+			coordinates = repository.coordinates(tx1, project, dataset, previousInference, previous);
 			tx1.commit();
 		}
-		Visualization visualization = algorithm.compute(tree);
-		try (Transaction tx2 = database.beginTx()) {
-			repository.write(tx2, visualization);
-			tx2.commit();
+		Visualization visualization = algorithm.compute(tree, old, coordinates);
+		int reused = write(repository, visualization, previousInference, previous);
+		log.info("radial - %d of %d coordinates of %s/%s kept from %s/%s", reused, visualization.getCoordinates().length, project, dataset, previousInference, previous);
+	}
+
+	/**
+	 * Executes the force-directed algorithm, with the data resulting from the inference identified in the parameters, and stores the result
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param inference   inference id
+	 * @param id          visualization id
+	 * @param iterations  number of iterations
+	 * @param parallelism number of threads used to compute the forces, or {@code 0} to use all the available processors
+	 */
+	public void force(String project, String dataset, String inference, String id, int iterations, int parallelism) {
+		ForceDirected algorithm = new ForceDirected();
+		algorithm.init(project, dataset, inference, id, iterations, parallelism);
+		visualize(project, dataset, inference, algorithm);
+	}
+
+	/**
+	 * Executes the force-directed algorithm, with the data resulting from the inference identified in the parameters, and returns the result without storing it
+	 *
+	 * @param project     project id
+	 * @param dataset     dataset id
+	 * @param inference   inference id
+	 * @param iterations  number of iterations
+	 * @param parallelism number of threads used to compute the forces, or {@code 0} to use all the available processors
+	 * @return visualization
+	 */
+	public Visualization force(String project, String dataset, String inference, int iterations, int parallelism) {
+		ForceDirected algorithm = new ForceDirected();
+		algorithm.init(project, dataset, inference, null, iterations, parallelism);
+		return compute(project, dataset, inference, algorithm);
+	}
+
+	private void visualize(String project, String dataset, String inference, VisualizationAlgorithm algorithm) {
+		write(new VisualizationRepository(database), compute(project, dataset, inference, algorithm), null, null);
+	}
+
+	private Visualization compute(String project, String dataset, String inference, VisualizationAlgorithm algorithm) {
+		Tree tree;
+		try (Transaction tx1 = database.beginTx()) {
+			tree = new VisualizationRepository(database).read(tx1, project, dataset, inference);
+			tx1.commit();
 		}
+		return algorithm.compute(tree);
+	}
+
+	private int write(VisualizationRepository repository, Visualization visualization, String previousInference, String previous) {
+		long start = System.nanoTime();
+		int reused = repository.write(visualization, previousInference, previous, VisualizationRepository.chunk());
+		long elapsed = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		int size = visualization.getCoordinates().length;
+		log.info("write - %d coordinates of %s/%s in %d ms (%d coordinates/s)", size, visualization.getProjectId(), visualization.getDatasetId(), elapsed, size * 1000L / elapsed);
+		return reused;
 	}
 
 }
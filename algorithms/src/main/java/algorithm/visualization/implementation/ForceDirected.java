@@ -0,0 +1,157 @@
+package algorithm.visualization.implementation;
+
+import algorithm.visualization.model.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ForceDirected is an VisualizationAlgorithm which implements the Fruchterman-Reingold force-directed layout
+ * <p>
+ * Each tree starts from its {@link Radial radial} layout and is laid out on its own. In every iteration each vertex is repelled by all the others,
+ * which is approximated with a {@link QuadTree quad tree} in O(n log n) time and computed in parallel, and attracted by its neighbors with a strength
+ * that decreases with the length of the edge. The vertices then move along the resulting force, up to a temperature that cools down linearly.
+ * At the end the trees are placed side by side.
+ */
+public class ForceDirected extends VisualizationAlgorithm {
+
+	public static final String NAME = "force";
+	private static final double THETA = 0.5;
+	private static final int SEQUENTIAL_THRESHOLD = 512;
+
+	private int iterations;
+	private int parallelism;
+
+	private double[] xs;
+	private double[] ys;
+	private double[] dxs;
+	private double[] dys;
+
+	@Override
+	public void init(Object... params) {
+		this.projectId = (String) params[0];
+		this.datasetId = (String) params[1];
+		this.inferenceId = (String) params[2];
+		this.id = (String) params[3];
+		this.iterations = (int) params[4];
+		int parallelism = (int) params[5];
+		this.parallelism = parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+	}
+
+	@Override
+	public Visualization compute(Tree tree) {
+		Preorder preorder = new Preorder(tree);
+		int size = preorder.size();
+		Coordinate[] initial = new Radial().compute(tree).getCoordinates();
+		xs = new double[size];
+		ys = new double[size];
+		dxs = new double[size];
+		dys = new double[size];
+		double[] lengths = new double[size];
+		for (int i = 0; i < size; i++) {
+			xs[i] = initial[i].getX();
+			ys[i] = initial[i].getY();
+			lengths[i] = preorder.vertex(i).getDistance() * Radial.DEFAULT_DISTANCE_MULTIPLIER + Radial.DEFAULT_ZERO_DISTANCE;
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			double offset = 0;
+			for (int r = 0; r < preorder.trees(); r++) {
+				int from = preorder.start(r), to = preorder.start(r + 1);
+				if (to - from > 1)
+					layout(pool, preorder, lengths, from, to);
+				offset = place(from, to, offset);
+			}
+		} finally {
+			pool.shutdown();
+		}
+		Coordinate[] coordinates = new Coordinate[size];
+		for (int r = 0; r < preorder.trees(); r++)
+			for (int i = preorder.start(r); i < preorder.start(r + 1); i++)
+				coordinates[i] = new Coordinate(preorder.vertex(i).getId(), r + 1, xs[i], ys[i]);
+		xs = ys = dxs = dys = null;
+		return new Visualization(projectId, datasetId, inferenceId, id, NAME, coordinates);
+	}
+
+	private void layout(ForkJoinPool pool, Preorder preorder, double[] lengths, int from, int to) {
+		double k = 0;
+		for (int i = from + 1; i < to; i++)
+			k += lengths[i];
+		k /= to - from - 1;
+		double strength = k * k, start = Math.max(k, k * Math.sqrt(to - from) / 10);
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			QuadTree quadTree = new QuadTree(xs, ys, from, to);
+			pool.invoke(new Repulsions(quadTree, strength, from, to));
+			for (int i = from + 1; i < to; i++) {
+				int parent = preorder.parent(i);
+				double dx = xs[i] - xs[parent], dy = ys[i] - ys[parent], distance = Math.sqrt(dx * dx + dy * dy);
+				if (distance == 0)
+					continue;
+				double factor = distance / lengths[i];
+				dxs[i] -= dx * factor;
+				dys[i] -= dy * factor;
+				dxs[parent] += dx * factor;
+				dys[parent] += dy * factor;
+			}
+			double temperature = start * (iterations - iteration) / iterations;
+			for (int i = from; i < to; i++) {
+				double displacement = Math.sqrt(dxs[i] * dxs[i] + dys[i] * dys[i]);
+				if (displacement > 0) {
+					double step = Math.min(displacement, temperature) / displacement;
+					xs[i] += dxs[i] * step;
+					ys[i] += dys[i] * step;
+				}
+			}
+		}
+	}
+
+	private double place(int from, int to, double offset) {
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+		for (int i = from; i < to; i++) {
+			minX = Math.min(minX, xs[i]);
+			maxX = Math.max(maxX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+		}
+		for (int i = from; i < to; i++) {
+			xs[i] += offset - minX;
+			ys[i] -= minY;
+		}
+		return offset + maxX - minX + 2 * Radial.DEFAULT_DISTANCE_MULTIPLIER;
+	}
+
+	/**
+	 * Computes the repulsion of a range of vertices, which replaces their previous displacement
+	 */
+	private class Repulsions extends RecursiveAction {
+
+		private final QuadTree quadTree;
+		private final double strength;
+		private final int from;
+		private final int to;
+
+		private Repulsions(QuadTree quadTree, double strength, int from, int to) {
+			this.quadTree = quadTree;
+			this.strength = strength;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				double[] force = new double[2];
+				for (int i = from; i < to; i++) {
+					force[0] = force[1] = 0;
+					quadTree.repulsion(i, THETA, strength, force);
+					dxs[i] = force[0];
+					dys[i] = force[1];
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Repulsions(quadTree, strength, from, middle), new Repulsions(quadTree, strength, middle, to));
+		}
+
+	}
+
+}
@@ -1,6 +1,7 @@
 package algorithm.visualization.implementation;
 
 import algorithm.visualization.model.Coordinate;
+import algorithm.visualization.model.Preorder;
 import algorithm.visualization.model.Tree;
 import algorithm.visualization.model.Vertex;
 import algorithm.visualization.model.Visualization;
@@ -8,20 +9,18 @@ import algorithm.visualization.model.Visualization;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Stack;
 
 /**
  * Radial is an VisualizationAlgorithm which implements the radial algorithm
+ * <p>
+ * The vertices of each tree are numbered in {@link Preorder pre-order}, so every vertex comes after its parent and before its next sibling. The leaves of
+ * each subtree are then counted in a single pass in reverse order, and the coordinates are laid out in a single pass in order, into arrays indexed by vertex.
  */
 public class Radial extends VisualizationAlgorithm {
 
 	public static final String NAME = "radial";
-	private static final int DEFAULT_DISTANCE_MULTIPLIER = 100;
-	private static final int DEFAULT_ZERO_DISTANCE = 10;
-
-	private static int leafs(Vertex node) {
-		return node.getChildren().length == 0 ? 1 : Arrays.stream(node.getChildren()).reduce(0, (a, c) -> a + leafs(c), Integer::sum);
-	}
+	static final int DEFAULT_DISTANCE_MULTIPLIER = 100;
+	static final int DEFAULT_ZERO_DISTANCE = 10;
 
 	@Override
 	public void init(Object... params) {
@@ -33,52 +32,105 @@ public class Radial extends VisualizationAlgorithm {
 
 	@Override
 	public Visualization compute(Tree tree) {
-		Vertex[] roots = tree.getRoots();
-		Map<String, RadialCoordinate> coordinates = new HashMap<>();
-		for (int i = 0; i < roots.length; i++) {
-			Vertex root = roots[i];
-			Stack<Vertex> nodes = new Stack<>();
-			int leaftotal = leafs(root);
-			nodes.push(root);
-			coordinates.put(root.getId(), new RadialCoordinate(root.getId(), i + 1, 0, 0, 0));
-			while (nodes.size() > 0) {
-				Vertex parent = nodes.pop();
-				RadialCoordinate parentCoordinate = coordinates.get(parent.getId());
-				double border = parentCoordinate.getRightBorder();
-				for (Vertex child : parent.getChildren()) {
-					double wedge = 2 * Math.PI * leafs(child) / leaftotal;
-					double alpha = border + wedge / 2;
-					double distance = child.getDistance() * DEFAULT_DISTANCE_MULTIPLIER + DEFAULT_ZERO_DISTANCE;
-					nodes.push(child);
-					double x = parentCoordinate.getX() + Math.cos(alpha) * distance;
-					double y = parentCoordinate.getY() + Math.sin(alpha) * distance;
-					coordinates.put(child.getId(), new RadialCoordinate(child.getId(), i + 1, x, y, border));
-					border += wedge;
-				}
-			}
-		}
-		return new Visualization(projectId, datasetId, inferenceId, id, NAME, coordinates.values()
-				.stream()
-				.map(r -> new Coordinate(r.getProfileId(), r.getComponent(), r.getX(), r.getY()))
-				.toArray(Coordinate[]::new));
+		Preorder preorder = new Preorder(tree);
+		return new Visualization(projectId, datasetId, inferenceId, id, NAME, layout(preorder, new Coordinate[preorder.size()], new Coordinate[preorder.size()]));
 	}
 
 	/**
-	 * Helper class used to calculate coordinates during radial algorithm
+	 * Executes the algorithm incrementally, keeping the layout of the subtrees that did not change since a previous visualization
+	 * <p>
+	 * A subtree is unchanged if it has the same parent, vertices, edges and distances in the previous tree, the same share of the leaves of its tree,
+	 * and all of its vertices and its parent have a previous coordinate. Since its wedge has the same width, the largest unchanged subtrees keep their
+	 * previous layout, while the remaining vertices are laid out as usual. A kept subtree is rotated and translated to the new position and wedge of its
+	 * parent if they moved, and otherwise keeps its previous coordinates exactly. If nothing changed, the result is the previous visualization.
+	 *
+	 * @param tree     tree to visualize
+	 * @param previous tree of the previous visualization
+	 * @param kept     coordinates of the previous visualization by profile id
+	 * @return algorithm result
 	 */
-	public static class RadialCoordinate extends Coordinate {
-
-		private final double rightBorder;
+	public Visualization compute(Tree tree, Tree previous, Map<String, Coordinate> kept) {
+		Preorder preorder = new Preorder(tree), old = new Preorder(previous);
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < old.size(); i++)
+			indexes.put(old.vertex(i).getId(), i);
+		int size = preorder.size();
+		int[] sizes = preorder.sizes(), oldSizes = old.sizes(), leafs = preorder.leafs(), oldLeafs = old.leafs();
+		int[] roots = roots(preorder), oldRoots = roots(old);
+		boolean[] same = new boolean[size];
+		Arrays.fill(same, true);
+		Coordinate[] coordinates = new Coordinate[size], origins = new Coordinate[size];
+		for (int i = size - 1; i >= 0; i--) {
+			Vertex vertex = preorder.vertex(i);
+			Integer o = indexes.get(vertex.getId());
+			Coordinate coordinate = kept.get(vertex.getId());
+			int parent = preorder.parent(i);
+			boolean unchanged = o != null && coordinate != null && same[i] && old.vertex(o).getDistance() == vertex.getDistance() &&
+					(parent == -1 ? old.parent(o) == -1 : old.parent(o) != -1 && old.vertex(old.parent(o)).getId().equals(preorder.vertex(parent).getId()));
+			if (unchanged && sizes[i] == oldSizes[o] && (long) leafs[i] * oldLeafs[oldRoots[o]] == (long) oldLeafs[o] * leafs[roots[i]]) {
+				coordinates[i] = coordinate;
+				if (parent != -1)
+					origins[i] = kept.get(preorder.vertex(parent).getId());
+			}
+			if (parent != -1)
+				same[parent] &= unchanged;
+		}
+		return new Visualization(projectId, datasetId, inferenceId, id, NAME, layout(preorder, coordinates, origins));
+	}
 
-		public RadialCoordinate(String profileId, int component, double x, double y, double rigthBorder) {
-			super(profileId, component, x, y);
-			this.rightBorder = rigthBorder;
+	private Coordinate[] layout(Preorder preorder, Coordinate[] kept, Coordinate[] origins) {
+		int size = preorder.size();
+		int[] leafs = preorder.leafs(), sizes = preorder.sizes();
+		double[] xs = new double[size], ys = new double[size], borders = new double[size];
+		Coordinate[] coordinates = new Coordinate[size];
+		for (int r = 0; r < preorder.trees(); r++) {
+			int root = preorder.start(r), leaftotal = leafs[root];
+			if (kept[root] != null) {
+				for (int j = root; j < root + sizes[root]; j++)
+					coordinates[j] = new Coordinate(preorder.vertex(j).getId(), r + 1, kept[j].getX(), kept[j].getY());
+				continue;
+			}
+			coordinates[root] = new Coordinate(preorder.vertex(root).getId(), r + 1, 0, 0);
+			for (int i = root + 1; i < preorder.start(r + 1); i++) {
+				Vertex child = preorder.vertex(i);
+				int parent = preorder.parent(i);
+				double wedge = 2 * Math.PI * leafs[i] / leaftotal;
+				double alpha = borders[parent] + wedge / 2;
+				borders[i] = borders[parent];
+				borders[parent] += wedge;
+				double distance = child.getDistance() * DEFAULT_DISTANCE_MULTIPLIER + DEFAULT_ZERO_DISTANCE;
+				xs[i] = xs[parent] + Math.cos(alpha) * distance;
+				ys[i] = ys[parent] + Math.sin(alpha) * distance;
+				if (kept[i] != null && origins[i] != null) {
+					keep(preorder, kept, coordinates, i, sizes[i], r + 1, origins[i], xs[parent], ys[parent], xs[i], ys[i]);
+					i += sizes[i] - 1;
+					continue;
+				}
+				coordinates[i] = new Coordinate(child.getId(), r + 1, xs[i], ys[i]);
+			}
 		}
+		return coordinates;
+	}
 
-		public double getRightBorder() {
-			return rightBorder;
+	private static void keep(Preorder preorder, Coordinate[] kept, Coordinate[] coordinates, int i, int size, int component, Coordinate origin, double px, double py, double x, double y) {
+		if (origin.getX() == px && origin.getY() == py && kept[i].getX() == x && kept[i].getY() == y) {
+			for (int j = i; j < i + size; j++)
+				coordinates[j] = new Coordinate(preorder.vertex(j).getId(), component, kept[j].getX(), kept[j].getY());
+			return;
+		}
+		double rotation = Math.atan2(y - py, x - px) - Math.atan2(kept[i].getY() - origin.getY(), kept[i].getX() - origin.getX());
+		double cos = Math.cos(rotation), sin = Math.sin(rotation);
+		for (int j = i; j < i + size; j++) {
+			double dx = kept[j].getX() - origin.getX(), dy = kept[j].getY() - origin.getY();
+			coordinates[j] = new Coordinate(preorder.vertex(j).getId(), component, px + dx * cos - dy * sin, py + dx * sin + dy * cos);
 		}
+	}
 
+	private static int[] roots(Preorder preorder) {
+		int[] roots = new int[preorder.size()];
+		for (int i = 0; i < roots.length; i++)
+			roots[i] = preorder.parent(i) == -1 ? i : roots[preorder.parent(i)];
+		return roots;
 	}
 
 }
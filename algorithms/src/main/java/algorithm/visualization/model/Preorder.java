@@ -0,0 +1,113 @@
+package algorithm.visualization.model;
+
+import java.util.Arrays;
+
+/**
+ * A preorder numbers the vertices of a {@link Tree tree}, so that every vertex comes after its parent and the vertices of each subtree are contiguous
+ * <p>
+ * A preorder is constituted by the {@link #vertices} in pre-order, the index of the {@link #parents parent} of each vertex, or {@code -1} for the roots,
+ * and by the index where the vertices of each root {@link #starts start}. It is built with an explicit stack, so deep trees do not overflow the call stack.
+ */
+public class Preorder {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Vertex[] vertices;
+	private final int[] parents;
+	private final int[] starts;
+
+	public Preorder(Tree tree) {
+		Vertex[] roots = tree.getRoots();
+		Vertex[] vertices = new Vertex[INITIAL_CAPACITY], stack = new Vertex[INITIAL_CAPACITY];
+		int[] parents = new int[INITIAL_CAPACITY], stackParents = new int[INITIAL_CAPACITY];
+		int[] starts = new int[roots.length + 1];
+		int size = 0;
+		for (int r = 0; r < roots.length; r++) {
+			starts[r] = size;
+			int top = 0;
+			stack[top] = roots[r];
+			stackParents[top++] = -1;
+			while (top > 0) {
+				if (size == vertices.length) {
+					vertices = Arrays.copyOf(vertices, size * 2);
+					parents = Arrays.copyOf(parents, size * 2);
+				}
+				Vertex vertex = stack[--top];
+				vertices[size] = vertex;
+				parents[size] = stackParents[top];
+				Vertex[] children = vertex.getChildren();
+				if (top + children.length > stack.length) {
+					stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children.length));
+					stackParents = Arrays.copyOf(stackParents, stack.length);
+				}
+				for (int c = children.length - 1; c >= 0; c--) {
+					stack[top] = children[c];
+					stackParents[top++] = size;
+				}
+				size++;
+			}
+		}
+		starts[roots.length] = size;
+		this.vertices = Arrays.copyOf(vertices, size);
+		this.parents = Arrays.copyOf(parents, size);
+		this.starts = starts;
+	}
+
+	public int size() {
+		return vertices.length;
+	}
+
+	public int trees() {
+		return starts.length - 1;
+	}
+
+	public Vertex vertex(int i) {
+		return vertices[i];
+	}
+
+	public int parent(int i) {
+		return parents[i];
+	}
+
+	/**
+	 * Retrieves the index of the first vertex of a tree
+	 *
+	 * @param tree tree index, or the number of trees to obtain the total number of vertices
+	 * @return index of the root of the tree
+	 */
+	public int start(int tree) {
+		return starts[tree];
+	}
+
+	/**
+	 * Counts the leaves of the subtree of each vertex, in a single pass from the last vertex to the first
+	 *
+	 * @return number of leaves of each subtree
+	 */
+	public int[] leafs() {
+		int[] leafs = new int[vertices.length];
+		for (int i = vertices.length - 1; i >= 0; i--) {
+			if (leafs[i] == 0)
+				leafs[i] = 1;
+			if (parents[i] != -1)
+				leafs[parents[i]] += leafs[i];
+		}
+		return leafs;
+	}
+
+	/**
+	 * Counts the vertices of the subtree of each vertex, so the subtree of vertex {@code i} ends before {@code i + sizes[i]}
+	 *
+	 * @return number of vertices of each subtree
+	 */
+	public int[] sizes() {
+		int[] sizes = new int[vertices.length];
+		for (int i = vertices.length - 1; i >= 0; i--) {
+			sizes[i]++;
+			if (parents[i] != -1)
+				sizes[parents[i]] += sizes[i];
+		}
+		return sizes;
+	}
+
+}
@@ -0,0 +1,154 @@
+package algorithm.visualization.model;
+
+import java.util.Arrays;
+
+/**
+ * A quad tree partitions the plane around a set of points, and is used to approximate the repulsion that a point suffers from all the others
+ * <p>
+ * A quad tree is constituted by the {@link #xs} and {@link #ys} of the points, and by a flat array of cells. Each cell covers a square, has the
+ * number of points within it and the sum of their positions, and is either empty, a leaf with a single {@link #points point}, or has 4
+ * {@link #children}. Cells at the {@link #MAX_DEPTH maximum depth} are not divided, and keep every point that falls in them.
+ * A group of points is approximated by its center of mass when the ratio between the size of its cell and its distance is below theta (Barnes-Hut).
+ */
+public class QuadTree {
+
+	private static final int MAX_DEPTH = 48;
+	private static final int EMPTY = -1, DIVIDED = -2, FULL = -3;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final double[] xs;
+	private final double[] ys;
+	private int cells;
+	private double[] lefts;
+	private double[] bottoms;
+	private double[] sizes;
+	private double[] sumsX;
+	private double[] sumsY;
+	private int[] masses;
+	private int[] points;
+	private int[] children;
+
+	public QuadTree(double[] xs, double[] ys, int from, int to) {
+		this.xs = xs;
+		this.ys = ys;
+		lefts = new double[INITIAL_CAPACITY];
+		bottoms = new double[INITIAL_CAPACITY];
+		sizes = new double[INITIAL_CAPACITY];
+		sumsX = new double[INITIAL_CAPACITY];
+		sumsY = new double[INITIAL_CAPACITY];
+		masses = new int[INITIAL_CAPACITY];
+		points = new int[INITIAL_CAPACITY];
+		children = new int[INITIAL_CAPACITY * 4];
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (int i = from; i < to; i++) {
+			minX = Math.min(minX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxX = Math.max(maxX, xs[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+		cell(minX, minY, Math.max(Math.max(maxX - minX, maxY - minY), 1) * (1 + 1e-9));
+		for (int i = from; i < to; i++)
+			insert(i);
+	}
+
+	/**
+	 * Accumulates the repulsion suffered by a point, which is inversely proportional to its distance to each other point
+	 *
+	 * @param i        point index
+	 * @param theta    maximum ratio between the size of a cell and its distance to be approximated by its center of mass
+	 * @param strength repulsion between two points at a unitary distance
+	 * @param force    array where the x and y components of the force are added
+	 */
+	public void repulsion(int i, double theta, double strength, double[] force) {
+		int[] stack = new int[MAX_DEPTH * 3 + 4];
+		int top = 0;
+		stack[top++] = 0;
+		double x = xs[i], y = ys[i];
+		while (top > 0) {
+			int cell = stack[--top];
+			int mass = masses[cell];
+			if (mass == 0 || points[cell] == i)
+				continue;
+			double dx = x - sumsX[cell] / mass, dy = y - sumsY[cell] / mass, squared = dx * dx + dy * dy;
+			if (points[cell] == DIVIDED && (contains(cell, x, y) || sizes[cell] * sizes[cell] >= theta * theta * squared)) {
+				if (top + 4 > stack.length)
+					stack = Arrays.copyOf(stack, stack.length * 2);
+				for (int c = 0; c < 4; c++)
+					stack[top++] = children[cell * 4 + c];
+				continue;
+			}
+			if (squared == 0)
+				continue;
+			double factor = strength * mass / squared;
+			force[0] += dx * factor;
+			force[1] += dy * factor;
+		}
+	}
+
+	private boolean contains(int cell, double x, double y) {
+		return x >= lefts[cell] && x <= lefts[cell] + sizes[cell] && y >= bottoms[cell] && y <= bottoms[cell] + sizes[cell];
+	}
+
+	private int cell(double left, double bottom, double size) {
+		if (cells == masses.length) {
+			int capacity = cells * 2;
+			lefts = Arrays.copyOf(lefts, capacity);
+			bottoms = Arrays.copyOf(bottoms, capacity);
+			sizes = Arrays.copyOf(sizes, capacity);
+			sumsX = Arrays.copyOf(sumsX, capacity);
+			sumsY = Arrays.copyOf(sumsY, capacity);
+			masses = Arrays.copyOf(masses, capacity);
+			points = Arrays.copyOf(points, capacity);
+			children = Arrays.copyOf(children, capacity * 4);
+		}
+		lefts[cells] = left;
+		bottoms[cells] = bottom;
+		sizes[cells] = size;
+		points[cells] = EMPTY;
+		return cells++;
+	}
+
+	private void insert(int i) {
+		int cell = 0;
+		for (int depth = 0; ; depth++) {
+			masses[cell]++;
+			sumsX[cell] += xs[i];
+			sumsY[cell] += ys[i];
+			if (points[cell] == EMPTY) {
+				points[cell] = i;
+				return;
+			}
+			if (points[cell] == FULL)
+				return;
+			if (points[cell] >= 0) {
+				if (depth == MAX_DEPTH) {
+					points[cell] = FULL;
+					return;
+				}
+				int other = points[cell];
+				divide(cell);
+				int child = children[cell * 4 + quadrant(cell, other)];
+				masses[child]++;
+				sumsX[child] += xs[other];
+				sumsY[child] += ys[other];
+				points[child] = other;
+			}
+			cell = children[cell * 4 + quadrant(cell, i)];
+		}
+	}
+
+	private void divide(int cell) {
+		double half = sizes[cell] / 2, left = lefts[cell], bottom = bottoms[cell];
+		points[cell] = DIVIDED;
+		for (int c = 0; c < 4; c++) {
+			int child = cell(left + (c & 1) * half, bottom + (c >> 1) * half, half);
+			children[cell * 4 + c] = child;
+		}
+	}
+
+	private int quadrant(int cell, int i) {
+		double half = sizes[cell] / 2;
+		return (xs[i] >= lefts[cell] + half ? 1 : 0) | (ys[i] >= bottoms[cell] + half ? 2 : 0);
+	}
+
+}
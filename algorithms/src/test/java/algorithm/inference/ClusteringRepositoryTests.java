@@ -0,0 +1,94 @@
+package algorithm.inference;
+
+import algorithm.inference.implementation.HierarchicalClustering;
+import algorithm.inference.model.Clustering;
+import algorithm.repository.RepositoryTests;
+import algorithm.utils.type.Cluster;
+import algorithm.utils.type.Has;
+import algorithm.utils.type.Profile;
+import algorithm.utils.type.Relation;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.harness.junit.rule.Neo4jRule;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ClusteringRepositoryTests extends RepositoryTests {
+
+	private static final String PROJECT_ID = "project", DATASET_ID = "dataset",
+			PROFILE1_ID = "1", PROFILE2_ID = "2", PROFILE3_ID = "3";
+
+	@Rule
+	public Neo4jRule neo4j = new Neo4jRule().withProcedure(InferenceProcedures.class);
+
+	public ClusteringRepository repository;
+
+	@Before
+	public void init() {
+		database = neo4j.defaultDatabaseService();
+		repository = new ClusteringRepository(database);
+	}
+
+	@Test
+	public void write_clusteringWith2Thresholds() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na-m.cypher");
+			String id = "teste";
+			String[] profilesIds = new String[] {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+			Clustering clustering = new Clustering(PROJECT_ID, DATASET_ID, id, profilesIds, HierarchicalClustering.SINGLE, new long[] {1, 2});
+			clustering.set(0, new int[] {0, 1, 2});
+			clustering.set(1, new int[] {0, 0, 1});
+			long relationshipsCount = getRelationshipsCount(tx);
+			long nodesCount = getNodesCount(tx);
+			repository.write(tx, clustering);
+			assertEquals(relationshipsCount + 6, getRelationshipsCount(tx));
+			assertEquals(nodesCount + 5, getNodesCount(tx));
+			List<Relationship> clusters = tx.getAllRelationships().stream()
+					.filter(r -> r.getType().equals(RelationshipType.withName(Relation.HAS.name())) && r.getEndNode().hasLabel(Label.label(Cluster.LABEL)))
+					.collect(Collectors.toList());
+			assertEquals(6, clusters.size());
+			for (Relationship relationship : clusters) {
+				int profile = Integer.parseInt((String) relationship.getStartNode().getProperty(Profile.ID)) - 1;
+				int threshold = (long) relationship.getEndNode().getProperty(Cluster.THRESHOLD) == 1 ? 0 : 1;
+				assertEquals((long) clustering.getClusters()[threshold][profile], relationship.getEndNode().getProperty(Cluster.ID));
+				assertEquals(id, relationship.getEndNode().getProperty(Cluster.INFERENCE_ID));
+				assertEquals(id, relationship.getProperty(Has.INFERENCE_ID));
+				assertEquals(HierarchicalClustering.SINGLE, relationship.getProperty(Has.ALGORITHM));
+				assertEquals(false, relationship.getProperty(Has.DEPRECATED));
+			}
+			tx.rollback();
+		}
+	}
+
+	@Test
+	public void write_clusteringTwiceIsRejected() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na-m.cypher");
+			String[] profilesIds = new String[] {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+			Clustering clustering = new Clustering(PROJECT_ID, DATASET_ID, "teste", profilesIds, HierarchicalClustering.SINGLE, new long[] {1});
+			clustering.set(0, new int[] {0, 0, 1});
+			repository.write(tx, clustering);
+			long relationshipsCount = getRelationshipsCount(tx);
+			long nodesCount = getNodesCount(tx);
+			try {
+				repository.write(tx, clustering);
+				fail();
+			} catch (IllegalArgumentException ignored) {
+			}
+			assertEquals(relationshipsCount, getRelationshipsCount(tx));
+			assertEquals(nodesCount, getNodesCount(tx));
+			tx.rollback();
+		}
+	}
+
+}
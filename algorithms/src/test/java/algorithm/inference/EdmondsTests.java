@@ -0,0 +1,143 @@
+package algorithm.inference;
+
+import algorithm.inference.implementation.Edmonds;
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Edge;
+import algorithm.inference.model.Inference;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertEquals;
+
+public class EdmondsTests {
+
+	private static final String PROJECT_ID = "project", DATASET_ID = "dataset", INFERENCE_ID = "inference",
+			PROFILE1_ID = "1", PROFILE2_ID = "2", PROFILE3_ID = "3";
+
+	private Edmonds edmonds;
+
+	@Before
+	public void init() {
+		edmonds = new Edmonds();
+		edmonds.init(PROJECT_ID, DATASET_ID, INFERENCE_ID, 3L);
+	}
+
+	@Test
+	public void compute_directedWithMissing() {
+		String[] ids = {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+		String[][] allelesIds = {{"1", "1", "1", "1"}, {"1", "1", "2", null}, {"1", "2", "2", null}};
+		Inference inference = edmonds.compute(new AlleleTable(ids, new int[ids.length], allelesIds));
+		assertEquals(PROJECT_ID, inference.getProjectId());
+		assertEquals(DATASET_ID, inference.getDatasetId());
+		assertEquals(INFERENCE_ID, inference.getId());
+		assertEquals(2, inference.getEdges().size());
+		assertTrue(inference.getEdges().contains(new Edge(0, 1, 1)));
+		assertTrue(inference.getEdges().contains(new Edge(1, 2, 1)));
+	}
+
+	@Test
+	public void compute_forest() {
+		String[] ids = {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+		String[][] allelesIds = {{"1", "1", "1", "1"}, {"1", "1", "1", "2"}, {"2", "2", "2", "3"}};
+		Inference inference = edmonds.compute(new AlleleTable(ids, new int[ids.length], allelesIds));
+		assertEquals(1, inference.getEdges().size());
+		assertTrue(inference.getEdges().contains(new Edge(0, 1, 1)) || inference.getEdges().contains(new Edge(1, 0, 1)));
+	}
+
+	@Test
+	public void compute_arborescence() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			int profiles = 100 + random.nextInt(100), loci = 7;
+			String[] ids = new String[profiles];
+			AlleleTable table = new AlleleTable(ids, new int[profiles], loci);
+			for (int i = 0; i < profiles; i++) {
+				ids[i] = String.valueOf(i + 1);
+				for (int l = 0; l < loci; l++)
+					table.set(i, l, random.nextInt(5) == 0 ? null : String.valueOf(random.nextInt(4)));
+			}
+			List<Edge> edges = edmonds.compute(table).getEdges();
+			int[] parents = new int[profiles];
+			Arrays.fill(parents, -1);
+			for (Edge edge : edges) {
+				assertEquals(-1, parents[edge.to()]);
+				assertEquals(table.directedDifferences(edge.from(), edge.to(), loci), edge.distance());
+				assertTrue(edge.distance() <= 3);
+				parents[edge.to()] = edge.from();
+			}
+			for (int i = 0; i < profiles; i++) {
+				int steps = 0;
+				for (int p = i; parents[p] != -1; p = parents[p])
+					assertTrue(++steps < profiles);
+				if (parents[i] == -1)
+					for (int j = 0; j < profiles; j++)
+						if (j != i && table.directedDifferences(j, i, 3) <= 3)
+							assertTrue(isAncestor(parents, i, j));
+			}
+		}
+	}
+
+	@Test
+	public void compute_minimum() {
+		Random random = new Random(0);
+		for (int run = 0; run < 20; run++) {
+			int profiles = 6, loci = 5;
+			String[] ids = new String[profiles];
+			AlleleTable table = new AlleleTable(ids, new int[profiles], loci);
+			for (int i = 0; i < profiles; i++) {
+				ids[i] = String.valueOf(i + 1);
+				for (int l = 0; l < loci; l++)
+					table.set(i, l, random.nextInt(4) == 0 ? null : String.valueOf(random.nextInt(3)));
+			}
+			int[] parents = new int[profiles];
+			Arrays.fill(parents, -1);
+			List<Edge> edges = edmonds.compute(table).getEdges();
+			for (Edge edge : edges)
+				parents[edge.to()] = edge.from();
+			assertEquals(minimum(table, new int[profiles], 0), cost(table, parents));
+		}
+	}
+
+	private long minimum(AlleleTable table, int[] parents, int profile) {
+		if (profile == parents.length)
+			return acyclic(parents) ? cost(table, parents) : Long.MAX_VALUE;
+		long minimum = Long.MAX_VALUE;
+		for (int parent = -1; parent < parents.length; parent++) {
+			if (parent == profile || parent != -1 && table.directedDifferences(parent, profile, 3) > 3)
+				continue;
+			parents[profile] = parent;
+			minimum = Math.min(minimum, minimum(table, parents, profile + 1));
+		}
+		return minimum;
+	}
+
+	private long cost(AlleleTable table, int[] parents) {
+		long cost = 0;
+		for (int i = 0; i < parents.length; i++)
+			cost += parents[i] == -1 ? (long) parents.length * 4 : table.directedDifferences(parents[i], i, 3);
+		return cost;
+	}
+
+	private boolean acyclic(int[] parents) {
+		for (int i = 0; i < parents.length; i++) {
+			int steps = 0;
+			for (int p = i; parents[p] != -1; p = parents[p])
+				if (++steps > parents.length)
+					return false;
+		}
+		return true;
+	}
+
+	private boolean isAncestor(int[] parents, int ancestor, int profile) {
+		for (int p = profile; p != -1; p = parents[p])
+			if (p == ancestor)
+				return true;
+		return false;
+	}
+
+}
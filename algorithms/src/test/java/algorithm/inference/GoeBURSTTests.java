@@ -1,6 +1,7 @@
 package algorithm.inference;
 
 import algorithm.inference.implementation.GoeBURST;
+import algorithm.inference.model.AlleleTable;
 import algorithm.inference.model.Edge;
 import algorithm.inference.model.Inference;
 import algorithm.inference.model.Matrix;
@@ -9,7 +10,11 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
@@ -71,6 +76,178 @@ public class GoeBURSTTests {
 		assertEdges(expected, ids, inference);
 	}
 
+	@Test
+	public void compute_matchesSortedEdgeStream() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			Matrix matrix = new Matrix(random(random, 200 + random.nextInt(200), 7, 3));
+			assertEquals(sortedEdgeStream(matrix, 3), goeburst.compute(matrix).getEdges());
+		}
+	}
+
+	@Test
+	public void compute_sparseMatchesMatrix() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			AlleleTable table = random(random, 200 + random.nextInt(200), run % 2 == 0 ? 10 : 2, 3);
+			assertEquals(goeburst.compute(new Matrix(table)).getEdges(), goeburst.compute(table).getEdges());
+		}
+	}
+
+	@Test
+	public void compute_incrementalMatchesFromScratch() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			AlleleTable table = random(random, 200 + random.nextInt(200), run % 2 == 0 ? 7 : 2, 3);
+			AlleleTable previous = prefix(table, table.size() - 1 - random.nextInt(table.size() / 2));
+			List<Edge> edges = goeburst.compute(previous).getEdges();
+			List<Edge> expected = goeburst.compute(new Matrix(table)).getEdges();
+			boolean[] changed = new boolean[table.size()];
+			assertEquals(expected, goeburst.compute(new Matrix(table), edges, changed).getEdges());
+			assertEquals(expected, goeburst.compute(table, edges, changed).getEdges());
+		}
+	}
+
+	@Test
+	public void compute_incrementalWithChangedDistancesMatchesFromScratch() {
+		Random random = new Random(1);
+		AlleleTable table = random(random, 300, 7, 3);
+		List<Edge> edges = new ArrayList<>();
+		for (Edge edge : goeburst.compute(prefix(table, 200)).getEdges())
+			edges.add(new Edge(edge.from(), edge.to(), edge.distance() == 1 ? 2 : 1));
+		assertEquals(goeburst.compute(table).getEdges(), goeburst.compute(table, edges, new boolean[table.size()]).getEdges());
+	}
+
+	@Test
+	public void compute_incrementalWithUpdatedProfileMatchesFromScratch() {
+		String[] ids = {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+		AlleleTable table = new AlleleTable(ids, new int[ids.length], 4);
+		String[][] alleles = {{"1", "1", "1", "1"}, {"1", "1", "1", "2"}, {"2", "2", "1", "2"}};
+		for (int i = 0; i < alleles.length; i++)
+			for (int l = 0; l < alleles[i].length; l++)
+				table.set(i, l, alleles[i][l]);
+		List<Edge> edges = goeburst.compute(table).getEdges();
+		table.set(2, 0, "1");
+		table.set(2, 3, "1");
+		boolean[] changed = {false, false, true};
+		List<Edge> expected = Arrays.asList(new Edge(0, 1, 1), new Edge(0, 2, 1));
+		assertEquals(expected, goeburst.compute(table).getEdges());
+		assertEquals(expected, goeburst.compute(new Matrix(table), edges, changed).getEdges());
+		assertEquals(expected, goeburst.compute(table, edges, changed).getEdges());
+	}
+
+	@Test
+	public void compute_incrementalWithUpdatedProfilesMatchesFromScratch() {
+		Random random = new Random(2);
+		for (int run = 0; run < 10; run++) {
+			AlleleTable table = random(random, 200 + random.nextInt(200), run % 2 == 0 ? 7 : 2, 3);
+			List<Edge> edges = goeburst.compute(prefix(table, table.size() - random.nextInt(table.size() / 2))).getEdges();
+			boolean[] changed = new boolean[table.size()];
+			for (int i = 0; i < 5; i++) {
+				int profile = random.nextInt(table.size());
+				table.set(profile, random.nextInt(table.loci()), String.valueOf(random.nextInt(3)));
+				changed[profile] = true;
+			}
+			List<Edge> expected = goeburst.compute(new Matrix(table)).getEdges();
+			assertEquals(expected, goeburst.compute(new Matrix(table), edges, changed).getEdges());
+			assertEquals(expected, goeburst.compute(table, edges, changed).getEdges());
+		}
+	}
+
+	@Test
+	public void compute_incrementalWithChangedIsolatesMatchesFromScratch() {
+		Random random = new Random(3);
+		for (int run = 0; run < 10; run++) {
+			AlleleTable table = random(random, 200 + random.nextInt(200), run % 2 == 0 ? 7 : 2, 3);
+			List<Edge> edges = goeburst.compute(prefix(table, table.size() - random.nextInt(table.size() / 2))).getEdges();
+			boolean[] changed = new boolean[table.size()];
+			for (int i = 0; i < 5; i++) {
+				int profile = random.nextInt(table.size());
+				table.getIsolates()[profile] += 1 + random.nextInt(3);
+				changed[profile] = true;
+			}
+			List<Edge> expected = goeburst.compute(new Matrix(table)).getEdges();
+			assertEquals(expected, goeburst.compute(new Matrix(table), edges, changed).getEdges());
+			assertEquals(expected, goeburst.compute(table, edges, changed).getEdges());
+		}
+	}
+
+	private AlleleTable prefix(AlleleTable table, int profiles) {
+		AlleleTable prefix = new AlleleTable(Arrays.copyOf(table.getIds(), profiles), Arrays.copyOf(table.getIsolates(), profiles), table.loci());
+		for (int i = 0; i < profiles; i++)
+			for (int l = 0; l < table.loci(); l++)
+				prefix.set(i, l, table.allele(i, l));
+		return prefix;
+	}
+
+	private AlleleTable random(Random random, int profiles, int loci, int alleles) {
+		String[] ids = new String[profiles];
+		int[] isolates = new int[profiles];
+		AlleleTable table = new AlleleTable(ids, isolates, loci);
+		for (int i = 0; i < profiles; i++) {
+			ids[i] = String.valueOf(i + 1);
+			isolates[i] = random.nextInt(3);
+			for (int l = 0; l < loci; l++)
+				table.set(i, l, random.nextInt(20) == 0 ? null : String.valueOf(random.nextInt(alleles)));
+		}
+		return table;
+	}
+
+	private List<Edge> sortedEdgeStream(Matrix matrix, int lvs) {
+		List<Edge> edges = new ArrayList<>();
+		int size = matrix.size();
+		int[][] lv = new int[size][lvs];
+		int[] clusters = new int[size];
+		Iterator<Edge> it = IntStream.range(0, size)
+				.peek(i -> clusters[i] = i)
+				.mapToObj(i -> IntStream.range(0, i)
+						.mapToObj(j -> new Edge(j, i, matrix.distance(i, j)))
+						.filter(edge -> edge.distance() > 0 && edge.distance() <= lvs)
+						.peek(e -> {
+							lv[e.to()][e.distance() - 1]++;
+							lv[e.from()][e.distance() - 1]++;
+						}))
+				.flatMap(i -> i)
+				.sorted(Comparator.comparingInt(Edge::distance).thenComparing((i, j) -> tiebreak(lv, lvs, matrix.getIsolates(), matrix.getIds(), i.from(), i.to(), j.from(), j.to())))
+				.iterator();
+		while (it.hasNext() && edges.size() < size - 1) {
+			Edge edge = it.next();
+			if (clusters[edge.from()] != clusters[edge.to()]) {
+				int i = clusters[edge.from()];
+				int j = clusters[edge.to()];
+				for (int index = 0; index < clusters.length; index++)
+					if (clusters[index] == j)
+						clusters[index] = i;
+				edges.add(edge);
+			}
+		}
+		return edges;
+	}
+
+	private int tiebreak(int[][] lv, int lvs, int[] isolates, String[] ids, int ifrom, int ito, int jfrom, int jto) {
+		int diff;
+		for (int index = 0; index < lvs; index++) {
+			diff = Integer.compare(Math.max(lv[jfrom][index], lv[jto][index]), Math.max(lv[ifrom][index], lv[ito][index]));
+			if (diff != 0)
+				return diff;
+			diff = Integer.compare(Math.min(lv[jfrom][index], lv[jto][index]), Math.min(lv[ifrom][index], lv[ito][index]));
+			if (diff != 0)
+				return diff;
+		}
+		diff = Integer.compare(Math.max(isolates[jfrom], isolates[jto]), Math.max(isolates[ifrom], isolates[ito]));
+		if (diff != 0)
+			return diff;
+		diff = Integer.compare(Math.min(isolates[jfrom], isolates[jto]), Math.min(isolates[ifrom], isolates[ito]));
+		if (diff != 0)
+			return diff;
+		diff = Integer.compare(Math.min(ifrom, ito), Math.min(jfrom, jto));
+		return diff != 0 ? diff : compare(ids[compare(ids[ifrom], ids[ito]) > 0 ? ifrom : ito], ids[compare(ids[jfrom], ids[jto]) > 0 ? jfrom : jto]);
+	}
+
+	private int compare(String s1, String s2) {
+		return s1.length() == s2.length() ? s1.compareTo(s2) : (s1.length() - s2.length());
+	}
+
 	private void assertEdges(List<Edge> expected, String[] ids, Inference inference) {
 		assertEquals(PROJECT_ID, inference.getProjectId());
 		assertEquals(DATASET_ID, inference.getDatasetId());
@@ -0,0 +1,85 @@
+package algorithm.inference;
+
+import algorithm.inference.implementation.HierarchicalClustering;
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Clustering;
+import algorithm.inference.model.DisjointSet;
+import algorithm.inference.model.Matrix;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class HierarchicalClusteringTests {
+
+	private static final String PROJECT_ID = "project", DATASET_ID = "dataset", INFERENCE_ID = "inference";
+
+	@Test
+	public void compute_singleLinkage() {
+		String[] ids = {"1", "2", "3", "4"};
+		String[][] allelesIds = {{"1", "1", "1"}, {"1", "1", "2"}, {"2", "2", "2"}, {"1", "2", "2"}};
+		Clustering clustering = clustering(HierarchicalClustering.SINGLE, new long[] {2, 0, 1}, new AlleleTable(ids, new int[ids.length], allelesIds));
+		assertEquals(PROJECT_ID, clustering.getProjectId());
+		assertEquals(INFERENCE_ID, clustering.getId());
+		assertArrayEquals(new long[] {0, 1, 2}, clustering.getThresholds());
+		assertArrayEquals(new int[] {0, 1, 2, 3}, clustering.getClusters()[0]);
+		assertArrayEquals(new int[] {0, 0, 0, 0}, clustering.getClusters()[1]);
+		assertArrayEquals(new int[] {0, 0, 0, 0}, clustering.getClusters()[2]);
+	}
+
+	@Test
+	public void compute_averageLinkage() {
+		String[] ids = {"1", "2", "3", "4"};
+		String[][] allelesIds = {{"1", "1", "1", "1"}, {"1", "1", "1", "2"}, {"2", "2", "1", "2"}, {"2", "2", "2", "2"}};
+		Clustering clustering = clustering(HierarchicalClustering.AVERAGE, new long[] {1, 2, 3}, new AlleleTable(ids, new int[ids.length], allelesIds));
+		assertArrayEquals(new int[] {0, 0, 1, 1}, clustering.getClusters()[0]);
+		assertArrayEquals(new int[] {0, 0, 1, 1}, clustering.getClusters()[1]);
+		assertArrayEquals(new int[] {0, 0, 0, 0}, clustering.getClusters()[2]);
+		clustering = clustering(HierarchicalClustering.SINGLE, new long[] {1, 2}, new AlleleTable(ids, new int[ids.length], allelesIds));
+		assertArrayEquals(new int[] {0, 0, 1, 1}, clustering.getClusters()[0]);
+		assertArrayEquals(new int[] {0, 0, 0, 0}, clustering.getClusters()[1]);
+	}
+
+	@Test
+	public void compute_singleLinkageMatchesComponents() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			int profiles = 50 + random.nextInt(100), loci = 7;
+			String[] ids = new String[profiles];
+			String[][] allelesIds = new String[profiles][loci];
+			for (int i = 0; i < profiles; i++) {
+				ids[i] = String.valueOf(i);
+				for (int l = 0; l < loci; l++)
+					allelesIds[i][l] = String.valueOf(random.nextInt(3));
+			}
+			long[] thresholds = {0, 1, 2, 3};
+			Matrix matrix = new Matrix(new AlleleTable(ids, new int[profiles], allelesIds));
+			Clustering clustering = clustering(HierarchicalClustering.SINGLE, thresholds, matrix.getTable());
+			for (int t = 0; t < thresholds.length; t++) {
+				DisjointSet set = new DisjointSet(profiles);
+				for (int i = 1; i < profiles; i++)
+					for (int j = 0; j < i; j++)
+						if (matrix.distance(i, j) <= thresholds[t])
+							set.union(i, j);
+				int[] clusters = clustering.getClusters()[t];
+				for (int i = 1; i < profiles; i++)
+					for (int j = 0; j < i; j++)
+						assertEquals(set.find(i) == set.find(j), clusters[i] == clusters[j]);
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void init_unknownLinkage() {
+		new HierarchicalClustering().init(PROJECT_ID, DATASET_ID, INFERENCE_ID, "complete", new long[] {1});
+	}
+
+	private static Clustering clustering(String linkage, long[] thresholds, AlleleTable table) {
+		HierarchicalClustering algorithm = new HierarchicalClustering();
+		algorithm.init(PROJECT_ID, DATASET_ID, INFERENCE_ID, linkage, thresholds);
+		return algorithm.compute(new Matrix(table));
+	}
+
+}
@@ -12,6 +12,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.neo4j.driver.Config;
+import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
@@ -20,6 +21,7 @@ import org.neo4j.harness.junit.rule.Neo4jRule;
 import java.io.IOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,6 +29,7 @@ import java.util.stream.Collectors;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 
 public class InferenceRepositoryTests extends RepositoryTests {
 
@@ -48,11 +51,184 @@ public class InferenceRepositoryTests extends RepositoryTests {
 		repository = new InferenceRepository(database);
 	}
 
+	@Test
+	public void stream_goeBURSTEdgesAreNotStored() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-1a.cypher");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			long relationshipsCount = getRelationshipsCount(tx);
+			List<Map<String, Object>> edges = tx.execute("CALL algorithms.inference.goeburst.stream('project', 'dataset', 3)").stream()
+					.collect(Collectors.toList());
+			assertEquals(2, edges.size());
+			assertEquals(Arrays.asList(PROFILE1_ID + " " + PROFILE3_ID, PROFILE3_ID + " " + PROFILE2_ID),
+					edges.stream().map(e -> e.get("from") + " " + e.get("to")).collect(Collectors.toList()));
+			assertTrue(edges.stream().allMatch(e -> e.get("distance").equals(1L)));
+			assertEquals(relationshipsCount, getRelationshipsCount(tx));
+		}
+	}
+
+	@Test
+	public void batch_goeBURSTStoresEachInference() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-1a.cypher");
+			tx.commit();
+		}
+		String statement = "CALL algorithms.inference.goeburst.batch([{project: 'project', dataset: 'dataset', inference: 'a'}, " +
+				"{project: 'project', dataset: 'dataset', inference: 'b'}], 3, 2)";
+		try (Transaction tx = database.beginTx()) {
+			List<Map<String, Object>> inferences = tx.execute(statement).stream().collect(Collectors.toList());
+			assertEquals(2, inferences.size());
+			assertEquals("a", inferences.get(0).get("inference"));
+			assertEquals("b", inferences.get(1).get("inference"));
+			assertEquals(2L, inferences.get(1).get("edges"));
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			for (String id : new String[]{"a", "b"})
+				assertEquals(2, tx.getAllRelationships().stream()
+						.filter(r -> r.getType().name().equals(Relation.DISTANCES.name()) && r.getProperty(Distance.ID).equals(id))
+						.count());
+		}
+	}
+
+	@Test
+	public void incremental_goeBURSTMatchesFromScratch() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na.cypher");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 3, 'a')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("MATCH (d:Dataset {id: 'dataset'}) " +
+					"CREATE (d)-[:CONTAINS]->(p:Profile {id: '4', deprecated: false})-[:CONTAINS_DETAILS {version: 1}]->(pd:ProfileDetails) " +
+					"CREATE (pd)-[:HAS {part: 1, total: 3, version: 1}]->(:Allele {id: '1'}) " +
+					"CREATE (pd)-[:HAS {part: 2, total: 3, version: 1}]->(:Allele {id: '2'}) " +
+					"CREATE (pd)-[:HAS {part: 3, total: 3, version: 1}]->(:Allele {id: '2'})");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst.incremental('project', 'dataset', 3, 'a', 'b')");
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 3, 'c')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			List<String> incremental = edges(tx, "b"), expected = edges(tx, "c");
+			assertEquals(3, incremental.size());
+			assertEquals(expected, incremental);
+		}
+	}
+
+	@Test
+	public void incremental_goeBURSTWithUpdatedProfileMatchesFromScratch() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na.cypher");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 3, 'a')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			update(tx);
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst.incremental('project', 'dataset', 3, 'a', 'b')");
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 3, 'c')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			List<String> incremental = edges(tx, "b"), expected = edges(tx, "c");
+			assertTrue(expected.contains("1 3 1"));
+			assertEquals(expected, incremental);
+		}
+	}
+
+	@Test
+	public void incremental_goeBURSTWithChangedIsolatesMatchesFromScratch() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na.cypher");
+			update(tx);
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 3, 'a')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("MATCH (d:Dataset {id: 'dataset'})-[:CONTAINS]->(p:Profile {id: '3'}) " +
+					"CREATE (d)-[:CONTAINS]->(:Isolate {id: 'isolate', deprecated: false})-[:CONTAINS_DETAILS {version: 1}]->(:IsolateDetails)-[:HAS]->(p)");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst.incremental('project', 'dataset', 3, 'a', 'b')");
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 3, 'c')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			List<String> previous = edges(tx, "a"), incremental = edges(tx, "b"), expected = edges(tx, "c");
+			assertTrue(!previous.equals(expected));
+			assertEquals(expected, incremental);
+		}
+	}
+
+	@Test
+	public void incremental_goeBURSTWithOtherLvsMatchesFromScratch() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na.cypher");
+			profile(tx, "4", "1", "1", "1");
+			profile(tx, "5", "3", "5", "2");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 1, 'a')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			tx.execute("CALL algorithms.inference.goeburst.incremental('project', 'dataset', 2, 'a', 'b')");
+			tx.execute("CALL algorithms.inference.goeburst('project', 'dataset', 2, 'c')");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			List<String> previous = edges(tx, "a"), incremental = edges(tx, "b"), expected = edges(tx, "c");
+			assertEquals(3, previous.size());
+			assertEquals(4, incremental.size());
+			assertEquals(expected, incremental);
+		}
+	}
+
+	@Test
+	public void key_changesWithTheProfiles() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-1a.cypher");
+			String key = repository.key(tx, PROJECT_ID, DATASET_ID);
+			assertEquals(key, repository.key(tx, PROJECT_ID, DATASET_ID));
+			tx.findNode(Label.label(Profile.LABEL), Profile.ID, PROFILE3_ID).setProperty("deprecated", true);
+			assertTrue(!key.equals(repository.key(tx, PROJECT_ID, DATASET_ID)));
+			tx.rollback();
+		}
+	}
+
+	@Test
+	public void read_profilesAreOrderedById() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na.cypher");
+			profile(tx, "10", "1", "1", "1");
+			assertArrayEquals(new String[] {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID, "10"}, repository.read(tx, PROJECT_ID, DATASET_ID).getIds());
+			tx.rollback();
+		}
+	}
+
 	@Test
 	public void read_matrix2Rows1Column() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-2p-1a.cypher");
-			Matrix matrix  = repository.read(tx, PROJECT_ID, DATASET_ID);
+			Matrix matrix  = new Matrix(repository.read(tx, PROJECT_ID, DATASET_ID));
 			assertTrue(Arrays.asList(matrix.getIds()).containsAll(Arrays.asList(PROFILE1_ID, PROFILE2_ID)));
 			assertArrayEquals(new int[][] {{}, {1}}, matrix.getDistances());
 			assertArrayEquals(new int[] {0, 1}, matrix.getIsolates());
@@ -64,7 +240,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 	public void read_matrix2Rows1ColumnWithDeprecated() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-2p-1a-d.cypher");
-			Matrix matrix  = repository.read(tx, PROJECT_ID, DATASET_ID);
+			Matrix matrix  = new Matrix(repository.read(tx, PROJECT_ID, DATASET_ID));
 			assertTrue(Arrays.asList(matrix.getIds()).containsAll(Arrays.asList(PROFILE1_ID, PROFILE2_ID)));
 			assertArrayEquals(new int[][] {{}, {1}}, matrix.getDistances());
 			assertArrayEquals(new int[] {0, 1}, matrix.getIsolates());
@@ -76,7 +252,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 	public void read_matrix2Rows1ColumnWithVersionIsolate() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-2p-1a-vi.cypher");
-			Matrix matrix  = repository.read(tx, PROJECT_ID, DATASET_ID);
+			Matrix matrix  = new Matrix(repository.read(tx, PROJECT_ID, DATASET_ID));
 			assertTrue(Arrays.asList(matrix.getIds()).containsAll(Arrays.asList(PROFILE1_ID, PROFILE2_ID)));
 			assertArrayEquals(new int[][] {{}, {1}}, matrix.getDistances());
 			assertArrayEquals(new int[] {0, 1}, matrix.getIsolates());
@@ -88,7 +264,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 	public void read_matrix2RowsNColumn() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-2p-na.cypher");
-			Matrix matrix  = repository.read(tx, PROJECT_ID, DATASET_ID);
+			Matrix matrix  = new Matrix(repository.read(tx, PROJECT_ID, DATASET_ID));
 			assertTrue(Arrays.asList(matrix.getIds()).containsAll(Arrays.asList(PROFILE1_ID, PROFILE2_ID)));
 			assertArrayEquals(new int[][] {{}, {2}}, matrix.getDistances());
 			assertArrayEquals(new int[] {0, 0}, matrix.getIsolates());
@@ -100,7 +276,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 	public void read_matrixNRows1Column() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-np-1a.cypher");
-			Matrix matrix  = repository.read(tx, PROJECT_ID, DATASET_ID);
+			Matrix matrix  = new Matrix(repository.read(tx, PROJECT_ID, DATASET_ID));
 			assertTrue(Arrays.asList(matrix.getIds()).containsAll(Arrays.asList(PROFILE1_ID, PROFILE2_ID, PROFILE3_ID)));
 			assertArrayEquals(new int[][] {{}, {0}, {1, 1}}, matrix.getDistances());
 			assertArrayEquals(new int[] {0, 0, 1}, matrix.getIsolates());
@@ -112,7 +288,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 	public void read_matrixNRowsNColumn() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-np-na.cypher");
-			Matrix matrix  = repository.read(tx, PROJECT_ID, DATASET_ID);
+			Matrix matrix  = new Matrix(repository.read(tx, PROJECT_ID, DATASET_ID));
 			assertTrue(Arrays.asList(matrix.getIds()).containsAll(Arrays.asList(PROFILE1_ID, PROFILE2_ID, PROFILE3_ID)));
 			assertArrayEquals(new int[][] {{}, {2}, {3, 2}}, matrix.getDistances());
 			assertArrayEquals(new int[] {0, 0, 0}, matrix.getIsolates());
@@ -125,7 +301,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 	public void read_matrixNRowsNColumnWithMissing() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-np-na-m.cypher");
-			Matrix matrix  = repository.read(tx, PROJECT_ID, DATASET_ID);
+			Matrix matrix  = new Matrix(repository.read(tx, PROJECT_ID, DATASET_ID));
 			assertTrue(Arrays.asList(matrix.getIds()).containsAll(Arrays.asList(PROFILE1_ID, PROFILE2_ID, PROFILE3_ID)));
 			assertArrayEquals(new int[][] {{}, {2}, {3, 2}}, matrix.getDistances());
 			assertArrayEquals(new int[] {0, 0, 0}, matrix.getIsolates());
@@ -133,13 +309,26 @@ public class InferenceRepositoryTests extends RepositoryTests {
 		}
 	}
 
+	@Test
+	public void chunk_isReadFromTheSystemProperty() {
+		assertEquals(10000, InferenceRepository.chunk());
+		try {
+			System.setProperty(InferenceRepository.CHUNK, "2");
+			assertEquals(2, InferenceRepository.chunk());
+			System.setProperty(InferenceRepository.CHUNK, "0");
+			assertThrows(IllegalArgumentException.class, InferenceRepository::chunk);
+		} finally {
+			System.clearProperty(InferenceRepository.CHUNK);
+		}
+	}
+
 	@Test
 	public void write_inferenceWith1Edge() throws IOException {
 		try (Transaction tx = database.beginTx()) {
 			arrange(tx, "inference", "ctx-2p-na.cypher");
 			String id = "teste";
 			String[] profilesIds = new String[] {PROFILE1_ID, PROFILE2_ID};
-			Inference inference = new Inference(PROJECT_ID, DATASET_ID, id, profilesIds, GoeBURST.NAME);
+			Inference inference = new Inference(PROJECT_ID, DATASET_ID, id, profilesIds, GoeBURST.NAME, 3);
 			inference.add(new Edge(0, 1, 2));
 			long relationshipsCount = getRelationshipsCount(tx);
 			long nodesCount = getNodesCount(tx);
@@ -160,7 +349,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 			arrange(tx, "inference", "ctx-np-na-m.cypher");
 			String id = "teste";
 			String[] profilesIds = new String[] {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
-			Inference inference = new Inference(PROJECT_ID, DATASET_ID, id, profilesIds, GoeBURST.NAME);
+			Inference inference = new Inference(PROJECT_ID, DATASET_ID, id, profilesIds, GoeBURST.NAME, 3);
 			inference.add(new Edge(0, 1, 2));
 			inference.add(new Edge(1, 2, 3));
 			long relationshipsCount = getRelationshipsCount(tx);
@@ -176,6 +365,51 @@ public class InferenceRepositoryTests extends RepositoryTests {
 		}
 	}
 
+	@Test
+	public void write_inferenceInChunksIsDirected() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "inference", "ctx-np-na-m.cypher");
+			tx.commit();
+		}
+		String id = "teste";
+		String[] profilesIds = new String[] {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+		Inference inference = new Inference(PROJECT_ID, DATASET_ID, id, profilesIds, GoeBURST.NAME, 3);
+		inference.add(new Edge(0, 1, 2));
+		inference.add(new Edge(2, 1, 3));
+		repository.write(inference, 1);
+		try (Transaction tx = database.beginTx()) {
+			List<Relationship> edges = tx.getAllRelationships().stream()
+					.filter(r -> r.getType().equals(RelationshipType.withName(Relation.DISTANCES.name())))
+					.collect(Collectors.toList());
+			assertEdges(edges, Arrays.asList(new Edge(0, 1, 2), new Edge(1, 2, 3)), profilesIds, id);
+			tx.rollback();
+		}
+	}
+
+	private void update(Transaction tx) {
+		tx.execute("MATCH (:Dataset {id: 'dataset'})-[:CONTAINS]->(p:Profile {id: '3'})-[c:CONTAINS_DETAILS]->() SET c.to = 2 " +
+				"CREATE (p)-[:CONTAINS_DETAILS {version: 2}]->(pd:ProfileDetails) " +
+				"CREATE (pd)-[:HAS {part: 1, total: 3, version: 1}]->(:Allele {id: '1'}) " +
+				"CREATE (pd)-[:HAS {part: 2, total: 3, version: 1}]->(:Allele {id: '5'}) " +
+				"CREATE (pd)-[:HAS {part: 3, total: 3, version: 1}]->(:Allele {id: '2'})");
+	}
+
+	private void profile(Transaction tx, String id, String... alleles) {
+		tx.execute("MATCH (d:Dataset {id: 'dataset'}) " +
+				"CREATE (d)-[:CONTAINS]->(:Profile {id: $id, deprecated: false})-[:CONTAINS_DETAILS {version: 1}]->(pd:ProfileDetails) " +
+				"WITH pd UNWIND range(0, size($alleles) - 1) AS i " +
+				"CREATE (pd)-[:HAS {part: i + 1, total: size($alleles), version: 1}]->(:Allele {id: $alleles[i]})",
+				Map.of("id", id, "alleles", Arrays.asList(alleles)));
+	}
+
+	private List<String> edges(Transaction tx, String inferenceId) {
+		return tx.getAllRelationships().stream()
+				.filter(r -> r.getType().name().equals(Relation.DISTANCES.name()) && r.getProperty(Distance.ID).equals(inferenceId))
+				.map(r -> r.getStartNode().getProperty(Profile.ID) + " " + r.getEndNode().getProperty(Profile.ID) + " " + r.getProperty(Distance.DISTANCE))
+				.sorted()
+				.collect(Collectors.toList());
+	}
+
 	private void assertEdges(List<Relationship> result, List<Edge> expected, String[] profilesIds, String inferenceId) {
 		assertEquals(expected.size(), result.size());
 		for (int i = 0; i < expected.size(); i++) {
@@ -187,6 +421,7 @@ public class InferenceRepositoryTests extends RepositoryTests {
 			Edge e = edge.get();
 			assertEquals(distances.getProperty(Distance.ID), inferenceId);
 			assertEquals(distances.getProperty(Distance.DISTANCE), e.distance());
+			assertEquals(distances.getProperty(Distance.LVS), 3);
 			assertEquals(distances.getProperty(Distance.FROM_VERSION), 1);
 			assertEquals(distances.getProperty(Distance.TO_VERSION), 1);
 			assertEquals(distances.getProperty(Distance.ALGORITHM), GoeBURST.NAME);
@@ -0,0 +1,113 @@
+package algorithm.inference;
+
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Matrix;
+import algorithm.inference.model.MatrixCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class MatrixCacheTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static AlleleTable table(int size, int loci, long seed) {
+		Random random = new Random(seed);
+		String[] ids = new String[size];
+		for (int i = 0; i < size; i++)
+			ids[i] = String.valueOf(i);
+		AlleleTable table = new AlleleTable(ids, new int[size], loci);
+		for (int i = 0; i < size; i++)
+			for (int l = 0; l < loci; l++)
+				table.set(i, l, String.valueOf(random.nextInt(3)));
+		return table;
+	}
+
+	@Test
+	public void matrix_cachedTable() {
+		MatrixCache cache = new MatrixCache(1 << 20, null, 0);
+		AlleleTable table = table(50, 7, 0);
+		assertNull(cache.table("key"));
+		cache.put("dataset", "key", table);
+		assertSame(table, cache.table("key"));
+		Matrix matrix = cache.matrix(table, 1);
+		assertSame(matrix, cache.matrix(table, 1));
+		assertArrayEquals(new Matrix(table).getDistances(), matrix.getDistances());
+	}
+
+	@Test
+	public void matrix_uncachedTable() {
+		MatrixCache cache = new MatrixCache(1 << 20, null, 0);
+		AlleleTable table = table(10, 7, 0);
+		assertNotSame(cache.matrix(table, 1), cache.matrix(table, 1));
+	}
+
+	@Test
+	public void put_evictsLeastRecentlyUsed() {
+		AlleleTable table1 = table(100, 7, 1), table2 = table(100, 7, 2), table3 = table(100, 7, 3);
+		MatrixCache cache = new MatrixCache(table1.bytes() + table2.bytes(), null, 0);
+		cache.put("dataset1", "1", table1);
+		cache.put("dataset2", "2", table2);
+		cache.table("1");
+		cache.put("dataset3", "3", table3);
+		assertSame(table1, cache.table("1"));
+		assertNull(cache.table("2"));
+		assertSame(table3, cache.table("3"));
+	}
+
+	@Test
+	public void matrix_spilledToFile() throws IOException {
+		Path spill = folder.getRoot().toPath();
+		AlleleTable table1 = table(300, 7, 1), table2 = table(300, 7, 2);
+		MatrixCache cache = new MatrixCache(table1.bytes() + table2.bytes() + new Matrix(table1).bytes(), spill, 1 << 20);
+		cache.put("dataset1", "1", table1);
+		Matrix matrix1 = cache.matrix(table1, 1);
+		cache.put("dataset2", "2", table2);
+		Matrix matrix2 = cache.matrix(table2, 1);
+		assertSame(matrix2, cache.matrix(table2, 1));
+		assertEquals(1, files(spill));
+		Matrix loaded = cache.matrix(table1, 1);
+		assertNotSame(matrix1, loaded);
+		assertArrayEquals(matrix1.getDistances(), loaded.getDistances());
+		assertSame(table2, cache.table("2"));
+		assertNotSame(matrix2, cache.matrix(table2, 1));
+		assertEquals(1, files(spill));
+		cache.clear();
+		assertEquals(0, files(spill));
+	}
+
+	@Test
+	public void put_updatesPreviousMatrixOfDataset() {
+		MatrixCache cache = new MatrixCache(1 << 20, null, 0);
+		AlleleTable table1 = table(100, 7, 1), table2 = table(120, 7, 1);
+		for (int l = 0; l < 7; l++)
+			table2.set(0, l, "changed");
+		cache.put("dataset", "1", table1);
+		cache.matrix(table1, 1);
+		cache.put("dataset", "2", table2);
+		assertNull(cache.table("1"));
+		Matrix matrix = cache.matrix(table2, 1);
+		assertEquals(99, matrix.reused());
+		assertArrayEquals(new Matrix(table2).getDistances(), matrix.getDistances());
+	}
+
+	private static long files(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+}
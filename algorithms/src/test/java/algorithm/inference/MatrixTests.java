@@ -0,0 +1,105 @@
+package algorithm.inference;
+
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Matrix;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MatrixTests {
+
+	private static final String PROFILE1_ID = "1", PROFILE2_ID = "2", PROFILE3_ID = "3";
+
+	@Test
+	public void matrix_withMissing() {
+		String[] ids = {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+		String[][] allelesIds = {{"1", null, "1"}, {"1", null, "2"}, {null, "3", "2"}};
+		Matrix matrix = new Matrix(ids, new int[ids.length], allelesIds);
+		assertArrayEquals(new int[][] {{}, {2}, {3, 2}}, matrix.getDistances());
+		assertEquals(3, matrix.distance(0, 2));
+		assertEquals(3, matrix.distance(2, 0));
+		assertEquals(0, matrix.distance(1, 1));
+	}
+
+	@Test
+	public void matrix_withManyLoci() {
+		int loci = 300;
+		String[] ids = {PROFILE1_ID, PROFILE2_ID};
+		AlleleTable table = new AlleleTable(ids, new int[ids.length], loci);
+		for (int l = 0; l < loci; l++) {
+			table.set(0, l, "1");
+			table.set(1, l, "2");
+		}
+		Matrix matrix = new Matrix(table);
+		assertEquals(loci, matrix.distance(0, 1));
+	}
+
+	@Test
+	public void matrix_withManyAlleles() {
+		int profiles = Short.MAX_VALUE + 2;
+		String[] ids = new String[profiles];
+		AlleleTable table = new AlleleTable(ids, new int[profiles], 2);
+		for (int i = 0; i < profiles; i++) {
+			ids[i] = String.valueOf(i);
+			table.set(i, 0, String.valueOf(i));
+			table.set(i, 1, "1");
+		}
+		assertEquals(profiles, table.code(profiles - 1, 0));
+		assertEquals(1, table.differences(0, profiles - 1));
+		assertEquals(0, table.differences(profiles - 1, profiles - 1));
+	}
+
+	@Test
+	public void matrix_parallel() {
+		int profiles = 2000, loci = 7;
+		Random random = new Random(0);
+		String[] ids = new String[profiles];
+		AlleleTable table = new AlleleTable(ids, new int[profiles], loci);
+		for (int i = 0; i < profiles; i++) {
+			ids[i] = String.valueOf(i);
+			for (int l = 0; l < loci; l++)
+				table.set(i, l, String.valueOf(random.nextInt(3)));
+		}
+		Matrix sequential = new Matrix(table, 1);
+		Matrix parallel = new Matrix(table, 4);
+		assertArrayEquals(sequential.getDistances(), parallel.getDistances());
+	}
+
+
+	@Test
+	public void matrix_updatedFromPrevious() {
+		Random random = new Random(0);
+		int loci = 7;
+		String[][] alleles = new String[200][loci];
+		for (String[] row : alleles)
+			for (int l = 0; l < loci; l++)
+				row[l] = random.nextInt(4) == 0 ? null : String.valueOf(random.nextInt(3));
+		String[] ids = new String[200];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = String.valueOf(i);
+		Matrix previous = new Matrix(ids, new int[ids.length], alleles);
+		List<Integer> order = new ArrayList<>();
+		for (int i = 10; i < 220; i++)
+			order.add(i);
+		Collections.shuffle(order, random);
+		AlleleTable table = new AlleleTable(new String[order.size()], new int[order.size()], loci);
+		for (int i = 0; i < order.size(); i++) {
+			int id = order.get(i);
+			table.getIds()[i] = String.valueOf(id);
+			for (int l = 0; l < loci; l++)
+				table.set(i, l, id < 20 || id >= 200 ? String.valueOf(random.nextInt(3)) : alleles[id][l]);
+		}
+		for (int parallelism : new int[]{1, 4}) {
+			Matrix matrix = new Matrix(table, previous, parallelism);
+			assertEquals(180, matrix.reused());
+			assertArrayEquals(new Matrix(table).getDistances(), matrix.getDistances());
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+package algorithm.inference;
+
+import algorithm.inference.implementation.NeighborJoining;
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.Branch;
+import algorithm.inference.model.Matrix;
+import algorithm.inference.model.Phylogeny;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NeighborJoiningTests {
+
+	private static final String PROJECT_ID = "project", DATASET_ID = "dataset";
+	private static final double DELTA = 1e-4;
+
+	private NeighborJoining nj;
+
+	@Before
+	public void init() {
+		nj = new NeighborJoining();
+		nj.init(PROJECT_ID, DATASET_ID);
+	}
+
+	@Test
+	public void compute_additiveTree() {
+		// ((a:2,b:3):3,c:4,(d:2,e:1):2), where each mutation of a branch is in a different locus
+		int[][] paths = {{0, 1, 2, 3, 4}, {0, 1, 2, 5, 6, 7}, {8, 9, 10, 11}, {12, 13, 14, 15}, {12, 13, 16}};
+		Phylogeny phylogeny = nj.compute(new Matrix(table(paths, 17)));
+		List<Branch> branches = phylogeny.getBranches();
+		assertEquals(PROJECT_ID, phylogeny.getProjectId());
+		assertEquals(DATASET_ID, phylogeny.getDatasetId());
+		assertEquals(7, branches.size());
+		double[] lengths = {2, 3, 4, 2, 1};
+		int[] parents = new int[5];
+		for (Branch branch : branches) {
+			if (branch.to() < 5) {
+				assertEquals(lengths[branch.to()], branch.length(), DELTA);
+				parents[branch.to()] = branch.from();
+			}
+		}
+		assertEquals(parents[0], parents[1]);
+		assertEquals(parents[3], parents[4]);
+		assertNull(phylogeny.profileId(parents[0]));
+		assertEquals("1", phylogeny.profileId(0));
+	}
+
+	@Test
+	public void compute_randomAdditiveTrees() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			int nodes = 50 + random.nextInt(100);
+			int[] parents = new int[nodes], lengths = new int[nodes];
+			boolean[] inner = new boolean[nodes];
+			int loci = 0;
+			for (int k = 1; k < nodes; k++) {
+				parents[k] = random.nextInt(k);
+				inner[parents[k]] = true;
+				lengths[k] = 1 + random.nextInt(3);
+				loci += lengths[k];
+			}
+			int[] first = new int[nodes];
+			for (int k = 1; k < nodes; k++)
+				first[k] = first[k - 1] + lengths[k - 1];
+			List<int[]> paths = new ArrayList<>();
+			for (int k = 0; k < nodes; k++) {
+				if (inner[k])
+					continue;
+				List<Integer> path = new ArrayList<>();
+				for (int v = k; v != 0; v = parents[v])
+					for (int l = 0; l < lengths[v]; l++)
+						path.add(first[v] + l);
+				paths.add(path.stream().mapToInt(Integer::intValue).toArray());
+			}
+			Matrix matrix = new Matrix(table(paths.toArray(new int[0][]), loci));
+			Phylogeny phylogeny = nj.compute(matrix);
+			int size = matrix.size();
+			assertEquals(2 * size - 3, phylogeny.getBranches().size());
+			for (int i = 0; i < size; i++) {
+				double[] distances = distances(phylogeny.getBranches(), 2 * size - 2, i);
+				for (int j = 0; j < size; j++)
+					assertEquals(i == j ? 0 : matrix.distance(i, j), distances[j], DELTA);
+			}
+		}
+	}
+
+	@Test
+	public void compute_small() {
+		String[] ids = {"1", "2"};
+		Phylogeny phylogeny = nj.compute(new Matrix(new AlleleTable(ids, new int[2], new String[][]{{"1", "1"}, {"1", "2"}})));
+		assertEquals(1, phylogeny.getBranches().size());
+		assertEquals(new Branch(0, 1, 1), phylogeny.getBranches().get(0));
+		phylogeny = nj.compute(new Matrix(new AlleleTable(new String[]{"1"}, new int[1], new String[][]{{"1"}})));
+		assertEquals(0, phylogeny.getBranches().size());
+	}
+
+	private static AlleleTable table(int[][] paths, int loci) {
+		String[] ids = new String[paths.length];
+		String[][] alleles = new String[paths.length][loci];
+		for (int i = 0; i < paths.length; i++) {
+			ids[i] = String.valueOf(i + 1);
+			Arrays.fill(alleles[i], "1");
+			for (int locus : paths[i])
+				alleles[i][locus] = "2";
+		}
+		return new AlleleTable(ids, new int[ids.length], alleles);
+	}
+
+	private static double[] distances(List<Branch> branches, int nodes, int from) {
+		List<List<Branch>> adjacency = new ArrayList<>();
+		for (int i = 0; i < nodes; i++)
+			adjacency.add(new ArrayList<>());
+		for (Branch branch : branches) {
+			adjacency.get(branch.from()).add(branch);
+			adjacency.get(branch.to()).add(branch);
+		}
+		double[] distances = new double[nodes];
+		Arrays.fill(distances, -1);
+		distances[from] = 0;
+		Deque<Integer> queue = new ArrayDeque<>();
+		queue.add(from);
+		while (!queue.isEmpty()) {
+			int node = queue.poll();
+			for (Branch branch : adjacency.get(node)) {
+				int next = branch.from() == node ? branch.to() : branch.from();
+				if (distances[next] < 0) {
+					distances[next] = distances[node] + branch.length();
+					queue.add(next);
+				}
+			}
+		}
+		return distances;
+	}
+
+}
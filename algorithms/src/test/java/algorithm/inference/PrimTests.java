@@ -0,0 +1,95 @@
+package algorithm.inference;
+
+import algorithm.inference.implementation.Prim;
+import algorithm.inference.model.AlleleTable;
+import algorithm.inference.model.DisjointSet;
+import algorithm.inference.model.Edge;
+import algorithm.inference.model.Inference;
+import algorithm.inference.model.Matrix;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertEquals;
+
+public class PrimTests {
+
+	private static final String PROJECT_ID = "project", DATASET_ID = "dataset", INFERENCE_ID = "inference",
+			PROFILE1_ID = "1", PROFILE2_ID = "2", PROFILE3_ID = "3";
+
+	private Prim prim;
+
+	@Before
+	public void init() {
+		prim = new Prim();
+		prim.init(PROJECT_ID, DATASET_ID, INFERENCE_ID, 3L);
+	}
+
+	@Test
+	public void compute_matrix3x3() {
+		String[] ids = {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+		String[][] allelesIds = {{"1", "2"}, {"1", "1"}, {"2", "1"}};
+		Inference inference = prim.compute(new AlleleTable(ids, new int[ids.length], allelesIds));
+		assertEquals(PROJECT_ID, inference.getProjectId());
+		assertEquals(DATASET_ID, inference.getDatasetId());
+		assertEquals(INFERENCE_ID, inference.getId());
+		assertEquals(2, inference.getEdges().size());
+		assertTrue(inference.getEdges().contains(new Edge(0, 1, 1)));
+		assertTrue(inference.getEdges().contains(new Edge(1, 2, 1)));
+	}
+
+	@Test
+	public void compute_forest() {
+		String[] ids = {PROFILE1_ID, PROFILE2_ID, PROFILE3_ID};
+		String[][] allelesIds = {{"1", "1", "1", "1"}, {"1", "1", "1", "2"}, {"2", "2", "2", "3"}};
+		Inference inference = prim.compute(new AlleleTable(ids, new int[ids.length], allelesIds));
+		assertEquals(1, inference.getEdges().size());
+		assertTrue(inference.getEdges().contains(new Edge(0, 1, 1)));
+	}
+
+	@Test
+	public void compute_minimumSpanningForest() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			int profiles = 100 + random.nextInt(100), loci = 7;
+			String[] ids = new String[profiles];
+			AlleleTable table = new AlleleTable(ids, new int[profiles], loci);
+			for (int i = 0; i < profiles; i++) {
+				ids[i] = String.valueOf(i + 1);
+				for (int l = 0; l < loci; l++)
+					table.set(i, l, random.nextInt(20) == 0 ? null : String.valueOf(random.nextInt(4)));
+			}
+			Matrix matrix = new Matrix(table);
+			List<Edge> expected = kruskal(matrix, 3);
+			List<Edge> result = prim.compute(table).getEdges();
+			assertEquals(expected.size(), result.size());
+			assertEquals(weight(expected), weight(result));
+			assertEquals(result, prim.compute(matrix).getEdges());
+		}
+	}
+
+	private List<Edge> kruskal(Matrix matrix, int lvs) {
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < matrix.size(); i++)
+			for (int j = 0; j < i; j++)
+				if (matrix.distance(i, j) <= lvs)
+					edges.add(new Edge(j, i, matrix.distance(i, j)));
+		edges.sort(Comparator.comparingInt(Edge::distance));
+		DisjointSet clusters = new DisjointSet(matrix.size());
+		List<Edge> tree = new ArrayList<>();
+		for (Edge edge : edges)
+			if (clusters.union(edge.from(), edge.to()))
+				tree.add(edge);
+		return tree;
+	}
+
+	private int weight(List<Edge> edges) {
+		return edges.stream().mapToInt(Edge::distance).sum();
+	}
+
+}
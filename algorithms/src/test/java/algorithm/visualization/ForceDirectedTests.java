@@ -0,0 +1,120 @@
+package algorithm.visualization;
+
+import algorithm.visualization.implementation.ForceDirected;
+import algorithm.visualization.model.Coordinate;
+import algorithm.visualization.model.QuadTree;
+import algorithm.visualization.model.Tree;
+import algorithm.visualization.model.Vertex;
+import algorithm.visualization.model.Visualization;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ForceDirectedTests {
+
+	private static final String PROJECT_ID = "project", DATASET_ID = "dataset", INFERENCE_ID = "inference", VISUALIZATION_ID = "visualization";
+
+	private static ForceDirected force(int iterations, int parallelism) {
+		ForceDirected force = new ForceDirected();
+		force.init(PROJECT_ID, DATASET_ID, INFERENCE_ID, VISUALIZATION_ID, iterations, parallelism);
+		return force;
+	}
+
+	private static Vertex random(Random random, int size, int first) {
+		List<List<Vertex>> children = new ArrayList<>();
+		int[] parents = new int[size];
+		for (int i = 0; i < size; i++) {
+			children.add(new ArrayList<>());
+			parents[i] = i == 0 ? -1 : random.nextInt(i);
+		}
+		Vertex[] vertices = new Vertex[size];
+		for (int i = size - 1; i >= 0; i--) {
+			vertices[i] = new Vertex(String.valueOf(first + i), i == 0 ? 0 : 1 + random.nextInt(3), children.get(i).toArray(new Vertex[0]));
+			if (parents[i] != -1)
+				children.get(parents[i]).add(0, vertices[i]);
+		}
+		return vertices[0];
+	}
+
+	@Test
+	public void quadTree_exactWithoutApproximation() {
+		Random random = new Random(0);
+		int size = 1000;
+		double[] xs = new double[size], ys = new double[size];
+		for (int i = 0; i < size; i++) {
+			xs[i] = random.nextDouble() * 1000;
+			ys[i] = random.nextInt(100);
+		}
+		QuadTree quadTree = new QuadTree(xs, ys, 0, size);
+		for (int i = 0; i < size; i += 7) {
+			double[] expected = new double[2], force = new double[2];
+			for (int j = 0; j < size; j++) {
+				double dx = xs[i] - xs[j], dy = ys[i] - ys[j], squared = dx * dx + dy * dy;
+				if (squared > 0) {
+					expected[0] += dx * 4 / squared;
+					expected[1] += dy * 4 / squared;
+				}
+			}
+			quadTree.repulsion(i, 0, 4, force);
+			assertArrayEquals(expected, force, 1e-9);
+			double[] approximated = new double[2];
+			quadTree.repulsion(i, 0.5, 4, approximated);
+			double error = Math.hypot(approximated[0] - expected[0], approximated[1] - expected[1]);
+			assertTrue(error <= 0.1 * Math.hypot(expected[0], expected[1]) + 1e-3);
+		}
+	}
+
+	@Test
+	public void compute_forest() {
+		Random random = new Random(0);
+		Tree tree = new Tree(new Vertex[]{random(random, 300, 0), random(random, 1, 300), random(random, 50, 301)});
+		Visualization visualization = force(50, 1).compute(tree);
+		Coordinate[] coordinates = visualization.getCoordinates();
+		assertEquals(ForceDirected.NAME, visualization.getAlgorithm());
+		assertEquals(VISUALIZATION_ID, visualization.getId());
+		assertEquals(351, coordinates.length);
+		double right = Double.NEGATIVE_INFINITY;
+		for (Coordinate coordinate : coordinates) {
+			int profile = Integer.parseInt(coordinate.getProfileId());
+			assertEquals(profile < 300 ? 1 : profile == 300 ? 2 : 3, coordinate.getComponent());
+			assertTrue(Double.isFinite(coordinate.getX()) && Double.isFinite(coordinate.getY()));
+			if (profile < 300)
+				right = Math.max(right, coordinate.getX());
+		}
+		assertTrue(coordinates[300].getX() > right);
+		assertArrayEquals(coordinates, force(50, 4).compute(tree).getCoordinates());
+	}
+
+	@Test
+	public void compute_edgesShorterThanAverage() {
+		Random random = new Random(1);
+		Vertex root = random(random, 500, 0);
+		Coordinate[] coordinates = new Coordinate[500];
+		for (Coordinate coordinate : force(100, 0).compute(new Tree(new Vertex[]{root})).getCoordinates())
+			coordinates[Integer.parseInt(coordinate.getProfileId())] = coordinate;
+		double edges = 0, pairs = 0;
+		int count = 0;
+		List<Vertex> stack = new ArrayList<>();
+		stack.add(root);
+		while (!stack.isEmpty()) {
+			Vertex parent = stack.remove(stack.size() - 1);
+			for (Vertex child : parent.getChildren()) {
+				Coordinate a = coordinates[Integer.parseInt(parent.getId())], b = coordinates[Integer.parseInt(child.getId())];
+				edges += Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+				count++;
+				stack.add(child);
+			}
+		}
+		for (int i = 0; i < coordinates.length; i++)
+			for (int j = 0; j < i; j++)
+				pairs += Math.hypot(coordinates[i].getX() - coordinates[j].getX(), coordinates[i].getY() - coordinates[j].getY());
+		assertTrue(edges / count * 5 < pairs / ((double) coordinates.length * (coordinates.length - 1) / 2));
+	}
+
+}
@@ -8,6 +8,14 @@ import algorithm.visualization.model.Visualization;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Stack;
+
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -69,6 +77,164 @@ public class RadialTests {
 		assertVisualization(coordinates, visualization);
 	}
 
+	@Test
+	public void compute_matchesRecursiveLayout() {
+		Random random = new Random(0);
+		for (int run = 0; run < 10; run++) {
+			Vertex[] roots = new Vertex[1 + random.nextInt(3)];
+			int next = 0;
+			for (int r = 0; r < roots.length; r++) {
+				int size = 1 + random.nextInt(200);
+				List<List<Vertex>> children = new ArrayList<>();
+				int[] parents = new int[size];
+				for (int i = 0; i < size; i++) {
+					children.add(new ArrayList<>());
+					parents[i] = i == 0 ? -1 : random.nextInt(i);
+				}
+				Vertex[] vertices = new Vertex[size];
+				for (int i = size - 1; i >= 0; i--) {
+					vertices[i] = vertex(String.valueOf(next + i), random.nextInt(4), children.get(i).toArray(new Vertex[0]));
+					if (parents[i] != -1)
+						children.get(parents[i]).add(0, vertices[i]);
+				}
+				roots[r] = vertices[0];
+				next += size;
+			}
+			Tree tree = new Tree(roots);
+			Map<String, Coordinate> expected = recursiveLayout(tree);
+			Coordinate[] coordinates = radial.compute(tree).getCoordinates();
+			assertEquals(expected.size(), coordinates.length);
+			for (Coordinate coordinate : coordinates)
+				assertEquals(expected.get(coordinate.getProfileId()), coordinate);
+		}
+	}
+
+	@Test
+	public void compute_chain() {
+		int size = 100000;
+		Vertex vertex = vertex(String.valueOf(size - 1), 1);
+		for (int i = size - 2; i >= 0; i--)
+			vertex = vertex(String.valueOf(i), i == 0 ? 0 : 1, vertex);
+		Coordinate[] coordinates = radial.compute(new Tree(new Vertex[]{vertex})).getCoordinates();
+		assertEquals(size, coordinates.length);
+		assertEquals(-110.0 * (size - 1), coordinates[size - 1].getX(), 1e-6);
+	}
+
+	@Test
+	public void compute_incrementalUnchanged() {
+		Tree tree = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 2, vertex(PROFILE3_ID, 3)), vertex(PROFILE4_ID, 5, vertex(PROFILE5_ID, 1)))});
+		Coordinate[] previous = radial.compute(tree).getCoordinates();
+		Visualization visualization = radial.compute(tree, tree, coordinates(new Coordinate[]{previous[0], previous[1], previous[2], previous[3], previous[4]}));
+		assertVisualization(previous, visualization);
+	}
+
+	@Test
+	public void compute_incrementalKeepsUnchangedSubtreesAttached() {
+		Tree previous = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 2, vertex(PROFILE3_ID, 3), vertex("8", 1)),
+				vertex(PROFILE4_ID, 5, vertex(PROFILE5_ID, 1), vertex(PROFILE6_ID, 1)), vertex("7", 1))});
+		Tree tree = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 2, vertex(PROFILE3_ID, 3)),
+				vertex(PROFILE4_ID, 5, vertex(PROFILE5_ID, 1), vertex(PROFILE6_ID, 1)), vertex("7", 1), vertex("8", 1))});
+		Map<String, Coordinate> kept = coordinates(radial.compute(previous).getCoordinates());
+		Map<String, Coordinate> expected = coordinates(radial.compute(tree).getCoordinates());
+		Map<String, Coordinate> coordinates = coordinates(radial.compute(tree, previous, kept).getCoordinates());
+		assertEquals(8, coordinates.size());
+		for (String id : expected.keySet()) {
+			assertEquals(expected.get(id).getX(), coordinates.get(id).getX(), 1e-9);
+			assertEquals(expected.get(id).getY(), coordinates.get(id).getY(), 1e-9);
+		}
+		assertTrue(!kept.get(PROFILE4_ID).equals(coordinates.get(PROFILE4_ID)));
+		assertEquals(510, distance(coordinates.get(PROFILE1_ID), coordinates.get(PROFILE4_ID)), 1e-9);
+		assertEquals(110, distance(coordinates.get(PROFILE4_ID), coordinates.get(PROFILE5_ID)), 1e-9);
+		assertEquals(310, distance(coordinates.get(PROFILE2_ID), coordinates.get(PROFILE3_ID)), 1e-9);
+	}
+
+	@Test
+	public void compute_incrementalMovesSubtreesWithTheirParent() {
+		Tree previous = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 2, vertex(PROFILE3_ID, 3)), vertex(PROFILE4_ID, 5))});
+		Tree tree = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 1, vertex(PROFILE3_ID, 3)), vertex(PROFILE4_ID, 5))});
+		Map<String, Coordinate> kept = coordinates(radial.compute(previous).getCoordinates());
+		Map<String, Coordinate> coordinates = coordinates(radial.compute(tree, previous, kept).getCoordinates());
+		assertTrue(!kept.get(PROFILE3_ID).equals(coordinates.get(PROFILE3_ID)));
+		assertEquals(310, distance(coordinates.get(PROFILE2_ID), coordinates.get(PROFILE3_ID)), 1e-9);
+		assertEquals(110, distance(coordinates.get(PROFILE1_ID), coordinates.get(PROFILE2_ID)), 1e-9);
+	}
+
+	@Test
+	public void compute_incrementalChangedDistance() {
+		Tree previous = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 2, vertex(PROFILE3_ID, 3)), vertex(PROFILE4_ID, 5))});
+		Tree tree = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 2, vertex(PROFILE3_ID, 1)), vertex(PROFILE4_ID, 5))});
+		Map<String, Coordinate> kept = coordinates(radial.compute(previous).getCoordinates());
+		Map<String, Coordinate> expected = coordinates(radial.compute(tree).getCoordinates());
+		Map<String, Coordinate> coordinates = coordinates(radial.compute(tree, previous, kept).getCoordinates());
+		assertEquals(kept.get(PROFILE4_ID), coordinates.get(PROFILE4_ID));
+		assertEquals(expected.get(PROFILE3_ID), coordinates.get(PROFILE3_ID));
+		assertTrue(!kept.get(PROFILE3_ID).equals(coordinates.get(PROFILE3_ID)));
+	}
+
+	@Test
+	public void compute_incrementalKeepsUnchangedSubtreesExactly() {
+		Tree previous = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 2, vertex(PROFILE3_ID, 3)),
+				vertex(PROFILE4_ID, 5, vertex(PROFILE5_ID, 1), vertex(PROFILE6_ID, 1)))});
+		Tree tree = new Tree(new Vertex[]{vertex(PROFILE1_ID, 0, vertex(PROFILE2_ID, 4, vertex(PROFILE3_ID, 3)),
+				vertex(PROFILE4_ID, 5, vertex(PROFILE5_ID, 1), vertex(PROFILE6_ID, 1)))});
+		Map<String, Coordinate> kept = coordinates(radial.compute(previous).getCoordinates());
+		Map<String, Coordinate> coordinates = coordinates(radial.compute(tree, previous, kept).getCoordinates());
+		for (String id : new String[]{PROFILE1_ID, PROFILE4_ID, PROFILE5_ID, PROFILE6_ID}) {
+			assertEquals(kept.get(id).getX(), coordinates.get(id).getX(), 0);
+			assertEquals(kept.get(id).getY(), coordinates.get(id).getY(), 0);
+		}
+		assertTrue(!kept.get(PROFILE2_ID).equals(coordinates.get(PROFILE2_ID)));
+	}
+
+	private static double distance(Coordinate from, Coordinate to) {
+		return Math.hypot(to.getX() - from.getX(), to.getY() - from.getY());
+	}
+
+	private static Map<String, Coordinate> coordinates(Coordinate[] coordinates) {
+		Map<String, Coordinate> map = new HashMap<>();
+		for (Coordinate coordinate : coordinates)
+			map.put(coordinate.getProfileId(), coordinate);
+		return map;
+	}
+
+	/**
+	 * Radial layout as it was computed before the vertices were numbered, which recounts the leaves of each subtree
+	 */
+	private static Map<String, Coordinate> recursiveLayout(Tree tree) {
+		Vertex[] roots = tree.getRoots();
+		Map<String, Coordinate> coordinates = new HashMap<>();
+		Map<String, Double> borders = new HashMap<>();
+		for (int i = 0; i < roots.length; i++) {
+			Vertex root = roots[i];
+			Stack<Vertex> nodes = new Stack<>();
+			int leaftotal = leafs(root);
+			nodes.push(root);
+			coordinates.put(root.getId(), new Coordinate(root.getId(), i + 1, 0, 0));
+			borders.put(root.getId(), 0.0);
+			while (nodes.size() > 0) {
+				Vertex parent = nodes.pop();
+				Coordinate parentCoordinate = coordinates.get(parent.getId());
+				double border = borders.get(parent.getId());
+				for (Vertex child : parent.getChildren()) {
+					double wedge = 2 * Math.PI * leafs(child) / leaftotal;
+					double alpha = border + wedge / 2;
+					double distance = child.getDistance() * 100 + 10;
+					nodes.push(child);
+					double x = parentCoordinate.getX() + Math.cos(alpha) * distance;
+					double y = parentCoordinate.getY() + Math.sin(alpha) * distance;
+					coordinates.put(child.getId(), new Coordinate(child.getId(), i + 1, x, y));
+					borders.put(child.getId(), border);
+					border += wedge;
+				}
+			}
+		}
+		return coordinates;
+	}
+
+	private static int leafs(Vertex node) {
+		return node.getChildren().length == 0 ? 1 : Arrays.stream(node.getChildren()).reduce(0, (a, c) -> a + leafs(c), Integer::sum);
+	}
+
 	private void assertVisualization(Coordinate[] coordinates, Visualization visualization) {
 		assertEquals(PROJECT_ID, visualization.getProjectId());
 		assertEquals(DATASET_ID, visualization.getDatasetId());
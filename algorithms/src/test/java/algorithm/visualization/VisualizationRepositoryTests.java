@@ -2,6 +2,8 @@ package algorithm.visualization;
 
 import algorithm.inference.InferenceProcedures;
 import algorithm.repository.RepositoryTests;
+import algorithm.utils.type.Dataset;
+import algorithm.utils.type.Distance;
 import algorithm.utils.type.Has;
 import algorithm.utils.type.Profile;
 import algorithm.utils.type.Relation;
@@ -14,6 +16,8 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.neo4j.driver.Config;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
@@ -23,6 +27,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -35,7 +40,7 @@ public class VisualizationRepositoryTests extends RepositoryTests {
 			PROFILE4_ID = "4", PROFILE5_ID = "5", PROFILE6_ID = "6";
 
 	@Rule
-	public Neo4jRule neo4j = new Neo4jRule().withProcedure(InferenceProcedures.class);
+	public Neo4jRule neo4j = new Neo4jRule().withProcedure(InferenceProcedures.class).withProcedure(VisualizationProcedures.class);
 
 	public URI uri;
 	public Config config;
@@ -113,6 +118,69 @@ public class VisualizationRepositoryTests extends RepositoryTests {
 		}
 	}
 
+	@Test
+	public void read_inferenceChain() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "visualization", "ctx-1e.cypher");
+			Node dataset = tx.findNode(Label.label(Dataset.LABEL), Dataset.ID, DATASET_ID);
+			Node previous = tx.findNode(Label.label(Profile.LABEL), Profile.ID, PROFILE2_ID);
+			for (int i = 3; i <= 20000; i++) {
+				Node profile = tx.createNode(Label.label(Profile.LABEL));
+				profile.setProperty(Profile.ID, String.valueOf(i));
+				dataset.createRelationshipTo(profile, RelationshipType.withName(Relation.CONTAINS.name()));
+				Relationship distance = previous.createRelationshipTo(profile, RelationshipType.withName(Relation.DISTANCES.name()));
+				distance.setProperty(Distance.ID, INFERENCE_ID);
+				distance.setProperty(Distance.DISTANCE, 1L);
+				previous = profile;
+			}
+			Tree result = repository.read(tx, PROJECT_ID, DATASET_ID, INFERENCE_ID);
+			assertEquals(1, result.getRoots().length);
+			Vertex vertex = result.getRoots()[0];
+			assertEquals(PROFILE1_ID, vertex.getId());
+			assertEquals(0, vertex.getDistance());
+			int depth = 1;
+			while (vertex.getChildren().length == 1) {
+				vertex = vertex.getChildren()[0];
+				assertEquals(depth == 1 ? 2 : 1, vertex.getDistance());
+				depth++;
+			}
+			assertEquals(20000, depth);
+			assertEquals("20000", vertex.getId());
+			tx.rollback();
+		}
+	}
+
+	@Test
+	public void stream_radialCoordinatesAreNotStored() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "visualization", "ctx-ne-1t.cypher");
+			tx.commit();
+		}
+		try (Transaction tx = database.beginTx()) {
+			long nodesCount = getNodesCount(tx);
+			List<Map<String, Object>> coordinates = tx.execute("CALL algorithms.visualization.radial.stream('project', 'dataset', 'inference')").stream()
+					.collect(Collectors.toList());
+			assertEquals(4, coordinates.size());
+			Map<String, Object> root = coordinates.stream().filter(c -> c.get("profile").equals(PROFILE1_ID)).findFirst().orElseThrow();
+			assertEquals(1L, root.get("component"));
+			assertEquals(0.0, root.get("x"));
+			assertEquals(nodesCount, getNodesCount(tx));
+		}
+	}
+
+	@Test
+	public void chunk_isReadFromTheSystemProperty() {
+		assertEquals(10000, VisualizationRepository.chunk());
+		try {
+			System.setProperty(VisualizationRepository.CHUNK, "2");
+			assertEquals(2, VisualizationRepository.chunk());
+			System.setProperty(VisualizationRepository.CHUNK, "0");
+			assertThrows(IllegalArgumentException.class, VisualizationRepository::chunk);
+		} finally {
+			System.clearProperty(VisualizationRepository.CHUNK);
+		}
+	}
+
 	@Test
 	public void write_2Coordinates() throws IOException {
 		try (Transaction tx = database.beginTx()) {
@@ -149,6 +217,53 @@ public class VisualizationRepositoryTests extends RepositoryTests {
 		}
 	}
 
+	@Test
+	public void write_coordinatesInChunks() throws IOException {
+		long relationshipsCount, nodesCount;
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "visualization", "ctx-ne-nt.cypher");
+			relationshipsCount = getRelationshipsCount(tx);
+			nodesCount = getNodesCount(tx);
+			tx.commit();
+		}
+		Coordinate c1 = new Coordinate(PROFILE1_ID, 1, 1, 2);
+		Coordinate c2 = new Coordinate(PROFILE2_ID, 1, 3, 2.5);
+		Coordinate c3 = new Coordinate(PROFILE3_ID, 1, 1.1, 10.13);
+		Coordinate c4 = new Coordinate(PROFILE4_ID, 2, 0, 0);
+		Visualization visualization = visualization(c1, c2, c3, c4);
+		assertEquals(0, repository.write(visualization, null, null, 3));
+		try (Transaction tx = database.beginTx()) {
+			assertEquals(relationshipsCount + 4, getRelationshipsCount(tx));
+			assertEquals(nodesCount + 4, getNodesCount(tx));
+			assertVisualization(tx, visualization);
+		}
+	}
+
+	@Test
+	public void write_reusesUnchangedCoordinates() throws IOException {
+		try (Transaction tx = database.beginTx()) {
+			arrange(tx, "visualization", "ctx-ne-nt.cypher");
+			repository.write(tx, visualization(new Coordinate(PROFILE1_ID, 1, 0, 0), new Coordinate(PROFILE2_ID, 1, 3, 2.5)));
+			long relationshipsCount = getRelationshipsCount(tx);
+			long nodesCount = getNodesCount(tx);
+			Coordinate c1 = new Coordinate(PROFILE1_ID, 2, 0, 0);
+			Coordinate c2 = new Coordinate(PROFILE2_ID, 2, 1, 2.5);
+			Visualization visualization = new Visualization(PROJECT_ID, DATASET_ID, INFERENCE_ID, "other", Radial.NAME, new Coordinate[]{c1, c2});
+			int reused = repository.write(tx, visualization, INFERENCE_ID, VISUALIZATION_ID);
+			assertEquals(1, reused);
+			assertEquals(relationshipsCount + 2, getRelationshipsCount(tx));
+			assertEquals(nodesCount + 1, getNodesCount(tx));
+			Map<String, Coordinate> previous = repository.coordinates(tx, PROJECT_ID, DATASET_ID, INFERENCE_ID, VISUALIZATION_ID);
+			Map<String, Coordinate> current = repository.coordinates(tx, PROJECT_ID, DATASET_ID, INFERENCE_ID, "other");
+			assertEquals(2, previous.size());
+			assertEquals(3, previous.get(PROFILE2_ID).getX(), 0);
+			assertEquals(2, current.size());
+			assertEquals(1, current.get(PROFILE2_ID).getX(), 0);
+			assertEquals(0, current.get(PROFILE1_ID).getY(), 0);
+			tx.rollback();
+		}
+	}
+
 	private void assertVisualization(Transaction tx, Visualization visualization) {
 		List<Relationship> coordinates = tx.getAllRelationships().stream()
 				.filter(r -> r.getType().equals(RelationshipType.withName(Relation.HAS.name())))
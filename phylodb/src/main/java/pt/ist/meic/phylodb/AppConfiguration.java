@@ -1,12 +1,16 @@
 package pt.ist.meic.phylodb;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pt.ist.meic.phylodb.io.output.StreamingResponseBodyConverter;
 import pt.ist.meic.phylodb.security.authentication.google.GoogleInterceptor;
 import pt.ist.meic.phylodb.security.authentication.phyloviz.PHYLOViZInterceptor;
 import pt.ist.meic.phylodb.security.authorization.AuthorizationInterceptor;
 
+import java.util.List;
+
 /**
  * Configuration of the application
  */
@@ -30,4 +34,9 @@ public class AppConfiguration implements WebMvcConfigurer {
 		registry.addInterceptor(authorizationInterceptor);
 	}
 
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.add(new StreamingResponseBodyConverter());
+	}
+
 }
@@ -7,7 +7,7 @@ import java.util.Arrays;
  */
 public enum InferenceAlgorithm {
 
-	GOEBURST;
+	GOEBURST, PRIM, EDMONDS;
 
 	/**
 	 * Verifies that the parameter name is an InferenceAlgorithm
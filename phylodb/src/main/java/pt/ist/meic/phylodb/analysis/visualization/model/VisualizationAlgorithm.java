@@ -7,7 +7,7 @@ import java.util.Arrays;
  */
 public enum VisualizationAlgorithm {
 
-	RADIAL;
+	RADIAL, FORCE;
 
 	/**
 	 * Verifies that the parameter name is an VisualizationAlgorithm
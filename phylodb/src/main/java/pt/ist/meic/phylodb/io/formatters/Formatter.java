@@ -5,11 +5,14 @@ import pt.ist.meic.phylodb.utils.service.Pair;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Stream;
 
 /**
@@ -44,49 +47,84 @@ public abstract class Formatter<T> {
 	 */
 	protected abstract boolean parse(String line, boolean last, Consumer<T> add);
 
+	/**
+	 * Formats the given entities into an output while they are iterated
+	 * <p>
+	 * Any Formatter shall implement this method to format the given entities in their respective format, writing each entity to the output
+	 * without keeping the others in memory, unless the format requires it. The parameter params is used to initialize the state for the formatting
+	 *
+	 * @param entities iterator of the entities to be formatted
+	 * @param output   output where the entities are formatted
+	 * @param params   any objects that can be used to initialize the operation
+	 * @throws IOException if there is an error writing to the output
+	 */
+	public abstract void format(Iterator<T> entities, Appendable output, Object... params) throws IOException;
+
 	/**
 	 * Formats the given list of entities
 	 * <p>
-	 * Any Formatter shall implement this method to format into a String the given entities in their respective format.
-	 * The parameter params is used to initialize the state for the formatting
+	 * Formats the entities into a String through the {@link #format(Iterator, Appendable, Object...)} method.
 	 *
 	 * @param entities list of entities to be formatted
 	 * @param params   any objects that can be used to initialize the operation
 	 * @return a formatted string of all entities received
 	 */
-	public abstract String format(List<T> entities, Object... params);
+	public String format(List<T> entities, Object... params) {
+		StringBuilder output = new StringBuilder();
+		try {
+			format(entities.iterator(), output, params);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return output.toString();
+	}
 
 	/**
-	 * Parses the file and returns the list of entities parsed, and a list with the number of the lines invalid
+	 * Parses the input, and passes each entity parsed and the number of each line invalid to the respective consumers
 	 * <p>
-	 * Parses the file by iterating over every line, and calling the {@link #init(Iterator, Object...)} and {@link #parse(String, boolean, Consumer)} methods.
-	 * Every entity that is parsed is added to a list, and every line that is invalid is also added to a list. In the end those lists are returned.
+	 * Parses the input by iterating over every line, and calling the {@link #init(Iterator, Object...)} and {@link #parse(String, boolean, Consumer)} methods.
+	 * The entities parsed from a line are only passed to the consumer if the whole line is valid, otherwise the number of the line is passed to the errors consumer.
 	 *
-	 * @param file   file to be parsed
+	 * @param input  input to be parsed
+	 * @param add    consumer of the entities parsed
+	 * @param errors consumer of the numbers of the lines that couldn't be parsed
 	 * @param params any objects that can be used to initialize the operation
-	 * @return the list of entities parsed and the list of line numbers that couldn't be parsed
-	 * @throws IOException if there is an error parsing the file
+	 * @throws IOException if there is an error reading the input
 	 */
-	public Pair<List<T>, List<Integer>> parse(MultipartFile file, Object... params) throws IOException {
-		try (Stream<String> lines = new BufferedReader(new InputStreamReader(file.getInputStream())).lines()) {
+	public void parse(InputStream input, Consumer<T> add, IntConsumer errors, Object... params) throws IOException {
+		try (Stream<String> lines = new BufferedReader(new InputStreamReader(input)).lines()) {
 			Iterator<String> it = lines.iterator();
-			List<T> entities = new ArrayList<>();
-			List<Integer> errors = new ArrayList<>();
-			if (!it.hasNext())
-				return new Pair<>(entities, errors);
+			if (!it.hasNext() || !init(it, params))
+				return;
+			List<T> parsed = new ArrayList<>();
 			int count = 0;
-			if (!init(it, params))
-				return new Pair<>(entities, errors);
 			while (it.hasNext()) {
-				List<T> parsed = new ArrayList<>();
 				count++;
 				if (!parse(it.next(), !it.hasNext(), parsed::add))
-					errors.add(count);
+					errors.accept(count);
 				else
-					entities.addAll(parsed);
+					parsed.forEach(add);
+				parsed.clear();
 			}
-			return new Pair<>(entities, errors);
 		}
 	}
 
+	/**
+	 * Parses the file and returns the list of entities parsed, and a list with the number of the lines invalid
+	 * <p>
+	 * Parses the file through the {@link #parse(InputStream, Consumer, IntConsumer, Object...)} method, adding every entity parsed
+	 * and every line that is invalid to a list. In the end those lists are returned.
+	 *
+	 * @param file   file to be parsed
+	 * @param params any objects that can be used to initialize the operation
+	 * @return the list of entities parsed and the list of line numbers that couldn't be parsed
+	 * @throws IOException if there is an error parsing the file
+	 */
+	public Pair<List<T>, List<Integer>> parse(MultipartFile file, Object... params) throws IOException {
+		List<T> entities = new ArrayList<>();
+		List<Integer> errors = new ArrayList<>();
+		parse(file.getInputStream(), entities::add, errors::add, params);
+		return new Pair<>(entities, errors);
+	}
+
 }
@@ -4,12 +4,9 @@ import pt.ist.meic.phylodb.analysis.inference.model.Edge;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Stack;
+import java.io.IOException;
+import java.util.*;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import static pt.ist.meic.phylodb.utils.db.VersionedRepository.CURRENT_VERSION_VALUE;
 
@@ -70,20 +67,32 @@ public class NewickFormatter extends TreeFormatter {
 		return levels.isEmpty();
 	}
 
+	/**
+	 * Formats the given edges into an output
+	 * <p>
+	 * The trees can only be written after every edge is known, so the edges are collected and indexed by their origin before being written.
+	 *
+	 * @param entities iterator of the edges to be formatted
+	 * @param output   output where the edges are formatted
+	 * @param params   not used
+	 * @throws IOException if there is an error writing to the output
+	 */
 	@Override
-	public String format(List<Edge> entities, Object... params) {
-		StringBuilder data = new StringBuilder();
-		List<VersionedEntity<Profile.PrimaryKey>> roots = entities.stream()
-				.map(Edge::getFrom)
-				.filter(p -> entities.stream().noneMatch(e -> e.getTo().equals(p)))
-				.distinct()
-				.collect(Collectors.toList());
-		List<Edge> edges = new ArrayList<>(entities);
-		for (VersionedEntity<Profile.PrimaryKey> root : roots) {
-			format(edges, root, data);
-			data.append(root.getPrimaryKey().getId()).append(';');
+	public void format(Iterator<Edge> entities, Appendable output, Object... params) throws IOException {
+		Map<VersionedEntity<Profile.PrimaryKey>, List<Edge>> children = new LinkedHashMap<>();
+		Set<VersionedEntity<Profile.PrimaryKey>> targets = new HashSet<>();
+		while (entities.hasNext()) {
+			Edge edge = entities.next();
+			children.computeIfAbsent(edge.getFrom(), k -> new ArrayList<>()).add(edge);
+			targets.add(edge.getTo());
+		}
+		Set<VersionedEntity<Profile.PrimaryKey>> visited = new HashSet<>();
+		for (VersionedEntity<Profile.PrimaryKey> root : children.keySet()) {
+			if (targets.contains(root))
+				continue;
+			format(children, visited, root, output);
+			output.append(root.getPrimaryKey().getId()).append(';');
 		}
-		return data.toString();
 	}
 
 	private String parseNode(StringBuilder newick, Stack<List<Edge>> levels, List<Edge> aux) {
@@ -106,19 +115,19 @@ public class NewickFormatter extends TreeFormatter {
 		return values[0];
 	}
 
-	private void format(List<Edge> entities, VersionedEntity<Profile.PrimaryKey> root, StringBuilder data) {
-		List<Edge> edges = entities.stream()
-				.filter(e -> e.getFrom().equals(root) || e.getTo().equals(root))
-				.collect(Collectors.toList());
-		entities.removeAll(edges);
-		if (!edges.isEmpty()) {
-			data.append('(');
-			for (Edge edge : edges) {
-				format(entities, edge.getTo(), data);
-				data.append(edge.getTo().getPrimaryKey().getId()).append(':').append(edge.getWeight()).append(',');
-			}
-			data.replace(data.length() - 1, data.length(), ")");
+	private void format(Map<VersionedEntity<Profile.PrimaryKey>, List<Edge>> children, Set<VersionedEntity<Profile.PrimaryKey>> visited,
+						VersionedEntity<Profile.PrimaryKey> root, Appendable output) throws IOException {
+		List<Edge> edges = children.get(root);
+		if (!visited.add(root) || edges == null)
+			return;
+		char separator = '(';
+		for (Edge edge : edges) {
+			output.append(separator);
+			format(children, visited, edge.getTo(), output);
+			output.append(edge.getTo().getPrimaryKey().getId()).append(':').append(String.valueOf(edge.getWeight()));
+			separator = ',';
 		}
+		output.append(')');
 	}
 
 }
@@ -2,7 +2,8 @@ package pt.ist.meic.phylodb.io.formatters.analysis;
 
 import pt.ist.meic.phylodb.analysis.inference.model.Edge;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.function.Consumer;
 
 /**
@@ -31,11 +32,12 @@ public class NexusFormatter extends NewickFormatter {
 	}
 
 	@Override
-	public String format(List<Edge> entities, Object... params) {
-		if (entities.isEmpty())
-			return "";
-		String format = super.format(entities);
-		return String.format("BEGIN TREES;\n\tTree result = %s\nEND;", format);
+	public void format(Iterator<Edge> entities, Appendable output, Object... params) throws IOException {
+		if (!entities.hasNext())
+			return;
+		output.append("BEGIN TREES;\n\tTree result = ");
+		super.format(entities, output);
+		output.append("\nEND;");
 	}
 
 }
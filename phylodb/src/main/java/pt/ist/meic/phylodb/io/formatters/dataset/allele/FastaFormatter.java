@@ -3,8 +3,8 @@ package pt.ist.meic.phylodb.io.formatters.dataset.allele;
 import pt.ist.meic.phylodb.io.formatters.Formatter;
 import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
 
+import java.io.IOException;
 import java.util.Iterator;
-import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -51,17 +51,19 @@ public class FastaFormatter extends Formatter<Allele> {
 	}
 
 	@Override
-	public String format(List<Allele> alleles, Object... params) {
-		StringBuilder formatted = new StringBuilder();
-		for (Allele allele : alleles)
-			formatted.append(">")
+	public void format(Iterator<Allele> alleles, Appendable output, Object... params) throws IOException {
+		String separator = "";
+		while (alleles.hasNext()) {
+			Allele allele = alleles.next();
+			output.append(separator)
+					.append(">")
 					.append(allele.getPrimaryKey().getLocusId())
 					.append("_")
 					.append(allele.getPrimaryKey().getId())
 					.append("\n")
-					.append(formatSequence(allele.getSequence(), (int) params[0]))
-					.append("\n");
-		return formatted.length() > 0 ? formatted.substring(0, formatted.length() - "\n".length()) : "";
+					.append(formatSequence(allele.getSequence(), (int) params[0]));
+			separator = "\n";
+		}
 	}
 
 	private String formatSequence(String sequence, int lineLength) {
@@ -1,10 +1,10 @@
 package pt.ist.meic.phylodb.io.formatters.dataset.isolate;
 
-import org.apache.logging.log4j.util.Strings;
 import pt.ist.meic.phylodb.io.formatters.Formatter;
 import pt.ist.meic.phylodb.typing.isolate.model.Ancillary;
 import pt.ist.meic.phylodb.typing.isolate.model.Isolate;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -12,12 +12,15 @@ import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * IsolatesFormatter is the implementation of the formatter to parse and format isolates
  */
 public class IsolatesFormatter extends Formatter<Isolate> {
 
+	public static final String ST = "ST";
+
 	private List<String> headers;
 	private int id;
 	private int st;
@@ -56,33 +59,54 @@ public class IsolatesFormatter extends Formatter<Isolate> {
 		return true;
 	}
 
+	/**
+	 * Formats the given list of isolates, whose columns are the keys of their ancillaries followed by {@value ST} if any isolate has a profile
+	 *
+	 * @param isolates list of isolates to be formatted
+	 * @param params   ignored, since the columns are obtained from the isolates
+	 * @return a formatted string of all isolates received
+	 */
 	@Override
 	public String format(List<Isolate> isolates, Object... params) {
-		List<String> headers = isolates.stream()
+		Stream<String> columns = isolates.stream()
 				.flatMap(i -> Arrays.stream(i.getAncillaries()).map(Ancillary::getKey))
-				.distinct()
-				.collect(Collectors.toList());
-		String headersString = Strings.join(headers, '\t');
-		StringBuilder formatted = new StringBuilder("id");
-		if (!headersString.equals(""))
-			formatted.append("\t").append(headersString);
-		boolean st = isolates.stream().anyMatch(i -> i.getProfile() != null);
-		if (st)
-			formatted.append("\t").append("ST");
-		formatted.append("\n");
-		for (Isolate isolate : isolates) {
-			formatted.append(isolate.getPrimaryKey().getId()).append('\t');
+				.distinct();
+		if (isolates.stream().anyMatch(i -> i.getProfile() != null))
+			columns = Stream.concat(columns, Stream.of(ST));
+		return super.format(isolates, (Object) columns.toArray(String[]::new));
+	}
+
+	/**
+	 * Formats the given isolates into an output while they are iterated
+	 * <p>
+	 * The columns can't be obtained from the isolates without iterating them, so they must be given in the first param, which is an array of
+	 * {@link String} with the keys of the ancillaries followed by {@value ST} if any isolate has a profile.
+	 *
+	 * @param isolates iterator of the isolates to be formatted
+	 * @param output   output where the isolates are formatted
+	 * @param params   array of the columns other than the id
+	 * @throws IOException if there is an error writing to the output
+	 */
+	@Override
+	public void format(Iterator<Isolate> isolates, Appendable output, Object... params) throws IOException {
+		String[] columns = (String[]) params[0];
+		boolean st = columns.length > 0 && columns[columns.length - 1].equals(ST);
+		String[] headers = st ? Arrays.copyOf(columns, columns.length - 1) : columns;
+		output.append("id");
+		for (String column : columns)
+			output.append('\t').append(column);
+		while (isolates.hasNext()) {
+			Isolate isolate = isolates.next();
+			output.append('\n').append(isolate.getPrimaryKey().getId());
 			Map<String, String> ancillaries = Arrays.stream(isolate.getAncillaries())
 					.collect(Collectors.toMap(Ancillary::getKey, Ancillary::getValue));
 			for (String header : headers)
-				formatted.append(ancillaries.getOrDefault(header, "")).append('\t');
+				output.append('\t').append(ancillaries.getOrDefault(header, ""));
+			if (st)
+				output.append('\t');
 			if (isolate.getProfile() != null)
-				formatted.append(isolate.getProfile().getPrimaryKey().getId());
-			else if (!st)
-				formatted.delete(formatted.length() - "\t".length(), formatted.length());
-			formatted.append('\n');
+				output.append(isolate.getProfile().getPrimaryKey().getId());
 		}
-		return formatted.substring(0, formatted.length() - "\n".length());
 	}
 
 }
@@ -3,8 +3,9 @@ package pt.ist.meic.phylodb.io.formatters.dataset.profile;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.typing.schema.model.Schema;
 
+import java.io.IOException;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Iterator;
 import java.util.function.Consumer;
 
 /**
@@ -24,17 +25,15 @@ public class MlFormatter extends ProfilesFormatter {
 	}
 
 	@Override
-	public String format(List<Profile> data, Object... params) {
-		StringBuilder raw = new StringBuilder("ST\t");
+	public void format(Iterator<Profile> data, Appendable output, Object... params) throws IOException {
 		String[] lociIds = ((Schema) params[0]).getLociIds().toArray(new String[0]);
-		raw.append(String.join("\t", lociIds)).append("\n");
-		for (Profile profile : data) {
-			raw.append(profile.getPrimaryKey().getId()).append("\t")
-					.append(String.join("\t", formatAlleles(profile.getAllelesReferences())))
-					.append("\n");
-
+		output.append("ST\t").append(String.join("\t", lociIds));
+		while (data.hasNext()) {
+			Profile profile = data.next();
+			output.append("\n")
+					.append(profile.getPrimaryKey().getId()).append("\t")
+					.append(String.join("\t", formatAlleles(profile.getAllelesReferences())));
 		}
-		return raw.substring(0, raw.length() - "\n".length());
 	}
 
 }
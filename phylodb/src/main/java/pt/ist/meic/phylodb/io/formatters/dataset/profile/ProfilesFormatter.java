@@ -38,7 +38,7 @@ public abstract class ProfilesFormatter extends Formatter<Profile> {
 	}
 
 	/**
-	 * Retrieves the alleles formatted to be used in the {@link #format(List, Object...)} operation
+	 * Retrieves the alleles formatted to be used in the {@link #format(Iterator, Appendable, Object...)} operation
 	 *
 	 * @param alleles list of alleles
 	 * @return a {@link List<String>} with each allele formatted
@@ -2,7 +2,8 @@ package pt.ist.meic.phylodb.io.formatters.dataset.profile;
 
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.function.Consumer;
 
 /**
@@ -25,11 +26,15 @@ public class SnpFormatter extends ProfilesFormatter {
 	}
 
 	@Override
-	public String format(List<Profile> data, Object... params) {
-		String formatted = data.stream()
-				.map(p -> p.getPrimaryKey().getId() + "\t" + String.join("", formatAlleles(p.getAllelesReferences())))
-				.reduce("", (a, c) -> a + c + "\n");
-		return formatted.length() > 0 ? formatted.substring(0, formatted.length() - "\n".length()) : "";
+	public void format(Iterator<Profile> data, Appendable output, Object... params) throws IOException {
+		String separator = "";
+		while (data.hasNext()) {
+			Profile profile = data.next();
+			output.append(separator)
+					.append(profile.getPrimaryKey().getId()).append("\t")
+					.append(String.join("", formatAlleles(profile.getAllelesReferences())));
+			separator = "\n";
+		}
 	}
 
 }
@@ -0,0 +1,48 @@
+package pt.ist.meic.phylodb.io.output;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A StreamOutputModel is the output model representation of a file response which is written while it is sent
+ * <p>
+ * A StreamOutputModel is constituted by the {@link #writer} which writes the file data, so the whole file is never held in memory.
+ */
+public class StreamOutputModel implements OutputModel {
+
+	private final Writing writer;
+
+	public StreamOutputModel(Writing writer) {
+		this.writer = writer;
+	}
+
+	@Override
+	public ResponseEntity<StreamingResponseBody> toResponseEntity() {
+		StreamingResponseBody body = out -> {
+			Writer output = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			writer.write(output);
+			output.flush();
+		};
+		return ResponseEntity.status(HttpStatus.OK)
+				.contentType(MediaType.TEXT_PLAIN)
+				.body(body);
+	}
+
+	/**
+	 * Writes the file data into an output
+	 */
+	public interface Writing {
+
+		void write(Writer output) throws IOException;
+
+	}
+
+}
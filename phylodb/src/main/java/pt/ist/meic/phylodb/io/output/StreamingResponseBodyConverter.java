@@ -0,0 +1,44 @@
+package pt.ist.meic.phylodb.io.output;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * A StreamingResponseBodyConverter is the converter which writes the {@link StreamingResponseBody} of a {@link StreamOutputModel} into the response
+ * <p>
+ * The endpoints return a {@link org.springframework.http.ResponseEntity} of any output model, and Spring only handles a {@link StreamingResponseBody}
+ * when it is the declared type of the body, so it is written by this converter instead, while the response is sent.
+ */
+public class StreamingResponseBodyConverter extends AbstractHttpMessageConverter<StreamingResponseBody> {
+
+	public StreamingResponseBodyConverter() {
+		super(MediaType.ALL);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return StreamingResponseBody.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public boolean canRead(Class<?> clazz, MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	protected StreamingResponseBody readInternal(Class<? extends StreamingResponseBody> clazz, HttpInputMessage input) {
+		throw new HttpMessageNotReadableException("A streaming response body can't be read", input);
+	}
+
+	@Override
+	protected void writeInternal(StreamingResponseBody body, HttpOutputMessage output) throws IOException {
+		body.writeTo(output.getBody());
+	}
+
+}
@@ -5,6 +5,8 @@ import org.springframework.transaction.annotation.Transactional;
 import pt.ist.meic.phylodb.analysis.Analysis;
 import pt.ist.meic.phylodb.analysis.inference.InferenceRepository;
 import pt.ist.meic.phylodb.analysis.inference.model.Inference;
+import pt.ist.meic.phylodb.analysis.inference.model.InferenceAlgorithm;
+import pt.ist.meic.phylodb.analysis.visualization.model.VisualizationAlgorithm;
 import pt.ist.meic.phylodb.job.model.Job;
 import pt.ist.meic.phylodb.job.model.JobRequest;
 import pt.ist.meic.phylodb.security.project.model.Project;
@@ -52,8 +54,8 @@ public class JobService extends pt.ist.meic.phylodb.utils.service.Service  {
 	 * <p>
 	 * It will always create a job thus also creating a job id and an analysis id.
 	 * It will create the job if:
-	 * - The job is an inference analysis and there is at least 2 profiles in the dataset
-	 * - The job is a visualization analysis and the respective inference exists
+	 * - The job is an inference analysis of a supported algorithm, the lvs is a non negative integer, and there is at least 2 profiles in the dataset
+	 * - The job is a visualization analysis of a supported algorithm and the respective inference exists
 	 *
 	 * @param projectId  identifier of the {@link Project project} that contains the jobs
 	 * @param jobRequest job request which contains the job information
@@ -85,8 +87,14 @@ public class JobService extends pt.ist.meic.phylodb.utils.service.Service  {
 	private boolean valid(String projectId, JobRequest jobRequest) {
 		Object[] params = jobRequest.getParameters();
 		return jobRequest.getType() == Analysis.INFERENCE ?
-				profileRepository.findAllEntities(0, 2, projectId, params[0]).orElse(Collections.emptyList()).size() > 1 :
-				inferenceRepository.exists(new Inference.PrimaryKey(projectId, (String) params[0], (String) params[1]));
+				InferenceAlgorithm.exists(jobRequest.getAlgorithm()) && validLvs(params[1]) &&
+						profileRepository.findAllEntities(0, 2, projectId, params[0]).orElse(Collections.emptyList()).size() > 1 :
+				VisualizationAlgorithm.exists(jobRequest.getAlgorithm()) &&
+						inferenceRepository.exists(new Inference.PrimaryKey(projectId, (String) params[0], (String) params[1]));
+	}
+
+	private boolean validLvs(Object lvs) {
+		return (lvs instanceof Integer || lvs instanceof Long) && ((Number) lvs).longValue() >= 0;
 	}
 
 }
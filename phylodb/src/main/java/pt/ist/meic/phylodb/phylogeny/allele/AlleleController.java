@@ -11,6 +11,7 @@ import pt.ist.meic.phylodb.io.formatters.dataset.allele.FastaFormatter;
 import pt.ist.meic.phylodb.io.output.BatchOutputModel;
 import pt.ist.meic.phylodb.io.output.FileOutputModel;
 import pt.ist.meic.phylodb.io.output.NoContentOutputModel;
+import pt.ist.meic.phylodb.io.output.StreamOutputModel;
 import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
 import pt.ist.meic.phylodb.phylogeny.allele.model.AlleleInputModel;
 import pt.ist.meic.phylodb.phylogeny.allele.model.GetAlleleOutputModel;
@@ -55,6 +56,7 @@ public class AlleleController extends Controller {
 	 * @param locusId identifier of the {@link Locus locus}
 	 * @param project identifier of the {@link Project project} (optional)
 	 * @param page    number of the page to retrieve
+	 * @param cursor  cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<GetAllelesOutputModel>} representing the specified alleles page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@Authorized(role = Role.USER, operation = Operation.READ, required = false)
@@ -63,9 +65,11 @@ public class AlleleController extends Controller {
 			@PathVariable("taxon") String taxonId,
 			@PathVariable("locus") String locusId,
 			@RequestParam(value = "project", required = false) String project,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllJson(l -> service.getAllelesEntities(taxonId, locusId, project, page, l), GetAllelesOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getAllelesEntities(taxonId, locusId, project, page, l) : service.getAllelesEntities(taxonId, locusId, project, cursor, l),
+				GetAllelesOutputModel::new, a -> last(a, e -> e.getPrimaryKey().getId()));
 	}
 
 	/**
@@ -128,6 +132,7 @@ public class AlleleController extends Controller {
 	 * @param locusId identifier of the {@link Locus locus}
 	 * @param project identifier of the {@link Project project} (optional)
 	 * @param page    number of the page to retrieve
+	 * @param cursor  cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<FileOutputModel>} representing the specified alleles page in a formatted string or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@Authorized(role = Role.USER, operation = Operation.READ, required = false)
@@ -136,9 +141,33 @@ public class AlleleController extends Controller {
 			@PathVariable("taxon") String taxonId,
 			@PathVariable("locus") String locusId,
 			@RequestParam(value = "project", required = false) String project,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllFile(l -> service.getAlleles(taxonId, locusId, project, page, l), (a) -> new FileOutputModel(new FastaFormatter().format(a, Integer.parseInt(lineLength))));
+		return getAllFile(l -> cursor == null ? service.getAlleles(taxonId, locusId, project, page, l) : service.getAlleles(taxonId, locusId, project, cursor, l),
+				(a) -> new FileOutputModel(new FastaFormatter().format(a, Integer.parseInt(lineLength))), a -> last(a, e -> e.getPrimaryKey().getId()));
+	}
+
+	/**
+	 * Endpoint to retrieve every {@link Allele allele} of a locus in a fasta formatted string.
+	 * <p>
+	 * Returns every allele in a fasta formatted string, which is written while the alleles are retrieved by pages,
+	 * so it is not limited to the size of a page. It requires the user to be authenticated, and if a project id is passed, to have access to the project.
+	 *
+	 * @param taxonId identifier of the {@link Taxon taxon}
+	 * @param locusId identifier of the {@link Locus locus}
+	 * @param project identifier of the {@link Project project} (optional)
+	 * @return a {@link ResponseEntity<StreamOutputModel>} representing every allele in a formatted string or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
+	 */
+	@Authorized(role = Role.USER, operation = Operation.READ, required = false)
+	@GetMapping(path = "/files/all", produces = MediaType.TEXT_PLAIN_VALUE)
+	public ResponseEntity<?> getAllAllelesFile(
+			@PathVariable("taxon") String taxonId,
+			@PathVariable("locus") String locusId,
+			@RequestParam(value = "project", required = false) String project
+	) {
+		return getAllFile(l -> service.getAllAlleles(taxonId, locusId, project, l),
+				a -> new StreamOutputModel(o -> new FastaFormatter().format(a, o, Integer.parseInt(lineLength))));
 	}
 
 	/**
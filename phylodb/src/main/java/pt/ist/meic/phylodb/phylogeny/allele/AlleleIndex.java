@@ -0,0 +1,176 @@
+package pt.ist.meic.phylodb.phylogeny.allele;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
+import pt.ist.meic.phylodb.utils.db.BloomFilter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * An AlleleIndex keeps in memory, for each locus of a taxon within a project, or public, a {@link BloomFilter} of the ids of its alleles
+ * <p>
+ * The index of a locus is warmed the first time it is used, with a single query of the ids of its alleles. The alleles the filter rejects are missing
+ * without querying the database, while the ones it accepts are confirmed by the database, and then kept in an exact set so they are confirmed only once.
+ * The index of a locus is invalidated whenever one of its alleles is stored or deleted, and when the transaction that did it completes, and it is discarded
+ * if the transaction that warmed it is rolled back. Since alleles may also be written by other instances, or outside the {@link AlleleRepository}, the
+ * index of a locus expires after a time to live, which bounds how long an allele written elsewhere may still be reported as missing.
+ */
+public class AlleleIndex {
+
+	private static final double FALSE_POSITIVES = 0.01;
+
+	private final Map<Key, Entry> entries;
+	private final long ttl;
+	private long generation;
+
+	/**
+	 * @param ttl time to live of the index of a locus, in milliseconds
+	 */
+	public AlleleIndex(long ttl) {
+		this.entries = new ConcurrentHashMap<>();
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Retrieves which of the alleles represented by the primary keys received in the params don't exist
+	 *
+	 * @param references alleles {@link Allele.PrimaryKey primary keys}
+	 * @param loader     loader of the ids of the alleles of a locus, to warm its index
+	 * @param confirm    retrieves which of the alleles accepted by the filters don't exist in the database
+	 * @return the {@link Set} with the primary keys of the alleles that don't exist
+	 */
+	public Set<Allele.PrimaryKey> findMissing(Collection<Allele.PrimaryKey> references, Loader loader, Function<Collection<Allele.PrimaryKey>, Set<Allele.PrimaryKey>> confirm) {
+		Map<Key, Entry> used = new HashMap<>();
+		Map<Allele.PrimaryKey, Entry> candidates = new HashMap<>();
+		Set<Allele.PrimaryKey> missing = new HashSet<>();
+		for (Allele.PrimaryKey reference : references) {
+			Entry entry = used.computeIfAbsent(new Key(reference), k -> get(k, loader));
+			if (!entry.filter.mightContain(reference.getId()))
+				missing.add(reference);
+			else if (!entry.present.contains(reference.getId()))
+				candidates.put(reference, entry);
+		}
+		discardOnRollback(used.keySet());
+		if (candidates.isEmpty())
+			return missing;
+		Set<Allele.PrimaryKey> absent = confirm.apply(candidates.keySet());
+		candidates.forEach((r, e) -> {
+			if (absent.contains(r))
+				missing.add(r);
+			else
+				e.present.add(r.getId());
+		});
+		return missing;
+	}
+
+	/**
+	 * Invalidates the index of the locus of an allele, which is invalidated again when the current transaction completes
+	 *
+	 * @param allele allele {@link Allele.PrimaryKey primary key}
+	 */
+	public void invalidate(Allele.PrimaryKey allele) {
+		Key key = new Key(allele);
+		invalidate(Collections.singleton(key));
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					invalidate(Collections.singleton(key));
+				}
+			});
+	}
+
+	private Entry get(Key key, Loader loader) {
+		Entry entry = entries.get(key);
+		if (entry != null && System.currentTimeMillis() < entry.expires)
+			return entry;
+		if (entry != null)
+			entries.remove(key, entry);
+		long version;
+		synchronized (this) {
+			version = generation;
+		}
+		entry = new Entry(loader.load(key.taxonId, key.locusId, key.projectId), System.currentTimeMillis() + ttl);
+		synchronized (this) {
+			if (version == generation)
+				entries.putIfAbsent(key, entry);
+		}
+		return entry;
+	}
+
+	private synchronized void invalidate(Set<Key> keys) {
+		generation++;
+		entries.keySet().removeAll(keys);
+	}
+
+	private void discardOnRollback(Set<Key> keys) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+			return;
+		Set<Key> discard = new HashSet<>(keys);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != TransactionSynchronization.STATUS_COMMITTED)
+					invalidate(discard);
+			}
+		});
+	}
+
+	/**
+	 * Loads the ids of the alleles of a locus
+	 */
+	public interface Loader {
+
+		List<String> load(String taxonId, String locusId, String projectId);
+
+	}
+
+	private static class Entry {
+
+		private final BloomFilter filter;
+		private final Set<String> present;
+		private final long expires;
+
+		private Entry(List<String> ids, long expires) {
+			this.filter = new BloomFilter(ids.size(), FALSE_POSITIVES);
+			ids.forEach(filter::add);
+			this.present = ConcurrentHashMap.newKeySet();
+			this.expires = expires;
+		}
+
+	}
+
+	private static class Key {
+
+		private final String taxonId;
+		private final String locusId;
+		private final String projectId;
+
+		private Key(Allele.PrimaryKey allele) {
+			this.taxonId = allele.getTaxonId();
+			this.locusId = allele.getLocusId();
+			this.projectId = allele.getProjectId();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Key key = (Key) o;
+			return Objects.equals(taxonId, key.taxonId) &&
+					Objects.equals(locusId, key.locusId) &&
+					Objects.equals(projectId, key.projectId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(taxonId, locusId, projectId);
+		}
+
+	}
+
+}
@@ -2,6 +2,7 @@ package pt.ist.meic.phylodb.phylogeny.allele;
 
 import org.neo4j.ogm.model.Result;
 import org.neo4j.ogm.session.Session;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
 import pt.ist.meic.phylodb.utils.db.BatchRepository;
@@ -9,56 +10,50 @@ import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.util.*;
-import java.util.stream.StreamSupport;
+import java.util.stream.Collectors;
 
 /**
  * Class that contains the implementation of the {@link BatchRepository} for alleles
+ * <p>
+ * The existence of alleles is verified through an {@link AlleleIndex}, which is invalidated whenever alleles are stored or deleted, and expires after
+ * {@code application.cache.alleles.ttl} milliseconds.
  */
 @Repository
 public class AlleleRepository extends BatchRepository<Allele, Allele.PrimaryKey> {
 
-	public AlleleRepository(Session session) {
+	private final AlleleIndex index;
+
+	public AlleleRepository(Session session, @Value("${application.cache.alleles.ttl}") long ttl) {
 		super(session);
+		this.index = new AlleleIndex(ttl);
 	}
 
 	@Override
 	protected Result getAllEntities(int page, int limit, Object... filters) {
 		if (filters == null || filters.length != 3)
 			return null;
-		String statement = "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus {id: $})-[:CONTAINS]->(a:Allele)-[r:CONTAINS_DETAILS]->(ad:AlleleDetails)\n" +
-				"WHERE t.deprecated = false AND l.deprecated = false AND a.deprecated = false AND r.to IS NULL";
-		Object[] params = new Object[]{filters[0], filters[1], page, limit};
-		if (filters[2] != null) {
-			params = new Object[]{filters[0], filters[1], filters[2], page, limit};
-			statement += "\nMATCH (a)<-[:CONTAINS]-(p:Project {id: $})\n" +
-					"WHERE p.deprecated = false\n" +
-					"RETURN t.id as taxonId, l.id as locusId, a.id as id, a.deprecated as deprecated, r.version as version, p.id as project\n";
-		} else {
-			statement += " AND NOT (a)<-[:CONTAINS]-(:Project)\n" +
-					"\nRETURN t.id as taxonId, l.id as locusId, a.id as id, a.deprecated as deprecated, r.version as version\n";
-		}
-		statement += "ORDER BY t.id, l.id, size(a.id), a.id SKIP $ LIMIT $";
-		return query(new Query(statement, params));
+		return query(alleles(filters, "", "", " SKIP $ LIMIT $", page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length != 3)
+			return null;
+		return query(alleles(filters, "", " AND " + after("a"), " LIMIT $", after, after, after, limit));
 	}
 
 	@Override
 	protected Result getAll(int page, int limit, Object... filters) {
 		if (filters == null || filters.length != 3)
 			return null;
-		String statement = "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus {id: $})-[:CONTAINS]->(a:Allele)-[r:CONTAINS_DETAILS]->(ad:AlleleDetails)\n" +
-				"WHERE t.deprecated = false AND l.deprecated = false AND a.deprecated = false AND r.to IS NULL";
-		Object[] params = new Object[]{filters[0], filters[1], page, limit};
-		if (filters[2] != null) {
-			params = new Object[]{filters[0], filters[1], filters[2], page, limit};
-			statement += "\nMATCH (a)<-[:CONTAINS]-(p:Project {id: $})\n" +
-					"WHERE p.deprecated = false\n" +
-					"RETURN t.id as taxonId, l.id as locusId, a.id as id, a.deprecated as deprecated, r.version as version, ad.sequence as sequence, p.id as project\n";
-		} else {
-			statement += " AND NOT (a)<-[:CONTAINS]-(:Project)\n" +
-					"\nRETURN t.id as taxonId, l.id as locusId, a.id as id, a.deprecated as deprecated, r.version as version, ad.sequence as sequence\n";
-		}
-		statement += "ORDER BY t.id, l.id, size(a.id), a.id SKIP $ LIMIT $";
-		return query(new Query(statement, params));
+		return query(alleles(filters, ", ad.sequence as sequence", "", " SKIP $ LIMIT $", page, limit));
+	}
+
+	@Override
+	protected Result getAllAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length != 3)
+			return null;
+		return query(alleles(filters, ", ad.sequence as sequence", " AND " + after("a"), " LIMIT $", after, after, after, limit));
 	}
 
 	@Override
@@ -108,6 +103,7 @@ public class AlleleRepository extends BatchRepository<Allele, Allele.PrimaryKey>
 	protected void store(Allele allele) {
 		String statement = String.format("WITH $ as param\n%s", getInsertStatement());
 		execute(new Query(statement, getInsertParam(allele)));
+		index.invalidate(allele.getPrimaryKey());
 	}
 
 	@Override
@@ -118,6 +114,14 @@ public class AlleleRepository extends BatchRepository<Allele, Allele.PrimaryKey>
 				"AND NOT (a)<-[:CONTAINS]-(:Project)\n";
 		statement += "SET a.deprecated = true\n";
 		execute(new Query(statement, key.getTaxonId(), key.getLocusId(), key.getId(), key.getProjectId()));
+		index.invalidate(key);
+	}
+
+	@Override
+	public boolean saveAll(List<Allele> alleles) {
+		boolean result = super.saveAll(alleles);
+		alleles.forEach(a -> index.invalidate(a.getPrimaryKey()));
+		return result;
 	}
 
 	@Override
@@ -133,34 +137,59 @@ public class AlleleRepository extends BatchRepository<Allele, Allele.PrimaryKey>
 	 * @return {@code true} if any of alleles represented by the keys don't exist
 	 */
 	public boolean anyMissing(List<VersionedEntity<Allele.PrimaryKey>> references) {
-		Optional<VersionedEntity<Allele.PrimaryKey>> optional = references.stream().filter(Objects::nonNull).findFirst();
-		if (!optional.isPresent())
-			return true;
-		String taxon = optional.get().getPrimaryKey().getTaxonId();
-		String statement = "MATCH (t:Taxon {id: $}) UNWIND $ as param\n" +
-				"CALL apoc.when(param.project IS NOT NULL,\n" +
-				"\"OPTIONAL MATCH (t)-[:CONTAINS]->(l:Locus {id: param.locus})-[:CONTAINS]->(a:Allele {id: param.allele})\n" +
-				"WHERE (a)<-[:CONTAINS]-(:Project {id: param.project})\n" +
-				"RETURN a.id as result\",\n" +
-				"\"OPTIONAL MATCH (t)-[:CONTAINS]->(l:Locus {id: param.locus})-[:CONTAINS]->(a:Allele {id: param.allele})\n" +
-				"WHERE NOT (a)<-[:CONTAINS]-(:Project)\n" +
-				"RETURN a.id as result\",\n" +
-				"{t: t, param: param}) YIELD value RETURN value.result as present";
-		Result result = query(new Query(statement, taxon, references
-				.stream()
+		List<Allele.PrimaryKey> keys = references.stream()
 				.filter(Objects::nonNull)
+				.map(VersionedEntity::getPrimaryKey)
+				.collect(Collectors.toList());
+		return keys.isEmpty() || !findMissing(keys.get(0).getTaxonId(), keys).isEmpty();
+	}
+
+	/**
+	 * Retrieves which of the alleles represented by the primary keys received in the params don't exist
+	 * <p>
+	 * The alleles are verified through the {@link AlleleIndex index}, thus only the alleles it can't rule out are verified by a single query.
+	 *
+	 * @param taxonId    identifier of the {@link pt.ist.meic.phylodb.phylogeny.taxon.model.Taxon taxon} of the alleles
+	 * @param references alleles {@link Allele.PrimaryKey primary keys}
+	 * @return the {@link Set} with the primary keys of the alleles that don't exist
+	 */
+	public Set<Allele.PrimaryKey> findMissing(String taxonId, Collection<Allele.PrimaryKey> references) {
+		if (references.isEmpty())
+			return Collections.emptySet();
+		return index.findMissing(references, this::findIds, c -> missing(taxonId, c));
+	}
+
+	private List<String> findIds(String taxonId, String locusId, String projectId) {
+		String statement = "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus {id: $})-[:CONTAINS]->(a:Allele)\n";
+		statement += projectId != null ?
+				"WHERE (a)<-[:CONTAINS]-(:Project {id: $})\n" :
+				"WHERE NOT (a)<-[:CONTAINS]-(:Project)\n";
+		statement += "RETURN a.id as id";
+		List<String> ids = new ArrayList<>();
+		for (Map<String, Object> row : query(new Query(statement, taxonId, locusId, projectId)))
+			ids.add((String) row.get("id"));
+		return ids;
+	}
+
+	private Set<Allele.PrimaryKey> missing(String taxonId, Collection<Allele.PrimaryKey> references) {
+		String statement = "OPTIONAL MATCH (t:Taxon {id: $}) UNWIND $ as param\n" +
+				"OPTIONAL MATCH (t)-[:CONTAINS]->(l:Locus {id: param.locus})-[:CONTAINS]->(a:Allele {id: param.allele})\n" +
+				"WHERE (param.project IS NULL AND NOT (a)<-[:CONTAINS]-(:Project)) OR (a)<-[:CONTAINS]-(:Project {id: param.project})\n" +
+				"WITH param, a WHERE a IS NULL\n" +
+				"RETURN DISTINCT param.locus as locus, param.allele as allele, param.project as project";
+		Result result = query(new Query(statement, taxonId, references.stream()
+				.distinct()
 				.map(r -> new Object() {
-					public final String locus = r.getPrimaryKey().getLocusId();
-					public final String allele = r.getPrimaryKey().getId();
-					public final String project = r.getPrimaryKey().getProjectId();
+					public final String locus = r.getLocusId();
+					public final String allele = r.getId();
+					public final String project = r.getProjectId();
 				})
 				.toArray())
 		);
-		Iterator<Map<String, Object>> it = result.iterator();
-		if (!it.hasNext())
-			return true;
-		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false)
-				.anyMatch(r -> r.get("present") == null);
+		Set<Allele.PrimaryKey> missing = new HashSet<>();
+		for (Map<String, Object> row : result)
+			missing.add(new Allele.PrimaryKey(taxonId, (String) row.get("locus"), (String) row.get("allele"), (String) row.get("project")));
+		return missing;
 	}
 
 	private Object getInsertParam(Allele allele) {
@@ -193,4 +222,22 @@ public class AlleleRepository extends BatchRepository<Allele, Allele.PrimaryKey>
 				"CREATE (a)-[:CONTAINS_DETAILS {from: datetime(), version: v}]->(ad:AlleleDetails {sequence: sequence})";
 	}
 
+	private static Query alleles(Object[] filters, String columns, String condition, String pagination, Object... params) {
+		String statement = "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus {id: $})-[:CONTAINS]->(a:Allele)-[r:CONTAINS_DETAILS]->(ad:AlleleDetails)\n" +
+				"WHERE t.deprecated = false AND l.deprecated = false AND a.deprecated = false AND r.to IS NULL";
+		List<Object> parameters = new ArrayList<>(Arrays.asList(filters[0], filters[1]));
+		if (filters[2] != null) {
+			parameters.add(filters[2]);
+			statement += "\nMATCH (a)<-[:CONTAINS]-(p:Project {id: $})\n" +
+					"WHERE p.deprecated = false" + condition + "\n" +
+					"RETURN t.id as taxonId, l.id as locusId, a.id as id, a.deprecated as deprecated, r.version as version" + columns + ", p.id as project\n";
+		} else {
+			statement += " AND NOT (a)<-[:CONTAINS]-(:Project)" + condition + "\n" +
+					"\nRETURN t.id as taxonId, l.id as locusId, a.id as id, a.deprecated as deprecated, r.version as version" + columns + "\n";
+		}
+		statement += "ORDER BY t.id, l.id, size(a.id), a.id" + pagination;
+		parameters.addAll(Arrays.asList(params));
+		return new Query(statement, parameters.toArray());
+	}
+
 }
@@ -9,12 +9,14 @@ import pt.ist.meic.phylodb.phylogeny.locus.LocusRepository;
 import pt.ist.meic.phylodb.phylogeny.locus.model.Locus;
 import pt.ist.meic.phylodb.phylogeny.taxon.model.Taxon;
 import pt.ist.meic.phylodb.security.project.model.Project;
+import pt.ist.meic.phylodb.utils.db.Pages;
 import pt.ist.meic.phylodb.utils.service.BatchService;
 import pt.ist.meic.phylodb.utils.service.Pair;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -50,6 +52,21 @@ public class AlleleService extends BatchService<Allele, Allele.PrimaryKey> {
 		return getAllEntities(page, limit, taxonId, locusId, project);
 	}
 
+	/**
+	 * Operation to retrieve the resumed information of the requested alleles from a cursor
+	 *
+	 * @param taxonId identifier of the {@link Taxon taxon}
+	 * @param locusId identifier of the {@link Locus locus}
+	 * @param project identifier of the {@link Project project} (optional)
+	 * @param cursor  cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit   number of alleles to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<Allele.PrimaryKey>}, which is the resumed information of each allele
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<Allele.PrimaryKey>>> getAllelesEntities(String taxonId, String locusId, String project, String cursor, int limit) {
+		return getAllEntities(cursor, limit, taxonId, locusId, project);
+	}
+
 	/**
 	 * Operation to retrieve the information of the requested alleles
 	 *
@@ -65,6 +82,37 @@ public class AlleleService extends BatchService<Allele, Allele.PrimaryKey> {
 		return getAll(page, limit, taxonId, locusId, project);
 	}
 
+	/**
+	 * Operation to retrieve the information of the requested alleles from a cursor
+	 *
+	 * @param taxonId identifier of the {@link Taxon taxon}
+	 * @param locusId identifier of the {@link Locus locus}
+	 * @param project identifier of the {@link Project project} (optional)
+	 * @param cursor  cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit   number of alleles to retrieve by page
+	 * @return an {@link Optional} with a {@link List<Allele>} which is the information of each allele
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<Allele>> getAlleles(String taxonId, String locusId, String project, String cursor, int limit) {
+		return getAll(cursor, limit, taxonId, locusId, project);
+	}
+
+	/**
+	 * Operation to retrieve the information of every allele of a locus, which are retrieved by pages while they are iterated
+	 *
+	 * @param taxonId identifier of the {@link Taxon taxon}
+	 * @param locusId identifier of the {@link Locus locus}
+	 * @param project identifier of the {@link Project project} (optional)
+	 * @param limit   number of alleles to retrieve by page
+	 * @return an {@link Optional} with a {@link Iterator<Allele>} over the information of each allele
+	 */
+	@Transactional(readOnly = true)
+	public Optional<Iterator<Allele>> getAllAlleles(String taxonId, String locusId, String project, int limit) {
+		if (!locusRepository.exists(new Locus.PrimaryKey(taxonId, locusId)))
+			return Optional.empty();
+		return Optional.of(new Pages<>((c, l) -> getAll(c, l, taxonId, locusId, project), a -> a.getPrimaryKey().getId(), limit));
+	}
+
 	/**
 	 * Operation to retrieve the requested allele
 	 *
@@ -161,6 +209,11 @@ public class AlleleService extends BatchService<Allele, Allele.PrimaryKey> {
 		return alleleRepository.findAll(page, limit, params[0], params[1], params[2]);
 	}
 
+	@Override
+	protected Optional<List<Allele>> getAll(String cursor, int limit, Object... params) {
+		return alleleRepository.findAll(cursor, limit, params[0], params[1], params[2]);
+	}
+
 	@Override
 	protected boolean saveAll(List<Allele> entities) {
 		return alleleRepository.saveAll(entities);
@@ -171,6 +224,11 @@ public class AlleleService extends BatchService<Allele, Allele.PrimaryKey> {
 		return alleleRepository.findAllEntities(page, limit, params[0], params[1], params[2]);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<Allele.PrimaryKey>>> getAllEntities(String cursor, int limit, Object... params) {
+		return alleleRepository.findAllEntities(cursor, limit, params[0], params[1], params[2]);
+	}
+
 	@Override
 	protected Optional<Allele> get(Allele.PrimaryKey key, long version) {
 		return alleleRepository.find(key, version);
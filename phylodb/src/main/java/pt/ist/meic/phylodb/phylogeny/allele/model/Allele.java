@@ -95,6 +95,11 @@ public class Allele extends VersionedEntity<Allele.PrimaryKey> {
 					Objects.equals(projectId, that.projectId);
 		}
 
+		@Override
+		public int hashCode() {
+			return Objects.hash(taxonId, locusId, id, projectId);
+		}
+
 	}
 
 }
@@ -41,14 +41,17 @@ public class LocusController extends Controller {
 	 *
 	 * @param taxonId identifier of the {@link Taxon taxon}
 	 * @param page    number of the page to retrieve
+	 * @param cursor  cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<GetLociOutputModel>} representing the specified loci page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<?> getLoci(
 			@PathVariable("taxon") String taxonId,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllJson(l -> service.getLoci(taxonId, page, l), GetLociOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getLoci(taxonId, page, l) : service.getLoci(taxonId, cursor, l), GetLociOutputModel::new,
+				l -> last(l, e -> e.getPrimaryKey().getId()));
 	}
 
 	/**
@@ -27,11 +27,14 @@ public class LocusRepository extends VersionedRepository<Locus, Locus.PrimaryKey
 	protected Result getAllEntities(int page, int limit, Object... filters) {
 		if (filters == null || filters.length == 0)
 			return null;
-		String statement = "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus)-[r:CONTAINS_DETAILS]->(ld:LocusDetails)\n" +
-				"WHERE t.deprecated = false AND l.deprecated = false AND r.to IS NULL\n" +
-				"RETURN t.id as taxonId, l.id as id, l.deprecated as deprecated, r.version as version\n" +
-				"ORDER BY t.id, size(l.id), l.id SKIP $ LIMIT $";
-		return query(new Query(statement, filters[0], page, limit));
+		return query(new Query(entities("") + " SKIP $ LIMIT $", filters[0], page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length == 0)
+			return null;
+		return query(new Query(entities(" AND " + after("l")) + " LIMIT $", filters[0], after, after, after, limit));
 	}
 
 	@Override
@@ -103,4 +106,11 @@ public class LocusRepository extends VersionedRepository<Locus, Locus.PrimaryKey
 		return query(Integer.class, new Query(statement, params.toArray())) != references.size();
 	}
 
+	private static String entities(String condition) {
+		return "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus)-[r:CONTAINS_DETAILS]->(ld:LocusDetails)\n" +
+				"WHERE t.deprecated = false AND l.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"RETURN t.id as taxonId, l.id as id, l.deprecated as deprecated, r.version as version\n" +
+				"ORDER BY t.id, size(l.id), l.id";
+	}
+
 }
@@ -40,6 +40,19 @@ public class LocusService extends VersionedEntityService<Locus, Locus.PrimaryKey
 		return getAllEntities(page, limit, taxonId);
 	}
 
+	/**
+	 * Operation to retrieve the resumed information of the requested loci from a cursor
+	 *
+	 * @param taxonId identifier of the {@link Taxon taxon}
+	 * @param cursor  cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit   number of loci to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<Locus.PrimaryKey>}, which is the resumed information of each locus
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<Locus.PrimaryKey>>> getLoci(String taxonId, String cursor, int limit) {
+		return getAllEntities(cursor, limit, taxonId);
+	}
+
 	/**
 	 * Operation to retrieve the requested locus
 	 *
@@ -83,6 +96,11 @@ public class LocusService extends VersionedEntityService<Locus, Locus.PrimaryKey
 		return locusRepository.findAllEntities(page, limit, params[0]);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<Locus.PrimaryKey>>> getAllEntities(String cursor, int limit, Object... params) {
+		return locusRepository.findAllEntities(cursor, limit, params[0]);
+	}
+
 	@Override
 	protected Optional<Locus> get(Locus.PrimaryKey key, long version) {
 		return locusRepository.find(key, version);
@@ -14,6 +14,7 @@ import pt.ist.meic.phylodb.security.authorization.Authorized;
 import pt.ist.meic.phylodb.security.authorization.Operation;
 import pt.ist.meic.phylodb.security.authorization.Role;
 import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.service.Entity;
 
 /**
  * Class that contains the endpoints to manage taxa
@@ -36,14 +37,17 @@ public class TaxonController extends Controller {
 	 * Returns the page with resumed information of each taxon. It requires the user to
 	 * be authenticated.
 	 *
-	 * @param page number of the page to retrieve
+	 * @param page   number of the page to retrieve
+	 * @param cursor cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<GetTaxaOutputModel>} representing the specified taxa page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<?> getTaxa(
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllJson(l -> service.getTaxa(page, l), GetTaxaOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getTaxa(page, l) : service.getTaxa(cursor, l), GetTaxaOutputModel::new,
+				t -> last(t, Entity::getPrimaryKey));
 	}
 
 	/**
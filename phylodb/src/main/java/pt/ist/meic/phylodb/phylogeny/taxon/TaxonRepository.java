@@ -22,11 +22,12 @@ public class TaxonRepository extends VersionedRepository<Taxon, String> {
 
 	@Override
 	protected Result getAllEntities(int page, int limit, Object... filters) {
-		String statement = "MATCH (t:Taxon)-[r:CONTAINS_DETAILS]->(td:TaxonDetails)\n" +
-				"WHERE t.deprecated = false AND r.to IS NULL\n" +
-				"RETURN t.id as id, t.deprecated as deprecated, r.version as version\n" +
-				"ORDER BY size(t.id), t.id SKIP $ LIMIT $";
-		return query(new Query(statement, page, limit));
+		return query(new Query(entities("") + " SKIP $ LIMIT $", page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		return query(new Query(entities(" AND " + after("t")) + " LIMIT $", after, after, after, limit));
 	}
 
 	@Override
@@ -79,4 +80,11 @@ public class TaxonRepository extends VersionedRepository<Taxon, String> {
 		execute(new Query(statement, key));
 	}
 
+	private static String entities(String condition) {
+		return "MATCH (t:Taxon)-[r:CONTAINS_DETAILS]->(td:TaxonDetails)\n" +
+				"WHERE t.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"RETURN t.id as id, t.deprecated as deprecated, r.version as version\n" +
+				"ORDER BY size(t.id), t.id";
+	}
+
 }
@@ -35,6 +35,18 @@ public class TaxonService extends VersionedEntityService<Taxon, String> {
 		return getAllEntities(page, limit);
 	}
 
+	/**
+	 * Operation to retrieve the resumed information of the requested taxa from a cursor
+	 *
+	 * @param cursor cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit  number of taxa to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<String>}, which is the resumed information of each taxon
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<String>>> getTaxa(String cursor, int limit) {
+		return getAllEntities(cursor, limit);
+	}
+
 	/**
 	 * Operation to retrieve the requested taxon
 	 *
@@ -74,6 +86,11 @@ public class TaxonService extends VersionedEntityService<Taxon, String> {
 		return taxonRepository.findAllEntities(page, limit);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<String>>> getAllEntities(String cursor, int limit, Object... params) {
+		return taxonRepository.findAllEntities(cursor, limit);
+	}
+
 	@Override
 	protected Optional<Taxon> get(String key, long version) {
 		return taxonRepository.find(key, version);
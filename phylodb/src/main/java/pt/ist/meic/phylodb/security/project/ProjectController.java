@@ -17,6 +17,7 @@ import pt.ist.meic.phylodb.security.project.model.Project;
 import pt.ist.meic.phylodb.security.project.model.ProjectInputModel;
 import pt.ist.meic.phylodb.security.user.model.User;
 import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.service.Entity;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import javax.servlet.http.HttpServletRequest;
@@ -44,18 +45,21 @@ public class ProjectController extends Controller {
 	 * Returns the page with resumed information of each project. It requires the user to
 	 * be authenticated, and will only retrieve the projects which the user has access to.
 	 *
-	 * @param page number of the page to retrieve
-	 * @param req  current HTTP request
+	 * @param page   number of the page to retrieve
+	 * @param cursor cursor of the page to retrieve, which takes precedence over the page number
+	 * @param req    current HTTP request
 	 * @return a {@link ResponseEntity<GetProjectsOutputModel>} representing the specified project page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<?> getProjects(
 			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor,
 			HttpServletRequest req
 	) {
 		String userId = (String) req.getAttribute(SecurityInterceptor.ID);
 		String provider = (String) req.getAttribute(SecurityInterceptor.PROVIDER);
-		return getAllJson(l -> service.getProjects(userId, provider, page, l), GetProjectsOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getProjects(userId, provider, page, l) : service.getProjects(userId, provider, cursor, l), GetProjectsOutputModel::new,
+				p -> last(p, Entity::getPrimaryKey));
 	}
 
 	/**
@@ -28,14 +28,15 @@ public class ProjectRepository extends VersionedRepository<Project, String> {
 		if (filters == null || filters.length != 1)
 			return null;
 		User.PrimaryKey id = (User.PrimaryKey) filters[0];
-		String statement = "MATCH (p:Project)-[r:CONTAINS_DETAILS]->(pd:ProjectDetails)\n" +
-				"WHERE p.deprecated = false AND r.to IS NULL\n" +
-				"OPTIONAL MATCH (pd)-[:HAS]->(u:User)\n" +
-				"WITH p, r, pd, collect(DISTINCT {id: u.id, provider: u.provider}) as users\n" +
-				"WHERE {id: $, provider: $} IN users OR pd.type = \"public\"\n" +
-				"RETURN p.id as id, p.deprecated as deprecated, r.version as version\n" +
-				"ORDER BY size(p.id), p.id SKIP $ LIMIT $";
-		return query(new Query(statement, id.getId(), id.getProvider(), page, limit));
+		return query(new Query(entities("") + " SKIP $ LIMIT $", id.getId(), id.getProvider(), page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length != 1)
+			return null;
+		User.PrimaryKey id = (User.PrimaryKey) filters[0];
+		return query(new Query(entities(" AND " + after("p")) + " LIMIT $", after, after, after, id.getId(), id.getProvider(), limit));
 	}
 
 	@Override
@@ -113,4 +114,14 @@ public class ProjectRepository extends VersionedRepository<Project, String> {
 		execute(new Query(statement, key));
 	}
 
+	private static String entities(String condition) {
+		return "MATCH (p:Project)-[r:CONTAINS_DETAILS]->(pd:ProjectDetails)\n" +
+				"WHERE p.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"OPTIONAL MATCH (pd)-[:HAS]->(u:User)\n" +
+				"WITH p, r, pd, collect(DISTINCT {id: u.id, provider: u.provider}) as users\n" +
+				"WHERE {id: $, provider: $} IN users OR pd.type = \"public\"\n" +
+				"RETURN p.id as id, p.deprecated as deprecated, r.version as version\n" +
+				"ORDER BY size(p.id), p.id";
+	}
+
 }
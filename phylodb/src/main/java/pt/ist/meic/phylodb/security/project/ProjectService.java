@@ -42,6 +42,19 @@ public class ProjectService extends VersionedEntityService<Project, String> {
 		return getAllEntities(page, limit, new User.PrimaryKey(userId, provider));
 	}
 
+	/**
+	 * Operation to retrieve the information of the requested projects that the user has access to, from a cursor
+	 *
+	 * @param userId the user that is related to the projects to be retrieved
+	 * @param cursor cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit  number of projects to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<String>}, which is the resumed information of each project
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<String>>> getProjects(String userId, String provider, String cursor, int limit) {
+		return getAllEntities(cursor, limit, new User.PrimaryKey(userId, provider));
+	}
+
 	/**
 	 * Operation to retrieve the requested project
 	 *
@@ -93,6 +106,11 @@ public class ProjectService extends VersionedEntityService<Project, String> {
 		return projectRepository.findAllEntities(page, limit, params[0]);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<String>>> getAllEntities(String cursor, int limit, Object... params) {
+		return projectRepository.findAllEntities(cursor, limit, params[0]);
+	}
+
 	@Override
 	protected Optional<Project> get(String key, long version) {
 		return projectRepository.find(key, version);
@@ -34,6 +34,12 @@ public class UserRepository extends VersionedRepository<User, User.PrimaryKey> {
 		return query(new Query(statement, page, limit));
 	}
 
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		// users are ordered by id and provider, so an id alone does not identify a position
+		return null;
+	}
+
 	@Override
 	protected Result get(User.PrimaryKey key, long version) {
 		String where = version == CURRENT_VERSION_VALUE ? "r.to IS NULL" : "r.version = $";
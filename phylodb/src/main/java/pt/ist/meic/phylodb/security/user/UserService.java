@@ -90,6 +90,11 @@ public class UserService extends VersionedEntityService<User, User.PrimaryKey> {
 		return userRepository.findAllEntities(page, limit);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<User.PrimaryKey>>> getAllEntities(String cursor, int limit, Object... params) {
+		return userRepository.findAllEntities(cursor, limit);
+	}
+
 	@Override
 	protected Optional<User> get(User.PrimaryKey key, long version) {
 		return userRepository.find(key, version);
@@ -42,15 +42,18 @@ public class DatasetController extends Controller {
 	 *
 	 * @param projectId identifier of the {@link Project project}
 	 * @param page      number of the page to retrieve
+	 * @param cursor    cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<GetDatasetsOutputModel>} representing the specified dataset page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@Authorized(role = Role.USER, operation = Operation.READ)
 	@GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<?> getDatasets(
 			@PathVariable("project") String projectId,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllJson(l -> service.getDatasets(projectId, page, l), GetDatasetsOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getDatasets(projectId, page, l) : service.getDatasets(projectId, cursor, l), GetDatasetsOutputModel::new,
+				d -> last(d, e -> e.getPrimaryKey().getId()));
 	}
 
 	/**
@@ -25,11 +25,14 @@ public class DatasetRepository extends VersionedRepository<Dataset, Dataset.Prim
 	protected Result getAllEntities(int page, int limit, Object... filters) {
 		if (filters == null || filters.length != 1)
 			return null;
-		String statement = "MATCH (p:Project {id: $})-[:CONTAINS]->(d:Dataset)-[r:CONTAINS_DETAILS]->(dd:DatasetDetails)\n" +
-				"WHERE p.deprecated = false AND d.deprecated = false AND r.to IS NULL\n" +
-				"RETURN p.id as projectId, d.id as datasetId, d.deprecated as deprecated, r.version as version\n" +
-				"ORDER BY p.id, size(d.id), d.id SKIP $ LIMIT $";
-		return query(new Query(statement, filters[0], page, limit));
+		return query(new Query(entities("") + " SKIP $ LIMIT $", filters[0], page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length != 1)
+			return null;
+		return query(new Query(entities(" AND " + after("d")) + " LIMIT $", filters[0], after, after, after, limit));
 	}
 
 	@Override
@@ -103,4 +106,11 @@ public class DatasetRepository extends VersionedRepository<Dataset, Dataset.Prim
 		execute(new Query(statement, id.getProjectId(), id.getId()));
 	}
 
+	private static String entities(String condition) {
+		return "MATCH (p:Project {id: $})-[:CONTAINS]->(d:Dataset)-[r:CONTAINS_DETAILS]->(dd:DatasetDetails)\n" +
+				"WHERE p.deprecated = false AND d.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"RETURN p.id as projectId, d.id as datasetId, d.deprecated as deprecated, r.version as version\n" +
+				"ORDER BY p.id, size(d.id), d.id";
+	}
+
 }
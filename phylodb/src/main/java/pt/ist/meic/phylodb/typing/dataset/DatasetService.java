@@ -46,6 +46,19 @@ public class DatasetService extends VersionedEntityService<Dataset, Dataset.Prim
 		return getAllEntities(page, limit, projectId);
 	}
 
+	/**
+	 * Operation to retrieve the information of the requested projects that the user has access to, from a cursor
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param cursor    cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit     number of datasets to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<Dataset.PrimaryKey>}, which is the resumed information of each dataset
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<Dataset.PrimaryKey>>> getDatasets(String projectId, String cursor, int limit) {
+		return getAllEntities(cursor, limit, projectId);
+	}
+
 	/**
 	 * Operation to retrieve the requested dataset
 	 *
@@ -101,6 +114,11 @@ public class DatasetService extends VersionedEntityService<Dataset, Dataset.Prim
 		return datasetRepository.findAllEntities(page, limit, params[0]);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<Dataset.PrimaryKey>>> getAllEntities(String cursor, int limit, Object... params) {
+		return datasetRepository.findAllEntities(cursor, limit, params[0]);
+	}
+
 	@Override
 	protected Optional<Dataset> get(Dataset.PrimaryKey key, long version) {
 		return datasetRepository.find(key, version);
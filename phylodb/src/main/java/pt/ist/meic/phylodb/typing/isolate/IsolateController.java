@@ -10,6 +10,7 @@ import pt.ist.meic.phylodb.io.formatters.dataset.isolate.IsolatesFormatter;
 import pt.ist.meic.phylodb.io.output.BatchOutputModel;
 import pt.ist.meic.phylodb.io.output.FileOutputModel;
 import pt.ist.meic.phylodb.io.output.NoContentOutputModel;
+import pt.ist.meic.phylodb.io.output.StreamOutputModel;
 import pt.ist.meic.phylodb.security.authorization.Authorized;
 import pt.ist.meic.phylodb.security.authorization.Operation;
 import pt.ist.meic.phylodb.security.authorization.Role;
@@ -49,6 +50,7 @@ public class IsolateController extends Controller {
 	 * @param projectId identifier of the {@link Project project}
 	 * @param datasetId identifier of the {@link Dataset dataset}
 	 * @param page      number of the page to retrieve
+	 * @param cursor    cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<GetIsolatesOutputModel>} representing the specified isolates page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@Authorized(role = Role.USER, operation = Operation.READ)
@@ -56,9 +58,11 @@ public class IsolateController extends Controller {
 	public ResponseEntity<?> getIsolates(
 			@PathVariable("project") String projectId,
 			@PathVariable("dataset") String datasetId,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllJson(l -> service.getIsolatesEntities(projectId, datasetId, page, l), GetIsolatesOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getIsolatesEntities(projectId, datasetId, page, l) : service.getIsolatesEntities(projectId, datasetId, cursor, l),
+				GetIsolatesOutputModel::new, i -> last(i, e -> e.getPrimaryKey().getId()));
 	}
 
 	/**
@@ -116,6 +120,7 @@ public class IsolateController extends Controller {
 	 * @param projectId identifier of the {@link Project project}
 	 * @param datasetId identifier of the {@link Dataset dataset}
 	 * @param page      number of the page to retrieve
+	 * @param cursor    cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<FileOutputModel>} representing the specified isolates page in a formatted string or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@Authorized(role = Role.USER, operation = Operation.READ)
@@ -123,9 +128,31 @@ public class IsolateController extends Controller {
 	public ResponseEntity<?> getIsolatesFile(
 			@PathVariable("project") String projectId,
 			@PathVariable("dataset") String datasetId,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllFile(l -> service.getIsolates(projectId, datasetId, page, l), i -> new FileOutputModel(new IsolatesFormatter().format(i)));
+		return getAllFile(l -> cursor == null ? service.getIsolates(projectId, datasetId, page, l) : service.getIsolates(projectId, datasetId, cursor, l),
+				i -> new FileOutputModel(new IsolatesFormatter().format(i)), i -> last(i, e -> e.getPrimaryKey().getId()));
+	}
+
+	/**
+	 * Endpoint to retrieve every {@link Isolate isolate} of a dataset in a formatted string.
+	 * <p>
+	 * Returns every isolate in a formatted string, which is written while the isolates are retrieved by pages,
+	 * so it is not limited to the size of a page. It requires the user to be authenticated and have access to the project.
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @return a {@link ResponseEntity<StreamOutputModel>} representing every isolate in a formatted string or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
+	 */
+	@Authorized(role = Role.USER, operation = Operation.READ)
+	@GetMapping(path = "/files/all", produces = MediaType.TEXT_PLAIN_VALUE)
+	public ResponseEntity<?> getAllIsolatesFile(
+			@PathVariable("project") String projectId,
+			@PathVariable("dataset") String datasetId
+	) {
+		return getAllFile(l -> service.getAllIsolates(projectId, datasetId, l),
+				i -> new StreamOutputModel(o -> new IsolatesFormatter().format(i.getValue(), o, (Object) i.getKey())));
 	}
 
 	/**
@@ -3,6 +3,8 @@ package pt.ist.meic.phylodb.typing.isolate;
 import org.neo4j.ogm.model.Result;
 import org.neo4j.ogm.session.Session;
 import org.springframework.stereotype.Repository;
+import pt.ist.meic.phylodb.io.formatters.dataset.isolate.IsolatesFormatter;
+import pt.ist.meic.phylodb.typing.dataset.model.Dataset;
 import pt.ist.meic.phylodb.typing.isolate.model.Ancillary;
 import pt.ist.meic.phylodb.typing.isolate.model.Isolate;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
@@ -13,6 +15,7 @@ import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Class that contains the implementation of the {@link BatchRepository} for isolates
@@ -28,29 +31,28 @@ public class IsolateRepository extends BatchRepository<Isolate, Isolate.PrimaryK
 	protected Result getAllEntities(int page, int limit, Object... filters) {
 		if (filters == null || filters.length != 2)
 			return null;
-		String statement = "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(i:Isolate)-[r:CONTAINS_DETAILS]->(id:IsolateDetails)\n" +
-				"WHERE pj.deprecated = false AND d.deprecated = false AND i.deprecated = false AND r.to IS NULL\n" +
-				"RETURN pj.id as projectId, d.id as datasetId, i.id as id, i.deprecated as deprecated, r.version as version\n" +
-				"ORDER BY pj.id, d.id, size(i.id), i.id SKIP $ LIMIT $";
-		return query(new Query(statement, filters[0], filters[1], page, limit));
+		return query(new Query(entities("") + " SKIP $ LIMIT $", filters[0], filters[1], page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length != 2)
+			return null;
+		return query(new Query(entities(" AND " + after("i")) + " LIMIT $", filters[0], filters[1], after, after, after, limit));
 	}
 
 	@Override
 	protected Result getAll(int page, int limit, Object... filters) {
 		if (filters == null || filters.length != 2)
 			return null;
-		String statement = "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(i:Isolate)-[r:CONTAINS_DETAILS]->(id:IsolateDetails)\n" +
-				"WHERE pj.deprecated = false AND d.deprecated = false AND i.deprecated = false AND r.to IS NULL\n" +
-				"OPTIONAL MATCH (id)-[h:HAS]->(p:Profile)\n" +
-				"OPTIONAL MATCH (id)-[:HAS]->(a:Ancillary)\n" +
-				"WITH pj, d, r, i, id, h, p, a\n" +
-				"ORDER BY pj.id, d.id, size(i.id), i.id, a.key\n" +
-				"WITH pj, d, r, i, id, h, p, collect(DISTINCT {key: a.key, value: a.value}) as ancillary\n" +
-				"RETURN pj.id as projectId, d.id as datasetId, i.id as id, i.deprecated as deprecated, r.version as version, " +
-				"p.id as profileId, p.deprecated as profileDeprecated, h.version as profileVersion, " +
-				"id.description as description, ancillary as ancillaries\n" +
-				"ORDER BY pj.id, d.id, size(i.id), i.id SKIP $ LIMIT $";
-		return query(new Query(statement, filters[0], filters[1], page, limit));
+		return query(new Query(all("") + " SKIP $ LIMIT $", filters[0], filters[1], page, limit));
+	}
+
+	@Override
+	protected Result getAllAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length != 2)
+			return null;
+		return query(new Query(all(" AND " + after("i")) + " LIMIT $", filters[0], filters[1], after, after, after, limit));
 	}
 
 	@Override
@@ -123,6 +125,28 @@ public class IsolateRepository extends BatchRepository<Isolate, Isolate.PrimaryK
 		return query.appendQuery(getInsertStatement());
 	}
 
+	/**
+	 * Retrieves the columns of the isolates of a dataset, other than the id
+	 * <p>
+	 * The columns are the keys of the ancillaries of every isolate, in the order they first appear when the isolates are retrieved by pages, as
+	 * in {@link IsolatesFormatter#format(List, Object...)}, followed by {@value IsolatesFormatter#ST} if any isolate has a profile.
+	 *
+	 * @param key dataset {@link Dataset.PrimaryKey primary key}
+	 * @return an array with the columns of the isolates
+	 */
+	public String[] findColumns(Dataset.PrimaryKey key) {
+		String statement = "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(i:Isolate)-[r:CONTAINS_DETAILS]->(id:IsolateDetails)\n" +
+				"WHERE pj.deprecated = false AND d.deprecated = false AND i.deprecated = false AND r.to IS NULL\n" +
+				"OPTIONAL MATCH (id)-[:HAS]->(a:Ancillary)\n" +
+				"WITH i, a.key as key, EXISTS((id)-[:HAS]->(:Profile)) as profile\n" +
+				"ORDER BY size(i.id), i.id, key\n" +
+				"RETURN collect(DISTINCT key) as keys, COUNT(CASE WHEN profile THEN 1 END) > 0 as profile";
+		Result result = query(new Query(statement, key.getProjectId(), key.getId()));
+		Map<String, Object> row = result.iterator().next();
+		Stream<String> keys = Arrays.stream((Object[]) row.get("keys")).map(Object::toString);
+		return ((boolean) row.get("profile") ? Stream.concat(keys, Stream.of(IsolatesFormatter.ST)) : keys).toArray(String[]::new);
+	}
+
 	private String getInsertStatement() {
 		return "MATCH (p:Project {id: param.projectId})-[:CONTAINS]->(d:Dataset {id: param.datasetId})\n" +
 				"WHERE p.deprecated = false AND d.deprecated = false\n" +
@@ -158,4 +182,25 @@ public class IsolateRepository extends BatchRepository<Isolate, Isolate.PrimaryK
 		};
 	}
 
+	private static String entities(String condition) {
+		return "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(i:Isolate)-[r:CONTAINS_DETAILS]->(id:IsolateDetails)\n" +
+				"WHERE pj.deprecated = false AND d.deprecated = false AND i.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"RETURN pj.id as projectId, d.id as datasetId, i.id as id, i.deprecated as deprecated, r.version as version\n" +
+				"ORDER BY pj.id, d.id, size(i.id), i.id";
+	}
+
+	private static String all(String condition) {
+		return "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(i:Isolate)-[r:CONTAINS_DETAILS]->(id:IsolateDetails)\n" +
+				"WHERE pj.deprecated = false AND d.deprecated = false AND i.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"OPTIONAL MATCH (id)-[h:HAS]->(p:Profile)\n" +
+				"OPTIONAL MATCH (id)-[:HAS]->(a:Ancillary)\n" +
+				"WITH pj, d, r, i, id, h, p, a\n" +
+				"ORDER BY pj.id, d.id, size(i.id), i.id, a.key\n" +
+				"WITH pj, d, r, i, id, h, p, collect(DISTINCT {key: a.key, value: a.value}) as ancillary\n" +
+				"RETURN pj.id as projectId, d.id as datasetId, i.id as id, i.deprecated as deprecated, r.version as version, " +
+				"p.id as profileId, p.deprecated as profileDeprecated, h.version as profileVersion, " +
+				"id.description as description, ancillary as ancillaries\n" +
+				"ORDER BY pj.id, d.id, size(i.id), i.id";
+	}
+
 }
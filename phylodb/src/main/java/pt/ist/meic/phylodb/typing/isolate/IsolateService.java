@@ -11,6 +11,7 @@ import pt.ist.meic.phylodb.typing.dataset.model.Dataset;
 import pt.ist.meic.phylodb.typing.isolate.model.Ancillary;
 import pt.ist.meic.phylodb.typing.isolate.model.Isolate;
 import pt.ist.meic.phylodb.typing.profile.ProfileRepository;
+import pt.ist.meic.phylodb.utils.db.Pages;
 import pt.ist.meic.phylodb.utils.service.BatchService;
 import pt.ist.meic.phylodb.utils.service.Pair;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
@@ -18,6 +19,7 @@ import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -57,6 +59,20 @@ public class IsolateService extends BatchService<Isolate, Isolate.PrimaryKey> {
 		return getAllEntities(page, limit, projectId, datasetId);
 	}
 
+	/**
+	 * Operation to retrieve the resumed information of the requested isolates from a cursor
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param cursor    cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit     number of isolates to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<Isolate.PrimaryKey>}, which is the resumed information of each isolate
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<Isolate.PrimaryKey>>> getIsolatesEntities(String projectId, String datasetId, String cursor, int limit) {
+		return getAllEntities(cursor, limit, projectId, datasetId);
+	}
+
 	/**
 	 * Operation to retrieve the information of the requested isolates
 	 *
@@ -71,6 +87,36 @@ public class IsolateService extends BatchService<Isolate, Isolate.PrimaryKey> {
 		return getAll(page, limit, projectId, datasetId);
 	}
 
+	/**
+	 * Operation to retrieve the information of the requested isolates from a cursor
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param cursor    cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit     number of isolates to retrieve by page
+	 * @return an {@link Optional} with a {@link List<Isolate>} which is the information of each isolate
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<Isolate>> getIsolates(String projectId, String datasetId, String cursor, int limit) {
+		return getAll(cursor, limit, projectId, datasetId);
+	}
+
+	/**
+	 * Operation to retrieve the information of every isolate of a dataset, which are retrieved by pages while they are iterated
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param limit     number of isolates to retrieve by page
+	 * @return an {@link Optional} of {@link Pair} where the key is the array of columns of the isolates, and the value is a {@link Iterator<Isolate>} over the information of each isolate
+	 */
+	@Transactional(readOnly = true)
+	public Optional<Pair<String[], Iterator<Isolate>>> getAllIsolates(String projectId, String datasetId, int limit) {
+		Dataset.PrimaryKey key = new Dataset.PrimaryKey(projectId, datasetId);
+		if (!datasetRepository.exists(key))
+			return Optional.empty();
+		return Optional.of(new Pair<>(isolateRepository.findColumns(key), new Pages<>((c, l) -> getAll(c, l, projectId, datasetId), i -> i.getPrimaryKey().getId(), limit)));
+	}
+
 	/**
 	 * Operation to retrieve the requested isolate
 	 *
@@ -173,6 +219,11 @@ public class IsolateService extends BatchService<Isolate, Isolate.PrimaryKey> {
 		return isolateRepository.findAll(page, limit, params[0], params[1]);
 	}
 
+	@Override
+	protected Optional<List<Isolate>> getAll(String cursor, int limit, Object... params) {
+		return isolateRepository.findAll(cursor, limit, params[0], params[1]);
+	}
+
 	@Override
 	protected boolean saveAll(List<Isolate> entities) {
 		return isolateRepository.saveAll(entities);
@@ -183,6 +234,11 @@ public class IsolateService extends BatchService<Isolate, Isolate.PrimaryKey> {
 		return isolateRepository.findAllEntities(page, limit, params[0], params[1]);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<Isolate.PrimaryKey>>> getAllEntities(String cursor, int limit, Object... params) {
+		return isolateRepository.findAllEntities(cursor, limit, params[0], params[1]);
+	}
+
 	@Override
 	protected Optional<Isolate> get(Isolate.PrimaryKey key, long version) {
 		return isolateRepository.find(key, version);
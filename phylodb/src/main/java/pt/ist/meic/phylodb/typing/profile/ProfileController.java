@@ -10,18 +10,24 @@ import pt.ist.meic.phylodb.io.formatters.dataset.profile.ProfilesFormatter;
 import pt.ist.meic.phylodb.io.output.BatchOutputModel;
 import pt.ist.meic.phylodb.io.output.FileOutputModel;
 import pt.ist.meic.phylodb.io.output.NoContentOutputModel;
+import pt.ist.meic.phylodb.io.output.OutputModel;
+import pt.ist.meic.phylodb.io.output.StreamOutputModel;
+import pt.ist.meic.phylodb.job.model.JobAcceptedOutputModel;
 import pt.ist.meic.phylodb.security.authorization.Authorized;
 import pt.ist.meic.phylodb.security.authorization.Operation;
 import pt.ist.meic.phylodb.security.authorization.Role;
 import pt.ist.meic.phylodb.security.project.model.Project;
 import pt.ist.meic.phylodb.typing.dataset.model.Dataset;
+import pt.ist.meic.phylodb.typing.profile.model.GetIngestOutputModel;
 import pt.ist.meic.phylodb.typing.profile.model.GetProfileOutputModel;
 import pt.ist.meic.phylodb.typing.profile.model.GetProfilesOutputModel;
+import pt.ist.meic.phylodb.typing.profile.model.Ingest;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.typing.profile.model.ProfileInputModel;
 import pt.ist.meic.phylodb.utils.controller.Controller;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import static pt.ist.meic.phylodb.utils.db.VersionedRepository.CURRENT_VERSION;
 
@@ -44,6 +50,7 @@ public class ProfileController extends Controller {
 	 * @param projectId identifier of the {@link Project project}
 	 * @param datasetId identifier of the {@link Dataset dataset}
 	 * @param page      number of the page to retrieve
+	 * @param cursor    cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<GetProfilesOutputModel>} representing the specified profiles page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@Authorized(role = Role.USER, operation = Operation.READ)
@@ -51,9 +58,11 @@ public class ProfileController extends Controller {
 	public ResponseEntity<?> getProfiles(
 			@PathVariable("project") String projectId,
 			@PathVariable("dataset") String datasetId,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllJson(l -> service.getProfilesEntities(projectId, datasetId, page, l), GetProfilesOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getProfilesEntities(projectId, datasetId, page, l) : service.getProfilesEntities(projectId, datasetId, cursor, l),
+				GetProfilesOutputModel::new, p -> last(p, e -> e.getPrimaryKey().getId()));
 	}
 
 	/**
@@ -98,6 +107,7 @@ public class ProfileController extends Controller {
 	 * @param projectId identifier of the {@link Project project}
 	 * @param datasetId identifier of the {@link Dataset dataset}
 	 * @param page      number of the page to retrieve
+	 * @param cursor    cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<FileOutputModel>} representing the specified profiles page in a formatted string or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@Authorized(role = Role.USER, operation = Operation.READ)
@@ -105,9 +115,31 @@ public class ProfileController extends Controller {
 	public ResponseEntity<?> getProfilesFile(
 			@PathVariable("project") String projectId,
 			@PathVariable("dataset") String datasetId,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllFile(l -> service.getProfiles(projectId, datasetId, page, l), p -> new FileOutputModel(ProfilesFormatter.get(p.getKey().getType().getName()).format(p.getValue(), p.getKey())));
+		return getAllFile(l -> cursor == null ? service.getProfiles(projectId, datasetId, page, l) : service.getProfiles(projectId, datasetId, cursor, l),
+				p -> new FileOutputModel(ProfilesFormatter.get(p.getKey().getType().getName()).format(p.getValue(), p.getKey())), p -> last(p.getValue(), e -> e.getPrimaryKey().getId()));
+	}
+
+	/**
+	 * Endpoint to retrieve every {@link Profile profile} of a dataset in a formatted string.
+	 * <p>
+	 * Returns every profile in a formatted string, which is written while the profiles are retrieved by pages,
+	 * so it is not limited to the size of a page. It requires the user to be authenticated and have access to the project.
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @return a {@link ResponseEntity<StreamOutputModel>} representing every profile in a formatted string or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
+	 */
+	@Authorized(role = Role.USER, operation = Operation.READ)
+	@GetMapping(path = "/files/all", produces = MediaType.TEXT_PLAIN_VALUE)
+	public ResponseEntity<?> getAllProfilesFile(
+			@PathVariable("project") String projectId,
+			@PathVariable("dataset") String datasetId
+	) {
+		return getAllFile(l -> service.getAllProfiles(projectId, datasetId, l),
+				p -> new StreamOutputModel(o -> ProfilesFormatter.get(p.getKey().getType().getName()).format(p.getValue(), o, p.getKey())));
 	}
 
 	/**
@@ -148,6 +180,75 @@ public class ProfileController extends Controller {
 		return fileStatus(() -> service.saveProfilesOnConflictUpdate(projectId, datasetId, authorized, file));
 	}
 
+	/**
+	 * Endpoint to start the ingest of the {@link Profile profiles} of a file, which are saved if they don't exist.
+	 * <p>
+	 * The file is parsed and saved in chunks in the background, and the id of the {@link Ingest ingest} is returned
+	 * to retrieve its progress. It requires the user to be authenticated and have access to the project.
+	 *
+	 * @param projectId  identifier of the {@link Project project}
+	 * @param datasetId  identifier of the {@link Dataset dataset}
+	 * @param authorized boolean which indicates if the alleles used are private or public
+	 * @param file       file with the profiles
+	 * @return a {@link ResponseEntity<JobAcceptedOutputModel>} representing the ingest started or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
+	 * @throws IOException if there is an error reading the file
+	 */
+	@Authorized(role = Role.USER, operation = Operation.WRITE)
+	@PostMapping(path = "/files/ingests")
+	public ResponseEntity<?> postProfilesIngest(
+			@PathVariable("project") String projectId,
+			@PathVariable("dataset") String datasetId,
+			@RequestParam(value = "private_alleles", defaultValue = "false") boolean authorized,
+			@RequestParam("file") MultipartFile file
+	) throws IOException {
+		return ingest(service.ingestProfilesOnConflictSkip(projectId, datasetId, authorized, file));
+	}
+
+	/**
+	 * Endpoint to start the ingest of the {@link Profile profiles} of a file, which are saved even if they already exist.
+	 * <p>
+	 * The file is parsed and saved in chunks in the background, and the id of the {@link Ingest ingest} is returned
+	 * to retrieve its progress. It requires the user to be authenticated and have access to the project.
+	 *
+	 * @param projectId  identifier of the {@link Project project}
+	 * @param datasetId  identifier of the {@link Dataset dataset}
+	 * @param authorized boolean which indicates if the alleles used are private or public
+	 * @param file       file with the profiles
+	 * @return a {@link ResponseEntity<JobAcceptedOutputModel>} representing the ingest started or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
+	 * @throws IOException if there is an error reading the file
+	 */
+	@Authorized(role = Role.USER, operation = Operation.WRITE)
+	@PutMapping(path = "/files/ingests")
+	public ResponseEntity<?> putProfilesIngest(
+			@PathVariable("project") String projectId,
+			@PathVariable("dataset") String datasetId,
+			@RequestParam(value = "private_alleles", defaultValue = "false") boolean authorized,
+			@RequestParam("file") MultipartFile file
+	) throws IOException {
+		return ingest(service.ingestProfilesOnConflictUpdate(projectId, datasetId, authorized, file));
+	}
+
+	/**
+	 * Endpoint to retrieve the progress of an {@link Ingest ingest} of profiles.
+	 * <p>
+	 * Returns the number of profiles parsed and saved, the invalid lines and profiles, and the status of the ingest.
+	 * It requires the user to be authenticated and have access to the project.
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param ingestId  identifier of the {@link Ingest ingest}
+	 * @return a {@link ResponseEntity<GetIngestOutputModel>} representing the progress of the ingest or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
+	 */
+	@Authorized(role = Role.USER, operation = Operation.READ)
+	@GetMapping(path = "/files/ingests/{ingest}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<?> getProfilesIngest(
+			@PathVariable("project") String projectId,
+			@PathVariable("dataset") String datasetId,
+			@PathVariable("ingest") String ingestId
+	) {
+		return get(() -> service.getIngest(projectId, datasetId, ingestId), GetIngestOutputModel::new, () -> new ErrorOutputModel(Problem.NOT_FOUND));
+	}
+
 	/**
 	 * @param projectId identifier of the {@link Project project}
 	 * @param datasetId identifier of the {@link Dataset dataset}
@@ -164,4 +265,10 @@ public class ProfileController extends Controller {
 		return status(() -> service.deleteProfile(projectId, datasetId, profileId));
 	}
 
+	private static ResponseEntity<?> ingest(Optional<Ingest> ingest) {
+		return ingest.map(i -> (OutputModel) new JobAcceptedOutputModel(i.getPrimaryKey().getId(), null))
+				.orElseGet(() -> new ErrorOutputModel(Problem.UNAUTHORIZED))
+				.toResponseEntity();
+	}
+
 }
@@ -27,25 +27,28 @@ public class ProfileRepository extends BatchRepository<Profile, Profile.PrimaryK
 	protected Result getAllEntities(int page, int limit, Object... filters) {
 		if (filters == null || filters.length == 0)
 			return null;
-		String statement = "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(p:Profile)-[r:CONTAINS_DETAILS]->(pd:ProfileDetails)\n" +
-				"WHERE p.deprecated = false AND r.to IS NULL\n" +
-				"RETURN pj.id as projectId, d.id as datasetId, p.id as id, r.version as version, p.deprecated as deprecated\n" +
-				"ORDER BY pj.id, d.id, size(p.id), p.id SKIP $ LIMIT $";
-		return query(new Query(statement, filters[0], filters[1], page, limit));
+		return query(new Query(entities("") + " SKIP $ LIMIT $", filters[0], filters[1], page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length == 0)
+			return null;
+		return query(new Query(entities(" AND " + after("p")) + " LIMIT $", filters[0], filters[1], after, after, after, limit));
 	}
 
 	@Override
 	protected Result getAll(int page, int limit, Object... filters) {
 		if (filters == null || filters.length == 0)
 			return null;
-		String statement = "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(p:Profile)-[r:CONTAINS_DETAILS]->(pd:ProfileDetails)\n" +
-				"WHERE p.deprecated = false AND r.to IS NULL\n" +
-				"MATCH (pd)-[h:HAS]->(a:Allele)<-[:CONTAINS]-(l:Locus)<-[:CONTAINS]-(t:Taxon)\n" +
-				"OPTIONAL MATCH (a)<-[:CONTAINS]-(pj2:Project)\n" +
-				"RETURN pj.id as projectId, d.id as datasetId, p.id as id, r.version as version, p.deprecated as deprecated,\n" +
-				"pd.aka as aka, collect(DISTINCT {project: pj2.id, taxon: t.id, locus: l.id, id: a.id, version: h.version, deprecated: a.deprecated, part:h.part, total: h.total}) as alleles\n" +
-				"ORDER BY pj.id, d.id, size(p.id), p.id SKIP $ LIMIT $";
-		return query(new Query(statement, filters[0], filters[1], page, limit));
+		return query(new Query(all("") + " SKIP $ LIMIT $", filters[0], filters[1], page, limit));
+	}
+
+	@Override
+	protected Result getAllAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length == 0)
+			return null;
+		return query(new Query(all(" AND " + after("p")) + " LIMIT $", filters[0], filters[1], after, after, after, limit));
 	}
 
 	@Override
@@ -146,6 +149,27 @@ public class ProfileRepository extends BatchRepository<Profile, Profile.PrimaryK
 				.anyMatch(r -> r.get("present") == null);
 	}
 
+	/**
+	 * Retrieves which of the profiles identified by the ids received in the params exist in a dataset, through a single query
+	 *
+	 * @param projectId identifier of the {@link pt.ist.meic.phylodb.security.project.model.Project project}
+	 * @param datasetId identifier of the {@link pt.ist.meic.phylodb.typing.dataset.model.Dataset dataset}
+	 * @param ids       identifiers of the profiles
+	 * @return the {@link Set} with the ids of the profiles that exist
+	 */
+	public Set<String> findExisting(String projectId, String datasetId, Collection<String> ids) {
+		if (ids.isEmpty())
+			return Collections.emptySet();
+		String statement = "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(p:Profile)\n" +
+				"WHERE p.id IN $ AND p.deprecated = false\n" +
+				"RETURN p.id as id";
+		Result result = query(new Query(statement, projectId, datasetId, ids.stream().distinct().toArray()));
+		Set<String> existing = new HashSet<>();
+		for (Map<String, Object> row : result)
+			existing.add((String) row.get("id"));
+		return existing;
+	}
+
 	private String getInsertStatement() {
 		return "MATCH (pj:Project {id: param.projectId})-[:CONTAINS]->(d:Dataset {id: param.datasetId})\n" +
 				"WHERE d.deprecated = false\n" +
@@ -192,4 +216,21 @@ public class ProfileRepository extends BatchRepository<Profile, Profile.PrimaryK
 		};
 	}
 
+	private static String entities(String condition) {
+		return "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(p:Profile)-[r:CONTAINS_DETAILS]->(pd:ProfileDetails)\n" +
+				"WHERE p.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"RETURN pj.id as projectId, d.id as datasetId, p.id as id, r.version as version, p.deprecated as deprecated\n" +
+				"ORDER BY pj.id, d.id, size(p.id), p.id";
+	}
+
+	private static String all(String condition) {
+		return "MATCH (pj:Project {id: $})-[:CONTAINS]->(d:Dataset {id: $})-[:CONTAINS]->(p:Profile)-[r:CONTAINS_DETAILS]->(pd:ProfileDetails)\n" +
+				"WHERE p.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"MATCH (pd)-[h:HAS]->(a:Allele)<-[:CONTAINS]-(l:Locus)<-[:CONTAINS]-(t:Taxon)\n" +
+				"OPTIONAL MATCH (a)<-[:CONTAINS]-(pj2:Project)\n" +
+				"RETURN pj.id as projectId, d.id as datasetId, p.id as id, r.version as version, p.deprecated as deprecated,\n" +
+				"pd.aka as aka, collect(DISTINCT {project: pj2.id, taxon: t.id, locus: l.id, id: a.id, version: h.version, deprecated: a.deprecated, part:h.part, total: h.total}) as alleles\n" +
+				"ORDER BY pj.id, d.id, size(p.id), p.id";
+	}
+
 }
@@ -1,6 +1,9 @@
 package pt.ist.meic.phylodb.typing.profile;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,20 +14,25 @@ import pt.ist.meic.phylodb.phylogeny.locus.model.Locus;
 import pt.ist.meic.phylodb.security.project.model.Project;
 import pt.ist.meic.phylodb.typing.dataset.DatasetRepository;
 import pt.ist.meic.phylodb.typing.dataset.model.Dataset;
+import pt.ist.meic.phylodb.typing.profile.model.Ingest;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.typing.schema.SchemaRepository;
 import pt.ist.meic.phylodb.typing.schema.model.Schema;
+import pt.ist.meic.phylodb.utils.db.Pages;
 import pt.ist.meic.phylodb.utils.db.VersionedRepository;
 import pt.ist.meic.phylodb.utils.service.BatchService;
 import pt.ist.meic.phylodb.utils.service.Pair;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Class that contains operations to manage profiles
@@ -34,19 +42,29 @@ import java.util.function.Predicate;
 @Service
 public class ProfileService extends BatchService<Profile, Profile.PrimaryKey> {
 
+	private static final Logger LOG = LoggerFactory.getLogger(ProfileService.class);
+	private static final long INGESTS_RETENTION = TimeUnit.HOURS.toMillis(1);
+
 	@Value("${application.missing}")
 	private String missing;
 
+	@Value("${application.limits.files.ingest}")
+	private int chunk;
+
 	private DatasetRepository datasetRepository;
 	private ProfileRepository profileRepository;
 	private AlleleRepository alleleRepository;
 	private SchemaRepository schemaRepository;
+	private TaskExecutor executor;
+	private Map<Ingest.PrimaryKey, Ingest> ingests;
 
-	public ProfileService(DatasetRepository datasetRepository, ProfileRepository profileRepository, AlleleRepository alleleRepository, SchemaRepository schemaRepository) {
+	public ProfileService(DatasetRepository datasetRepository, ProfileRepository profileRepository, AlleleRepository alleleRepository, SchemaRepository schemaRepository, TaskExecutor executor) {
 		this.datasetRepository = datasetRepository;
 		this.profileRepository = profileRepository;
 		this.alleleRepository = alleleRepository;
 		this.schemaRepository = schemaRepository;
+		this.executor = executor;
+		this.ingests = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -63,6 +81,20 @@ public class ProfileService extends BatchService<Profile, Profile.PrimaryKey> {
 		return getAllEntities(page, limit, projectId, datasetId);
 	}
 
+	/**
+	 * Operation to retrieve the resumed information of the requested profiles from a cursor
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param cursor    cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit     number of profiles to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<Profile.PrimaryKey>}, which is the resumed information of each profile
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<Profile.PrimaryKey>>> getProfilesEntities(String projectId, String datasetId, String cursor, int limit) {
+		return getAllEntities(cursor, limit, projectId, datasetId);
+	}
+
 	/**
 	 * Operation to retrieve the information of the requested profiles
 	 *
@@ -78,6 +110,35 @@ public class ProfileService extends BatchService<Profile, Profile.PrimaryKey> {
 				.flatMap(p -> schemaRepository.find(new Dataset.PrimaryKey(projectId, datasetId)).map(s -> new Pair<>(s, p)));
 	}
 
+	/**
+	 * Operation to retrieve the information of the requested profiles from a cursor
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param cursor    cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit     number of profiles to retrieve by page
+	 * @return an {@link Optional} with a {@link List<Profile>} which is the information of each profile
+	 */
+	@Transactional(readOnly = true)
+	public Optional<Pair<Schema, List<Profile>>> getProfiles(String projectId, String datasetId, String cursor, int limit) {
+		return getAll(cursor, limit, projectId, datasetId)
+				.flatMap(p -> schemaRepository.find(new Dataset.PrimaryKey(projectId, datasetId)).map(s -> new Pair<>(s, p)));
+	}
+
+	/**
+	 * Operation to retrieve the information of every profile of a dataset, which are retrieved by pages while they are iterated
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param limit     number of profiles to retrieve by page
+	 * @return an {@link Optional} with a {@link Iterator<Profile>} over the information of each profile
+	 */
+	@Transactional(readOnly = true)
+	public Optional<Pair<Schema, Iterator<Profile>>> getAllProfiles(String projectId, String datasetId, int limit) {
+		return schemaRepository.find(new Dataset.PrimaryKey(projectId, datasetId))
+				.map(s -> new Pair<>(s, new Pages<>((c, l) -> getAll(c, l, projectId, datasetId), p -> p.getPrimaryKey().getId(), limit)));
+	}
+
 	/**
 	 * Operation to retrieve the requested profile
 	 *
@@ -159,9 +220,54 @@ public class ProfileService extends BatchService<Profile, Profile.PrimaryKey> {
 		return saveAll(projectId, datasetId, authorized, true, file);
 	}
 
+	/**
+	 * Operation to start the ingest of several profiles, which are saved if they don't exist
+	 * <p>
+	 * The file is parsed and saved in chunks in the background, thus the progress of the ingest must be retrieved with {@link #getIngest(String, String, String)}.
+	 * It isn't transactional, since each chunk is saved by a single UNWIND statement, which is committed on its own.
+	 *
+	 * @param projectId  identifier of the {@link Project project}
+	 * @param datasetId  identifier of the {@link Dataset dataset}
+	 * @param authorized boolean which indicates if the alleles used are private or public
+	 * @param file       file with the profiles
+	 * @return an {@link Optional} of {@link Ingest}, which is the progress of the ingest
+	 * @throws IOException if there is an error reading the file
+	 */
+	public Optional<Ingest> ingestProfilesOnConflictSkip(String projectId, String datasetId, boolean authorized, MultipartFile file) throws IOException {
+		return ingest(projectId, datasetId, authorized, false, file);
+	}
+
+	/**
+	 * Operation to start the ingest of several profiles, which are saved even if they already exist
+	 * <p>
+	 * The file is parsed and saved in chunks in the background, thus the progress of the ingest must be retrieved with {@link #getIngest(String, String, String)}.
+	 * It isn't transactional, since each chunk is saved by a single UNWIND statement, which is committed on its own.
+	 *
+	 * @param projectId  identifier of the {@link Project project}
+	 * @param datasetId  identifier of the {@link Dataset dataset}
+	 * @param authorized boolean which indicates if the alleles used are private or public
+	 * @param file       file with the profiles
+	 * @return an {@link Optional} of {@link Ingest}, which is the progress of the ingest
+	 * @throws IOException if there is an error reading the file
+	 */
+	public Optional<Ingest> ingestProfilesOnConflictUpdate(String projectId, String datasetId, boolean authorized, MultipartFile file) throws IOException {
+		return ingest(projectId, datasetId, authorized, true, file);
+	}
+
+	/**
+	 * Operation to retrieve the progress of an ingest of profiles
+	 *
+	 * @param projectId identifier of the {@link Project project}
+	 * @param datasetId identifier of the {@link Dataset dataset}
+	 * @param ingestId  identifier of the {@link Ingest ingest}
+	 * @return an {@link Optional} of {@link Ingest}, which is the progress of the ingest
+	 */
+	public Optional<Ingest> getIngest(String projectId, String datasetId, String ingestId) {
+		return Optional.ofNullable(ingests.get(new Ingest.PrimaryKey(projectId, datasetId, ingestId)));
+	}
+
 	private Optional<Pair<Integer[], String[]>> saveAll(String projectId, String datasetId, boolean authorized, boolean conflict, MultipartFile file) throws IOException {
-		Optional<Schema> optional = datasetRepository.find(new Dataset.PrimaryKey(projectId, datasetId), VersionedRepository.CURRENT_VERSION_VALUE)
-				.flatMap(d -> schemaRepository.find(d.getSchema().getPrimaryKey(), d.getSchema().getVersion()));
+		Optional<Schema> optional = getSchema(projectId, datasetId);
 		if (!optional.isPresent())
 			return Optional.empty();
 		Schema schema = optional.get();
@@ -181,15 +287,146 @@ public class ProfileService extends BatchService<Profile, Profile.PrimaryKey> {
 				Optional.empty();
 	}
 
+	private Optional<Ingest> ingest(String projectId, String datasetId, boolean authorized, boolean conflict, MultipartFile file) throws IOException {
+		Optional<Schema> optional = getSchema(projectId, datasetId);
+		if (!optional.isPresent())
+			return Optional.empty();
+		Schema schema = optional.get();
+		Path path = Files.createTempFile("profiles", null);
+		file.transferTo(path);
+		Ingest ingest = new Ingest(projectId, datasetId, UUID.randomUUID().toString());
+		long expired = System.currentTimeMillis() - INGESTS_RETENTION;
+		ingests.values().removeIf(i -> i.finishedBefore(expired));
+		ingests.put(ingest.getPrimaryKey(), ingest);
+		executor.execute(() -> {
+			try (InputStream input = Files.newInputStream(path); Pipeline pipeline = new Pipeline(ingest, schema.getPrimaryKey().getTaxonId(), conflict)) {
+				ProfilesFormatter.get(schema.getType().getName()).parse(input, pipeline, ingest::invalidLine, projectId, datasetId, schema, missing, authorized);
+				pipeline.finish();
+				ingest.complete();
+			} catch (IOException | RuntimeException e) {
+				LOG.error("ingest " + ingest.getPrimaryKey().getId() + " of " + projectId + "/" + datasetId + " failed", e);
+				ingest.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+			} finally {
+				path.toFile().delete();
+			}
+		});
+		return Optional.of(ingest);
+	}
+
+	private Optional<Schema> getSchema(String projectId, String datasetId) {
+		return datasetRepository.find(new Dataset.PrimaryKey(projectId, datasetId), VersionedRepository.CURRENT_VERSION_VALUE)
+				.flatMap(d -> schemaRepository.find(d.getSchema().getPrimaryKey(), d.getSchema().getVersion()));
+	}
+
 	private boolean verifyAlleles(List<VersionedEntity<Allele.PrimaryKey>> references) {
 		return !alleleRepository.anyMissing(references) && !references.stream().allMatch(Objects::isNull);
 	}
 
+	private List<Profile> verifyProfiles(Ingest ingest, String taxonId, List<Profile> profiles, boolean conflict) {
+		Profile.PrimaryKey key = profiles.get(0).getPrimaryKey();
+		Set<String> existing = conflict ? Collections.emptySet() : profileRepository.findExisting(key.getProjectId(), key.getDatasetId(),
+				profiles.stream().map(p -> p.getPrimaryKey().getId()).collect(Collectors.toList()));
+		Set<Allele.PrimaryKey> absent = alleleRepository.findMissing(taxonId, profiles.stream()
+				.flatMap(p -> p.getAllelesReferences().stream())
+				.filter(Objects::nonNull)
+				.map(VersionedEntity::getPrimaryKey)
+				.collect(Collectors.toSet()));
+		List<Profile> valid = new ArrayList<>();
+		for (Profile profile : profiles) {
+			List<VersionedEntity<Allele.PrimaryKey>> references = profile.getAllelesReferences();
+			if (!existing.contains(profile.getPrimaryKey().getId()) && !references.stream().allMatch(Objects::isNull) &&
+					references.stream().filter(Objects::nonNull).noneMatch(r -> absent.contains(r.getPrimaryKey()))) {
+				valid.add(profile);
+				continue;
+			}
+			ingest.invalidId(profile.getPrimaryKey().getId());
+		}
+		return valid;
+	}
+
+	/**
+	 * Pipeline of an {@link Ingest ingest}, which groups the parsed profiles in chunks
+	 * <p>
+	 * Each chunk is verified with a single query for the existing profiles and another for the missing alleles. The valid profiles of a chunk
+	 * are saved by a separate thread while the next chunk is parsed, so at most two chunks are kept in memory. The thread is outside of any Spring
+	 * transaction, so each chunk is saved by a single UNWIND statement in an auto-commit transaction, and the chunks saved before a failure remain saved.
+	 */
+	private class Pipeline implements Consumer<Profile>, AutoCloseable {
+
+		private final Ingest ingest;
+		private final String taxonId;
+		private final boolean conflict;
+		private final ExecutorService writer;
+		private List<Profile> profiles;
+		private Future<?> writing;
+
+		private Pipeline(Ingest ingest, String taxonId, boolean conflict) {
+			this.ingest = ingest;
+			this.taxonId = taxonId;
+			this.conflict = conflict;
+			this.writer = Executors.newSingleThreadExecutor();
+			this.profiles = new ArrayList<>();
+			this.writing = CompletableFuture.completedFuture(null);
+		}
+
+		@Override
+		public void accept(Profile profile) {
+			ingest.parsed();
+			profiles.add(profile);
+			if (profiles.size() >= chunk)
+				flush();
+		}
+
+		/**
+		 * Saves the last chunk, and waits until every chunk is saved
+		 */
+		public void finish() {
+			flush();
+			await();
+		}
+
+		@Override
+		public void close() {
+			writer.shutdownNow();
+		}
+
+		private void flush() {
+			if (profiles.isEmpty())
+				return;
+			List<Profile> valid = verifyProfiles(ingest, taxonId, profiles, conflict);
+			profiles = new ArrayList<>();
+			await();
+			writing = writer.submit(() -> {
+				if (saveAll(valid))
+					ingest.saved(valid.size());
+			});
+		}
+
+		private void await() {
+			try {
+				writing.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+	}
+
 	@Override
 	protected Optional<List<Profile>> getAll(int page, int limit, Object... params) {
 		return profileRepository.findAll(page, limit, params[0], params[1]);
 	}
 
+	@Override
+	protected Optional<List<Profile>> getAll(String cursor, int limit, Object... params) {
+		return profileRepository.findAll(cursor, limit, params[0], params[1]);
+	}
+
 	@Override
 	protected boolean saveAll(List<Profile> entities) {
 		return profileRepository.saveAll(entities);
@@ -200,6 +437,11 @@ public class ProfileService extends BatchService<Profile, Profile.PrimaryKey> {
 		return profileRepository.findAllEntities(page, limit, params[0], params[1]);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<Profile.PrimaryKey>>> getAllEntities(String cursor, int limit, Object... params) {
+		return profileRepository.findAllEntities(cursor, limit, params[0], params[1]);
+	}
+
 	@Override
 	protected Optional<Profile> get(Profile.PrimaryKey key, long version) {
 		return profileRepository.find(key, version);
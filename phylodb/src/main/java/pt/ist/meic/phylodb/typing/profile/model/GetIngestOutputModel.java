@@ -0,0 +1,95 @@
+package pt.ist.meic.phylodb.typing.profile.model;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import pt.ist.meic.phylodb.io.output.OutputModel;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A GetIngestOutputModel is the output model representation of an {@link Ingest}
+ * <p>
+ * A GetIngestOutputModel is constituted by the {@link #id} field to identify the ingest, the {@link #parsed} and {@link #saved} fields which
+ * are the number of profiles parsed and saved, the {@link #invalid_lines} and {@link #invalid_entities} fields which contains the number of the
+ * invalid lines of the file, and the ids of the invalid profiles parsed, the {@link #completed}, and {@link #failed} fields which are the status of the ingest,
+ * and the {@link #error} field which is the reason of the failure, if the ingest failed.
+ */
+public class GetIngestOutputModel implements OutputModel {
+
+	private String id;
+	private int parsed;
+	private int saved;
+	private Integer[] invalid_lines;
+	private String[] invalid_entities;
+	private boolean completed;
+	private boolean failed;
+	private String error;
+
+	public GetIngestOutputModel() {
+	}
+
+	public GetIngestOutputModel(Ingest ingest) {
+		this.id = ingest.getPrimaryKey().getId();
+		this.parsed = ingest.getParsed();
+		this.saved = ingest.getSaved();
+		this.invalid_lines = ingest.getInvalidLines();
+		this.invalid_entities = ingest.getInvalidIds();
+		this.completed = ingest.isCompleted();
+		this.failed = ingest.isFailed();
+		this.error = ingest.getError();
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public int getParsed() {
+		return parsed;
+	}
+
+	public int getSaved() {
+		return saved;
+	}
+
+	public Integer[] getInvalid_lines() {
+		return invalid_lines;
+	}
+
+	public String[] getInvalid_entities() {
+		return invalid_entities;
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public boolean isFailed() {
+		return failed;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	@Override
+	public ResponseEntity<?> toResponseEntity() {
+		return ResponseEntity.status(HttpStatus.OK).body(this);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		GetIngestOutputModel that = (GetIngestOutputModel) o;
+		return parsed == that.parsed &&
+				saved == that.saved &&
+				completed == that.completed &&
+				failed == that.failed &&
+				Objects.equals(id, that.id) &&
+				Objects.equals(error, that.error) &&
+				Arrays.equals(invalid_lines, that.invalid_lines) &&
+				Arrays.equals(invalid_entities, that.invalid_entities);
+	}
+
+}
@@ -0,0 +1,151 @@
+package pt.ist.meic.phylodb.typing.profile.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An ingest is used to represent the progress of a bulk ingest of profiles, which is executed in the background
+ * <p>
+ * An ingest is constituted by the {@link #id}, to identify the ingest, by the {@link #parsed} and {@link #saved} fields, that are the number
+ * of profiles parsed and saved until now, and by the {@link #invalidLines} and {@link #invalidIds} fields, that are the number of the lines
+ * that couldn't be parsed and the ids of the profiles that couldn't be saved. It is also composed of the {@link #completed}, and {@link #failed}
+ * fields which are the status of the ingest, by the {@link #error} field, that is the reason of the failure, and by the {@link #finished} field,
+ * that is the time in milliseconds when the ingest finished.
+ * <p>
+ * The progress is updated while the ingest is executed, thus the operations are synchronized.
+ */
+public class Ingest {
+
+	private final PrimaryKey id;
+	private final List<Integer> invalidLines;
+	private final List<String> invalidIds;
+	private int parsed;
+	private int saved;
+	private boolean completed;
+	private boolean failed;
+	private String error;
+	private long finished;
+
+	public Ingest(String projectId, String datasetId, String id) {
+		this.id = new PrimaryKey(projectId, datasetId, id);
+		this.invalidLines = new ArrayList<>();
+		this.invalidIds = new ArrayList<>();
+	}
+
+	public PrimaryKey getPrimaryKey() {
+		return id;
+	}
+
+	public synchronized int getParsed() {
+		return parsed;
+	}
+
+	public synchronized int getSaved() {
+		return saved;
+	}
+
+	public synchronized Integer[] getInvalidLines() {
+		return invalidLines.toArray(new Integer[0]);
+	}
+
+	public synchronized String[] getInvalidIds() {
+		return invalidIds.toArray(new String[0]);
+	}
+
+	public synchronized boolean isCompleted() {
+		return completed;
+	}
+
+	public synchronized boolean isFailed() {
+		return failed;
+	}
+
+	public synchronized String getError() {
+		return error;
+	}
+
+	/**
+	 * Verifies if the ingest finished before the given time
+	 *
+	 * @param time time in milliseconds
+	 * @return {@code true} if the ingest is completed or failed before the given time
+	 */
+	public synchronized boolean finishedBefore(long time) {
+		return (completed || failed) && finished < time;
+	}
+
+	public synchronized void parsed() {
+		parsed++;
+	}
+
+	public synchronized void saved(int count) {
+		saved += count;
+	}
+
+	public synchronized void invalidLine(int line) {
+		invalidLines.add(line);
+	}
+
+	public synchronized void invalidId(String id) {
+		invalidIds.add(id);
+	}
+
+	public synchronized void complete() {
+		completed = true;
+		finished = System.currentTimeMillis();
+	}
+
+	public synchronized void fail(String error) {
+		failed = true;
+		this.error = error;
+		finished = System.currentTimeMillis();
+	}
+
+	/**
+	 * An Ingest.PrimaryKey is the identification of an ingest
+	 * <p>
+	 * An Ingest.PrimaryKey is constituted by the {@link #projectId}, {@link #datasetId}, and {@link #id} fields which identify the ingest.
+	 */
+	public static class PrimaryKey {
+
+		private final String projectId;
+		private final String datasetId;
+		private final String id;
+
+		public PrimaryKey(String projectId, String datasetId, String id) {
+			this.projectId = projectId;
+			this.datasetId = datasetId;
+			this.id = id;
+		}
+
+		public String getProjectId() {
+			return projectId;
+		}
+
+		public String getDatasetId() {
+			return datasetId;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			PrimaryKey that = (PrimaryKey) o;
+			return Objects.equals(projectId, that.projectId) &&
+					Objects.equals(datasetId, that.datasetId) &&
+					Objects.equals(id, that.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(projectId, datasetId, id);
+		}
+
+	}
+
+}
@@ -41,14 +41,17 @@ public class SchemaController extends Controller {
 	 *
 	 * @param taxonId identifier of the {@link Taxon taxon}
 	 * @param page    number of the page to retrieve
+	 * @param cursor  cursor of the page to retrieve, which takes precedence over the page number
 	 * @return a {@link ResponseEntity<GetSchemasOutputModel>} representing the specified schemas page or a {@link ResponseEntity<ErrorOutputModel>} if it couldn't perform the operation
 	 */
 	@GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<?> getSchemas(
 			@PathVariable("taxon") String taxonId,
-			@RequestParam(value = "page", defaultValue = "0") int page
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "cursor", required = false) String cursor
 	) {
-		return getAllJson(l -> service.getSchemas(taxonId, page, l), GetSchemasOutputModel::new);
+		return getAllJson(l -> cursor == null ? service.getSchemas(taxonId, page, l) : service.getSchemas(taxonId, cursor, l), GetSchemasOutputModel::new,
+				s -> last(s, e -> e.getPrimaryKey().getId()));
 	}
 
 	/**
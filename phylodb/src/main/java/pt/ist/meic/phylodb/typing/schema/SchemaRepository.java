@@ -33,12 +33,14 @@ public class SchemaRepository extends VersionedRepository<Schema, Schema.Primary
 	protected Result getAllEntities(int page, int limit, Object... filters) {
 		if (filters == null || filters.length == 0)
 			return null;
-		String statement = "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus)<-[h:HAS]-(sd:SchemaDetails)<-[r:CONTAINS_DETAILS]-(s:Schema)\n" +
-				"WHERE s.deprecated = false AND r.to IS NULL\n" +
-				"WITH t, s, r, sd, collect(DISTINCT {taxon: t.id, id: l.id, deprecated: l.deprecated, version: h.version}) as lociIds\n" +
-				"RETURN t.id as taxonId, s.id as id, s.type as type, s.deprecated as deprecated, r.version as version\n" +
-				"ORDER BY t.id, size(s.id), s.id SKIP $ LIMIT $";
-		return query(new Query(statement, filters[0], page, limit));
+		return query(new Query(entities("") + " SKIP $ LIMIT $", filters[0], page, limit));
+	}
+
+	@Override
+	protected Result getAllEntitiesAfter(String after, int limit, Object... filters) {
+		if (filters == null || filters.length == 0)
+			return null;
+		return query(new Query(entities(" AND " + after("s")) + " LIMIT $", filters[0], after, after, after, limit));
 	}
 
 	@Override
@@ -194,4 +196,12 @@ public class SchemaRepository extends VersionedRepository<Schema, Schema.Primary
 		execute(query);
 	}
 
+	private static String entities(String condition) {
+		return "MATCH (t:Taxon {id: $})-[:CONTAINS]->(l:Locus)<-[h:HAS]-(sd:SchemaDetails)<-[r:CONTAINS_DETAILS]-(s:Schema)\n" +
+				"WHERE s.deprecated = false AND r.to IS NULL" + condition + "\n" +
+				"WITH t, s, r, sd, collect(DISTINCT {taxon: t.id, id: l.id, deprecated: l.deprecated, version: h.version}) as lociIds\n" +
+				"RETURN t.id as taxonId, s.id as id, s.type as type, s.deprecated as deprecated, r.version as version\n" +
+				"ORDER BY t.id, size(s.id), s.id";
+	}
+
 }
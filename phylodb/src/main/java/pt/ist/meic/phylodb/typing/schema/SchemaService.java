@@ -40,6 +40,19 @@ public class SchemaService extends VersionedEntityService<Schema, Schema.Primary
 		return getAllEntities(page, limit, taxonId);
 	}
 
+	/**
+	 * Operation to retrieve the resumed information of the requested schemas from a cursor
+	 *
+	 * @param taxonId identifier of the {@link Taxon taxon}
+	 * @param cursor  cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit   number of schemas to retrieve by page
+	 * @return an {@link Optional} with a {@link List} of {@link VersionedEntity<Schema.PrimaryKey>}, which is the resumed information of each schema
+	 */
+	@Transactional(readOnly = true)
+	public Optional<List<VersionedEntity<Schema.PrimaryKey>>> getSchemas(String taxonId, String cursor, int limit) {
+		return getAllEntities(cursor, limit, taxonId);
+	}
+
 	/**
 	 * Operation to retrieve the requested schema
 	 *
@@ -88,6 +101,11 @@ public class SchemaService extends VersionedEntityService<Schema, Schema.Primary
 		return schemaRepository.findAllEntities(page, limit, params[0]);
 	}
 
+	@Override
+	protected Optional<List<VersionedEntity<Schema.PrimaryKey>>> getAllEntities(String cursor, int limit, Object... params) {
+		return schemaRepository.findAllEntities(cursor, limit, params[0]);
+	}
+
 	@Override
 	protected Optional<Schema> get(Schema.PrimaryKey key, long version) {
 		return schemaRepository.find(key, version);
@@ -8,9 +8,11 @@ import pt.ist.meic.phylodb.io.output.BatchOutputModel;
 import pt.ist.meic.phylodb.io.output.CreatedOutputModel;
 import pt.ist.meic.phylodb.io.output.NoContentOutputModel;
 import pt.ist.meic.phylodb.io.output.OutputModel;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.Pair;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -20,6 +22,8 @@ import java.util.function.Supplier;
  */
 public abstract class Controller {
 
+	public static final String CURSOR = "Cursor";
+
 	@Value("${application.limits.pagination.json}")
 	protected String jsonLimit;
 
@@ -36,6 +40,34 @@ public abstract class Controller {
 		return getAll(limit, getter, file);
 	}
 
+	/**
+	 * Retrieves a page in json, and sets the {@value CURSOR} header to the cursor of the next page, which is empty after the last page
+	 *
+	 * @param getter getter of the page, given the limit
+	 * @param json   mapper of the page to the output
+	 * @param last   getter of the id of the last entity of the page, or {@code null} if the page is empty
+	 * @param <R>    type of the page
+	 * @return the response with the page
+	 */
+	protected <R> ResponseEntity<?> getAllJson(Function<Integer, Optional<R>> getter, Function<R, OutputModel> json, Function<R, String> last) {
+		int limit = Integer.parseInt(jsonLimit);
+		return getAll(limit, getter, json, last);
+	}
+
+	/**
+	 * Retrieves a page in a file, and sets the {@value CURSOR} header to the cursor of the next page, which is empty after the last page
+	 *
+	 * @param getter getter of the page, given the limit
+	 * @param file   mapper of the page to the output
+	 * @param last   getter of the id of the last entity of the page, or {@code null} if the page is empty
+	 * @param <R>    type of the page
+	 * @return the response with the page
+	 */
+	protected <R> ResponseEntity<?> getAllFile(Function<Integer, Optional<R>> getter, Function<R, OutputModel> file, Function<R, String> last) {
+		int limit = Integer.parseInt(fileLimit);
+		return getAll(limit, getter, file, last);
+	}
+
 	protected <R> ResponseEntity<?> get(Supplier<Optional<R>> input, Function<R, OutputModel> map, Supplier<OutputModel> error) {
 		return execute(input, map, error);
 	}
@@ -64,6 +96,18 @@ public abstract class Controller {
 				.toResponseEntity();
 	}
 
+	private <R> ResponseEntity<?> getAll(int limit, Function<Integer, Optional<R>> getter, Function<R, OutputModel> map, Function<R, String> last) {
+		Optional<R> page = getter.apply(limit);
+		ResponseEntity<?> response = page.map(map)
+				.orElse(new ErrorOutputModel(Problem.BAD_REQUEST))
+				.toResponseEntity();
+		String cursor = page.map(last).map(Cursor::encode).orElse(null);
+		return cursor == null ? response : ResponseEntity.status(response.getStatusCode())
+				.headers(response.getHeaders())
+				.header(CURSOR, cursor)
+				.body(response.getBody());
+	}
+
 	private <R> ResponseEntity<?> execute(Supplier<Optional<R>> input, Function<R, OutputModel> map, Supplier<OutputModel> error) {
 		return input.get()
 				.map(map)
@@ -83,6 +127,10 @@ public abstract class Controller {
 		return !result ? new ErrorOutputModel(Problem.UNAUTHORIZED) : new CreatedOutputModel(id);
 	}
 
+	protected static <E> String last(List<E> entities, Function<E, String> id) {
+		return entities.isEmpty() ? null : id.apply(entities.get(entities.size() - 1));
+	}
+
 	protected interface Getter<T> {
 
 		T get() throws IOException;
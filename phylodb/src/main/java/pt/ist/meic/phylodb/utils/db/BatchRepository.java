@@ -10,7 +10,7 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
- * A BatchRepository is an {@link VersionedRepository} that contains batch operations, namely {@link #findAll(int, int, Object...)} and {@link #save(Object)}
+ * A BatchRepository is an {@link VersionedRepository} that contains batch operations, namely {@link #findAll(int, int, Object...)}, {@link #findAll(String, int, Object...)} and {@link #save(Object)}
  *
  * @param <E> type of entity
  * @param <K> type of entity id
@@ -31,6 +31,16 @@ public abstract class BatchRepository<E extends VersionedEntity<K>, K> extends V
 	 */
 	protected abstract Result getAll(int page, int limit, Object... filters);
 
+	/**
+	 * Retrieves a page of {@link E} that follow the entity with the given id as a result
+	 *
+	 * @param after   id of the last entity of the previous page
+	 * @param limit   number of {@link E} to retrieve by page
+	 * @param filters used to filter the query results
+	 * @return a page of {@link E} as a {@link Result}
+	 */
+	protected abstract Result getAllAfter(String after, int limit, Object... filters);
+
 	/**
 	 * Saves a list of {@link E}
 	 *
@@ -50,11 +60,22 @@ public abstract class BatchRepository<E extends VersionedEntity<K>, K> extends V
 	 */
 	public Optional<List<E>> findAll(int page, int limit, Object... filters) {
 		if (page < 0 || limit < 0) return Optional.empty();
-		Result result = getAll(page * limit, limit, filters);
-		if (result == null) return Optional.empty();
-		return Optional.of(StreamSupport.stream(result.spliterator(), false)
-				.map(this::parse)
-				.collect(Collectors.toList()));
+		return all(getAll(page * limit, limit, filters));
+	}
+
+	/**
+	 * Retrieves the page of {@link E} identified by a {@link Cursor cursor}
+	 *
+	 * @param cursor  cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit   number of {@link E} to retrieve by page
+	 * @param filters used to filter the query results
+	 * @return an {@link Optional} with a {@link List} of {@link E}
+	 */
+	public Optional<List<E>> findAll(String cursor, int limit, Object... filters) {
+		if (cursor == null) return findAll(0, limit, filters);
+		String after = Cursor.decode(cursor);
+		if (after == null || limit < 0) return Optional.empty();
+		return all(getAllAfter(after, limit, filters));
 	}
 
 	/**
@@ -70,4 +91,11 @@ public abstract class BatchRepository<E extends VersionedEntity<K>, K> extends V
 		return true;
 	}
 
+	private Optional<List<E>> all(Result result) {
+		if (result == null) return Optional.empty();
+		return Optional.of(StreamSupport.stream(result.spliterator(), false)
+				.map(this::parse)
+				.collect(Collectors.toList()));
+	}
+
 }
@@ -0,0 +1,65 @@
+package pt.ist.meic.phylodb.utils.db;
+
+import java.util.BitSet;
+
+/**
+ * A BloomFilter is a compact set of strings, which may answer that it contains a string that was never added, but never that it doesn't contain one that was
+ * <p>
+ * The filter is sized by the number of strings to add and the probability of false positives, and each string sets {@link #hashes} bits of the {@link #bits},
+ * which are derived from two hashes of the string.
+ */
+public class BloomFilter {
+
+	private final BitSet bits;
+	private final int size;
+	private final int hashes;
+
+	/**
+	 * Creates an empty filter
+	 *
+	 * @param expected    number of strings to add
+	 * @param probability probability of false positives once the expected strings are added
+	 */
+	public BloomFilter(int expected, double probability) {
+		int count = Math.max(expected, 1);
+		double size = Math.ceil(-count * Math.log(probability) / (Math.log(2) * Math.log(2)));
+		this.size = (int) Math.min(Math.max(size, Long.SIZE), Integer.MAX_VALUE);
+		this.hashes = Math.max(1, (int) Math.round((double) this.size / count * Math.log(2)));
+		this.bits = new BitSet(this.size);
+	}
+
+	/**
+	 * Adds a string to the filter
+	 *
+	 * @param value string to add
+	 */
+	public void add(String value) {
+		int first = mix(value.hashCode()), second = mix(first);
+		for (int i = 0; i < hashes; i++)
+			bits.set(Math.floorMod(first + i * second, size));
+	}
+
+	/**
+	 * Verifies if a string may have been added to the filter
+	 *
+	 * @param value string to verify
+	 * @return {@code false} if the string was never added, or {@code true} if it probably was
+	 */
+	public boolean mightContain(String value) {
+		int first = mix(value.hashCode()), second = mix(first);
+		for (int i = 0; i < hashes; i++)
+			if (!bits.get(Math.floorMod(first + i * second, size)))
+				return false;
+		return true;
+	}
+
+	private static int mix(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+
+}
@@ -0,0 +1,43 @@
+package pt.ist.meic.phylodb.utils.db;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * A cursor identifies the position of a page within a listing, which is given by the id of the last entity of the previous page
+ * <p>
+ * The cursor is opaque to the clients, so the id is encoded, and the listings seek past it following the order by the size of the id and the id,
+ * instead of skipping every previous entity.
+ */
+public class Cursor {
+
+	private Cursor() {
+	}
+
+	/**
+	 * Encodes the id of the last entity of a page into the cursor of the next page
+	 *
+	 * @param id id of the last entity of a page
+	 * @return cursor of the next page, or {@code null} if there is no id
+	 */
+	public static String encode(String id) {
+		return id == null ? null : Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes the id of the last entity of the previous page from a cursor
+	 *
+	 * @param cursor cursor of a page
+	 * @return id of the last entity of the previous page, or {@code null} if the cursor is not valid
+	 */
+	public static String decode(String cursor) {
+		if (cursor == null)
+			return null;
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package pt.ist.meic.phylodb.utils.db;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Pages is an {@link Iterator} over every entity of a listing, which retrieves one page at a time from the {@link Cursor cursor} of the previous page
+ * <p>
+ * Only the current page is kept in memory, so the listing can be iterated regardless of its size. Each page is retrieved by a separate query,
+ * thus the entities changed while iterating may or may not be seen.
+ *
+ * @param <E> type of the entities
+ */
+public class Pages<E> implements Iterator<E> {
+
+	private final BiFunction<String, Integer, Optional<List<E>>> getter;
+	private final Function<E, String> id;
+	private final int limit;
+	private Iterator<E> page;
+	private String cursor;
+	private boolean last;
+
+	/**
+	 * Creates an iterator over the pages of a listing
+	 *
+	 * @param getter getter of a page, given the cursor of the page, or {@code null} for the first page, and the limit
+	 * @param id     getter of the id of an entity
+	 * @param limit  number of entities to retrieve by page
+	 */
+	public Pages(BiFunction<String, Integer, Optional<List<E>>> getter, Function<E, String> id, int limit) {
+		this.getter = getter;
+		this.id = id;
+		this.limit = limit;
+		this.page = Collections.emptyIterator();
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!page.hasNext() && !last) {
+			List<E> entities = getter.apply(cursor, limit).orElse(Collections.emptyList());
+			last = entities.size() < limit;
+			if (!entities.isEmpty())
+				cursor = Cursor.encode(id.apply(entities.get(entities.size() - 1)));
+			page = entities.iterator();
+		}
+		return page.hasNext();
+	}
+
+	@Override
+	public E next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		return page.next();
+	}
+
+}
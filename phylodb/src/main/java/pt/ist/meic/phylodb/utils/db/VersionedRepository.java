@@ -43,6 +43,16 @@ public abstract class VersionedRepository<E, K> extends EntityRepository<E, K> {
 	 */
 	protected abstract Result get(K key, long version);
 
+	/**
+	 * Retrieves a page of {@link VersionedEntity <K>} that follow the entity with the given id as a result
+	 *
+	 * @param after   id of the last entity of the previous page
+	 * @param limit   number of {@link VersionedEntity<K>} to retrieve by page
+	 * @param filters used to filter the query results
+	 * @return page of {@link VersionedEntity<K>}
+	 */
+	protected abstract Result getAllEntitiesAfter(String after, int limit, Object... filters);
+
 	/**
 	 * Retrieves a page of {@link VersionedEntity <K>} as a result
 	 *
@@ -53,11 +63,22 @@ public abstract class VersionedRepository<E, K> extends EntityRepository<E, K> {
 	 */
 	public Optional<List<VersionedEntity<K>>> findAllEntities(int page, int limit, Object... filters) {
 		if (page < 0 || limit < 0) return Optional.empty();
-		Result result = getAllEntities(page * limit, limit, filters);
-		if (result == null) return Optional.empty();
-		return Optional.of(StreamSupport.stream(result.spliterator(), false)
-				.map(this::parseVersionedEntity)
-				.collect(Collectors.toList()));
+		return entities(getAllEntities(page * limit, limit, filters));
+	}
+
+	/**
+	 * Retrieves the page of {@link VersionedEntity <K>} identified by a {@link Cursor cursor}
+	 *
+	 * @param cursor  cursor of the page to retrieve, or {@code null} to retrieve the first page
+	 * @param limit   number of {@link VersionedEntity<K>} to retrieve by page
+	 * @param filters used to filter the query results
+	 * @return page of {@link VersionedEntity<K>}
+	 */
+	public Optional<List<VersionedEntity<K>>> findAllEntities(String cursor, int limit, Object... filters) {
+		if (cursor == null) return findAllEntities(0, limit, filters);
+		String after = Cursor.decode(cursor);
+		if (after == null || limit < 0) return Optional.empty();
+		return entities(getAllEntitiesAfter(after, limit, filters));
 	}
 
 	/**
@@ -75,4 +96,21 @@ public abstract class VersionedRepository<E, K> extends EntityRepository<E, K> {
 		return !it.hasNext() ? Optional.empty() : Optional.of(parse(it.next()));
 	}
 
+	/**
+	 * Builds the condition that selects the entities which follow the one with a given id, in the order by the size of the id and the id
+	 *
+	 * @param variable variable of the entity in the query
+	 * @return condition with three parameters, which must all be the id of the last entity of the previous page
+	 */
+	protected static String after(String variable) {
+		return String.format("(size(%1$s.id) > size($) OR size(%1$s.id) = size($) AND %1$s.id > $)", variable);
+	}
+
+	private Optional<List<VersionedEntity<K>>> entities(Result result) {
+		if (result == null) return Optional.empty();
+		return Optional.of(StreamSupport.stream(result.spliterator(), false)
+				.map(this::parseVersionedEntity)
+				.collect(Collectors.toList()));
+	}
+
 }
@@ -7,6 +7,8 @@ public abstract class BatchService<E, K> extends VersionedEntityService<E, K> {
 
 	protected abstract Optional<List<E>> getAll(int page, int limit, Object... params);
 
+	protected abstract Optional<List<E>> getAll(String cursor, int limit, Object... params);
+
 	protected abstract boolean saveAll(List<E> entities);
 
 }
@@ -7,6 +7,8 @@ public abstract class VersionedEntityService<E, K> extends EntityService<E, K> {
 
 	protected abstract Optional<List<VersionedEntity<K>>> getAllEntities(int page, int limit, Object... params);
 
+	protected abstract Optional<List<VersionedEntity<K>>> getAllEntities(String cursor, int limit, Object... params);
+
 	protected abstract Optional<E> get(K key, long version);
 
 }
@@ -16,8 +16,49 @@ public class AlgorithmBenchmarks extends Benchmarks {
 		DbUtils.goeBURST(session, PROJECT_ID, DATASET_ID, INFERENCE_ID);
 	}
 
+	@Benchmark
+	public void goeBURSTSequentialMatrix(WithProfiles ignored) {
+		DbUtils.goeBURST(session, PROJECT_ID, DATASET_ID, INFERENCE_ID, 1);
+	}
+
+	@Benchmark
+	public void goeBURSTStream(WithProfiles ignored) {
+		DbUtils.goeBURSTStream(session, PROJECT_ID, DATASET_ID);
+	}
+
+	@Benchmark
+	public void prim(WithProfiles ignored) {
+		DbUtils.prim(session, PROJECT_ID, DATASET_ID, INFERENCE_ID);
+	}
+
+	@Benchmark
+	public void edmonds(WithProfiles ignored) {
+		DbUtils.edmonds(session, PROJECT_ID, DATASET_ID, INFERENCE_ID);
+	}
+
+	@Benchmark
+	public void neighborJoining(WithProfiles ignored) {
+		DbUtils.neighborJoining(session, PROJECT_ID, DATASET_ID);
+	}
+
 	@Benchmark
 	public void radial(WithProfilesAndInference ignored) {
 		DbUtils.radial(session, PROJECT_ID, DATASET_ID, INFERENCE_ID, VISUALIZATION_ID);
 	}
+
+	@Benchmark
+	public void radialStream(WithProfilesAndInference ignored) {
+		DbUtils.radialStream(session, PROJECT_ID, DATASET_ID, INFERENCE_ID);
+	}
+
+	@Benchmark
+	public void force(WithProfilesAndInference ignored) {
+		DbUtils.force(session, PROJECT_ID, DATASET_ID, INFERENCE_ID, VISUALIZATION_ID);
+	}
+
+	@Benchmark
+	public void radialChain(WithProfilesAndChainInference ignored) {
+		DbUtils.radial(session, PROJECT_ID, DATASET_ID, INFERENCE_ID, VISUALIZATION_ID);
+	}
+
 }
@@ -93,7 +93,7 @@ public class Benchmarks {
 		new Runner(options(_class)).run();
 	}
 
-	private static Options options(Class<?> _class){
+	protected static Options options(Class<?> _class){
 		return new OptionsBuilder()
 				.include("\\." + _class.getSimpleName() + "\\.")
 				.timeout(TimeValue.NONE)
@@ -142,6 +142,21 @@ public class Benchmarks {
 
 	}
 
+	@State(value = Scope.Benchmark)
+	public static class WithProfilesAndChainInference {
+
+		@Param(value = {"500", "1000", "2000", "5000", "10000", "15000"})
+		public int profiles;
+
+		@Setup
+		public void setup() throws IOException {
+			clearProfiles(session);
+			initProfiles("profiles_" + profiles + ".txt");
+			DbUtils.chain(session, PROJECT_ID, DATASET_ID, INFERENCE_ID);
+		}
+
+	}
+
 	@State(value = Scope.Benchmark)
 	public static class WithProfilesInferenceAndVisualization {
 
@@ -0,0 +1,250 @@
+package pt.ist.meic.phylodb.performance;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.springframework.web.multipart.MultipartFile;
+import pt.ist.meic.phylodb.io.formatters.dataset.allele.FastaFormatter;
+import pt.ist.meic.phylodb.io.formatters.dataset.isolate.IsolatesFormatter;
+import pt.ist.meic.phylodb.io.formatters.dataset.profile.MlFormatter;
+import pt.ist.meic.phylodb.io.formatters.dataset.profile.SnpFormatter;
+import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
+import pt.ist.meic.phylodb.typing.Method;
+import pt.ist.meic.phylodb.typing.isolate.model.Ancillary;
+import pt.ist.meic.phylodb.typing.isolate.model.Isolate;
+import pt.ist.meic.phylodb.typing.profile.model.Profile;
+import pt.ist.meic.phylodb.typing.schema.model.Schema;
+import pt.ist.meic.phylodb.utils.service.VersionedEntity;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static pt.ist.meic.phylodb.utils.FileUtils.createFile;
+
+public class FormatterBenchmarks extends Benchmarks {
+
+	private static final Schema SCHEMA = new Schema("taxon", "schema", Method.MLST, null,
+			new String[]{"locus1", "locus2", "locus3", "locus4", "locus5", "locus6", "locus7"});
+	private static final int LINE = 80;
+
+	@Test
+	public void launchBenchmark() throws Exception {
+		new Runner(options(FormatterBenchmarks.class)).run();
+	}
+
+	@Benchmark
+	public void parseList(WithFile state, Blackhole blackhole) throws IOException {
+		blackhole.consume(new MlFormatter().parse(state.file, PROJECT_ID, DATASET_ID, SCHEMA, "-", false));
+	}
+
+	@Benchmark
+	public void parseStream(WithFile state, Blackhole blackhole) throws IOException {
+		new MlFormatter().parse(state.file.getInputStream(), blackhole::consume, blackhole::consume, PROJECT_ID, DATASET_ID, SCHEMA, "-", false);
+	}
+
+	// The baselines are the String-building implementations of the formatters before they formatted through an output
+
+	@Benchmark
+	public void formatMlBaseline(WithFile state, Blackhole blackhole) {
+		blackhole.consume(formatMl(state.parsed, SCHEMA));
+	}
+
+	@Benchmark
+	public void formatMlList(WithFile state, Blackhole blackhole) {
+		blackhole.consume(new MlFormatter().format(state.parsed, SCHEMA));
+	}
+
+	@Benchmark
+	public void formatMlStream(WithFile state) throws IOException {
+		new MlFormatter().format(state.parsed.iterator(), Writer.nullWriter(), SCHEMA);
+	}
+
+	@Benchmark
+	public void formatSnpBaseline(WithEntities state, Blackhole blackhole) {
+		blackhole.consume(formatSnp(state.snp));
+	}
+
+	@Benchmark
+	public void formatSnpList(WithEntities state, Blackhole blackhole) {
+		blackhole.consume(new SnpFormatter().format(state.snp));
+	}
+
+	@Benchmark
+	public void formatSnpStream(WithEntities state) throws IOException {
+		new SnpFormatter().format(state.snp.iterator(), Writer.nullWriter());
+	}
+
+	@Benchmark
+	public void formatIsolatesBaseline(WithEntities state, Blackhole blackhole) {
+		blackhole.consume(formatIsolates(state.isolates));
+	}
+
+	@Benchmark
+	public void formatIsolatesList(WithEntities state, Blackhole blackhole) {
+		blackhole.consume(new IsolatesFormatter().format(state.isolates));
+	}
+
+	@Benchmark
+	public void formatIsolatesStream(WithEntities state) throws IOException {
+		new IsolatesFormatter().format(state.isolates.iterator(), Writer.nullWriter(), (Object) state.columns);
+	}
+
+	@Benchmark
+	public void formatFastaBaseline(WithEntities state, Blackhole blackhole) {
+		blackhole.consume(formatFasta(state.alleles, LINE));
+	}
+
+	@Benchmark
+	public void formatFastaList(WithEntities state, Blackhole blackhole) {
+		blackhole.consume(new FastaFormatter().format(state.alleles, LINE));
+	}
+
+	@Benchmark
+	public void formatFastaStream(WithEntities state) throws IOException {
+		new FastaFormatter().format(state.alleles.iterator(), Writer.nullWriter(), LINE);
+	}
+
+	private static String formatMl(List<Profile> data, Schema schema) {
+		StringBuilder raw = new StringBuilder("ST\t");
+		String[] lociIds = schema.getLociIds().toArray(new String[0]);
+		raw.append(String.join("\t", lociIds)).append("\n");
+		for (Profile profile : data) {
+			raw.append(profile.getPrimaryKey().getId()).append("\t")
+					.append(String.join("\t", formatAlleles(profile.getAllelesReferences())))
+					.append("\n");
+
+		}
+		return raw.substring(0, raw.length() - "\n".length());
+	}
+
+	private static String formatSnp(List<Profile> data) {
+		String formatted = data.stream()
+				.map(p -> p.getPrimaryKey().getId() + "\t" + String.join("", formatAlleles(p.getAllelesReferences())))
+				.reduce("", (a, c) -> a + c + "\n");
+		return formatted.length() > 0 ? formatted.substring(0, formatted.length() - "\n".length()) : "";
+	}
+
+	private static String formatIsolates(List<Isolate> isolates) {
+		List<String> headers = isolates.stream()
+				.flatMap(i -> Arrays.stream(i.getAncillaries()).map(Ancillary::getKey))
+				.distinct()
+				.collect(Collectors.toList());
+		String headersString = String.join("\t", headers);
+		StringBuilder formatted = new StringBuilder("id");
+		if (!headersString.equals(""))
+			formatted.append("\t").append(headersString);
+		boolean st = isolates.stream().anyMatch(i -> i.getProfile() != null);
+		if (st)
+			formatted.append("\t").append("ST");
+		formatted.append("\n");
+		for (Isolate isolate : isolates) {
+			formatted.append(isolate.getPrimaryKey().getId()).append('\t');
+			Map<String, String> ancillaries = Arrays.stream(isolate.getAncillaries())
+					.collect(Collectors.toMap(Ancillary::getKey, Ancillary::getValue));
+			for (String header : headers)
+				formatted.append(ancillaries.getOrDefault(header, "")).append('\t');
+			if (isolate.getProfile() != null)
+				formatted.append(isolate.getProfile().getPrimaryKey().getId());
+			else if (!st)
+				formatted.delete(formatted.length() - "\t".length(), formatted.length());
+			formatted.append('\n');
+		}
+		return formatted.substring(0, formatted.length() - "\n".length());
+	}
+
+	private static String formatFasta(List<Allele> alleles, int line) {
+		StringBuilder formatted = new StringBuilder();
+		for (Allele allele : alleles)
+			formatted.append(">")
+					.append(allele.getPrimaryKey().getLocusId())
+					.append("_")
+					.append(allele.getPrimaryKey().getId())
+					.append("\n")
+					.append(formatSequence(allele.getSequence(), line))
+					.append("\n");
+		return formatted.length() > 0 ? formatted.substring(0, formatted.length() - "\n".length()) : "";
+	}
+
+	private static List<String> formatAlleles(List<VersionedEntity<Allele.PrimaryKey>> alleles) {
+		List<String> output = new ArrayList<>();
+		for (VersionedEntity<Allele.PrimaryKey> allele : alleles) {
+			if (allele == null)
+				output.add(" ");
+			else
+				output.add(allele.getPrimaryKey().getId());
+		}
+		return output;
+	}
+
+	private static String formatSequence(String sequence, int lineLength) {
+		if (sequence == null)
+			return "";
+		StringBuilder formatted = new StringBuilder(sequence);
+		int n = sequence.length() / lineLength;
+		if (n == 0 || sequence.length() == lineLength)
+			return sequence;
+		int i = 0;
+		while (i != n)
+			formatted.insert((i + 1) * lineLength + i++, "\n");
+		return formatted.toString();
+	}
+
+	@State(value = Scope.Benchmark)
+	public static class WithFile {
+
+		@Param(value = {"500", "1000", "2000", "5000", "10000", "15000"})
+		public int profiles;
+
+		private MultipartFile file;
+		private List<Profile> parsed;
+
+		@Setup
+		public void setup() throws IOException {
+			file = createFile("performance", "profiles_" + profiles + ".txt");
+			parsed = new MlFormatter().parse(file, PROJECT_ID, DATASET_ID, SCHEMA, "-", false).getKey();
+		}
+
+	}
+
+	@State(value = Scope.Benchmark)
+	public static class WithEntities {
+
+		private static final String NUCLEOTIDES = "ACTG";
+
+		@Param(value = {"500", "1000", "2000", "5000", "10000", "15000"})
+		public int entities;
+
+		private List<Profile> snp;
+		private List<Isolate> isolates;
+		private String[] columns;
+		private List<Allele> alleles;
+
+		@Setup
+		public void setup() {
+			Random random = new Random(entities);
+			snp = new ArrayList<>(entities);
+			isolates = new ArrayList<>(entities);
+			alleles = new ArrayList<>(entities);
+			columns = new String[]{"isolate", "country", "continent", IsolatesFormatter.ST};
+			for (int i = 1; i <= entities; i++) {
+				String id = String.valueOf(i);
+				String[] bases = new String[SCHEMA.getLociIds().size()];
+				for (int l = 0; l < bases.length; l++)
+					bases[l] = String.valueOf(NUCLEOTIDES.charAt(random.nextInt(NUCLEOTIDES.length())));
+				snp.add(new Profile(PROJECT_ID, DATASET_ID, id, null, bases));
+				Ancillary[] ancillaries = {new Ancillary(columns[0], "isolate" + i), new Ancillary(columns[1], "country" + random.nextInt(50)),
+						new Ancillary(columns[2], "continent" + random.nextInt(6))};
+				isolates.add(new Isolate(PROJECT_ID, DATASET_ID, id, null, ancillaries, random.nextBoolean() ? id : null));
+				StringBuilder sequence = new StringBuilder();
+				for (int s = 0; s < 4 * LINE; s++)
+					sequence.append(NUCLEOTIDES.charAt(random.nextInt(NUCLEOTIDES.length())));
+				alleles.add(new Allele("taxon", "locus1", id, sequence.toString(), null));
+			}
+		}
+
+	}
+
+}
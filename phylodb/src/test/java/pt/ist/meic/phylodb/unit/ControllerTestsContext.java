@@ -7,6 +7,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import pt.ist.meic.phylodb.analysis.inference.InferenceService;
 import pt.ist.meic.phylodb.analysis.visualization.VisualizationService;
@@ -25,6 +26,8 @@ import pt.ist.meic.phylodb.typing.schema.SchemaService;
 
 import java.io.UnsupportedEncodingException;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
 public abstract class ControllerTestsContext extends Context {
 
 	@Autowired
@@ -48,6 +51,11 @@ public abstract class ControllerTestsContext extends Context {
 		return mvc.perform(action).andReturn().getResponse();
 	}
 
+	protected MockHttpServletResponse executeStreamRequest(MockHttpServletRequestBuilder action, MediaType mediatype) throws Exception {
+		MvcResult result = mvc.perform(action.accept(mediatype)).andReturn();
+		return result.getRequest().isAsyncStarted() ? mvc.perform(asyncDispatch(result)).andReturn().getResponse() : result.getResponse();
+	}
+
 	@MockBean
 	protected PHYLOViZInterceptor authenticationInterceptor;
 	@MockBean
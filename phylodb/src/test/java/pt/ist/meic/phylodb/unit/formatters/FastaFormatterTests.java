@@ -102,4 +102,14 @@ public class FastaFormatterTests extends FormatterTests {
 		assertEquals(expected, formatted);
 	}
 
+	@Test
+	public void format_streamWithAlleles() throws IOException {
+		FastaFormatter formatter = new FastaFormatter();
+		String[] alleles = {"TCGAGGAACCGCTCGAGAGGTGATCCTGTCG", "TCGAGGAACCGCTCGAGAGGTGATCCTGTCG"};
+		String expected = readFile("formatters/fasta", "f-2-a.txt");
+		StringBuilder formatted = new StringBuilder();
+		formatter.format(Arrays.asList(alleles("taxon", "nusA", UUID.randomUUID().toString(), alleles)).iterator(), formatted, 17);
+		assertEquals(expected, formatted.toString());
+	}
+
 }
@@ -158,6 +158,19 @@ public class IsolatesFormatterTests extends FormatterTests {
 		assertEquals(expected, formatted);
 	}
 
+	@Test
+	public void format_streamWithAllHeadersAndIsolatesWithMissingProfiles() throws IOException {
+		String[][] ancillary = {{"AU13161", "USA", "North America"}, {"LMG 1231T", "Unknown", "Europe"}, {"LMG 1860", "France", "Europe"}};
+		List<Isolate> isolates = new ArrayList<>(isolates(PROJECT_ID, DATASET_ID, ancillary, new String[]{null, null, "103"}));
+		String[] columns = Arrays.copyOf(ANCILLARY, ANCILLARY.length + 1);
+		columns[ANCILLARY.length] = IsolatesFormatter.ST;
+		IsolatesFormatter formatter = new IsolatesFormatter();
+		String expected = readFile("formatters/isolates", "i-iap-3-ve.txt");
+		StringBuilder formatted = new StringBuilder();
+		formatter.format(isolates.iterator(), formatted, (Object) columns);
+		assertEquals(expected, formatted.toString());
+	}
+
 	@Test
 	public void format_fileWithAllHeadersAndIsolate() throws IOException {
 		String[][] ancillary = {{"AU13161", "USA", "North America"}};
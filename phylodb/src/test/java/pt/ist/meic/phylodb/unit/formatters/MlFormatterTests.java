@@ -12,6 +12,7 @@ import pt.ist.meic.phylodb.typing.schema.model.Schema;
 import pt.ist.meic.phylodb.utils.service.Pair;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -80,6 +81,21 @@ public class MlFormatterTests extends ProfilesFormatterTests {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("nonemptyListParams")
+	public void parse_stream(String project, String dataset, Schema schema, String filename, Pair<Profile[], Integer[]> expected, boolean authorized) throws IOException {
+		MlFormatter formatter = new MlFormatter();
+		List<Profile> profiles = new ArrayList<>();
+		List<Integer> errors = new ArrayList<>();
+		formatter.parse(createFile("formatters/ml", filename).getInputStream(), profiles::add, errors::add, project, dataset, schema, " ", authorized);
+		assertEquals(expected.getKey().length, profiles.size());
+		assertArrayEquals(expected.getValue(), errors.toArray());
+		for (int i = 0; i < profiles.size(); i++) {
+			assertEquals(expected.getKey()[i].getPrimaryKey().getId(), profiles.get(i).getPrimaryKey().getId());
+			assertEquals(expected.getKey()[i].getAllelesReferences(), profiles.get(i).getAllelesReferences());
+		}
+	}
+
 	@Test
 	public void format_fileWithHeaders() throws IOException {
 		Schema schema = new Schema("taxon", "id", Method.MLST, "description", headers);
@@ -119,4 +135,15 @@ public class MlFormatterTests extends ProfilesFormatterTests {
 		assertEquals(expected, formatted);
 	}
 
+	@Test
+	public void format_streamWithHeadersAndProfilesWithMissingAlleles() throws IOException {
+		Schema schema = new Schema("taxon", "id", Method.MLST, "description", headers);
+		MlFormatter formatter = new MlFormatter();
+		String[][] alleles = {{"1", "1", "1", "1", null}, {null, "1", null, "3", "3"}};
+		String expected = readFile("formatters/ml", "ml-h-d-2-m.txt");
+		StringBuilder formatted = new StringBuilder();
+		formatter.format(Arrays.asList(profiles(UUID.randomUUID().toString(), UUID.randomUUID().toString(), schema, alleles, false)).iterator(), formatted, schema);
+		assertEquals(expected, formatted.toString());
+	}
+
 }
@@ -115,4 +115,15 @@ public class SnpFormatterTests extends ProfilesFormatterTests {
 		assertEquals(expected, formatted);
 	}
 
+	@Test
+	public void format_streamWithProfilesAndAllelesMissing() throws IOException {
+		Schema schema = new Schema("taxon", "id", Method.MLST, "description", headers);
+		SnpFormatter formatter = new SnpFormatter();
+		String[][] alleles = {{"1", "0", "0", "1", null}, {null, "1", null, "0", "1"}};
+		String expected = readFile("formatters/snp", "snp-d-2-m.txt");
+		StringBuilder formatted = new StringBuilder();
+		formatter.format(Arrays.asList(profiles(UUID.randomUUID().toString(), UUID.randomUUID().toString(), schema, alleles, false)).iterator(), formatted, schema);
+		assertEquals(expected, formatted.toString());
+	}
+
 }
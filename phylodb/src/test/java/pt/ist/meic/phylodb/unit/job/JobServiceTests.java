@@ -39,7 +39,13 @@ public class JobServiceTests extends ServiceTestsContext {
 
 	private static Stream<Arguments> createJob_params() {
 		JobRequest request1 = new JobRequest(Analysis.INFERENCE, InferenceAlgorithm.GOEBURST.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), 3}),
-				request2 = new JobRequest(Analysis.VISUALIZATION, VisualizationAlgorithm.RADIAL.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), INFERENCE1.getPrimaryKey().getId()});
+				request2 = new JobRequest(Analysis.VISUALIZATION, VisualizationAlgorithm.RADIAL.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), INFERENCE1.getPrimaryKey().getId()}),
+				request3 = new JobRequest(Analysis.INFERENCE, InferenceAlgorithm.PRIM.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), 3}),
+				request4 = new JobRequest(Analysis.INFERENCE, InferenceAlgorithm.EDMONDS.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), 3}),
+				request5 = new JobRequest(Analysis.INFERENCE, InferenceAlgorithm.PRIM.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), -1}),
+				request6 = new JobRequest(Analysis.INFERENCE, InferenceAlgorithm.EDMONDS.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), "3"}),
+				request7 = new JobRequest(Analysis.INFERENCE, "teste", new Object[] {DATASET1.getPrimaryKey().getId(), 3}),
+				request8 = new JobRequest(Analysis.VISUALIZATION, VisualizationAlgorithm.FORCE.getName(), new Object[] {DATASET1.getPrimaryKey().getId(), INFERENCE1.getPrimaryKey().getId()});
 		List<Entity<Profile.PrimaryKey>> profiles1 = Collections.singletonList(new Entity<>(PROFILE1.getPrimaryKey(), false)),
 				profiles2 = Arrays.asList(new Entity<>(PROFILE1.getPrimaryKey(), false), new Entity<>(PROFILE2.getPrimaryKey(), false));
 		return Stream.of(Arguments.of(request1, Collections.emptyList(), true, true, false),
@@ -49,7 +55,13 @@ public class JobServiceTests extends ServiceTestsContext {
 				Arguments.of(request1, profiles2, false, true, true),
 				Arguments.of(request2, Collections.emptyList(), false, true, false),
 				Arguments.of(request2, Collections.emptyList(), true, false, false),
-				Arguments.of(request2, profiles1, true, true, true));
+				Arguments.of(request2, profiles1, true, true, true),
+				Arguments.of(request3, profiles2, false, true, true),
+				Arguments.of(request4, profiles2, false, true, true),
+				Arguments.of(request5, profiles2, false, true, false),
+				Arguments.of(request6, profiles2, false, true, false),
+				Arguments.of(request7, profiles2, false, true, false),
+				Arguments.of(request8, profiles1, true, true, true));
 	}
 
 	private static Stream<Arguments> deleteJob_params() {
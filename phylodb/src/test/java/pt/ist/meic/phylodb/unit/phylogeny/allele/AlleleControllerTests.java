@@ -25,6 +25,8 @@ import pt.ist.meic.phylodb.phylogeny.allele.model.AlleleInputModel;
 import pt.ist.meic.phylodb.phylogeny.allele.model.AlleleOutputModel;
 import pt.ist.meic.phylodb.phylogeny.allele.model.GetAlleleOutputModel;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.Pair;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -33,6 +35,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -52,7 +56,8 @@ public class AlleleControllerTests extends ControllerTestsContext {
 		}};
 		MockHttpServletRequestBuilder req1 = get(String.format(uri, TAXONID, LOCUSID)).param("page", "0"),
 				req2 = get(String.format(uri, TAXONID, LOCUSID)).param("page", "0").param("project", PROJECTID),
-				req3 = get(uri), req4 = get(String.format(uri, TAXONID, LOCUSID)).param("page", "-10");
+				req3 = get(uri), req4 = get(String.format(uri, TAXONID, LOCUSID)).param("page", "-10"),
+				req5 = get(String.format(uri, TAXONID, LOCUSID)).param("cursor", Cursor.encode("id")), req6 = get(String.format(uri, TAXONID, LOCUSID)).param("cursor", "%");
 		List<AlleleOutputModel> result1 = alleles1.stream()
 				.map(AlleleOutputModel::new)
 				.collect(Collectors.toList());
@@ -66,7 +71,10 @@ public class AlleleControllerTests extends ControllerTestsContext {
 				Arguments.of(req2, alleles2, MediaType.APPLICATION_JSON, HttpStatus.OK, result2, null),
 				Arguments.of(req3, Collections.emptyList(), MediaType.APPLICATION_JSON, HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req4, null, MediaType.APPLICATION_JSON, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
-				Arguments.of(req1, alleles1, MediaType.IMAGE_PNG, HttpStatus.NOT_ACCEPTABLE, result1, new ErrorOutputModel(Problem.NOT_ACCEPTABLE.getMessage())));
+				Arguments.of(req1, alleles1, MediaType.IMAGE_PNG, HttpStatus.NOT_ACCEPTABLE, result1, new ErrorOutputModel(Problem.NOT_ACCEPTABLE.getMessage())),
+				Arguments.of(req5, alleles1, MediaType.APPLICATION_JSON, HttpStatus.OK, result1, null),
+				Arguments.of(req5, Collections.emptyList(), MediaType.APPLICATION_JSON, HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req6, null, MediaType.APPLICATION_JSON, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getAllelesFile_params() {
@@ -87,6 +95,23 @@ public class AlleleControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, alleles2, HttpStatus.OK, result5, null));
 	}
 
+	private static Stream<Arguments> getAllAllelesFile_params() {
+		String uri = "/taxa/%s/loci/%s/alleles/files/all";
+		List<Allele> alleles1 = new ArrayList<Allele>() {{
+			add(new Allele(TAXONID, LOCUSID, "id", null, null));
+		}};
+		List<Allele> alleles2 = new ArrayList<Allele>() {{
+			add(new Allele(TAXONID, LOCUSID, "id", null, PROJECTID));
+			add(new Allele(TAXONID, LOCUSID, "id2", null, PROJECTID));
+		}};
+		MockHttpServletRequestBuilder req1 = get(String.format(uri, TAXONID, LOCUSID)),
+				req2 = get(String.format(uri, TAXONID, LOCUSID)).param("project", PROJECTID);
+		return Stream.of(Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, new FastaFormatter().format(Collections.emptyList(), 60), null),
+				Arguments.of(req1, alleles1, HttpStatus.OK, new FastaFormatter().format(alleles1, 60), null),
+				Arguments.of(req2, alleles2, HttpStatus.OK, new FastaFormatter().format(alleles2, 60), null),
+				Arguments.of(req1, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+	}
+
 	private static Stream<Arguments> getAllele_params() {
 		String uri = "/taxa/%s/loci/%s/alleles/%s";
 		Allele allele1 = new Allele(TAXONID, LOCUSID, "id1", "description", null);
@@ -193,6 +218,7 @@ public class AlleleControllerTests extends ControllerTestsContext {
 	@MethodSource("getAllelesList_params")
 	public void getAllelesList(MockHttpServletRequestBuilder req, List<VersionedEntity<Allele.PrimaryKey>> alleles, MediaType mediatype, HttpStatus expectedStatus, List<AlleleOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(alleleService.getAllelesEntities(anyString(), anyString(), any(), anyInt(), anyInt())).thenReturn(Optional.ofNullable(alleles));
+		Mockito.when(alleleService.getAllelesEntities(anyString(), anyString(), any(), anyString(), anyInt())).thenReturn(Optional.ofNullable(alleles));
 		MockHttpServletResponse result = executeRequest(req, mediatype);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -204,7 +230,9 @@ public class AlleleControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
@@ -220,6 +248,20 @@ public class AlleleControllerTests extends ControllerTestsContext {
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
+
+	@ParameterizedTest
+	@MethodSource("getAllAllelesFile_params")
+	public void getAllAllelesFile(MockHttpServletRequestBuilder req, List<Allele> alleles, HttpStatus expectedStatus, String expectedResult, ErrorOutputModel expectedError) throws Exception {
+		Iterator<Allele> iterator = alleles == null ? null : alleles.iterator();
+		Mockito.when(alleleService.getAllAlleles(anyString(), anyString(), any(), anyInt())).thenReturn(Optional.ofNullable(iterator));
+		MockHttpServletResponse result = executeStreamRequest(req, MediaType.TEXT_PLAIN);
+		assertEquals(expectedStatus.value(), result.getStatus());
+		if (expectedStatus.is2xxSuccessful()) {
+			assertTrue(MediaType.TEXT_PLAIN.isCompatibleWith(MediaType.parseMediaType(result.getContentType())));
+			assertEquals(expectedResult, result.getContentAsString());
+		} else
+			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
+	}
 	@ParameterizedTest
 	@MethodSource("getAllele_params")
 	public void getAllele(MockHttpServletRequestBuilder req, Allele allele, HttpStatus expectedStatus, OutputModel expectedResult) throws Exception {
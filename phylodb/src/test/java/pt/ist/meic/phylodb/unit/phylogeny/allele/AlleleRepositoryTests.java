@@ -7,6 +7,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.ogm.model.Result;
 import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.db.VersionedRepository;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
@@ -171,6 +172,78 @@ public class AlleleRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Allele[0], new Allele[0]));
 	}
 
+	private static Stream<Arguments> findAllEntitiesCursorNoProject_params() {
+		String id1 = "3test", id2 = "10test";
+		String taxonKey = TAXON1.getPrimaryKey();
+		String locusKey = LOCUS1.getPrimaryKey().getId();
+		Allele firstE = new Allele(taxonKey, locusKey, id1, 1, false, "description", null),
+				firstChangedE = new Allele(taxonKey, locusKey, id1, 2, false, "description2", null),
+				secondE = new Allele(taxonKey, locusKey, id2, 1, false, null, null);
+		VersionedEntity<Allele.PrimaryKey> firstChanged = new VersionedEntity<>(new Allele.PrimaryKey(taxonKey, locusKey, id1), 2, false),
+				second = new VersionedEntity<>(new Allele.PrimaryKey(taxonKey, locusKey, id2), 1, false),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[1].getPrimaryKey(), STATE[1].getVersion(), STATE[1].isDeprecated());
+		return Stream.of(Arguments.of(null, new Allele[0], Collections.emptyList()),
+				Arguments.of(null, new Allele[]{STATE[0], STATE[1], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Allele[]{STATE[0], STATE[1], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Allele[]{STATE[0], STATE[1], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Allele[]{STATE[0], STATE[1], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Allele[]{STATE[0], STATE[1], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Allele[0], Collections.emptyList()));
+	}
+
+	private static Stream<Arguments> findAllCursorNoProject_params() {
+		String id1 = "3test", id2 = "10test";
+		String taxonKey = TAXON1.getPrimaryKey();
+		String locusKey = LOCUS1.getPrimaryKey().getId();
+		Allele first = new Allele(taxonKey, locusKey, id1, 1, false, "description", null),
+				firstChanged = new Allele(taxonKey, locusKey, id1, 2, false, "description2", null),
+				second = new Allele(taxonKey, locusKey, id2, 1, false, null, null);
+		return Stream.of(Arguments.of(null, new Allele[0], new Allele[0]),
+				Arguments.of(null, new Allele[]{STATE[0], STATE[1], first}, new Allele[]{STATE[0], STATE[1]}),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Allele[]{STATE[0], STATE[1], first, firstChanged}, new Allele[]{STATE[1], firstChanged}),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Allele[]{STATE[0], STATE[1], first, firstChanged, second}, new Allele[]{firstChanged, second}),
+				Arguments.of(Cursor.encode(id1), new Allele[]{STATE[0], STATE[1], first, second}, new Allele[]{second}),
+				Arguments.of(Cursor.encode(id2), new Allele[]{STATE[0], STATE[1], first, second}, new Allele[0]),
+				Arguments.of("%", new Allele[0], new Allele[0]));
+	}
+
+	private static Stream<Arguments> findAllEntitiesCursorProject_params() {
+		String id1 = "3test", id2 = "10test";
+		String taxonKey = TAXON1.getPrimaryKey();
+		String locusKey = LOCUS1.getPrimaryKey().getId();
+		Allele firstE = new Allele(taxonKey, locusKey, id1, 1, false, "description", PROJECTID),
+				firstChangedE = new Allele(taxonKey, locusKey, id1, 2, false, "description2", PROJECTID),
+				secondE = new Allele(taxonKey, locusKey, id2, 1, false, null, PROJECTID);
+		VersionedEntity<Allele.PrimaryKey> firstChanged = new VersionedEntity<>(new Allele.PrimaryKey(taxonKey, locusKey, id1, PROJECTID), 2, false),
+				second = new VersionedEntity<>(new Allele.PrimaryKey(taxonKey, locusKey, id2, PROJECTID), 1, false),
+				state0 = new VersionedEntity<>(STATE[2].getPrimaryKey(), STATE[2].getVersion(), STATE[2].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[3].getPrimaryKey(), STATE[3].getVersion(), STATE[3].isDeprecated());
+		return Stream.of(Arguments.of(null, new Allele[0], Collections.emptyList()),
+				Arguments.of(null, new Allele[]{STATE[2], STATE[3], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[2].getPrimaryKey().getId()), new Allele[]{STATE[2], STATE[3], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[3].getPrimaryKey().getId()), new Allele[]{STATE[2], STATE[3], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Allele[]{STATE[2], STATE[3], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Allele[]{STATE[2], STATE[3], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Allele[0], Collections.emptyList()));
+	}
+
+	private static Stream<Arguments> findAllCursorProject_params() {
+		String id1 = "3test", id2 = "10test";
+		String taxonKey = TAXON1.getPrimaryKey();
+		String locusKey = LOCUS1.getPrimaryKey().getId();
+		Allele first = new Allele(taxonKey, locusKey, id1, 1, false, "description", PROJECTID),
+				firstChanged = new Allele(taxonKey, locusKey, id1, 2, false, "description2", PROJECTID),
+				second = new Allele(taxonKey, locusKey, id2, 1, false, null, PROJECTID);
+		return Stream.of(Arguments.of(null, new Allele[0], new Allele[0]),
+				Arguments.of(null, new Allele[]{STATE[2], STATE[3], first}, new Allele[]{STATE[2], STATE[3]}),
+				Arguments.of(Cursor.encode(STATE[2].getPrimaryKey().getId()), new Allele[]{STATE[2], STATE[3], first, firstChanged}, new Allele[]{STATE[3], firstChanged}),
+				Arguments.of(Cursor.encode(STATE[3].getPrimaryKey().getId()), new Allele[]{STATE[2], STATE[3], first, firstChanged, second}, new Allele[]{firstChanged, second}),
+				Arguments.of(Cursor.encode(id1), new Allele[]{STATE[2], STATE[3], first, second}, new Allele[]{second}),
+				Arguments.of(Cursor.encode(id2), new Allele[]{STATE[2], STATE[3], first, second}, new Allele[0]),
+				Arguments.of("%", new Allele[0], new Allele[0]));
+	}
+
 	private static Stream<Arguments> find_params() {
 		Allele.PrimaryKey key = new Allele.PrimaryKey(TAXON1.getPrimaryKey(), LOCUS1.getPrimaryKey().getId(), "test"),
 				keyP = new Allele.PrimaryKey(TAXON1.getPrimaryKey(), LOCUS1.getPrimaryKey().getId(), "test", PROJECTID);
@@ -270,6 +343,19 @@ public class AlleleRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(references7, true));
 	}
 
+	private static Stream<Arguments> findMissing_params() {
+		String taxonId = TAXON1.getPrimaryKey(), locusId = LOCUS1.getPrimaryKey().getId();
+		Allele.PrimaryKey key1 = STATE[0].getPrimaryKey(), key2 = STATE[2].getPrimaryKey(),
+				notKey1 = new Allele.PrimaryKey(taxonId, locusId, "not"), notKey2 = new Allele.PrimaryKey(taxonId, locusId, "not", PROJECTID);
+		Allele saved = new Allele(taxonId, locusId, "not", 1, false, "sequence", null);
+		return Stream.of(Arguments.of(Collections.emptyList(), null, Collections.emptySet()),
+				Arguments.of(Collections.singletonList(key1), null, Collections.emptySet()),
+				Arguments.of(Arrays.asList(key1, key2), null, Collections.emptySet()),
+				Arguments.of(Collections.singletonList(notKey1), null, Collections.singleton(notKey1)),
+				Arguments.of(Arrays.asList(key1, notKey1, notKey2), null, new HashSet<>(Arrays.asList(notKey1, notKey2))),
+				Arguments.of(Arrays.asList(notKey1, notKey2), saved, Collections.singleton(notKey2)));
+	}
+
 	private static Stream<Arguments> saveAll_params() {
 		Allele.PrimaryKey firstKey = ALLELE11.getPrimaryKey(), firstPkey = ALLELE11P.getPrimaryKey();
 		Allele firstConflict = new Allele(firstKey.getTaxonId(), firstKey.getLocusId(), firstKey.getId(), 2, false, "teste", firstKey.getProjectId()),
@@ -414,6 +500,74 @@ public class AlleleRepositoryTests extends RepositoryTestsContext {
 		assertArrayEquals(expected, alleles.toArray());
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllEntitiesCursorNoProject_params")
+	public void findAllEntitiesCursorNoProject(String cursor, Allele[] state, List<VersionedEntity<Allele.PrimaryKey>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<Allele.PrimaryKey>>> result = alleleRepository.findAllEntities(cursor, LIMIT, TAXON1.getPrimaryKey(), LOCUS1.getPrimaryKey().getId(), null);
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<Allele.PrimaryKey>> alleles = result.get();
+		assertEquals(expected.size(), alleles.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), alleles.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), alleles.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), alleles.get(i).isDeprecated());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("findAllEntitiesCursorProject_params")
+	public void findAllEntitiesCursorProject(String cursor, Allele[] state, List<VersionedEntity<Allele.PrimaryKey>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<Allele.PrimaryKey>>> result = alleleRepository.findAllEntities(cursor, LIMIT, TAXON1.getPrimaryKey(), LOCUS1.getPrimaryKey().getId(), PROJECTID);
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<Allele.PrimaryKey>> alleles = result.get();
+		assertEquals(expected.size(), alleles.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), alleles.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), alleles.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), alleles.get(i).isDeprecated());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("findAllCursorNoProject_params")
+	public void findAllCursorNoProject(String cursor, Allele[] state, Allele[] expected) {
+		store(state);
+		Optional<List<Allele>> result = alleleRepository.findAll(cursor, LIMIT, TAXON1.getPrimaryKey(), LOCUS1.getPrimaryKey().getId(), null);
+		if (expected.length == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<Allele> alleles = result.get();
+		assertEquals(expected.length, alleles.size());
+		assertArrayEquals(expected, alleles.toArray());
+	}
+
+	@ParameterizedTest
+	@MethodSource("findAllCursorProject_params")
+	public void findAllCursorProject(String cursor, Allele[] state, Allele[] expected) {
+		store(state);
+		Optional<List<Allele>> result = alleleRepository.findAll(cursor, LIMIT, TAXON1.getPrimaryKey(), LOCUS1.getPrimaryKey().getId(), PROJECTID);
+		if (expected.length == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<Allele> alleles = result.get();
+		assertEquals(expected.length, alleles.size());
+		assertArrayEquals(expected, alleles.toArray());
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(Allele.PrimaryKey key, long version, Allele[] state, Allele expected) {
@@ -466,11 +620,23 @@ public class AlleleRepositoryTests extends RepositoryTestsContext {
 	@ParameterizedTest
 	@MethodSource("anyMissing_params")
 	public void anyMissing(List<VersionedEntity<Allele.PrimaryKey>> references, boolean expected) {
-		store(AlleleRepositoryTests.STATE);
+		Arrays.stream(AlleleRepositoryTests.STATE).forEach(alleleRepository::save);
 		boolean result = alleleRepository.anyMissing(references);
 		assertEquals(expected, result);
 	}
 
+	@ParameterizedTest
+	@MethodSource("findMissing_params")
+	public void findMissing(List<Allele.PrimaryKey> references, Allele saved, Set<Allele.PrimaryKey> expected) {
+		Arrays.stream(AlleleRepositoryTests.STATE).forEach(alleleRepository::save);
+		Set<Allele.PrimaryKey> result = alleleRepository.findMissing(TAXON1.getPrimaryKey(), references);
+		if (saved != null) {
+			alleleRepository.save(saved);
+			result = alleleRepository.findMissing(TAXON1.getPrimaryKey(), references);
+		}
+		assertEquals(expected, result);
+	}
+
 	@ParameterizedTest
 	@MethodSource("saveAll_params")
 	public void saveAll(List<Allele> alleles, Allele[] state, UUID projectId, Allele[] expectedState, boolean executed, int nodesCreated, int relationshipsCreated) {
@@ -19,6 +19,8 @@ import pt.ist.meic.phylodb.phylogeny.locus.model.Locus;
 import pt.ist.meic.phylodb.phylogeny.locus.model.LocusInputModel;
 import pt.ist.meic.phylodb.phylogeny.locus.model.LocusOutputModel;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.util.*;
@@ -26,6 +28,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -39,7 +42,8 @@ public class LocusControllerTests extends ControllerTestsContext {
 			add(new VersionedEntity<>(new Locus.PrimaryKey(TAXONID, "id"), 1, false));
 		}};
 		MockHttpServletRequestBuilder req1 = get(String.format(uri, TAXONID)).param("page", "0"),
-				req2 = get(uri), req3 = get(String.format(uri, TAXONID)).param("page", "-10");
+				req2 = get(uri), req3 = get(String.format(uri, TAXONID)).param("page", "-10"),
+				req4 = get(String.format(uri, TAXONID)).param("cursor", Cursor.encode("id")), req5 = get(String.format(uri, TAXONID)).param("cursor", "%");
 		List<LocusOutputModel> result = loci.stream()
 				.map(LocusOutputModel::new)
 				.collect(Collectors.toList());
@@ -47,7 +51,10 @@ public class LocusControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req2, loci, HttpStatus.OK, result, null),
 				Arguments.of(req2, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
-				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
+				Arguments.of(req4, loci, HttpStatus.OK, result, null),
+				Arguments.of(req4, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req5, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getLocus_params() {
@@ -95,6 +102,7 @@ public class LocusControllerTests extends ControllerTestsContext {
 	@MethodSource("getLoci_params")
 	public void getLoci(MockHttpServletRequestBuilder req, List<VersionedEntity<Locus.PrimaryKey>> loci, HttpStatus expectedStatus, List<LocusOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(locusService.getLoci(anyString(), anyInt(), anyInt())).thenReturn(Optional.ofNullable(loci));
+		Mockito.when(locusService.getLoci(anyString(), anyString(), anyInt())).thenReturn(Optional.ofNullable(loci));
 		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -106,7 +114,9 @@ public class LocusControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
@@ -7,6 +7,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.ogm.model.Result;
 import pt.ist.meic.phylodb.phylogeny.locus.model.Locus;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.db.VersionedRepository;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
@@ -62,6 +63,25 @@ public class LocusRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Locus[0], Collections.emptyList()));
 	}
 
+	private static Stream<Arguments> findAllCursor_params() {
+		String id1 = "3test", id2 = "10test";
+		String taxonKey = TAXON1.getPrimaryKey();
+		Locus firstE = new Locus(taxonKey, id1, 1, false, "description"),
+				firstChangedE = new Locus(taxonKey, id1, 2, false, "description2"),
+				secondE = new Locus(taxonKey, id2, 1, false, null);
+		VersionedEntity<Locus.PrimaryKey> firstChanged = new VersionedEntity<>(new Locus.PrimaryKey(taxonKey, id1), 2, false),
+				second = new VersionedEntity<>(new Locus.PrimaryKey(taxonKey, id2), 1, false),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[1].getPrimaryKey(), STATE[1].getVersion(), STATE[1].isDeprecated());
+		return Stream.of(Arguments.of(null, new Locus[0], Collections.emptyList()),
+				Arguments.of(null, new Locus[]{STATE[0], STATE[1], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Locus[]{STATE[0], STATE[1], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Locus[]{STATE[0], STATE[1], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Locus[]{STATE[0], STATE[1], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Locus[]{STATE[0], STATE[1], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Locus[0], Collections.emptyList()));
+	}
+
 	private static Stream<Arguments> find_params() {
 		Locus.PrimaryKey key = new Locus.PrimaryKey(TAXON1.getPrimaryKey(), "test");
 		Locus first = new Locus(key.getTaxonId(), key.getId(), 1, false, null),
@@ -185,6 +205,25 @@ public class LocusRepositoryTests extends RepositoryTestsContext {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllCursor_params")
+	public void findAllCursor(String cursor, Locus[] state, List<VersionedEntity<Locus.PrimaryKey>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<Locus.PrimaryKey>>> result = locusRepository.findAllEntities(cursor, LIMIT, TAXON1.getPrimaryKey());
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<Locus.PrimaryKey>> loci = result.get();
+		assertEquals(expected.size(), loci.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), loci.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), loci.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), loci.get(i).isDeprecated());
+		}
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(Locus.PrimaryKey key, long version, Locus[] state, Locus expected) {
@@ -19,6 +19,8 @@ import pt.ist.meic.phylodb.phylogeny.taxon.model.Taxon;
 import pt.ist.meic.phylodb.phylogeny.taxon.model.TaxonInputModel;
 import pt.ist.meic.phylodb.phylogeny.taxon.model.TaxonOutputModel;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.util.*;
@@ -26,6 +28,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -37,7 +40,8 @@ public class TaxonControllerTests extends ControllerTestsContext {
 			add(new VersionedEntity<>("id", 1, false));
 		}};
 		MockHttpServletRequestBuilder req1 = get(uri).param("page", "0"),
-				req2 = get(uri), req3 = get(uri).param("page", "-10");
+				req2 = get(uri), req3 = get(uri).param("page", "-10"),
+				req4 = get(uri).param("cursor", Cursor.encode("id")), req5 = get(uri).param("cursor", "%");
 		List<TaxonOutputModel> result = taxa.stream()
 				.map(TaxonOutputModel::new)
 				.collect(Collectors.toList());
@@ -45,7 +49,10 @@ public class TaxonControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req2, taxa, HttpStatus.OK, result, null),
 				Arguments.of(req2, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
-				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
+				Arguments.of(req4, taxa, HttpStatus.OK, result, null),
+				Arguments.of(req4, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req5, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getTaxon_params() {
@@ -93,6 +100,7 @@ public class TaxonControllerTests extends ControllerTestsContext {
 	@MethodSource("getTaxa_params")
 	public void getTaxa(MockHttpServletRequestBuilder req, List<VersionedEntity<String>> taxa, HttpStatus expectedStatus, List<TaxonOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(taxonService.getTaxa(anyInt(), anyInt())).thenReturn(Optional.ofNullable(taxa));
+		Mockito.when(taxonService.getTaxa(anyString(), anyInt())).thenReturn(Optional.ofNullable(taxa));
 		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -104,7 +112,9 @@ public class TaxonControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
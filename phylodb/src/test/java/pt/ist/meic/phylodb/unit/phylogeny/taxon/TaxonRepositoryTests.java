@@ -6,6 +6,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.ogm.model.Result;
 import pt.ist.meic.phylodb.phylogeny.taxon.model.Taxon;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -59,6 +60,24 @@ public class TaxonRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Taxon[0], Collections.emptyList()));
 	}
 
+	private static Stream<Arguments> findAllCursor_params() {
+		String id1 = "3test", id2 = "10test";
+		Taxon firstE = new Taxon(id1, 1, false, "teste"),
+				firstChangedE = new Taxon(id1, 2, false, "teste1"),
+				secondE = new Taxon(id2, 1, false, "teste");
+		VersionedEntity<String> firstChanged = new VersionedEntity<>(id1, 2, false),
+				second = new VersionedEntity<>(id2, 1, false),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[1].getPrimaryKey(), STATE[1].getVersion(), STATE[1].isDeprecated());
+		return Stream.of(Arguments.of(null, new Taxon[0], Collections.emptyList()),
+				Arguments.of(null, new Taxon[]{STATE[0], STATE[1], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey()), new Taxon[]{STATE[0], STATE[1], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey()), new Taxon[]{STATE[0], STATE[1], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Taxon[]{STATE[0], STATE[1], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Taxon[]{STATE[0], STATE[1], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Taxon[0], Collections.emptyList()));
+	}
+
 	private static Stream<Arguments> find_params() {
 		String key = "test";
 		Taxon first = new Taxon(key, 1, false, null),
@@ -158,6 +177,25 @@ public class TaxonRepositoryTests extends RepositoryTestsContext {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllCursor_params")
+	public void findAllCursor(String cursor, Taxon[] state, List<VersionedEntity<String>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<String>>> result = taxonRepository.findAllEntities(cursor, LIMIT);
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<String>> taxa = result.get();
+		assertEquals(expected.size(), taxa.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), taxa.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), taxa.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), taxa.get(i).isDeprecated());
+		}
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(String key, long version, Taxon[] state, Taxon expected) {
@@ -22,6 +22,8 @@ import pt.ist.meic.phylodb.security.project.model.ProjectInputModel;
 import pt.ist.meic.phylodb.security.project.model.ProjectOutputModel;
 import pt.ist.meic.phylodb.security.user.model.User;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.util.*;
@@ -30,6 +32,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -41,7 +44,8 @@ public class ProjectControllerTests extends ControllerTestsContext {
 			add(new VersionedEntity<>(UUID.randomUUID().toString(), 1, false));
 		}};
 		MockHttpServletRequestBuilder req1 = get(uri).param("page", "0"),
-				req2 = get(uri), req3 = get(uri).param("page", "-10");
+				req2 = get(uri), req3 = get(uri).param("page", "-10"),
+				req4 = get(uri).param("cursor", Cursor.encode(UUID.randomUUID().toString())), req5 = get(uri).param("cursor", "%");
 		List<ProjectOutputModel> result = projects.stream()
 				.map(ProjectOutputModel::new)
 				.collect(Collectors.toList());
@@ -49,7 +53,10 @@ public class ProjectControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req2, projects, HttpStatus.OK, result, null),
 				Arguments.of(req2, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
-				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
+				Arguments.of(req4, projects, HttpStatus.OK, result, null),
+				Arguments.of(req4, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req5, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getProject_params() {
@@ -107,6 +114,7 @@ public class ProjectControllerTests extends ControllerTestsContext {
 	@MethodSource("getProjects_params")
 	public void getProjects(MockHttpServletRequestBuilder req, List<VersionedEntity<String>> projects, HttpStatus expectedStatus, List<ProjectOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(projectService.getProjects(any(), any(), anyInt(), anyInt())).thenReturn(Optional.ofNullable(projects));
+		Mockito.when(projectService.getProjects(any(), any(), anyString(), anyInt())).thenReturn(Optional.ofNullable(projects));
 		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -118,7 +126,9 @@ public class ProjectControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
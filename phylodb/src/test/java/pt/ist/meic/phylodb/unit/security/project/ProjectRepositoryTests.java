@@ -9,6 +9,7 @@ import pt.ist.meic.phylodb.security.authorization.Visibility;
 import pt.ist.meic.phylodb.security.project.model.Project;
 import pt.ist.meic.phylodb.security.user.model.User;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -65,6 +66,28 @@ public class ProjectRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Project[0], Collections.emptyList()));
 	}
 
+	private static Stream<Arguments> findAllCursor_params() {
+		String key1 = "4f809af7-2c99-43f7-b674-4843c77384c7", key2 = "5f809af7-2c99-43f7-b674-4843c77384c7", key3 = "9f809af7-2c99-43f7-b674-4843c77384c7";
+		Project firstE = new Project(key1, 1, false, "name", Visibility.PRIVATE, null, new User.PrimaryKey[]{USER1.getPrimaryKey()}),
+				firstChangedE = new Project(key1, 2, false, "name2", Visibility.PRIVATE, null, new User.PrimaryKey[]{USER1.getPrimaryKey()}),
+				secondE = new Project(key2, 1, false, "name3", Visibility.PUBLIC, null, new User.PrimaryKey[]{USER2.getPrimaryKey()}),
+				privateE = new Project("7f809af7-2c99-43f7-b674-4843c77384c7", 1, false, "name4", Visibility.PRIVATE, null, new User.PrimaryKey[]{USER2.getPrimaryKey()}),
+				thirdE = new Project(key3, 1, false, "name5", Visibility.PRIVATE, null, new User.PrimaryKey[]{USER1.getPrimaryKey()});
+		VersionedEntity<String> first = new VersionedEntity<>(key1, 1, false),
+				firstChanged = new VersionedEntity<>(key1, 2, false),
+				second = new VersionedEntity<>(key2, 1, false),
+				third = new VersionedEntity<>(key3, 1, false),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state2 = new VersionedEntity<>(STATE[2].getPrimaryKey(), STATE[2].getVersion(), STATE[2].isDeprecated());
+		return Stream.of(Arguments.of(null, new Project[0], Collections.emptyList()),
+				Arguments.of(null, new Project[]{STATE[0], STATE[1], STATE[2], firstE}, Arrays.asList(state0, state2)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey()), new Project[]{STATE[0], STATE[1], STATE[2], firstE, firstChangedE}, Arrays.asList(state2, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[2].getPrimaryKey()), new Project[]{STATE[0], STATE[1], STATE[2], firstE, secondE}, Arrays.asList(first, second)),
+				Arguments.of(Cursor.encode(key1), new Project[]{STATE[0], STATE[1], STATE[2], firstE, secondE, privateE, thirdE}, Arrays.asList(second, third)),
+				Arguments.of(Cursor.encode(key2), new Project[]{STATE[0], STATE[1], STATE[2], firstE, secondE, privateE}, Collections.emptyList()),
+				Arguments.of("%", new Project[0], Collections.emptyList()));
+	}
+
 	private static Stream<Arguments> find_params() {
 		String key = "4f809af7-2c99-43f7-b674-4843c77384c7";
 		Project first = new Project(key, 1, false, "name", Visibility.PRIVATE, null, new User.PrimaryKey[]{USER1.getPrimaryKey()}),
@@ -188,6 +211,25 @@ public class ProjectRepositoryTests extends RepositoryTestsContext {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllCursor_params")
+	public void findAllCursor(String cursor, Project[] state, List<VersionedEntity<String>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<String>>> result = projectRepository.findAllEntities(cursor, 2, USER1.getPrimaryKey());
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<String>> projects = result.get();
+		assertEquals(expected.size(), projects.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), projects.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), projects.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), projects.get(i).isDeprecated());
+		}
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(String key, long version, Project[] state, Project expected) {
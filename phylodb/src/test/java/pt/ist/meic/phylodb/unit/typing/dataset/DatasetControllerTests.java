@@ -21,6 +21,8 @@ import pt.ist.meic.phylodb.typing.dataset.model.DatasetOutputModel;
 import pt.ist.meic.phylodb.typing.dataset.model.GetDatasetOutputModel;
 import pt.ist.meic.phylodb.typing.schema.model.Schema;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.util.*;
@@ -29,6 +31,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -42,7 +45,8 @@ public class DatasetControllerTests extends ControllerTestsContext {
 			add(dataset);
 		}};
 		MockHttpServletRequestBuilder req1 = get(String.format(uri, projectId)).param("page", "0"),
-				req2 = get(String.format(uri, projectId)), req3 = get(String.format(uri, projectId)).param("page", "-10");
+				req2 = get(String.format(uri, projectId)), req3 = get(String.format(uri, projectId)).param("page", "-10"),
+				req4 = get(String.format(uri, projectId)).param("cursor", Cursor.encode(UUID.randomUUID().toString())), req5 = get(String.format(uri, projectId)).param("cursor", "%");
 		List<DatasetOutputModel> result = datasets.stream()
 				.map(DatasetOutputModel::new)
 				.collect(Collectors.toList());
@@ -50,7 +54,10 @@ public class DatasetControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req2, datasets, HttpStatus.OK, result, null),
 				Arguments.of(req2, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
-				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
+				Arguments.of(req4, datasets, HttpStatus.OK, result, null),
+				Arguments.of(req4, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req5, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getProject_params() {
@@ -109,6 +116,7 @@ public class DatasetControllerTests extends ControllerTestsContext {
 	@MethodSource("getDatasets_params")
 	public void getDatasets(MockHttpServletRequestBuilder req, List<VersionedEntity<Dataset.PrimaryKey>> datasets, HttpStatus expectedStatus, List<DatasetOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(datasetService.getDatasets(any(), anyInt(), anyInt())).thenReturn(Optional.ofNullable(datasets));
+		Mockito.when(datasetService.getDatasets(any(), anyString(), anyInt())).thenReturn(Optional.ofNullable(datasets));
 		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -120,7 +128,9 @@ public class DatasetControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
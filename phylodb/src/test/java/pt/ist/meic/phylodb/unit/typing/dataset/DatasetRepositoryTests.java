@@ -8,6 +8,7 @@ import org.neo4j.ogm.model.Result;
 import pt.ist.meic.phylodb.typing.dataset.model.Dataset;
 import pt.ist.meic.phylodb.typing.schema.model.Schema;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -63,6 +64,26 @@ public class DatasetRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Dataset[0], Collections.emptyList()));
 	}
 
+	private static Stream<Arguments> findAllCursor_params() {
+		String id1 = "4f809af7-2c99-43f7-b674-4843c77384c7", id2 = "5f809af7-2c99-43f7-b674-4843c77384c7";
+		VersionedEntity<Schema.PrimaryKey> s1 = new VersionedEntity<>(SCHEMA1.getPrimaryKey(), SCHEMA1.getVersion(), SCHEMA1.isDeprecated()),
+				s2 = new VersionedEntity<>(SCHEMA2.getPrimaryKey(), SCHEMA2.getVersion(), SCHEMA2.isDeprecated());
+		Dataset firstE = new Dataset(PROJECT1.getPrimaryKey(), id1, 1, false, "name", s1),
+				firstChangedE = new Dataset(PROJECT1.getPrimaryKey(), id1, 2, false, "name2", s2),
+				secondE = new Dataset(PROJECT1.getPrimaryKey(), id2, 1, false, "name3", s2);
+		VersionedEntity<Dataset.PrimaryKey> firstChanged = new VersionedEntity<>(new Dataset.PrimaryKey(PROJECT1.getPrimaryKey(), id1), 2, false),
+				second = new VersionedEntity<>(new Dataset.PrimaryKey(PROJECT1.getPrimaryKey(), id2), 1, false),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[1].getPrimaryKey(), STATE[1].getVersion(), STATE[1].isDeprecated());
+		return Stream.of(Arguments.of(null, new Dataset[0], Collections.emptyList()),
+				Arguments.of(null, new Dataset[]{STATE[0], STATE[1], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Dataset[]{STATE[0], STATE[1], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Dataset[]{STATE[0], STATE[1], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Dataset[]{STATE[0], STATE[1], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Dataset[]{STATE[0], STATE[1], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Dataset[0], Collections.emptyList()));
+	}
+
 	private static Stream<Arguments> find_params() {
 		Dataset.PrimaryKey key = new Dataset.PrimaryKey(PROJECT1.getPrimaryKey(), "4f809af7-2c99-43f7-b674-4843c77384c7");
 		VersionedEntity<Schema.PrimaryKey> s1 = new VersionedEntity<>(SCHEMA1.getPrimaryKey(), SCHEMA1.getVersion(), SCHEMA1.isDeprecated());
@@ -193,6 +214,25 @@ public class DatasetRepositoryTests extends RepositoryTestsContext {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllCursor_params")
+	public void findAllCursor(String cursor, Dataset[] state, List<VersionedEntity<Dataset.PrimaryKey>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<Dataset.PrimaryKey>>> result = datasetRepository.findAllEntities(cursor, LIMIT, PROJECT1.getPrimaryKey());
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<Dataset.PrimaryKey>> datasets = result.get();
+		assertEquals(expected.size(), datasets.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), datasets.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), datasets.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), datasets.get(i).isDeprecated());
+		}
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(Dataset.PrimaryKey key, long version, Dataset[] state, Dataset expected) {
@@ -23,6 +23,8 @@ import pt.ist.meic.phylodb.io.output.OutputModel;
 import pt.ist.meic.phylodb.typing.isolate.model.*;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.Pair;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -31,6 +33,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -47,7 +51,8 @@ public class IsolateControllerTests extends ControllerTestsContext {
 			add(new VersionedEntity<>(new Isolate.PrimaryKey(PROJECTID, DATASETID, "2"), 1, false));
 		}};
 		MockHttpServletRequestBuilder req1 = get(String.format(uri, PROJECTID, DATASETID)).param("page", "0"),
-				req2 = get(String.format(uri, PROJECTID, DATASETID)), req3 = get(String.format(uri, PROJECTID, DATASETID)).param("page", "-10");
+				req2 = get(String.format(uri, PROJECTID, DATASETID)), req3 = get(String.format(uri, PROJECTID, DATASETID)).param("page", "-10"),
+				req4 = get(String.format(uri, PROJECTID, DATASETID)).param("cursor", Cursor.encode("1")), req5 = get(String.format(uri, PROJECTID, DATASETID)).param("cursor", "%");
 		List<IsolateOutputModel> result1 = isolates.stream()
 				.map(IsolateOutputModel::new)
 				.collect(Collectors.toList());
@@ -55,7 +60,10 @@ public class IsolateControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req2, isolates, HttpStatus.OK, result1, null),
 				Arguments.of(req2, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
-				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
+				Arguments.of(req4, isolates, HttpStatus.OK, result1, null),
+				Arguments.of(req4, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req5, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getIsolatesFile_params() {
@@ -74,6 +82,22 @@ public class IsolateControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, isolates, HttpStatus.OK, result4, null));
 	}
 
+	private static Stream<Arguments> getAllIsolatesFile_params() {
+		String uri = "/projects/%s/datasets/%s/isolates/files/all";
+		Profile profile = new Profile(PROJECTID, DATASETID, "1", "aka", new String[]{"1", "2", "3"});
+		Isolate isolate1 = new Isolate(PROJECTID, DATASETID, "1", "description", new Ancillary[]{ANCILLARY1, ANCILLARY2}, null);
+		Isolate isolate2 = new Isolate(PROJECTID, DATASETID, "2", "test", new Ancillary[]{ANCILLARY1}, profile.getPrimaryKey().getId());
+		List<Isolate> isolates = new ArrayList<Isolate>() {{
+			add(isolate1);
+			add(isolate2);
+		}};
+		String[] columns1 = new String[0], columns2 = new String[]{ANCILLARY1.getKey(), ANCILLARY2.getKey(), IsolatesFormatter.ST};
+		MockHttpServletRequestBuilder req1 = get(String.format(uri, PROJECTID, DATASETID));
+		return Stream.of(Arguments.of(req1, columns1, Collections.emptyList(), HttpStatus.OK, new IsolatesFormatter().format(Collections.emptyList()), null),
+				Arguments.of(req1, columns2, isolates, HttpStatus.OK, new IsolatesFormatter().format(isolates), null),
+				Arguments.of(req1, null, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+	}
+
 	private static Stream<Arguments> getIsolate_params() {
 		String uri = "/projects/%s/datasets/%s/isolates/%s";
 		Profile profile = new Profile(PROJECTID, DATASETID, "1", "aka", new String[]{"1", "2", "3"});
@@ -162,6 +186,7 @@ public class IsolateControllerTests extends ControllerTestsContext {
 	@MethodSource("getIsolatesList_params")
 	public void getIsolatesList(MockHttpServletRequestBuilder req, List<VersionedEntity<Isolate.PrimaryKey>> isolates, HttpStatus expectedStatus, List<IsolateOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(isolateService.getIsolatesEntities(any(), any(), anyInt(), anyInt())).thenReturn(Optional.ofNullable(isolates));
+		Mockito.when(isolateService.getIsolatesEntities(any(), any(), anyString(), anyInt())).thenReturn(Optional.ofNullable(isolates));
 		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -173,7 +198,9 @@ public class IsolateControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
@@ -189,6 +216,20 @@ public class IsolateControllerTests extends ControllerTestsContext {
 		else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
+
+	@ParameterizedTest
+	@MethodSource("getAllIsolatesFile_params")
+	public void getAllIsolatesFile(MockHttpServletRequestBuilder req, String[] columns, List<Isolate> isolates, HttpStatus expectedStatus, String expectedResult, ErrorOutputModel expectedError) throws Exception {
+		Pair<String[], Iterator<Isolate>> pair = isolates == null ? null : new Pair<>(columns, isolates.iterator());
+		Mockito.when(isolateService.getAllIsolates(any(), any(), anyInt())).thenReturn(Optional.ofNullable(pair));
+		MockHttpServletResponse result = executeStreamRequest(req, MediaType.TEXT_PLAIN);
+		assertEquals(expectedStatus.value(), result.getStatus());
+		if (expectedStatus.is2xxSuccessful()) {
+			assertTrue(MediaType.TEXT_PLAIN.isCompatibleWith(MediaType.parseMediaType(result.getContentType())));
+			assertEquals(expectedResult, result.getContentAsString());
+		} else
+			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
+	}
 	@ParameterizedTest
 	@MethodSource("getIsolate_params")
 	public void getIsolate(MockHttpServletRequestBuilder req, Isolate isolate, HttpStatus expectedStatus, OutputModel expectedResult) throws Exception {
@@ -5,10 +5,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.ogm.model.Result;
+import pt.ist.meic.phylodb.io.formatters.dataset.isolate.IsolatesFormatter;
 import pt.ist.meic.phylodb.typing.isolate.model.Ancillary;
 import pt.ist.meic.phylodb.typing.isolate.model.Isolate;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -91,6 +93,38 @@ public class IsolateRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Isolate[0], new Isolate[0]));
 	}
 
+	private static Stream<Arguments> findAllEntitiesCursor_params() {
+		String id1 = "3", id2 = "10";
+		Isolate firstE = isolate(id1, 1, false, null, new Ancillary[] {ANCILLARY1}, PROFILE1),
+				firstChangedE = isolate(id1, 2, false, null, new Ancillary[] {ANCILLARY2}, PROFILE1),
+				secondE = isolate(id2, 1, false, null, new Ancillary[] {ANCILLARY1, ANCILLARY2}, null);
+		VersionedEntity<Isolate.PrimaryKey> firstChanged = new VersionedEntity<>(firstChangedE.getPrimaryKey(), firstChangedE.getVersion(), firstChangedE.isDeprecated()),
+				second = new VersionedEntity<>(secondE.getPrimaryKey(), secondE.getVersion(), secondE.isDeprecated()),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[1].getPrimaryKey(), STATE[1].getVersion(), STATE[1].isDeprecated());
+		return Stream.of(Arguments.of(null, new Isolate[0], Collections.emptyList()),
+				Arguments.of(null, new Isolate[]{STATE[0], STATE[1], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Isolate[]{STATE[0], STATE[1], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Isolate[]{STATE[0], STATE[1], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Isolate[]{STATE[0], STATE[1], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Isolate[]{STATE[0], STATE[1], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Isolate[0], Collections.emptyList()));
+	}
+
+	private static Stream<Arguments> findAllCursor_params() {
+		String id1 = "3", id2 = "10";
+		Isolate first = isolate(id1, 1, false, null, new Ancillary[] {ANCILLARY1}, PROFILE1),
+				firstChanged = isolate(id1, 2, false, null, new Ancillary[] {ANCILLARY2}, PROFILE1),
+				second = isolate(id2, 1, false, null, new Ancillary[] {ANCILLARY1, ANCILLARY2}, null);
+		return Stream.of(Arguments.of(null, new Isolate[0], new Isolate[0]),
+				Arguments.of(null, new Isolate[]{STATE[0], STATE[1], first}, new Isolate[]{STATE[0], STATE[1]}),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Isolate[]{STATE[0], STATE[1], first, firstChanged}, new Isolate[]{STATE[1], firstChanged}),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Isolate[]{STATE[0], STATE[1], first, firstChanged, second}, new Isolate[]{firstChanged, second}),
+				Arguments.of(Cursor.encode(id1), new Isolate[]{STATE[0], STATE[1], first, second}, new Isolate[]{second}),
+				Arguments.of(Cursor.encode(id2), new Isolate[]{STATE[0], STATE[1], first, second}, new Isolate[0]),
+				Arguments.of("%", new Isolate[0], new Isolate[0]));
+	}
+
 	private static Stream<Arguments> find_params() {
 		Ancillary[] ancillary1 = new Ancillary[] {IsolateRepositoryTests.ANCILLARY1};
 		Ancillary[] ancillaryN = new Ancillary[] {IsolateRepositoryTests.ANCILLARY1, ANCILLARY2};
@@ -226,6 +260,24 @@ public class IsolateRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(Arrays.asList(fifthV2, sixthV2), new Isolate[]{STATE[0], fifth, sixth}, new Isolate[]{STATE[0], fifth, fifthV2, sixth, sixthV2}, true, 2, 7));
 	}
 
+	private static Stream<Arguments> findColumns_params() {
+		Ancillary a = new Ancillary("a", "value"), b = new Ancillary("b", "value"), c = new Ancillary("c", "value");
+		Isolate first = isolate("2", 1, false, null, new Ancillary[]{c, a}, PROFILE2),
+				second = isolate("10", 1, false, null, new Ancillary[]{b}, null),
+				noAncillaries1 = isolate("3", 1, false, null, new Ancillary[0], null),
+				noAncillaries2 = isolate("4", 1, false, null, new Ancillary[0], null),
+				profile = isolate("3", 1, false, null, new Ancillary[0], PROFILE1),
+				old = isolate("3", 1, false, null, new Ancillary[]{a}, PROFILE1),
+				changed = isolate("3", 2, false, null, new Ancillary[]{ANCILLARY1}, null),
+				deprecated = isolate("4", 1, true, null, new Ancillary[]{b}, PROFILE1);
+		return Stream.of(Arguments.of(new Isolate[0], new String[0]),
+				Arguments.of(new Isolate[]{noAncillaries1, noAncillaries2}, new String[0]),
+				Arguments.of(new Isolate[]{profile, noAncillaries2}, new String[]{IsolatesFormatter.ST}),
+				Arguments.of(new Isolate[]{second}, new String[]{"b"}),
+				Arguments.of(new Isolate[]{second, first}, new String[]{"a", "c", "b", IsolatesFormatter.ST}),
+				Arguments.of(new Isolate[]{old, changed, deprecated}, new String[]{ANCILLARY1.getKey()}));
+	}
+
 	private void store(Isolate[] isolates) {
 		for (Isolate isolate : isolates) {
 			Isolate.PrimaryKey key = isolate.getPrimaryKey();
@@ -343,6 +395,40 @@ public class IsolateRepositoryTests extends RepositoryTestsContext {
 		assertArrayEquals(expected, isolates.toArray());
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllEntitiesCursor_params")
+	public void findAllEntitiesCursor(String cursor, Isolate[] state, List<VersionedEntity<Isolate.PrimaryKey>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<Isolate.PrimaryKey>>> result = isolateRepository.findAllEntities(cursor, LIMIT, PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId());
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<Isolate.PrimaryKey>> isolates = result.get();
+		assertEquals(expected.size(), isolates.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), isolates.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), isolates.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), isolates.get(i).isDeprecated());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("findAllCursor_params")
+	public void findAllCursor(String cursor, Isolate[] state, Isolate[] expected) {
+		store(state);
+		Optional<List<Isolate>> result = isolateRepository.findAll(cursor, LIMIT, PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId());
+		if (expected.length == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<Isolate> isolates = result.get();
+		assertEquals(expected.length, isolates.size());
+		assertArrayEquals(expected, isolates.toArray());
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(Isolate.PrimaryKey key, long version, Isolate[] state, Isolate expected) {
@@ -410,4 +496,12 @@ public class IsolateRepositoryTests extends RepositoryTestsContext {
 		assertArrayEquals(expectedState, stateResult);
 	}
 
+	@ParameterizedTest
+	@MethodSource("findColumns_params")
+	public void findColumns(Isolate[] state, String[] expected) {
+		store(state);
+		String[] result = isolateRepository.findColumns(DATASET1.getPrimaryKey());
+		assertArrayEquals(expected, result);
+	}
+
 }
@@ -21,13 +21,18 @@ import pt.ist.meic.phylodb.io.output.BatchOutputModel;
 import pt.ist.meic.phylodb.io.output.FileOutputModel;
 import pt.ist.meic.phylodb.io.output.NoContentOutputModel;
 import pt.ist.meic.phylodb.io.output.OutputModel;
+import pt.ist.meic.phylodb.job.model.JobAcceptedOutputModel;
 import pt.ist.meic.phylodb.typing.Method;
+import pt.ist.meic.phylodb.typing.profile.model.GetIngestOutputModel;
 import pt.ist.meic.phylodb.typing.profile.model.GetProfileOutputModel;
+import pt.ist.meic.phylodb.typing.profile.model.Ingest;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.typing.profile.model.ProfileInputModel;
 import pt.ist.meic.phylodb.typing.profile.model.ProfileOutputModel;
 import pt.ist.meic.phylodb.typing.schema.model.Schema;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.Pair;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -36,6 +41,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -53,7 +60,8 @@ public class ProfileControllerTests extends ControllerTestsContext {
 			add(profile2);
 		}};
 		MockHttpServletRequestBuilder req1 = get(String.format(uri, PROJECTID, DATASETID)).param("page", "0"),
-				req2 = get(String.format(uri, PROJECTID, DATASETID)), req3 = get(String.format(uri, PROJECTID, DATASETID)).param("page", "-10");
+				req2 = get(String.format(uri, PROJECTID, DATASETID)), req3 = get(String.format(uri, PROJECTID, DATASETID)).param("page", "-10"),
+				req4 = get(String.format(uri, PROJECTID, DATASETID)).param("cursor", Cursor.encode("1")), req5 = get(String.format(uri, PROJECTID, DATASETID)).param("cursor", "%");
 		List<ProfileOutputModel> result1 = profiles.stream()
 				.map(ProfileOutputModel::new)
 				.collect(Collectors.toList());
@@ -61,7 +69,10 @@ public class ProfileControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req2, profiles, HttpStatus.OK, result1, null),
 				Arguments.of(req2, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
-				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
+				Arguments.of(req4, profiles, HttpStatus.OK, result1, null),
+				Arguments.of(req4, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req5, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getProfilesFile_params() {
@@ -83,6 +94,23 @@ public class ProfileControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, schema2, profiles, HttpStatus.OK, result5, null));
 	}
 
+	private static Stream<Arguments> getAllProfilesFile_params() {
+		String uri = "/projects/%s/datasets/%s/profiles/files/all";
+		Schema schema1 = new Schema("taxon", "id", Method.MLST, "description", new String[]{"a", "b", "c"});
+		Schema schema2 = new Schema("taxon", "id", Method.SNP, "description", new String[]{"a", "b", "c"});
+		Profile profile1 = new Profile(PROJECTID, DATASETID, "1", "aka", new String[]{"1", "2", "3"});
+		Profile profile2 = new Profile(PROJECTID, DATASETID, "2", "aka", new String[]{null, "2", null});
+		List<Profile> profiles = new ArrayList<Profile>() {{
+			add(profile1);
+			add(profile2);
+		}};
+		MockHttpServletRequestBuilder req1 = get(String.format(uri, PROJECTID, DATASETID));
+		return Stream.of(Arguments.of(req1, schema1, Collections.emptyList(), HttpStatus.OK, new MlFormatter().format(Collections.emptyList(), schema1), null),
+				Arguments.of(req1, schema1, profiles, HttpStatus.OK, new MlFormatter().format(profiles, schema1), null),
+				Arguments.of(req1, schema2, profiles, HttpStatus.OK, new SnpFormatter().format(profiles, schema2), null),
+				Arguments.of(req1, null, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+	}
+
 	private static Stream<Arguments> getProfile_params() {
 		String uri = "/projects/%s/datasets/%s/profiles/%s";
 		Profile profile1 = new Profile(PROJECTID, DATASETID, "1", "aka", new String[]{"1", "2", "3"});
@@ -165,6 +193,31 @@ public class ProfileControllerTests extends ControllerTestsContext {
 				Arguments.of(req4, null, HttpStatus.BAD_REQUEST, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
+	private static Stream<Arguments> postProfilesIngest_params() {
+		String uri = "/projects/%s/datasets/%s/profiles/files/ingests";
+		MockMultipartFile file = new MockMultipartFile("file", "", "text/plain", "bytes".getBytes());
+		MockHttpServletRequestBuilder req1 = multipart(String.format(uri, PROJECTID, DATASETID)).file(file),
+				req3 = multipart(String.format(uri, PROJECTID, DATASETID));
+		Ingest ingest = new Ingest(PROJECTID, DATASETID, "ingest");
+		return Stream.of(Arguments.of(req1, ingest, HttpStatus.ACCEPTED, new JobAcceptedOutputModel(ingest.getPrimaryKey().getId(), null)),
+				Arguments.of(req1, null, HttpStatus.UNAUTHORIZED, new ErrorOutputModel(Problem.UNAUTHORIZED.getMessage())),
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+	}
+
+	private static Stream<Arguments> getProfilesIngest_params() {
+		String uri = "/projects/%s/datasets/%s/profiles/files/ingests/%s";
+		Ingest ingest = new Ingest(PROJECTID, DATASETID, "ingest");
+		ingest.parsed();
+		ingest.parsed();
+		ingest.saved(1);
+		ingest.invalidLine(3);
+		ingest.invalidId("2");
+		ingest.complete();
+		MockHttpServletRequestBuilder req1 = get(String.format(uri, PROJECTID, DATASETID, ingest.getPrimaryKey().getId()));
+		return Stream.of(Arguments.of(req1, ingest, HttpStatus.OK, new GetIngestOutputModel(ingest)),
+				Arguments.of(req1, null, HttpStatus.NOT_FOUND, new ErrorOutputModel(Problem.NOT_FOUND.getMessage())));
+	}
+
 	private static Stream<Arguments> deleteProfile_params() {
 		String uri = "/projects/%s/datasets/%s/profiles/%s";
 		Profile profile = new Profile(PROJECTID, DATASETID, "1", "aka", new String[]{"1", "2", "3"});
@@ -185,6 +238,7 @@ public class ProfileControllerTests extends ControllerTestsContext {
 	@MethodSource("getProfilesList_params")
 	public void getProfilesList(MockHttpServletRequestBuilder req, List<VersionedEntity<Profile.PrimaryKey>> profiles, HttpStatus expectedStatus, List<ProfileOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(profileService.getProfilesEntities(any(), any(), anyInt(), anyInt())).thenReturn(Optional.ofNullable(profiles));
+		Mockito.when(profileService.getProfilesEntities(any(), any(), anyString(), anyInt())).thenReturn(Optional.ofNullable(profiles));
 		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -196,7 +250,9 @@ public class ProfileControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
@@ -214,6 +270,20 @@ public class ProfileControllerTests extends ControllerTestsContext {
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
 
+	@ParameterizedTest
+	@MethodSource("getAllProfilesFile_params")
+	public void getAllProfilesFile(MockHttpServletRequestBuilder req, Schema schema, List<Profile> profiles, HttpStatus expectedStatus, String expectedResult, ErrorOutputModel expectedError) throws Exception {
+		Pair<Schema, Iterator<Profile>> pair = profiles == null ? null : new Pair<>(schema, profiles.iterator());
+		Mockito.when(profileService.getAllProfiles(any(), any(), anyInt())).thenReturn(Optional.ofNullable(pair));
+		MockHttpServletResponse result = executeStreamRequest(req, MediaType.TEXT_PLAIN);
+		assertEquals(expectedStatus.value(), result.getStatus());
+		if (expectedStatus.is2xxSuccessful()) {
+			assertTrue(MediaType.TEXT_PLAIN.isCompatibleWith(MediaType.parseMediaType(result.getContentType())));
+			assertEquals(expectedResult, result.getContentAsString());
+		} else
+			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
+	}
+
 	@ParameterizedTest
 	@MethodSource("getProfile_params")
 	public void getProfile(MockHttpServletRequestBuilder req, Profile profile, HttpStatus expectedStatus, OutputModel expectedResult) throws Exception {
@@ -261,6 +331,30 @@ public class ProfileControllerTests extends ControllerTestsContext {
 			assertEquals(expectedResult, parseResult(BatchOutputModel.class, result));
 	}
 
+	@ParameterizedTest
+	@MethodSource("postProfilesIngest_params")
+	public void postProfilesIngest(MockHttpServletRequestBuilder req, Ingest ingest, HttpStatus expectedStatus, OutputModel expectedResult) throws Exception {
+		Mockito.when(profileService.ingestProfilesOnConflictSkip(any(), any(), anyBoolean(), any())).thenReturn(Optional.ofNullable(ingest));
+		MockHttpServletResponse result = executeFileRequest(req);
+		assertEquals(expectedStatus.value(), result.getStatus());
+		if (expectedStatus.is4xxClientError())
+			assertEquals(expectedResult, parseResult(ErrorOutputModel.class, result));
+		else
+			assertEquals(expectedResult, parseResult(JobAcceptedOutputModel.class, result));
+	}
+
+	@ParameterizedTest
+	@MethodSource("getProfilesIngest_params")
+	public void getProfilesIngest(MockHttpServletRequestBuilder req, Ingest ingest, HttpStatus expectedStatus, OutputModel expectedResult) throws Exception {
+		Mockito.when(profileService.getIngest(any(), any(), anyString())).thenReturn(Optional.ofNullable(ingest));
+		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
+		assertEquals(expectedStatus.value(), result.getStatus());
+		if (expectedStatus.is4xxClientError())
+			assertEquals(expectedResult, parseResult(ErrorOutputModel.class, result));
+		else
+			assertEquals(expectedResult, parseResult(GetIngestOutputModel.class, result));
+	}
+
 	@ParameterizedTest
 	@MethodSource("deleteProfile_params")
 	public void deleteProfile(MockHttpServletRequestBuilder req, boolean ret, HttpStatus expectedStatus, OutputModel expectedResult) throws Exception {
@@ -8,6 +8,7 @@ import org.neo4j.ogm.model.Result;
 import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.db.VersionedRepository;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
@@ -105,6 +106,46 @@ public class ProfileRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Profile[0], new Profile[0]));
 	}
 
+	private static Stream<Arguments> findAllEntitiesCursor_params() {
+		String id1 = "3", id2 = "10";
+		List<VersionedEntity<Allele.PrimaryKey>> alleles1 = Arrays.asList(new VersionedEntity<>(ALLELE11P.getPrimaryKey(), ALLELE11P.getVersion(), ALLELE11P.isDeprecated()), null);
+		List<VersionedEntity<Allele.PrimaryKey>> alleles1Changed = Arrays.asList(new VersionedEntity<>(ALLELE11P.getPrimaryKey(), ALLELE11P.getVersion(), ALLELE11P.isDeprecated()),
+				new VersionedEntity<>(ALLELE21.getPrimaryKey(), ALLELE21.getVersion(), ALLELE21.isDeprecated()));
+		List<VersionedEntity<Allele.PrimaryKey>> alleles2 = Arrays.asList(null, new VersionedEntity<>(ALLELE21.getPrimaryKey(), ALLELE21.getVersion(), ALLELE21.isDeprecated()));
+		Profile firstE = new Profile(PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId(), id1, 1, false, null, alleles1),
+				firstChangedE = new Profile(PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId(), id1, 2, false, null, alleles1Changed),
+				secondE = new Profile(PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId(), id2, 1, false, "aka10", alleles2);
+		VersionedEntity<Profile.PrimaryKey> firstChanged = new VersionedEntity<>(firstChangedE.getPrimaryKey(), 2, false),
+				second = new VersionedEntity<>(secondE.getPrimaryKey(), 1, false),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[1].getPrimaryKey(), STATE[1].getVersion(), STATE[1].isDeprecated());
+		return Stream.of(Arguments.of(null, new Profile[0], Collections.emptyList()),
+				Arguments.of(null, new Profile[]{STATE[0], STATE[1], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Profile[]{STATE[0], STATE[1], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Profile[]{STATE[0], STATE[1], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Profile[]{STATE[0], STATE[1], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Profile[]{STATE[0], STATE[1], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Profile[0], Collections.emptyList()));
+	}
+
+	private static Stream<Arguments> findAllCursor_params() {
+		String id1 = "3", id2 = "10";
+		List<VersionedEntity<Allele.PrimaryKey>> alleles1 = Arrays.asList(new VersionedEntity<>(ALLELE11P.getPrimaryKey(), ALLELE11P.getVersion(), ALLELE11P.isDeprecated()), null);
+		List<VersionedEntity<Allele.PrimaryKey>> alleles1Changed = Arrays.asList(new VersionedEntity<>(ALLELE11P.getPrimaryKey(), ALLELE11P.getVersion(), ALLELE11P.isDeprecated()),
+				new VersionedEntity<>(ALLELE21.getPrimaryKey(), ALLELE21.getVersion(), ALLELE21.isDeprecated()));
+		List<VersionedEntity<Allele.PrimaryKey>> alleles2 = Arrays.asList(null, new VersionedEntity<>(ALLELE21.getPrimaryKey(), ALLELE21.getVersion(), ALLELE21.isDeprecated()));
+		Profile first = new Profile(PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId(), id1, 1, false, null, alleles1),
+				firstChanged = new Profile(PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId(), id1, 2, false, null, alleles1Changed),
+				second = new Profile(PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId(), id2, 1, false, "aka10", alleles2);
+		return Stream.of(Arguments.of(null, new Profile[0], new Profile[0]),
+				Arguments.of(null, new Profile[]{STATE[0], STATE[1], first}, new Profile[]{STATE[0], STATE[1]}),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Profile[]{STATE[0], STATE[1], first, firstChanged}, new Profile[]{STATE[1], firstChanged}),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Profile[]{STATE[0], STATE[1], first, firstChanged, second}, new Profile[]{firstChanged, second}),
+				Arguments.of(Cursor.encode(id1), new Profile[]{STATE[0], STATE[1], first, second}, new Profile[]{second}),
+				Arguments.of(Cursor.encode(id2), new Profile[]{STATE[0], STATE[1], first, second}, new Profile[0]),
+				Arguments.of("%", new Profile[0], new Profile[0]));
+	}
+
 	private static Stream<Arguments> find_params() {
 		Profile.PrimaryKey key = new Profile.PrimaryKey(PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId(), "3");
 		List<VersionedEntity<Allele.PrimaryKey>> allelesAll = Arrays.asList(new VersionedEntity<>(ALLELE11P.getPrimaryKey(), ALLELE11P.getVersion(), ALLELE11P.isDeprecated()), new VersionedEntity<>(ALLELE22.getPrimaryKey(), ALLELE22.getVersion(), ALLELE22.isDeprecated())),
@@ -357,6 +398,40 @@ public class ProfileRepositoryTests extends RepositoryTestsContext {
 		assertArrayEquals(expected, schemas.toArray());
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllEntitiesCursor_params")
+	public void findAllEntitiesCursor(String cursor, Profile[] state, List<VersionedEntity<Profile.PrimaryKey>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<Profile.PrimaryKey>>> result = profileRepository.findAllEntities(cursor, LIMIT, PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId());
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<Profile.PrimaryKey>> profiles = result.get();
+		assertEquals(expected.size(), profiles.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), profiles.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), profiles.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), profiles.get(i).isDeprecated());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("findAllCursor_params")
+	public void findAllCursor(String cursor, Profile[] state, Profile[] expected) {
+		store(state);
+		Optional<List<Profile>> result = profileRepository.findAll(cursor, LIMIT, PROJECT1.getPrimaryKey(), DATASET1.getPrimaryKey().getId());
+		if (expected.length == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<Profile> profiles = result.get();
+		assertEquals(expected.length, profiles.size());
+		assertArrayEquals(expected, profiles.toArray());
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(Profile.PrimaryKey key, long version, Profile[] state, Profile expected) {
@@ -1,15 +1,20 @@
 package pt.ist.meic.phylodb.unit.typing.profile;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 import pt.ist.meic.phylodb.phylogeny.allele.model.Allele;
 import pt.ist.meic.phylodb.typing.Method;
 import pt.ist.meic.phylodb.typing.dataset.model.Dataset;
+import pt.ist.meic.phylodb.typing.profile.ProfileService;
+import pt.ist.meic.phylodb.typing.profile.model.Ingest;
 import pt.ist.meic.phylodb.typing.profile.model.Profile;
 import pt.ist.meic.phylodb.typing.schema.model.Schema;
 import pt.ist.meic.phylodb.unit.ServiceTestsContext;
@@ -29,7 +34,7 @@ import static pt.ist.meic.phylodb.utils.FileUtils.createFile;
 
 public class ProfileServiceTests extends ServiceTestsContext {
 
-	private static final int LIMIT = 2;
+	private static final int LIMIT = 2, CHUNK = 1000;
 	private static final String TAXONID = TAXON1.getPrimaryKey(), locusId1 = LOCUS1.getPrimaryKey().getId(), locusId2 = LOCUS2.getPrimaryKey().getId();
 	private static final String PROJECTID = PROJECT1.getPrimaryKey(), datasetId = DATASET1.getPrimaryKey().getId();
 	private static final Allele ALLELE21P = new Allele(TAXONID, locusId2, "1", 1, false, null, PROJECTID);
@@ -137,6 +142,23 @@ public class ProfileServiceTests extends ServiceTestsContext {
 				Arguments.of(false, fileN, dataset, schema, profilesN, existsSomeN, missingN, false, null));
 	}
 
+	private static Stream<Arguments> ingestProfiles_params() throws IOException {
+		String[] headers = new String[]{"uvrA", "gyrB", "ftsY", "tuf", "gap"};
+		Schema schema = new Schema("taxon", "id", Method.MLST, "description", headers);
+		Dataset dataset = new Dataset(PROJECTID, datasetId, null, schema.getPrimaryKey().getTaxonId(), schema.getPrimaryKey().getId());
+		MultipartFile fileN = createFile("formatters/ml", "ml-h-d-2-m.txt"), fileNBad = createFile("formatters/ml", "ml-h-d-2-d.txt");
+		Set<String> existsNone = Collections.emptySet(), existsSome = Collections.singleton("1");
+		Set<Allele.PrimaryKey> missingNone = Collections.emptySet(),
+				missingSome = Collections.singleton(new Allele.PrimaryKey(schema.getPrimaryKey().getTaxonId(), headers[0], "1"));
+		return Stream.of(Arguments.of(false, fileN, dataset, schema, existsNone, missingNone, 2, 2, new Integer[]{1}, new String[0]),
+				Arguments.of(false, fileN, dataset, schema, existsSome, missingNone, 2, 1, new Integer[]{1}, new String[]{"1"}),
+				Arguments.of(false, fileN, dataset, schema, existsNone, missingSome, 2, 1, new Integer[]{1}, new String[]{"1"}),
+				Arguments.of(false, fileNBad, dataset, schema, existsNone, missingNone, 1, 1, new Integer[]{1, 3}, new String[0]),
+				Arguments.of(true, fileN, dataset, schema, existsSome, missingNone, 2, 2, new Integer[]{1}, new String[0]),
+				Arguments.of(true, fileN, dataset, schema, existsSome, missingSome, 2, 1, new Integer[]{1}, new String[]{"1"}),
+				Arguments.of(false, fileN, null, schema, existsNone, missingNone, 0, 0, null, null));
+	}
+
 	@BeforeEach
 	public void init() {
 		MockitoAnnotations.initMocks(this);
@@ -243,4 +265,80 @@ public class ProfileServiceTests extends ServiceTestsContext {
 			assertFalse(result.isPresent());
 	}
 
+	@ParameterizedTest
+	@MethodSource("ingestProfiles_params")
+	public void ingestProfiles(boolean flag, MultipartFile file, Dataset dataset, Schema schema, Set<String> existing, Set<Allele.PrimaryKey> missing, int parsed, int saved, Integer[] invalidLines, String[] invalidIds) throws IOException {
+		ProfileService service = new ProfileService(datasetRepository, profileRepository, alleleRepository, schemaRepository, Runnable::run);
+		ReflectionTestUtils.setField(service, "chunk", CHUNK);
+		Mockito.when(datasetRepository.find(any(), anyLong())).thenReturn(Optional.ofNullable(dataset));
+		Mockito.when(schemaRepository.find(any(), anyLong())).thenReturn(Optional.ofNullable(schema));
+		Mockito.when(profileRepository.findExisting(any(), any(), any())).thenReturn(existing);
+		Mockito.when(alleleRepository.findMissing(any(), any())).thenReturn(missing);
+		Mockito.when(profileRepository.saveAll(any())).thenReturn(true);
+		Optional<Ingest> result = !flag ?
+				service.ingestProfilesOnConflictSkip(PROJECTID, datasetId, false, file) :
+				service.ingestProfilesOnConflictUpdate(PROJECTID, datasetId, false, file);
+		if (invalidLines == null) {
+			assertFalse(result.isPresent());
+			return;
+		}
+		assertTrue(result.isPresent());
+		Ingest ingest = result.get();
+		assertTrue(ingest.isCompleted());
+		assertFalse(ingest.isFailed());
+		assertEquals(parsed, ingest.getParsed());
+		assertEquals(saved, ingest.getSaved());
+		assertArrayEquals(invalidLines, ingest.getInvalidLines());
+		assertArrayEquals(invalidIds, ingest.getInvalidIds());
+		assertEquals(Optional.of(ingest), service.getIngest(PROJECTID, datasetId, ingest.getPrimaryKey().getId()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void ingestProfiles_savesEachChunk() throws IOException {
+		String[] headers = new String[]{"uvrA", "gyrB", "ftsY", "tuf", "gap"};
+		Schema schema = new Schema("taxon", "id", Method.MLST, "description", headers);
+		Dataset dataset = new Dataset(PROJECTID, datasetId, null, schema.getPrimaryKey().getTaxonId(), schema.getPrimaryKey().getId());
+		ProfileService service = new ProfileService(datasetRepository, profileRepository, alleleRepository, schemaRepository, Runnable::run);
+		ReflectionTestUtils.setField(service, "chunk", 2);
+		Mockito.when(datasetRepository.find(any(), anyLong())).thenReturn(Optional.of(dataset));
+		Mockito.when(schemaRepository.find(any(), anyLong())).thenReturn(Optional.of(schema));
+		Mockito.when(profileRepository.findExisting(any(), any(), any())).thenReturn(Collections.singleton("3"));
+		Mockito.when(alleleRepository.findMissing(any(), any())).thenReturn(Collections.emptySet());
+		Mockito.when(profileRepository.saveAll(any())).thenReturn(true);
+		Optional<Ingest> result = service.ingestProfilesOnConflictSkip(PROJECTID, datasetId, false, createFile("formatters/ml", "ml-h-d-5.txt"));
+		assertTrue(result.isPresent());
+		Ingest ingest = result.get();
+		assertTrue(ingest.isCompleted());
+		assertEquals(5, ingest.getParsed());
+		assertEquals(4, ingest.getSaved());
+		assertArrayEquals(new String[]{"3"}, ingest.getInvalidIds());
+		ArgumentCaptor<List<Profile>> chunks = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(profileRepository, Mockito.times(3)).findExisting(any(), any(), any());
+		Mockito.verify(profileRepository, Mockito.times(3)).saveAll(chunks.capture());
+		assertEquals(Arrays.asList(Arrays.asList("1", "2"), Collections.singletonList("4"), Collections.singletonList("5")), chunks.getAllValues().stream()
+				.map(c -> c.stream().map(p -> p.getPrimaryKey().getId()).collect(Collectors.toList()))
+				.collect(Collectors.toList()));
+	}
+
+	@Test
+	public void ingestProfiles_failureIsReported() throws IOException {
+		String[] headers = new String[]{"uvrA", "gyrB", "ftsY", "tuf", "gap"};
+		Schema schema = new Schema("taxon", "id", Method.MLST, "description", headers);
+		Dataset dataset = new Dataset(PROJECTID, datasetId, null, schema.getPrimaryKey().getTaxonId(), schema.getPrimaryKey().getId());
+		ProfileService service = new ProfileService(datasetRepository, profileRepository, alleleRepository, schemaRepository, Runnable::run);
+		ReflectionTestUtils.setField(service, "chunk", CHUNK);
+		Mockito.when(datasetRepository.find(any(), anyLong())).thenReturn(Optional.of(dataset));
+		Mockito.when(schemaRepository.find(any(), anyLong())).thenReturn(Optional.of(schema));
+		Mockito.when(profileRepository.findExisting(any(), any(), any())).thenReturn(Collections.emptySet());
+		Mockito.when(alleleRepository.findMissing(any(), any())).thenReturn(Collections.emptySet());
+		Mockito.when(profileRepository.saveAll(any())).thenThrow(new RuntimeException("unavailable"));
+		Optional<Ingest> result = service.ingestProfilesOnConflictSkip(PROJECTID, datasetId, false, createFile("formatters/ml", "ml-h-d-2-m.txt"));
+		assertTrue(result.isPresent());
+		Ingest ingest = result.get();
+		assertFalse(ingest.isCompleted());
+		assertTrue(ingest.isFailed());
+		assertEquals("unavailable", ingest.getError());
+	}
+
 }
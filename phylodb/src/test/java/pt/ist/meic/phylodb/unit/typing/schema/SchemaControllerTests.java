@@ -21,6 +21,8 @@ import pt.ist.meic.phylodb.typing.schema.model.Schema;
 import pt.ist.meic.phylodb.typing.schema.model.SchemaInputModel;
 import pt.ist.meic.phylodb.typing.schema.model.SchemaOutputModel;
 import pt.ist.meic.phylodb.unit.ControllerTestsContext;
+import pt.ist.meic.phylodb.utils.controller.Controller;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
 import java.util.*;
@@ -28,6 +30,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -42,7 +45,8 @@ public class SchemaControllerTests extends ControllerTestsContext {
 			add(new VersionedEntity<>(SCHEMA2.getPrimaryKey(), SCHEMA2.getVersion(), SCHEMA2.isDeprecated()));
 		}};
 		MockHttpServletRequestBuilder req1 = get(String.format(uri, TAXONID)).param("page", "0"),
-				req2 = get(uri), req3 = get(String.format(uri, TAXONID)).param("page", "-10");
+				req2 = get(uri), req3 = get(String.format(uri, TAXONID)).param("page", "-10"),
+				req4 = get(String.format(uri, TAXONID)).param("cursor", Cursor.encode(SCHEMA1.getPrimaryKey().getId())), req5 = get(String.format(uri, TAXONID)).param("cursor", "%");
 		List<SchemaOutputModel> result = loci.stream()
 				.map(SchemaOutputModel::new)
 				.collect(Collectors.toList());
@@ -50,7 +54,10 @@ public class SchemaControllerTests extends ControllerTestsContext {
 				Arguments.of(req1, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
 				Arguments.of(req2, loci, HttpStatus.OK, result, null),
 				Arguments.of(req2, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
-				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
+				Arguments.of(req3, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())),
+				Arguments.of(req4, loci, HttpStatus.OK, result, null),
+				Arguments.of(req4, Collections.emptyList(), HttpStatus.OK, Collections.emptyList(), null),
+				Arguments.of(req5, null, HttpStatus.BAD_REQUEST, null, new ErrorOutputModel(Problem.BAD_REQUEST.getMessage())));
 	}
 
 	private static Stream<Arguments> getSchema_params() {
@@ -96,6 +103,7 @@ public class SchemaControllerTests extends ControllerTestsContext {
 	@MethodSource("getSchemas_params")
 	public void getSchemas(MockHttpServletRequestBuilder req, List<VersionedEntity<Schema.PrimaryKey>> schemas, HttpStatus expectedStatus, List<SchemaOutputModel> expectedResult, ErrorOutputModel expectedError) throws Exception {
 		Mockito.when(schemaService.getSchemas(anyString(), anyInt(), anyInt())).thenReturn(Optional.ofNullable(schemas));
+		Mockito.when(schemaService.getSchemas(anyString(), anyString(), anyInt())).thenReturn(Optional.ofNullable(schemas));
 		MockHttpServletResponse result = executeRequest(req, MediaType.APPLICATION_JSON);
 		assertEquals(expectedStatus.value(), result.getStatus());
 		if (expectedStatus.is2xxSuccessful()) {
@@ -107,7 +115,9 @@ public class SchemaControllerTests extends ControllerTestsContext {
 					assertEquals(expectedResult.get(i).getId(), p.get("id"));
 					assertEquals(expectedResult.get(i).getVersion(), Long.parseLong(p.get("version").toString()));
 				}
-			}
+				assertEquals(Cursor.encode(expectedResult.get(expectedResult.size() - 1).getId()), result.getHeader(Controller.CURSOR));
+			} else
+				assertNull(result.getHeader(Controller.CURSOR));
 		} else
 			assertEquals(expectedError, parseResult(ErrorOutputModel.class, result));
 	}
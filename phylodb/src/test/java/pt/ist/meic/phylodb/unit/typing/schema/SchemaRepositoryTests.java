@@ -10,6 +10,7 @@ import pt.ist.meic.phylodb.typing.Method;
 import pt.ist.meic.phylodb.typing.dataset.model.Dataset;
 import pt.ist.meic.phylodb.typing.schema.model.Schema;
 import pt.ist.meic.phylodb.unit.RepositoryTestsContext;
+import pt.ist.meic.phylodb.utils.db.Cursor;
 import pt.ist.meic.phylodb.utils.db.Query;
 import pt.ist.meic.phylodb.utils.service.VersionedEntity;
 
@@ -69,6 +70,29 @@ public class SchemaRepositoryTests extends RepositoryTestsContext {
 				Arguments.of(-1, new Schema[0], Collections.emptyList()));
 	}
 
+	private static Stream<Arguments> findAllCursor_params() {
+		String id1 = "3test", id2 = "10test";
+		String taxonKey = TAXON1.getPrimaryKey();
+		List<VersionedEntity<Locus.PrimaryKey>> loci1 = Arrays.asList(new VersionedEntity<>(LOCUS1.getPrimaryKey(), LOCUS1.getVersion(), LOCUS1.isDeprecated()),
+				new VersionedEntity<>(LOCUS2.getPrimaryKey(), LOCUS2.getVersion(), LOCUS2.isDeprecated()));
+		List<VersionedEntity<Locus.PrimaryKey>> loci2 = Arrays.asList(new VersionedEntity<>(LOCUS2.getPrimaryKey(), LOCUS2.getVersion(), LOCUS2.isDeprecated()),
+				new VersionedEntity<>(LOCUS1.getPrimaryKey(), LOCUS1.getVersion(), LOCUS1.isDeprecated()));
+		Schema firstE = new Schema(taxonKey, id1, 1, false, Method.MLST, "description", loci1),
+				firstChangedE = new Schema(taxonKey, id1, 2, false, Method.MLST, "description2", loci1),
+				secondE = new Schema(taxonKey, id2, 1, false, Method.MLST, null, loci2);
+		VersionedEntity<Schema.PrimaryKey> firstChanged = new VersionedEntity<>(new Schema.PrimaryKey(taxonKey, id1), 2, false),
+				second = new VersionedEntity<>(new Schema.PrimaryKey(taxonKey, id2), 1, false),
+				state0 = new VersionedEntity<>(STATE[0].getPrimaryKey(), STATE[0].getVersion(), STATE[0].isDeprecated()),
+				state1 = new VersionedEntity<>(STATE[1].getPrimaryKey(), STATE[1].getVersion(), STATE[1].isDeprecated());
+		return Stream.of(Arguments.of(null, new Schema[0], Collections.emptyList()),
+				Arguments.of(null, new Schema[]{STATE[0], STATE[1], firstE}, Arrays.asList(state0, state1)),
+				Arguments.of(Cursor.encode(STATE[0].getPrimaryKey().getId()), new Schema[]{STATE[0], STATE[1], firstE, firstChangedE}, Arrays.asList(state1, firstChanged)),
+				Arguments.of(Cursor.encode(STATE[1].getPrimaryKey().getId()), new Schema[]{STATE[0], STATE[1], firstE, firstChangedE, secondE}, Arrays.asList(firstChanged, second)),
+				Arguments.of(Cursor.encode(id1), new Schema[]{STATE[0], STATE[1], firstE, secondE}, Collections.singletonList(second)),
+				Arguments.of(Cursor.encode(id2), new Schema[]{STATE[0], STATE[1], firstE, secondE}, Collections.emptyList()),
+				Arguments.of("%", new Schema[0], Collections.emptyList()));
+	}
+
 	private static Stream<Arguments> find_params() {
 		Schema.PrimaryKey key = new Schema.PrimaryKey(TAXON1.getPrimaryKey(), "test");
 		List<VersionedEntity<Locus.PrimaryKey>> loci1 = Arrays.asList(new VersionedEntity<>(LOCUS1.getPrimaryKey(), LOCUS1.getVersion(), LOCUS1.isDeprecated()),
@@ -288,6 +312,25 @@ public class SchemaRepositoryTests extends RepositoryTestsContext {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("findAllCursor_params")
+	public void findAllCursor(String cursor, Schema[] state, List<VersionedEntity<Schema.PrimaryKey>> expected) {
+		store(state);
+		Optional<List<VersionedEntity<Schema.PrimaryKey>>> result = schemaRepository.findAllEntities(cursor, LIMIT, TAXON1.getPrimaryKey());
+		if (expected.size() == 0 && !result.isPresent()) {
+			assertTrue(true);
+			return;
+		}
+		assertTrue(result.isPresent());
+		List<VersionedEntity<Schema.PrimaryKey>> schemas = result.get();
+		assertEquals(expected.size(), schemas.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getPrimaryKey(), schemas.get(i).getPrimaryKey());
+			assertEquals(expected.get(i).getVersion(), schemas.get(i).getVersion());
+			assertEquals(expected.get(i).isDeprecated(), schemas.get(i).isDeprecated());
+		}
+	}
+
 	@ParameterizedTest
 	@MethodSource("find_params")
 	public void find(Schema.PrimaryKey key, long version, Schema[] state, Schema expected) {
@@ -0,0 +1,90 @@
+package pt.ist.meic.phylodb.unit.utils.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import pt.ist.meic.phylodb.utils.db.Cursor;
+import pt.ist.meic.phylodb.utils.db.Pages;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PagesTests {
+
+	private static final int LIMIT = 2;
+
+	private static List<String> ids(int size) {
+		return IntStream.rangeClosed(1, size)
+				.mapToObj(String::valueOf)
+				.collect(Collectors.toList());
+	}
+
+	private static BiFunction<String, Integer, Optional<List<String>>> getter(List<String> ids, List<String> cursors) {
+		return (c, l) -> {
+			cursors.add(c);
+			int from = c == null ? 0 : ids.indexOf(Cursor.decode(c)) + 1;
+			return Optional.of(ids.subList(from, Math.min(from + l, ids.size())));
+		};
+	}
+
+	private static Stream<Arguments> iterate_params() {
+		List<String> cursors1 = Collections.singletonList(null),
+				cursors2 = Arrays.asList(null, Cursor.encode("2")),
+				cursors3 = Arrays.asList(null, Cursor.encode("2"), Cursor.encode("4"));
+		return Stream.of(Arguments.of(ids(0), cursors1),
+				Arguments.of(ids(1), cursors1),
+				Arguments.of(ids(2), cursors2),
+				Arguments.of(ids(3), cursors2),
+				Arguments.of(ids(4), cursors3),
+				Arguments.of(ids(5), cursors3));
+	}
+
+	@ParameterizedTest
+	@MethodSource("iterate_params")
+	public void iterate(List<String> ids, List<String> expectedCursors) {
+		List<String> cursors = new ArrayList<>();
+		Pages<String> pages = new Pages<>(getter(ids, cursors), Function.identity(), LIMIT);
+		List<String> result = new ArrayList<>();
+		while (pages.hasNext())
+			result.add(pages.next());
+		assertEquals(ids, result);
+		assertEquals(expectedCursors, cursors);
+		assertFalse(pages.hasNext());
+		assertEquals(expectedCursors, cursors);
+		assertThrows(NoSuchElementException.class, pages::next);
+	}
+
+	@Test
+	public void iterate_hasNextDoesNotRetrieveAgain() {
+		List<String> cursors = new ArrayList<>();
+		Pages<String> pages = new Pages<>(getter(ids(3), cursors), Function.identity(), LIMIT);
+		assertTrue(pages.hasNext());
+		assertTrue(pages.hasNext());
+		assertEquals(1, cursors.size());
+		assertEquals("1", pages.next());
+		assertEquals("2", pages.next());
+		assertEquals(1, cursors.size());
+		assertEquals("3", pages.next());
+		assertEquals(2, cursors.size());
+	}
+
+	@Test
+	public void iterate_emptyGetter() {
+		List<String> cursors = new ArrayList<>();
+		Pages<String> pages = new Pages<>((c, l) -> {
+			cursors.add(c);
+			return Optional.empty();
+		}, Function.identity(), LIMIT);
+		assertFalse(pages.hasNext());
+		assertFalse(pages.hasNext());
+		assertEquals(Collections.singletonList(null), cursors);
+	}
+
+}
@@ -24,9 +24,56 @@ public class DbUtils {
 		session.clear();
 	}
 
+	public static void goeBURST(Session session, String projectId, String datasetId, String inferenceId, int parallelism) {
+		session.query(String.format("call algorithms.inference.goeburst('%s', '%s', 3, '%s', %d)", projectId, datasetId, inferenceId, parallelism), Collections.emptyMap());
+		session.clear();
+	}
+
+	public static void goeBURSTStream(Session session, String projectId, String datasetId) {
+		session.query(String.format("call algorithms.inference.goeburst.stream('%s', '%s', 3)", projectId, datasetId), Collections.emptyMap());
+		session.clear();
+	}
+
+	public static void prim(Session session, String projectId, String datasetId, String inferenceId) {
+		session.query(String.format("call algorithms.inference.prim('%s', '%s', 3, '%s')", projectId, datasetId, inferenceId), Collections.emptyMap());
+		session.clear();
+	}
+
+	public static void edmonds(Session session, String projectId, String datasetId, String inferenceId) {
+		session.query(String.format("call algorithms.inference.edmonds('%s', '%s', 3, '%s')", projectId, datasetId, inferenceId), Collections.emptyMap());
+		session.clear();
+	}
+
+	public static void neighborJoining(Session session, String projectId, String datasetId) {
+		session.query(String.format("call algorithms.inference.nj('%s', '%s')", projectId, datasetId), Collections.emptyMap());
+		session.clear();
+	}
+
+	public static void chain(Session session, String projectId, String datasetId, String inferenceId) {
+		String statement = "MATCH (pj:Project {id: '%s'})-[:CONTAINS]->(ds:Dataset {id: '%s'})-[:CONTAINS]->(p:Profile)\n" +
+				"WHERE p.deprecated = false\n" +
+				"WITH p ORDER BY p.id\n" +
+				"WITH collect(p) as profiles\n" +
+				"UNWIND range(0, size(profiles) - 2) as i\n" +
+				"WITH profiles[i] as p1, profiles[i + 1] as p2\n" +
+				"CREATE (p1)-[:DISTANCES {id: '%s', algorithm: 'chain', distance: 1, fromVersion: 1, toVersion: 1, deprecated: false}]->(p2)";
+		session.query(String.format(statement, projectId, datasetId, inferenceId), Collections.emptyMap());
+		session.clear();
+	}
+
 	public static void radial(Session session, String projectId, String datasetId, String inferenceId, String visualizationId) {
 		session.query(String.format("call algorithms.visualization.radial('%s', '%s', '%s', '%s')", projectId, datasetId, inferenceId, visualizationId), Collections.emptyMap());
 		session.clear();
 	}
 
+	public static void radialStream(Session session, String projectId, String datasetId, String inferenceId) {
+		session.query(String.format("call algorithms.visualization.radial.stream('%s', '%s', '%s')", projectId, datasetId, inferenceId), Collections.emptyMap());
+		session.clear();
+	}
+
+	public static void force(Session session, String projectId, String datasetId, String inferenceId, String visualizationId) {
+		session.query(String.format("call algorithms.visualization.force('%s', '%s', '%s', '%s')", projectId, datasetId, inferenceId, visualizationId), Collections.emptyMap());
+		session.clear();
+	}
+
 }